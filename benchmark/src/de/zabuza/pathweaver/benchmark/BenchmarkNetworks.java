@@ -0,0 +1,92 @@
+package de.zabuza.pathweaver.benchmark;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+import de.zabuza.pathweaver.network.road.RoadNetworkGenerator;
+
+/**
+ * Utility class which provides the fixed networks and query sets used by the
+ * benchmarks. All randomness is seeded, such that repeated runs measure the
+ * same work.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BenchmarkNetworks {
+	/**
+	 * Creates random queries for the given network. The nodes are ordered by
+	 * their IDs before selecting, such that the queries only depend on the
+	 * seed and the network.
+	 * 
+	 * @param network
+	 *            The network to create queries for
+	 * @param amount
+	 *            The amount of queries to create
+	 * @param seed
+	 *            The seed of the random generator
+	 * @return The queries, each given as array of source and destination
+	 */
+	public static Node[][] createQueries(final IPathNetwork network, final int amount, final long seed) {
+		final Node[] nodes = network.getNodes().toArray(new Node[0]);
+		Arrays.sort(nodes, Comparator.comparingInt(Node::getId));
+		final Random rnd = new Random(seed);
+		final Node[][] queries = new Node[amount][];
+		for (int i = 0; i < amount; i++) {
+			queries[i] = new Node[] { nodes[rnd.nextInt(nodes.length)], nodes[rnd.nextInt(nodes.length)] };
+		}
+		return queries;
+	}
+
+	/**
+	 * Creates a synthetic road network using a {@link RoadNetworkGenerator}
+	 * with its default configuration and reduces it to its largest strongly
+	 * connected component.
+	 * 
+	 * @param amountOfRows
+	 *            The amount of rows of the grid
+	 * @param amountOfColumns
+	 *            The amount of columns of the grid
+	 * @param seed
+	 *            The seed of the generator
+	 * @return The created network
+	 */
+	public static RoadNetwork createSyntheticNetwork(final int amountOfRows, final int amountOfColumns,
+			final long seed) {
+		final RoadNetwork network = new RoadNetworkGenerator(seed).createGridNetwork(amountOfRows, amountOfColumns);
+		network.reduceToLargestScc();
+		return network;
+	}
+
+	/**
+	 * Loads the road network of the given OSM file and reduces it to its
+	 * largest strongly connected component.
+	 * 
+	 * @param osmFile
+	 *            The file which contains the road network in the OSM-format
+	 * @return The loaded network
+	 * @throws FileNotFoundException
+	 *             If the given file was not found
+	 * @throws IOException
+	 *             If an I/O-Exception occurred
+	 */
+	public static RoadNetwork loadOsmNetwork(final File osmFile) throws FileNotFoundException, IOException {
+		final RoadNetwork network = RoadNetwork.createFromOsmFile(osmFile);
+		network.reduceToLargestScc();
+		return network;
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BenchmarkNetworks() {
+
+	}
+}
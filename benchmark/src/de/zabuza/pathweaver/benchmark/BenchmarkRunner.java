@@ -0,0 +1,44 @@
+package de.zabuza.pathweaver.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of the API with the GC profiler attached, such that the
+ * results contain allocation rates next to the latency percentiles.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BenchmarkRunner {
+	/**
+	 * Runs all benchmarks.
+	 * 
+	 * @param args
+	 *            Optionally the path to an OSM file. If given, the benchmarks
+	 *            run on the synthetic network and the network of the file,
+	 *            otherwise only on the synthetic network.
+	 * @throws RunnerException
+	 *             If running a benchmark failed
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		final ChainedOptionsBuilder options = new OptionsBuilder()
+				.include(ShortestPathBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class);
+		if (args.length > 0) {
+			options.param("osmFile", args[0]);
+		} else {
+			options.param("graph", EGraph.SYNTHETIC.name());
+		}
+		new Runner(options.build()).run();
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BenchmarkRunner() {
+
+	}
+}
@@ -0,0 +1,30 @@
+package de.zabuza.pathweaver.benchmark;
+
+/**
+ * The shortest path engines which can be benchmarked.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EEngine {
+	/**
+	 * A* with landmarks as heuristic.
+	 */
+	ASTAR_LANDMARKS,
+	/**
+	 * A* with the straight line travel time as heuristic.
+	 */
+	ASTAR_STRAIGHT_LINE,
+	/**
+	 * Arc flags with a grid partitioning.
+	 */
+	ARC_FLAG,
+	/**
+	 * Customizable route planning with a two level grid partitioning.
+	 */
+	CRP,
+	/**
+	 * Plain Dijkstra.
+	 */
+	DIJKSTRA
+}
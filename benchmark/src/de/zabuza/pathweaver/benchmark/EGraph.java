@@ -0,0 +1,18 @@
+package de.zabuza.pathweaver.benchmark;
+
+/**
+ * The networks on which engines can be benchmarked.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EGraph {
+	/**
+	 * The road network of an OSM file.
+	 */
+	OSM,
+	/**
+	 * A synthetic grid-like road network.
+	 */
+	SYNTHETIC
+}
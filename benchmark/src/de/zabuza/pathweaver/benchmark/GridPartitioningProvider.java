@@ -0,0 +1,110 @@
+package de.zabuza.pathweaver.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.INetworkPartitioningProvider;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+import de.zabuza.pathweaver.network.road.RoadNode;
+
+/**
+ * Network partitioning provider which divides the bounding box of a road
+ * network into a grid of equally sized rectangles. Each non-empty rectangle
+ * forms a partition. Grids whose amount of rows and columns divide each other
+ * are nested, such that they can be used for multilevel partitions.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class GridPartitioningProvider implements INetworkPartitioningProvider {
+	/**
+	 * Gets the slot of the given value if the given range is divided into the
+	 * given amount of equally sized slots.
+	 * 
+	 * @param value
+	 *            The value to get the slot of
+	 * @param min
+	 *            The minimal value of the range
+	 * @param max
+	 *            The maximal value of the range
+	 * @param amountOfSlots
+	 *            The amount of slots
+	 * @return The slot of the value, between <tt>0</tt> (inclusive) and
+	 *         <tt>amountOfSlots</tt> (exclusive)
+	 */
+	private static int getSlot(final float value, final float min, final float max, final int amountOfSlots) {
+		if (max <= min) {
+			return 0;
+		}
+		final float relativeValue = (value - min) / (max - min);
+		return Math.min((int) (relativeValue * amountOfSlots), amountOfSlots - 1);
+	}
+
+	/**
+	 * The amount of columns of the grid.
+	 */
+	private final int mAmountOfColumns;
+	/**
+	 * The amount of rows of the grid.
+	 */
+	private final int mAmountOfRows;
+	/**
+	 * The network to create a partitioning for.
+	 */
+	private final RoadNetwork mNetwork;
+
+	/**
+	 * Creates a new network partitioning provider which divides the given road
+	 * network into a grid with the given dimensions.
+	 * 
+	 * @param network
+	 *            The network to create a partitioning for
+	 * @param amountOfRows
+	 *            The amount of rows of the grid, along the latitude
+	 * @param amountOfColumns
+	 *            The amount of columns of the grid, along the longitude
+	 */
+	public GridPartitioningProvider(final RoadNetwork network, final int amountOfRows, final int amountOfColumns) {
+		this.mNetwork = network;
+		this.mAmountOfRows = amountOfRows;
+		this.mAmountOfColumns = amountOfColumns;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.
+	 * INetworkPartitioningProvider#getPartitioning()
+	 */
+	@Override
+	public Collection<Set<Node>> getPartitioning() {
+		float latitudeMin = Float.POSITIVE_INFINITY;
+		float latitudeMax = Float.NEGATIVE_INFINITY;
+		float longitudeMin = Float.POSITIVE_INFINITY;
+		float longitudeMax = Float.NEGATIVE_INFINITY;
+		for (final Node node : this.mNetwork.getNodes()) {
+			final RoadNode roadNode = (RoadNode) node;
+			latitudeMin = Math.min(latitudeMin, roadNode.getLatitude());
+			latitudeMax = Math.max(latitudeMax, roadNode.getLatitude());
+			longitudeMin = Math.min(longitudeMin, roadNode.getLongitude());
+			longitudeMax = Math.max(longitudeMax, roadNode.getLongitude());
+		}
+
+		final List<Set<Node>> cells = new ArrayList<>();
+		for (int i = 0; i < this.mAmountOfRows * this.mAmountOfColumns; i++) {
+			cells.add(new HashSet<>());
+		}
+		for (final Node node : this.mNetwork.getNodes()) {
+			final RoadNode roadNode = (RoadNode) node;
+			final int row = getSlot(roadNode.getLatitude(), latitudeMin, latitudeMax, this.mAmountOfRows);
+			final int column = getSlot(roadNode.getLongitude(), longitudeMin, longitudeMax, this.mAmountOfColumns);
+			cells.get(row * this.mAmountOfColumns + column).add(node);
+		}
+		cells.removeIf(Set::isEmpty);
+		return cells;
+	}
+}
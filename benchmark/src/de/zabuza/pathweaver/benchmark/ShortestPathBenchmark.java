@@ -0,0 +1,176 @@
+package de.zabuza.pathweaver.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.algorithm.metric.StraightLineRoadTimeMetric;
+import de.zabuza.pathweaver.network.algorithm.metric.landmark.LandmarkMetric;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.AStarShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.ArcFlagShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.EArcFlagPreprocessing;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.crp.CrpShortestPathComputation;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+
+/**
+ * Benchmark which measures the latency of single shortest path cost queries
+ * of the available engines. Every invocation computes one query of a fixed,
+ * seeded query set, the engine and the network are prepared once per trial.
+ * The benchmark is sampled, such that JMH reports latency percentiles. Run it
+ * with the GC profiler to get allocation rates, see {@link BenchmarkRunner}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark {
+	/**
+	 * The amount of columns of the coarse grid used for partitioning.
+	 */
+	private static final int COARSE_GRID_SIZE = 4;
+	/**
+	 * The amount of columns of the fine grid used for partitioning, must be a
+	 * multiple of {@link #COARSE_GRID_SIZE}.
+	 */
+	private static final int FINE_GRID_SIZE = 16;
+	/**
+	 * The amount of landmarks used by the landmark heuristic.
+	 */
+	private static final int LANDMARK_AMOUNT = 16;
+	/**
+	 * The amount of queries of the query set.
+	 */
+	private static final int QUERY_AMOUNT = 1_000;
+	/**
+	 * The seed used for creating the query set.
+	 */
+	private static final long QUERY_SEED = 42L;
+	/**
+	 * The seed used for creating the synthetic network.
+	 */
+	private static final long SYNTHETIC_SEED = 7L;
+
+	/**
+	 * Creates the shortest path computation of the given engine for the given
+	 * network. All preprocessing is done by this method.
+	 * 
+	 * @param engine
+	 *            The engine to create
+	 * @param network
+	 *            The network to work on
+	 * @return The created computation
+	 */
+	private static IShortestPathComputation createComputation(final EEngine engine, final RoadNetwork network) {
+		switch (engine) {
+		case ASTAR_LANDMARKS:
+			return new AStarShortestPathComputation(network, new LandmarkMetric(LANDMARK_AMOUNT, network));
+		case ASTAR_STRAIGHT_LINE:
+			return new AStarShortestPathComputation(network, new StraightLineRoadTimeMetric());
+		case ARC_FLAG:
+			return new ArcFlagShortestPathComputation(network,
+					new GridPartitioningProvider(network, COARSE_GRID_SIZE, COARSE_GRID_SIZE),
+					EArcFlagPreprocessing.CENTRALIZED);
+		case CRP:
+			return new CrpShortestPathComputation(network,
+					Arrays.asList(new GridPartitioningProvider(network, FINE_GRID_SIZE, FINE_GRID_SIZE),
+							new GridPartitioningProvider(network, COARSE_GRID_SIZE, COARSE_GRID_SIZE)));
+		case DIJKSTRA:
+			return new DijkstraShortestPathComputation(network);
+		default:
+			throw new AssertionError();
+		}
+	}
+
+	/**
+	 * The engine to benchmark.
+	 */
+	@Param({ "DIJKSTRA", "ASTAR_STRAIGHT_LINE", "ASTAR_LANDMARKS", "ARC_FLAG", "CRP" })
+	public EEngine engine;
+	/**
+	 * The network to benchmark on.
+	 */
+	@Param({ "SYNTHETIC", "OSM" })
+	public EGraph graph;
+	/**
+	 * The OSM file to load if {@link #graph} is {@link EGraph#OSM}.
+	 */
+	@Param({ "res/examples/saarland.osm" })
+	public String osmFile;
+	/**
+	 * The amount of rows and columns of the synthetic network if
+	 * {@link #graph} is {@link EGraph#SYNTHETIC}.
+	 */
+	@Param({ "300" })
+	public int syntheticGridSize;
+	/**
+	 * The computation of the engine.
+	 */
+	private IShortestPathComputation mComputation;
+	/**
+	 * The position of the next query to compute.
+	 */
+	private int mNextQuery;
+	/**
+	 * The query set, each query given as array of source and destination.
+	 */
+	private Node[][] mQueries;
+
+	/**
+	 * Computes the cost of the next query of the query set.
+	 * 
+	 * @return The cost of the shortest path of the query, returned to prevent
+	 *         dead code elimination
+	 */
+	@Benchmark
+	public Optional<Float> computeShortestPathCost() {
+		final Node[] query = this.mQueries[this.mNextQuery];
+		this.mNextQuery++;
+		if (this.mNextQuery == this.mQueries.length) {
+			this.mNextQuery = 0;
+		}
+		return this.mComputation.computeShortestPathCost(query[0], query[1]);
+	}
+
+	/**
+	 * Loads the network, creates the query set and prepares the engine.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while loading the OSM file
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final RoadNetwork network;
+		if (this.graph == EGraph.OSM) {
+			network = BenchmarkNetworks.loadOsmNetwork(new File(this.osmFile));
+		} else {
+			network = BenchmarkNetworks.createSyntheticNetwork(this.syntheticGridSize, this.syntheticGridSize,
+					SYNTHETIC_SEED);
+		}
+		this.mQueries = BenchmarkNetworks.createQueries(network, QUERY_AMOUNT, QUERY_SEED);
+		this.mNextQuery = 0;
+		this.mComputation = createComputation(this.engine, network);
+	}
+}
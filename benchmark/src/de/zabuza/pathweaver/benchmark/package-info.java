@@ -0,0 +1,5 @@
+/**
+ * This is the core package for benchmarks of the API, based on the Java
+ * Microbenchmark Harness (JMH).
+ */
+package de.zabuza.pathweaver.benchmark;
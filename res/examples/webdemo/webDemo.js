@@ -91,12 +91,12 @@ function redrawLineClient() {
  * and destination. The line then represents this path.
  */
 function redrawLineServer() {
-	var url = 'http://localhost:8888/?request='
-		+ 'sLat:' + source.getPosition().lat() + ','
-		+ 'sLng:' + source.getPosition().lng() + ','
-		+ 'dLat:' + destination.getPosition().lat() + ','
-		+ 'dLng:' + destination.getPosition().lng();
-	$.ajax(url, {dataType: 'jsonp'});
+	var url = 'http://localhost:8888/route'
+		+ '?srcLat=' + source.getPosition().lat()
+		+ '&srcLng=' + source.getPosition().lng()
+		+ '&dstLat=' + destination.getPosition().lat()
+		+ '&dstLng=' + destination.getPosition().lng();
+	$.ajax(url, {dataType: 'jsonp', success: redrawLineServerCallback});
 }
 
  /**
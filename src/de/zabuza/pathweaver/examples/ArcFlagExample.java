@@ -12,6 +12,7 @@ import java.util.Set;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation;
 import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.ArcFlagShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.EArcFlagPreprocessing;
 import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.OneAxisRectanglePartitioningProvider;
 import de.zabuza.pathweaver.network.road.RoadNetwork;
 import de.zabuza.pathweaver.network.road.RoadNode;
@@ -68,7 +69,8 @@ public final class ArcFlagExample {
 		final float longitudeMax = 7.05f;
 		final OneAxisRectanglePartitioningProvider provider = new OneAxisRectanglePartitioningProvider(network,
 				latitudeMin, latitudeMax, longitudeMin, longitudeMax);
-		final IShortestPathComputation computation = new ArcFlagShortestPathComputation(network, provider);
+		final IShortestPathComputation computation = new ArcFlagShortestPathComputation(network, provider,
+				EArcFlagPreprocessing.CENTRALIZED);
 		final Object[] nodes = network.getNodes().toArray();
 		final int amountOfNodes = nodes.length;
 		final Random rnd = new Random();
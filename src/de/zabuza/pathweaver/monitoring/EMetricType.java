@@ -0,0 +1,23 @@
+package de.zabuza.pathweaver.monitoring;
+
+/**
+ * Types of metrics a {@link MetricsRegistry} offers, named after the types of
+ * the Prometheus text format.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EMetricType {
+	/**
+	 * A monotonically increasing count, for example of requests.
+	 */
+	COUNTER,
+	/**
+	 * A value which can go up and down, for example the depth of a queue.
+	 */
+	GAUGE,
+	/**
+	 * A distribution of values, for example of latencies.
+	 */
+	HISTOGRAM
+}
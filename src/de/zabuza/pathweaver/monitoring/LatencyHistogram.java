@@ -0,0 +1,212 @@
+package de.zabuza.pathweaver.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies, given in nanoseconds, with a bounded relative
+ * error. Similar to an HdrHistogram the values are counted in buckets whose
+ * width grows with the magnitude of the values: values below
+ * {@link #SUB_BUCKET_COUNT} are counted exactly, above each power of two is
+ * divided into {@link #SUB_BUCKET_COUNT}<tt> / 2</tt> buckets of equal width.
+ * Thus the relative error of reported values is at most
+ * <tt>2 / </tt>{@link #SUB_BUCKET_COUNT}, independent of the magnitude, while
+ * the histogram has a fixed size of about 15 kilobytes.<br>
+ * <br>
+ * Recording values is lock-free and may be done concurrently by several
+ * threads. Reading while recording yields a consistent enough view for
+ * monitoring, but not an atomic snapshot.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class LatencyHistogram {
+	/**
+	 * The amount of buckets, enough to cover all non-negative long values.
+	 */
+	private static final int AMOUNT_OF_BUCKETS = getBucketIndex(Long.MAX_VALUE) + 1;
+	/**
+	 * Message of the exception thrown when a quantile is not between <tt>0</tt>
+	 * and <tt>1</tt>.
+	 */
+	private static final String EXCEPTION_QUANTILE_ILLEGAL = "The quantile must be between 0 and 1 (both inclusive): ";
+	/**
+	 * Message of the exception thrown when a value is negative.
+	 */
+	private static final String EXCEPTION_VALUE_NEGATIVE = "The value must not be negative: ";
+	/**
+	 * The amount of bits values below {@link #SUB_BUCKET_COUNT} have.
+	 */
+	private static final int SUB_BUCKET_BITS = 6;
+	/**
+	 * The amount of values which are counted exactly, also twice the amount
+	 * of buckets each power of two above is divided into.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/**
+	 * The amount of buckets each power of two above
+	 * {@link #SUB_BUCKET_COUNT} is divided into.
+	 */
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+	/**
+	 * Gets the index of the bucket which counts the given value.
+	 * 
+	 * @param value
+	 *            The non-negative value in question
+	 * @return The index of the bucket which counts the value
+	 */
+	private static int getBucketIndex(final long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final int shift = getShift(value);
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+				+ (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+	}
+
+	/**
+	 * Gets the smallest value counted by the bucket with the given index.
+	 * 
+	 * @param bucketIndex
+	 *            The index of the bucket
+	 * @return The smallest value counted by the bucket
+	 */
+	private static long getLowestValueOfBucket(final int bucketIndex) {
+		if (bucketIndex < SUB_BUCKET_COUNT) {
+			return bucketIndex;
+		}
+		final int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+		final long subBucket = (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return subBucket << shift;
+	}
+
+	/**
+	 * Gets the amount of bits values of the magnitude of the given value are
+	 * shifted by to get their sub bucket.
+	 * 
+	 * @param value
+	 *            A value which is at least {@link #SUB_BUCKET_COUNT}
+	 * @return The shift of the value
+	 */
+	private static int getShift(final long value) {
+		final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		return highestBit - (SUB_BUCKET_BITS - 1);
+	}
+
+	/**
+	 * The counts of values, accessible by the index of their bucket.
+	 */
+	private final AtomicLongArray mCounts;
+	/**
+	 * The total amount of recorded values.
+	 */
+	private final AtomicLong mTotalCount;
+	/**
+	 * The sum of all recorded values.
+	 */
+	private final AtomicLong mTotalSum;
+
+	/**
+	 * Creates a new empty histogram.
+	 */
+	public LatencyHistogram() {
+		this.mCounts = new AtomicLongArray(AMOUNT_OF_BUCKETS);
+		this.mTotalCount = new AtomicLong();
+		this.mTotalSum = new AtomicLong();
+	}
+
+	/**
+	 * Gets the amount of recorded values which are less than the given
+	 * threshold. The result is exact if the threshold is a power of two or
+	 * not greater than {@link #SUB_BUCKET_COUNT}, else it may also include
+	 * greater values of the bucket containing the threshold.
+	 * 
+	 * @param threshold
+	 *            The threshold, in nanoseconds
+	 * @return The amount of recorded values less than the threshold
+	 */
+	public long getCountBelow(final long threshold) {
+		if (threshold <= 0) {
+			return 0;
+		}
+		final int lastBucket = getBucketIndex(threshold - 1);
+		long count = 0;
+		for (int bucket = 0; bucket <= lastBucket; bucket++) {
+			count += this.mCounts.get(bucket);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the total amount of recorded values.
+	 * 
+	 * @return The total amount of recorded values
+	 */
+	public long getTotalCount() {
+		return this.mTotalCount.get();
+	}
+
+	/**
+	 * Gets the sum of all recorded values.
+	 * 
+	 * @return The sum of all recorded values, in nanoseconds
+	 */
+	public long getTotalSum() {
+		return this.mTotalSum.get();
+	}
+
+	/**
+	 * Gets the value at the given quantile, for example <tt>0.99</tt> for the
+	 * value which <tt>99%</tt> of all recorded values do not exceed. The
+	 * reported value is the highest value of the bucket the quantile falls
+	 * into.
+	 * 
+	 * @param quantile
+	 *            The quantile, between <tt>0</tt> and <tt>1</tt> (both
+	 *            inclusive)
+	 * @return The value at the quantile, in nanoseconds, or <tt>0</tt> if no
+	 *         values are recorded
+	 * @throws IllegalArgumentException
+	 *             If the quantile is not between <tt>0</tt> and <tt>1</tt>
+	 */
+	public long getValueAtQuantile(final double quantile) throws IllegalArgumentException {
+		if (!(quantile >= 0.0 && quantile <= 1.0)) {
+			throw new IllegalArgumentException(EXCEPTION_QUANTILE_ILLEGAL + quantile);
+		}
+		final long totalCount = this.mTotalCount.get();
+		if (totalCount == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+		long count = 0;
+		for (int bucket = 0; bucket < AMOUNT_OF_BUCKETS; bucket++) {
+			count += this.mCounts.get(bucket);
+			if (count >= rank) {
+				if (bucket + 1 == AMOUNT_OF_BUCKETS) {
+					return Long.MAX_VALUE;
+				}
+				return getLowestValueOfBucket(bucket + 1) - 1;
+			}
+		}
+		// Values were recorded concurrently after reading the total count
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Records the given value.
+	 * 
+	 * @param value
+	 *            The value to record, in nanoseconds
+	 * @throws IllegalArgumentException
+	 *             If the value is negative
+	 */
+	public void recordValue(final long value) throws IllegalArgumentException {
+		if (value < 0) {
+			throw new IllegalArgumentException(EXCEPTION_VALUE_NEGATIVE + value);
+		}
+		this.mCounts.incrementAndGet(getBucketIndex(value));
+		this.mTotalSum.addAndGet(value);
+		this.mTotalCount.incrementAndGet();
+	}
+}
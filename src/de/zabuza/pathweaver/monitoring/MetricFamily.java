@@ -0,0 +1,215 @@
+package de.zabuza.pathweaver.monitoring;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * All metrics of a {@link MetricsRegistry} which share a name and thus type and
+ * help text. The metrics of a family are distinguished by their labels.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class MetricFamily {
+	/**
+	 * The exponents of the powers of two, in nanoseconds, which are used as
+	 * upper bounds of the exported histogram buckets. They range from about a
+	 * microsecond to about a minute. Buckets of the histogram end right below
+	 * powers of two, thus the counts of values below the bounds are exact.
+	 * Unlike Prometheus buckets they are half-open, a value exactly equal to a
+	 * bound is counted in the next bucket.
+	 */
+	private static final int[] HISTOGRAM_BOUND_EXPONENTS = { 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30, 32, 34,
+			36 };
+	/**
+	 * The amount of nanoseconds per second.
+	 */
+	private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+	/**
+	 * Appends a sample line in the Prometheus text format.
+	 * 
+	 * @param out
+	 *            The object to append to
+	 * @param name
+	 *            The name of the sample
+	 * @param labels
+	 *            The formatted labels of the sample, without braces, or an
+	 *            empty text
+	 * @param value
+	 *            The value of the sample
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	private static void appendSample(final Appendable out, final String name, final String labels,
+			final String value) throws IOException {
+		out.append(name);
+		if (!labels.isEmpty()) {
+			out.append('{').append(labels).append('}');
+		}
+		out.append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Escapes the given text for usage in help texts of the Prometheus text
+	 * format.
+	 * 
+	 * @param text
+	 *            The text to escape
+	 * @return The escaped text
+	 */
+	private static String escapeHelp(final String text) {
+		return text.replace("\\", "\\\\").replace("\n", "\\n");
+	}
+
+	/**
+	 * Formats the given value for the Prometheus text format.
+	 * 
+	 * @param value
+	 *            The value to format
+	 * @return The formatted value
+	 */
+	private static String formatValue(final double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "+Inf" : "-Inf";
+		}
+		return Double.toString(value);
+	}
+
+	/**
+	 * The help text of the family.
+	 */
+	private final String mHelp;
+	/**
+	 * The metrics of the family, accessible by their formatted labels.
+	 */
+	private final Map<String, Object> mLabelsToMetric;
+	/**
+	 * The name of the family.
+	 */
+	private final String mName;
+	/**
+	 * The type of the metrics of the family.
+	 */
+	private final EMetricType mType;
+
+	/**
+	 * Creates a new family without metrics.
+	 * 
+	 * @param name
+	 *            The name of the family
+	 * @param help
+	 *            The help text of the family
+	 * @param type
+	 *            The type of the metrics of the family
+	 */
+	MetricFamily(final String name, final String help, final EMetricType type) {
+		this.mName = name;
+		this.mHelp = help;
+		this.mType = type;
+		this.mLabelsToMetric = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Adds the given metric to the family.
+	 * 
+	 * @param labels
+	 *            The formatted labels of the metric, without braces, or an
+	 *            empty text
+	 * @param metric
+	 *            The metric to add, a {@link LongAdder} for counters, a
+	 *            {@link DoubleSupplier} for gauges and a
+	 *            {@link LatencyHistogram} for histograms
+	 * @return <tt>True</tt> if the metric was added, <tt>false</tt> if the
+	 *         family already contains a metric with the given labels
+	 */
+	boolean addMetric(final String labels, final Object metric) {
+		return this.mLabelsToMetric.putIfAbsent(labels, metric) == null;
+	}
+
+	/**
+	 * Appends the family in the Prometheus text format.
+	 * 
+	 * @param out
+	 *            The object to append to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	void appendTo(final Appendable out) throws IOException {
+		out.append("# HELP ").append(this.mName).append(' ').append(escapeHelp(this.mHelp)).append('\n');
+		out.append("# TYPE ").append(this.mName).append(' ').append(this.mType.name().toLowerCase(Locale.ROOT))
+				.append('\n');
+		for (final Entry<String, Object> entry : this.mLabelsToMetric.entrySet()) {
+			final String labels = entry.getKey();
+			switch (this.mType) {
+			case COUNTER:
+				appendSample(out, this.mName, labels, Long.toString(((LongAdder) entry.getValue()).sum()));
+				break;
+			case GAUGE:
+				appendSample(out, this.mName, labels,
+						formatValue(((DoubleSupplier) entry.getValue()).getAsDouble()));
+				break;
+			case HISTOGRAM:
+				appendHistogram(out, labels, (LatencyHistogram) entry.getValue());
+				break;
+			default:
+				throw new AssertionError();
+			}
+		}
+	}
+
+	/**
+	 * Gets the type of the metrics of the family.
+	 * 
+	 * @return The type of the metrics
+	 */
+	EMetricType getType() {
+		return this.mType;
+	}
+
+	/**
+	 * Appends the samples of the given histogram in the Prometheus text
+	 * format. The buckets are cumulative and given in seconds.
+	 * 
+	 * @param out
+	 *            The object to append to
+	 * @param labels
+	 *            The formatted labels of the histogram, without braces, or an
+	 *            empty text
+	 * @param histogram
+	 *            The histogram to append
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	private void appendHistogram(final Appendable out, final String labels, final LatencyHistogram histogram)
+			throws IOException {
+		final String bucketName = this.mName + "_bucket";
+		final String labelPrefix;
+		if (labels.isEmpty()) {
+			labelPrefix = "";
+		} else {
+			labelPrefix = labels + ",";
+		}
+
+		// Read the total first such that buckets never exceed it
+		final long totalCount = histogram.getTotalCount();
+		final double totalSum = histogram.getTotalSum() / NANOS_PER_SECOND;
+		for (final int exponent : HISTOGRAM_BOUND_EXPONENTS) {
+			final long bound = 1L << exponent;
+			final long count = Math.min(histogram.getCountBelow(bound), totalCount);
+			appendSample(out, bucketName, labelPrefix + "le=\"" + formatValue(bound / NANOS_PER_SECOND) + "\"",
+					Long.toString(count));
+		}
+		appendSample(out, bucketName, labelPrefix + "le=\"+Inf\"", Long.toString(totalCount));
+		appendSample(out, this.mName + "_sum", labels, formatValue(totalSum));
+		appendSample(out, this.mName + "_count", labels, Long.toString(totalCount));
+	}
+}
@@ -0,0 +1,256 @@
+package de.zabuza.pathweaver.monitoring;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of metrics which can be exported in the Prometheus text format,
+ * see {@link #toPrometheusText()}. Counters are given as {@link LongAdder},
+ * gauges as {@link DoubleSupplier} which are read on export and histograms as
+ * {@link LatencyHistogram}, which are exported in seconds.<br>
+ * <br>
+ * Metrics with the same name form a family and are distinguished by a label.
+ * Registering is synchronized and intended to happen once at startup,
+ * recording values into the returned metrics does not involve the registry
+ * and is lock-free.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MetricsRegistry {
+	/**
+	 * The content type of the Prometheus text format.
+	 */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	/**
+	 * Message of the exception thrown when a metric with the same name and
+	 * labels is already registered.
+	 */
+	private static final String EXCEPTION_ALREADY_REGISTERED = "A metric with the same name and labels is already registered: ";
+	/**
+	 * Message of the exception thrown when a label name is not valid.
+	 */
+	private static final String EXCEPTION_LABEL_NAME_ILLEGAL = "The label name is not valid: ";
+	/**
+	 * Message of the exception thrown when a metric name is not valid.
+	 */
+	private static final String EXCEPTION_NAME_ILLEGAL = "The metric name is not valid: ";
+	/**
+	 * Message of the exception thrown when a metric is registered with the
+	 * name of a family of a different type.
+	 */
+	private static final String EXCEPTION_TYPE_MISMATCH = "A metric of a different type is already registered with the name: ";
+	/**
+	 * Pattern of valid label names.
+	 */
+	private static final Pattern LABEL_NAME_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+	/**
+	 * Pattern of valid metric names.
+	 */
+	private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+	/**
+	 * Formats the given label for the Prometheus text format.
+	 * 
+	 * @param labelName
+	 *            The name of the label
+	 * @param labelValue
+	 *            The value of the label
+	 * @return The formatted label, without braces
+	 * @throws IllegalArgumentException
+	 *             If the name of the label is not valid
+	 */
+	private static String formatLabel(final String labelName, final String labelValue)
+			throws IllegalArgumentException {
+		if (!LABEL_NAME_PATTERN.matcher(labelName).matches() || labelName.startsWith("__")
+				|| labelName.equals("le")) {
+			throw new IllegalArgumentException(EXCEPTION_LABEL_NAME_ILLEGAL + labelName);
+		}
+		final String escapedValue = labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+		return labelName + "=\"" + escapedValue + "\"";
+	}
+
+	/**
+	 * The families of all registered metrics, accessible by their name, in
+	 * order of registration.
+	 */
+	private final Map<String, MetricFamily> mNameToFamily;
+
+	/**
+	 * Creates a new registry without metrics.
+	 */
+	public MetricsRegistry() {
+		this.mNameToFamily = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Registers a new counter without labels.
+	 * 
+	 * @param name
+	 *            The name of the counter, should end with <tt>_total</tt>
+	 * @param help
+	 *            The help text describing the counter
+	 * @return The registered counter
+	 * @throws IllegalArgumentException
+	 *             If the name is not valid or already registered
+	 */
+	public LongAdder registerCounter(final String name, final String help) throws IllegalArgumentException {
+		final LongAdder counter = new LongAdder();
+		register(name, help, EMetricType.COUNTER, "", counter);
+		return counter;
+	}
+
+	/**
+	 * Registers a new counter with the given label.
+	 * 
+	 * @param name
+	 *            The name of the counter, should end with <tt>_total</tt>
+	 * @param help
+	 *            The help text describing the counter
+	 * @param labelName
+	 *            The name of the label distinguishing the counter from others
+	 *            with the same name
+	 * @param labelValue
+	 *            The value of the label
+	 * @return The registered counter
+	 * @throws IllegalArgumentException
+	 *             If the name or label is not valid or already registered
+	 */
+	public LongAdder registerCounter(final String name, final String help, final String labelName,
+			final String labelValue) throws IllegalArgumentException {
+		final LongAdder counter = new LongAdder();
+		register(name, help, EMetricType.COUNTER, formatLabel(labelName, labelValue), counter);
+		return counter;
+	}
+
+	/**
+	 * Registers a new gauge without labels.
+	 * 
+	 * @param name
+	 *            The name of the gauge
+	 * @param help
+	 *            The help text describing the gauge
+	 * @param gauge
+	 *            The gauge, it is read whenever the metrics are exported and
+	 *            thus must be thread-safe
+	 * @throws IllegalArgumentException
+	 *             If the name is not valid or already registered
+	 */
+	public void registerGauge(final String name, final String help, final DoubleSupplier gauge)
+			throws IllegalArgumentException {
+		register(name, help, EMetricType.GAUGE, "", gauge);
+	}
+
+	/**
+	 * Registers a new histogram without labels.
+	 * 
+	 * @param name
+	 *            The name of the histogram, should end with <tt>_seconds</tt>
+	 * @param help
+	 *            The help text describing the histogram
+	 * @return The registered histogram, values are recorded in nanoseconds
+	 * @throws IllegalArgumentException
+	 *             If the name is not valid or already registered
+	 */
+	public LatencyHistogram registerHistogram(final String name, final String help)
+			throws IllegalArgumentException {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		register(name, help, EMetricType.HISTOGRAM, "", histogram);
+		return histogram;
+	}
+
+	/**
+	 * Registers a new histogram with the given label.
+	 * 
+	 * @param name
+	 *            The name of the histogram, should end with <tt>_seconds</tt>
+	 * @param help
+	 *            The help text describing the histogram
+	 * @param labelName
+	 *            The name of the label distinguishing the histogram from
+	 *            others with the same name
+	 * @param labelValue
+	 *            The value of the label
+	 * @return The registered histogram, values are recorded in nanoseconds
+	 * @throws IllegalArgumentException
+	 *             If the name or label is not valid or already registered
+	 */
+	public LatencyHistogram registerHistogram(final String name, final String help, final String labelName,
+			final String labelValue) throws IllegalArgumentException {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		register(name, help, EMetricType.HISTOGRAM, formatLabel(labelName, labelValue), histogram);
+		return histogram;
+	}
+
+	/**
+	 * Exports all registered metrics in the Prometheus text format, version
+	 * <tt>0.0.4</tt>, see {@link #CONTENT_TYPE}.
+	 * 
+	 * @return The metrics in the Prometheus text format
+	 */
+	public String toPrometheusText() {
+		final StringBuilder text = new StringBuilder();
+		try {
+			writePrometheusText(text);
+		} catch (final IOException e) {
+			// Can not happen since string builders do not throw
+			throw new UncheckedIOException(e);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Writes all registered metrics in the Prometheus text format, version
+	 * <tt>0.0.4</tt>, to the given object, see {@link #CONTENT_TYPE}.
+	 * 
+	 * @param out
+	 *            The object to write to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while writing
+	 */
+	public synchronized void writePrometheusText(final Appendable out) throws IOException {
+		for (final MetricFamily family : this.mNameToFamily.values()) {
+			family.appendTo(out);
+		}
+	}
+
+	/**
+	 * Registers the given metric.
+	 * 
+	 * @param name
+	 *            The name of the metric
+	 * @param help
+	 *            The help text describing the metric, only used if it is the
+	 *            first metric with this name
+	 * @param type
+	 *            The type of the metric
+	 * @param labels
+	 *            The formatted labels of the metric, without braces, or an
+	 *            empty text
+	 * @param metric
+	 *            The metric to register
+	 * @throws IllegalArgumentException
+	 *             If the name is not valid, if a metric of different type is
+	 *             registered with the name or if a metric with the same name
+	 *             and labels is registered
+	 */
+	private synchronized void register(final String name, final String help, final EMetricType type,
+			final String labels, final Object metric) throws IllegalArgumentException {
+		if (!NAME_PATTERN.matcher(name).matches()) {
+			throw new IllegalArgumentException(EXCEPTION_NAME_ILLEGAL + name);
+		}
+		final MetricFamily family = this.mNameToFamily.computeIfAbsent(name,
+				familyName -> new MetricFamily(familyName, help, type));
+		if (family.getType() != type) {
+			throw new IllegalArgumentException(EXCEPTION_TYPE_MISMATCH + name);
+		}
+		if (!family.addMetric(labels, metric)) {
+			throw new IllegalArgumentException(EXCEPTION_ALREADY_REGISTERED + name + "{" + labels + "}");
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the core package for monitoring objects of the API, like latency
+ * histograms and their export in the Prometheus text format.
+ */
+package de.zabuza.pathweaver.monitoring;
\ No newline at end of file
@@ -0,0 +1,207 @@
+package de.zabuza.pathweaver.network;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable and compact representation of a path, given by the ids of its
+ * nodes in order and its total cost. Callers which only need the cost or the
+ * nodes of a path, for example to draw it, can avoid creating edge objects.
+ * The equivalent {@link Path} can be materialized on demand, see
+ * {@link #toPath(IPathNetwork)}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompactPath {
+	/**
+	 * Message of the exception thrown when the network has no edge between
+	 * two consecutive nodes of the path.
+	 */
+	private static final String EXCEPTION_NO_EDGE = "The network has no edge between the nodes of the path: ";
+	/**
+	 * Message of the exception thrown when a path without nodes is created.
+	 */
+	private static final String EXCEPTION_NO_NODES = "A path must contain at least its source.";
+
+	/**
+	 * Creates the compact representation of the given path.
+	 * 
+	 * @param path
+	 *            The path to represent
+	 * @return The compact representation of the path
+	 */
+	public static CompactPath ofPath(final Path path) {
+		final List<DirectedWeightedEdge> edges = path.getEdges();
+		final int[] nodeIds = new int[edges.size() + 1];
+		nodeIds[0] = path.getSource().getId();
+		int index = 1;
+		for (final DirectedWeightedEdge edge : edges) {
+			nodeIds[index] = edge.getDestination().getId();
+			index++;
+		}
+		return new CompactPath(nodeIds, path.getCost());
+	}
+
+	/**
+	 * The total cost of this path, i.e. the sum of all costs from its edges.
+	 */
+	private final float mCost;
+	/**
+	 * The ids of the nodes of this path in order, starting with the source and
+	 * ending with the destination.
+	 */
+	private final int[] mNodeIds;
+
+	/**
+	 * Creates a new compact path. The given array is not copied and must not
+	 * be modified afterwards.
+	 * 
+	 * @param nodeIds
+	 *            The ids of the nodes of the path in order, starting with the
+	 *            source and ending with the destination
+	 * @param cost
+	 *            The total cost of the path
+	 * @throws IllegalArgumentException
+	 *             If the path has no nodes
+	 */
+	public CompactPath(final int[] nodeIds, final float cost) throws IllegalArgumentException {
+		if (nodeIds.length == 0) {
+			throw new IllegalArgumentException(EXCEPTION_NO_NODES);
+		}
+		this.mNodeIds = nodeIds;
+		this.mCost = cost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (!(obj instanceof CompactPath)) {
+			return false;
+		}
+		final CompactPath other = (CompactPath) obj;
+		if (Float.floatToIntBits(this.mCost) != Float.floatToIntBits(other.mCost)) {
+			return false;
+		}
+		if (!Arrays.equals(this.mNodeIds, other.mNodeIds)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the total cost of this path.
+	 * 
+	 * @return The total cost of this path
+	 */
+	public float getCost() {
+		return this.mCost;
+	}
+
+	/**
+	 * Gets the id of the destination of this path.
+	 * 
+	 * @return The id of the destination of this path. If the path is empty,
+	 *         this is the source.
+	 */
+	public int getDestinationId() {
+		return this.mNodeIds[this.mNodeIds.length - 1];
+	}
+
+	/**
+	 * Gets the length of this path, i.e. the amount of nodes.
+	 * 
+	 * @return The length of this path, i.e. the amount of nodes
+	 */
+	public int getLength() {
+		return this.mNodeIds.length;
+	}
+
+	/**
+	 * Gets the id of the node at the given position of this path.
+	 * 
+	 * @param index
+	 *            The position of the node, between <tt>0</tt> for the source
+	 *            and {@link #getLength()} <tt>- 1</tt> for the destination
+	 * @return The id of the node at the given position
+	 */
+	public int getNodeId(final int index) {
+		return this.mNodeIds[index];
+	}
+
+	/**
+	 * Gets the id of the source of this path.
+	 * 
+	 * @return The id of the source of this path
+	 */
+	public int getSourceId() {
+		return this.mNodeIds[0];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(this.mCost);
+		result = prime * result + Arrays.hashCode(this.mNodeIds);
+		return result;
+	}
+
+	/**
+	 * Materializes this path as {@link Path} by looking up its nodes and
+	 * edges in the given network. Between two consecutive nodes the cheapest
+	 * edge is used. Every call creates a new path.
+	 * 
+	 * @param network
+	 *            The network the path belongs to
+	 * @return The path with all its edges
+	 * @throws IllegalArgumentException
+	 *             If the network has no edge between two consecutive nodes of
+	 *             the path
+	 */
+	public Path toPath(final IPathNetwork network) throws IllegalArgumentException {
+		Node currentNode = network.getNodeById(this.mNodeIds[0]);
+		final Path path = new Path(currentNode);
+		for (int i = 1; i < this.mNodeIds.length; i++) {
+			final Node nextNode = network.getNodeById(this.mNodeIds[i]);
+			DirectedWeightedEdge cheapestEdge = null;
+			for (final DirectedWeightedEdge edge : network.getOutgoingEdges(currentNode)) {
+				if (edge.getDestination().equals(nextNode)
+						&& (cheapestEdge == null || edge.getCost() < cheapestEdge.getCost())) {
+					cheapestEdge = edge;
+				}
+			}
+			if (cheapestEdge == null) {
+				throw new IllegalArgumentException(EXCEPTION_NO_EDGE + currentNode + ", " + nextNode);
+			}
+			path.addEdge(cheapestEdge);
+			currentNode = nextNode;
+		}
+		return path;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CompactPath [cost=" + this.mCost + ", nodeIds=" + Arrays.toString(this.mNodeIds) + "]";
+	}
+}
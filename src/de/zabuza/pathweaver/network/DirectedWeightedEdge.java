@@ -7,6 +7,10 @@ package de.zabuza.pathweaver.network;
  *
  */
 public final class DirectedWeightedEdge {
+	/**
+	 * The id of edges which were not created by a network.
+	 */
+	public static final int NO_ID = -1;
 	/**
 	 * Message for the exception thrown when the given cost of the edge is
 	 * illegal.
@@ -16,12 +20,15 @@ public final class DirectedWeightedEdge {
 	/**
 	 * The cost of this edge which must be greater than <tt>zero</tt>.
 	 */
-	private final float mCost;
+	private float mCost;
 	/**
 	 * The destination of this directed edge.
 	 */
 	private final Node mDestination;
-
+	/**
+	 * The id of this edge, see {@link #getId()}.
+	 */
+	private final int mId;
 	/**
 	 * Whether the edge is reversed or not.
 	 */
@@ -45,12 +52,32 @@ public final class DirectedWeightedEdge {
 	 */
 	public DirectedWeightedEdge(final Node source, final Node destination, final float cost)
 			throws IllegalArgumentException {
+		this(source, destination, cost, NO_ID);
+	}
+
+	/**
+	 * Creates an directed edge with a given source, destination, cost and id.
+	 * 
+	 * @param source
+	 *            The source of this directed edge.
+	 * @param destination
+	 *            The destination of this directed edge.
+	 * @param cost
+	 *            The cost of this edge which must be greater than <tt>zero</tt>
+	 * @param id
+	 *            The id of this edge, see {@link #getId()}
+	 * @throws IllegalArgumentException
+	 *             When cost is not greater than <tt>zero</tt>.
+	 */
+	DirectedWeightedEdge(final Node source, final Node destination, final float cost, final int id)
+			throws IllegalArgumentException {
 		if (cost <= 0) {
 			throw new IllegalArgumentException(EXCEPTION_COST_ILLEGAL + cost);
 		}
 		this.mCost = cost;
 		this.mSource = source;
 		this.mDestination = destination;
+		this.mId = id;
 		this.mIsReversed = false;
 	}
 
@@ -75,6 +102,19 @@ public final class DirectedWeightedEdge {
 		return this.mSource;
 	}
 
+	/**
+	 * Gets the id of this edge. Networks number their edges in order of
+	 * creation, starting at <tt>0</tt>, and do not reuse ids of removed edges.
+	 * Thus attributes of the edges of a network can be stored in arrays
+	 * indexed by their id.
+	 * 
+	 * @return The id of this edge, unique within the network which created
+	 *         it, or {@link #NO_ID} if it was not created by a network
+	 */
+	public int getId() {
+		return this.mId;
+	}
+
 	/**
 	 * Gets the source of this directed edge.
 	 * 
@@ -94,4 +134,22 @@ public final class DirectedWeightedEdge {
 	public void reverse() {
 		this.mIsReversed = !this.mIsReversed;
 	}
+
+	/**
+	 * Sets the cost of this edge. Use
+	 * {@link IPathNetwork#setEdgeCost(DirectedWeightedEdge, float)} for changing
+	 * the cost of an edge which is contained in a network, such that listeners
+	 * of the network get notified.
+	 * 
+	 * @param cost
+	 *            The cost of this edge which must be greater than <tt>zero</tt>
+	 * @throws IllegalArgumentException
+	 *             When cost is not greater than <tt>zero</tt>.
+	 */
+	void setCost(final float cost) throws IllegalArgumentException {
+		if (cost <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_COST_ILLEGAL + cost);
+		}
+		this.mCost = cost;
+	}
 }
@@ -0,0 +1,49 @@
+package de.zabuza.pathweaver.network;
+
+/**
+ * Interface for listeners which get notified about changes of an
+ * {@link IPathNetwork}. Objects which precompute data based on the costs of a
+ * network can use the notifications to repair their data incrementally
+ * instead of recomputing it from scratch.<br>
+ * <br>
+ * A change is announced by {@link #edgeCostChanging(DirectedWeightedEdge, float)}
+ * before the cost is set and concluded by
+ * {@link #edgeCostChanged(DirectedWeightedEdge, float)} afterwards. Listeners
+ * which are queried concurrently can thus acquire exclusive access to their
+ * data before the cost changes and release it once their data is repaired.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@FunctionalInterface
+public interface INetworkListener {
+	/**
+	 * Called after the cost of an edge of the network has changed. Every call
+	 * of {@link #edgeCostChanging(DirectedWeightedEdge, float)} is followed by
+	 * a call of this method, also if another listener rejected the change. In
+	 * that case the edge still has its previous cost.
+	 * 
+	 * @param edge
+	 *            The edge whose cost has changed, it already has its new cost
+	 * @param previousCost
+	 *            The cost the edge had before the change
+	 */
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost);
+
+	/**
+	 * Called before the cost of an edge of the network changes. The default
+	 * implementation does nothing.
+	 * 
+	 * @param edge
+	 *            The edge whose cost changes, it still has its previous cost
+	 * @param cost
+	 *            The new cost of the edge
+	 * @throws IllegalArgumentException
+	 *             If the listener rejects the new cost, the cost of the edge
+	 *             is not changed then
+	 */
+	public default void edgeCostChanging(final DirectedWeightedEdge edge, final float cost)
+			throws IllegalArgumentException {
+		// Most listeners only react after the change
+	}
+}
@@ -3,11 +3,18 @@ package de.zabuza.pathweaver.network;
 import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Interface for path networks which consists of nodes and directed edges which
  * connects the nodes. Edges have costs for using them. The network can be used
- * for computing shortest paths and similar tasks.
+ * for computing shortest paths and similar tasks.<br>
+ * <br>
+ * Listeners only get notified about cost changes, see
+ * {@link INetworkListener}. Thus the structure of the network, i.e. its nodes
+ * and edges, can not be changed while listeners are attached, since they
+ * could not repair their data. Such changes throw an
+ * {@link IllegalStateException} instead.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
@@ -28,8 +35,21 @@ public interface IPathNetwork {
 	 *            {@link DirectedWeightedEdge#DirectedWeightedEdge(Node, Node, float)}
 	 *            .
 	 * @return The edge that was created and added
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
 	 */
-	public DirectedWeightedEdge addEdge(final Node source, final Node destination, final float cost);
+	public DirectedWeightedEdge addEdge(final Node source, final Node destination, final float cost)
+			throws IllegalStateException;
+
+	/**
+	 * Adds the given listener which gets notified about changes of the
+	 * network, see {@link INetworkListener}. The structure of the network can
+	 * not be changed while listeners are attached.
+	 * 
+	 * @param listener
+	 *            The listener to add
+	 */
+	public void addNetworkListener(final INetworkListener listener);
 
 	/**
 	 * Adds the given node to the graph if not already contained.
@@ -38,8 +58,10 @@ public interface IPathNetwork {
 	 *            The node to add
 	 * @return <tt>True</tt> if the node was added, i.e. it was not already
 	 *         contained. <tt>False</tt> otherwise.
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
 	 */
-	public boolean addNode(final Node node);
+	public boolean addNode(final Node node) throws IllegalStateException;
 
 	/**
 	 * Returns whether the network contains the given node or not.
@@ -128,11 +150,26 @@ public interface IPathNetwork {
 	 */
 	public boolean hasOutgoingEdge(final Node source, final DirectedWeightedEdge outgoingEdge);
 
+	/**
+	 * Creates a new network which consists of all nodes accepted by the given
+	 * filter and all edges between them, i.e. the subnetwork induced by the
+	 * accepted nodes. The nodes are shared with this network, the edges are
+	 * copied. This network stays unchanged.
+	 * 
+	 * @param filter
+	 *            Filter which accepts the nodes to keep
+	 * @return The induced subnetwork
+	 */
+	public IPathNetwork induceSubnetwork(final Predicate<Node> filter);
+
 	/**
 	 * Reduces the graph to its largest strongly connected component. Inside
 	 * such a component every node is reachable from all others.
+	 * 
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
 	 */
-	public void reduceToLargestScc();
+	public void reduceToLargestScc() throws IllegalStateException;
 
 	/**
 	 * Removes the given edge from the network.
@@ -141,8 +178,19 @@ public interface IPathNetwork {
 	 *            The edge to remove
 	 * @throws NoSuchElementException
 	 *             If the edge is not contained in the network
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
 	 */
-	public void removeEdge(final DirectedWeightedEdge edge) throws NoSuchElementException;
+	public void removeEdge(final DirectedWeightedEdge edge) throws NoSuchElementException, IllegalStateException;
+
+	/**
+	 * Removes the given listener, it does not get notified about changes of
+	 * the network anymore.
+	 * 
+	 * @param listener
+	 *            The listener to remove
+	 */
+	public void removeNetworkListener(final INetworkListener listener);
 
 	/**
 	 * Removes the given node and all its in- and outgoing edges from the
@@ -152,11 +200,54 @@ public interface IPathNetwork {
 	 *            The node to remove
 	 * @throws NoSuchElementException
 	 *             If the node is not contained in the network
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
 	 */
-	public void removeNode(final Node node) throws NoSuchElementException;
+	public void removeNode(final Node node) throws NoSuchElementException, IllegalStateException;
+
+	/**
+	 * Reduces the network to the subnetwork induced by all nodes accepted by
+	 * the given filter, i.e. removes all other nodes and their in- and
+	 * outgoing edges. In contrast to removing the nodes one by one, the
+	 * network gets rebuilt in one pass over the remaining nodes.
+	 * 
+	 * @param filter
+	 *            Filter which accepts the nodes to keep
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
+	 */
+	public void retainNodes(final Predicate<Node> filter) throws IllegalStateException;
 
 	/**
 	 * Reverses the network, i.e. changing the direction of every edge.
+	 * 
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
+	 */
+	public void reverse() throws IllegalStateException;
+
+	/**
+	 * Sets the cost of the given edge and notifies all listeners of the
+	 * network about the change, see {@link #addNetworkListener(INetworkListener)}.
+	 * Listeners are not notified if the cost does not change.<br>
+	 * <br>
+	 * The cost is set between the two notifications of
+	 * {@link INetworkListener}, such that computations guarding their data
+	 * with a lock can be queried concurrently. Computations which do not
+	 * listen to the network must not be queried while costs change.
+	 * 
+	 * @param edge
+	 *            The edge whose cost to set
+	 * @param cost
+	 *            The new cost of the edge which must be inside the limit
+	 *            specified by
+	 *            {@link DirectedWeightedEdge#DirectedWeightedEdge(Node, Node, float)}
+	 * @throws NoSuchElementException
+	 *             If the edge is not contained in the network
+	 * @throws IllegalArgumentException
+	 *             If the cost is not inside the limit or if a listener
+	 *             rejects the cost
 	 */
-	public void reverse();
+	public void setEdgeCost(final DirectedWeightedEdge edge, final float cost)
+			throws NoSuchElementException, IllegalArgumentException;
 }
@@ -0,0 +1,312 @@
+package de.zabuza.pathweaver.network;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * Array-based snapshot of an {@link IPathNetwork} which addresses nodes and
+ * edges by dense indices. Nodes get the indices <tt>0</tt> to
+ * <tt>{@link #getAmountOfNodes()} - 1</tt> and edges the indices <tt>0</tt> to
+ * <tt>{@link #getAmountOfEdges()} - 1</tt>. The outgoing edges of a node are
+ * stored consecutively, such that algorithms can work on primitive arrays
+ * instead of hash based structures.<br>
+ * <br>
+ * The structure of the network is copied when creating the snapshot, later
+ * modifications of nodes or edges are not reflected. The costs of edges are
+ * not copied but read from the edge objects, thus they always represent the
+ * current cost.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IndexedNetwork {
+	/**
+	 * The value returned for objects which are not contained in the snapshot.
+	 */
+	public static final int NO_INDEX = -1;
+
+	/**
+	 * Maps edge indices to the index of their destination node.
+	 */
+	private final int[] mEdgeDestinations;
+	/**
+	 * Maps edge indices to the edge objects they represent.
+	 */
+	private final DirectedWeightedEdge[] mEdges;
+	/**
+	 * Maps edge indices to the index of their source node.
+	 */
+	private final int[] mEdgeSources;
+	/**
+	 * Maps edge objects to their index.
+	 */
+	private final HashMap<DirectedWeightedEdge, Integer> mEdgeToIndex;
+	/**
+	 * Indices of all edges grouped by their destination node. The incoming
+	 * edges of a node are located between the offsets of the node and its
+	 * successor in {@link #mIncomingOffsets}.
+	 */
+	private final int[] mIncomingEdges;
+	/**
+	 * Offsets of each node into {@link #mIncomingEdges}. Contains one more
+	 * element than there are nodes.
+	 */
+	private final int[] mIncomingOffsets;
+	/**
+	 * Maps node indices to the node objects they represent.
+	 */
+	private final Node[] mIndexToNode;
+	/**
+	 * The network this snapshot was created from.
+	 */
+	private final IPathNetwork mNetwork;
+	/**
+	 * Maps node objects to their index.
+	 */
+	private final HashMap<Node, Integer> mNodeToIndex;
+	/**
+	 * Offsets of each node into the edge arrays, the outgoing edges of a node
+	 * are located between the offsets of the node and its successor. Contains
+	 * one more element than there are nodes.
+	 */
+	private final int[] mOutgoingOffsets;
+
+	/**
+	 * Creates a new array-based snapshot of the given network.
+	 * 
+	 * @param network
+	 *            The network to create a snapshot of
+	 */
+	public IndexedNetwork(final IPathNetwork network) {
+		this.mNetwork = network;
+
+		final Collection<Node> nodes = network.getNodes();
+		final int amountOfNodes = nodes.size();
+		this.mIndexToNode = new Node[amountOfNodes];
+		this.mNodeToIndex = new HashMap<>(amountOfNodes * 4 / 3 + 1);
+		this.mOutgoingOffsets = new int[amountOfNodes + 1];
+
+		// Assign node indices and count the outgoing edges
+		int nodeIndex = 0;
+		int amountOfEdges = 0;
+		for (final Node node : nodes) {
+			this.mIndexToNode[nodeIndex] = node;
+			this.mNodeToIndex.put(node, Integer.valueOf(nodeIndex));
+			this.mOutgoingOffsets[nodeIndex] = amountOfEdges;
+			amountOfEdges += network.getOutgoingEdges(node).size();
+			nodeIndex++;
+		}
+		this.mOutgoingOffsets[amountOfNodes] = amountOfEdges;
+
+		// Assign edge indices grouped by source
+		this.mEdges = new DirectedWeightedEdge[amountOfEdges];
+		this.mEdgeSources = new int[amountOfEdges];
+		this.mEdgeDestinations = new int[amountOfEdges];
+		this.mEdgeToIndex = new HashMap<>(amountOfEdges * 4 / 3 + 1);
+		this.mIncomingOffsets = new int[amountOfNodes + 1];
+		int edgeIndex = 0;
+		for (int source = 0; source < amountOfNodes; source++) {
+			final Set<DirectedWeightedEdge> outgoingEdges = network.getOutgoingEdges(this.mIndexToNode[source]);
+			for (final DirectedWeightedEdge edge : outgoingEdges) {
+				final int destination = getIndex(edge.getDestination());
+				this.mEdges[edgeIndex] = edge;
+				this.mEdgeToIndex.put(edge, Integer.valueOf(edgeIndex));
+				this.mEdgeSources[edgeIndex] = source;
+				this.mEdgeDestinations[edgeIndex] = destination;
+				this.mIncomingOffsets[destination + 1]++;
+				edgeIndex++;
+			}
+		}
+
+		// Group the edges by destination
+		for (int i = 0; i < amountOfNodes; i++) {
+			this.mIncomingOffsets[i + 1] += this.mIncomingOffsets[i];
+		}
+		this.mIncomingEdges = new int[amountOfEdges];
+		final int[] nextIncomingPosition = new int[amountOfNodes];
+		System.arraycopy(this.mIncomingOffsets, 0, nextIncomingPosition, 0, amountOfNodes);
+		for (int edge = 0; edge < amountOfEdges; edge++) {
+			final int destination = this.mEdgeDestinations[edge];
+			this.mIncomingEdges[nextIncomingPosition[destination]] = edge;
+			nextIncomingPosition[destination]++;
+		}
+	}
+
+	/**
+	 * Gets the amount of edges of this snapshot.
+	 * 
+	 * @return The amount of edges of this snapshot
+	 */
+	public int getAmountOfEdges() {
+		return this.mEdges.length;
+	}
+
+	/**
+	 * Gets the amount of nodes of this snapshot.
+	 * 
+	 * @return The amount of nodes of this snapshot
+	 */
+	public int getAmountOfNodes() {
+		return this.mIndexToNode.length;
+	}
+
+	/**
+	 * Gets the current cost of the edge with the given index.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The current cost of the edge
+	 */
+	public float getCost(final int edge) {
+		return this.mEdges[edge].getCost();
+	}
+
+	/**
+	 * Gets the index of the destination node of the edge with the given index.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The index of the destination node of the edge
+	 */
+	public int getDestination(final int edge) {
+		return this.mEdgeDestinations[edge];
+	}
+
+	/**
+	 * Gets the edge object with the given index.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The edge object with the given index
+	 */
+	public DirectedWeightedEdge getEdge(final int edge) {
+		return this.mEdges[edge];
+	}
+
+	/**
+	 * Gets the first position of the incoming edges of the given node, see
+	 * {@link #getIncomingEdge(int)}.
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @return The first position of the incoming edges of the node, inclusive
+	 */
+	public int getIncomingBegin(final int node) {
+		return this.mIncomingOffsets[node];
+	}
+
+	/**
+	 * Gets the index of the incoming edge at the given position. The incoming
+	 * edges of a node are located at the positions between
+	 * {@link #getIncomingBegin(int)} (inclusive) and
+	 * {@link #getIncomingEnd(int)} (exclusive).
+	 * 
+	 * @param position
+	 *            The position of the incoming edge
+	 * @return The index of the edge at the given position
+	 */
+	public int getIncomingEdge(final int position) {
+		return this.mIncomingEdges[position];
+	}
+
+	/**
+	 * Gets the position after the last incoming edge of the given node, see
+	 * {@link #getIncomingEdge(int)}.
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @return The position after the last incoming edge of the node, exclusive
+	 */
+	public int getIncomingEnd(final int node) {
+		return this.mIncomingOffsets[node + 1];
+	}
+
+	/**
+	 * Gets the index of the given edge.
+	 * 
+	 * @param edge
+	 *            The edge to get its index
+	 * @return The index of the given edge or {@link #NO_INDEX} if the edge is
+	 *         not contained in this snapshot
+	 */
+	public int getIndex(final DirectedWeightedEdge edge) {
+		final Integer index = this.mEdgeToIndex.get(edge);
+		if (index == null) {
+			return NO_INDEX;
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Gets the index of the given node.
+	 * 
+	 * @param node
+	 *            The node to get its index
+	 * @return The index of the given node or {@link #NO_INDEX} if the node is
+	 *         not contained in this snapshot
+	 */
+	public int getIndex(final Node node) {
+		final Integer index = this.mNodeToIndex.get(node);
+		if (index == null) {
+			return NO_INDEX;
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Gets the node object with the given index.
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @return The node object with the given index
+	 */
+	public Node getNode(final int node) {
+		return this.mIndexToNode[node];
+	}
+
+	/**
+	 * Gets the index of the first outgoing edge of the given node. The
+	 * outgoing edges of a node have the indices between this value (inclusive)
+	 * and {@link #getOutgoingEnd(int)} (exclusive).
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @return The index of the first outgoing edge of the node, inclusive
+	 */
+	public int getOutgoingBegin(final int node) {
+		return this.mOutgoingOffsets[node];
+	}
+
+	/**
+	 * Gets the index after the last outgoing edge of the given node, see
+	 * {@link #getOutgoingBegin(int)}.
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @return The index after the last outgoing edge of the node, exclusive
+	 */
+	public int getOutgoingEnd(final int node) {
+		return this.mOutgoingOffsets[node + 1];
+	}
+
+	/**
+	 * Gets the network this snapshot was created from.
+	 * 
+	 * @return The network this snapshot was created from
+	 */
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Gets the index of the source node of the edge with the given index.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The index of the source node of the edge
+	 */
+	public int getSource(final int edge) {
+		return this.mEdgeSources[edge];
+	}
+}
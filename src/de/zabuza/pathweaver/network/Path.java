@@ -1,6 +1,6 @@
 package de.zabuza.pathweaver.network;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,7 +23,7 @@ public final class Path {
 	/**
 	 * A list of all edges this path represents.
 	 */
-	private final LinkedList<DirectedWeightedEdge> mEdges;
+	private final ArrayList<DirectedWeightedEdge> mEdges;
 	/**
 	 * The current head edge of this path.
 	 */
@@ -50,7 +50,7 @@ public final class Path {
 	public Path(final Node source) {
 		this.mSource = source;
 		this.mHeadEdge = null;
-		this.mEdges = new LinkedList<>();
+		this.mEdges = new ArrayList<>();
 		this.mLength = EMPTY_LENGTH;
 		this.mTotalCost = EMPTY_TOTAL_COST;
 	}
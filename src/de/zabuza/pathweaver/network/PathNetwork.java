@@ -9,11 +9,12 @@ import java.util.LinkedList;
 import java.util.Map.Entry;
 
 import de.zabuza.pathweaver.network.algorithm.scc.ISccComputation;
+import de.zabuza.pathweaver.network.algorithm.scc.IterativeTarjanSccComputation;
 import de.zabuza.pathweaver.network.algorithm.scc.StronglyConnectedComponent;
-import de.zabuza.pathweaver.network.algorithm.scc.TarjanNonRecursiveSccComputation;
 
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * A path network which consists of nodes and directed edges which connects the
@@ -24,6 +25,11 @@ import java.util.Set;
  *
  */
 public class PathNetwork implements IPathNetwork {
+	/**
+	 * Message for the exception thrown when the structure of the network is
+	 * changed while listeners are attached.
+	 */
+	private static final String EXCEPTION_LISTENERS_ATTACHED = "The structure of the network can not be changed while listeners are attached.";
 	/**
 	 * Message for the exception thrown when the given nodes where not added to
 	 * the network previously though needed.
@@ -42,7 +48,18 @@ public class PathNetwork implements IPathNetwork {
 	/**
 	 * The set of nodes the network currently has, accessible by their IDs.
 	 */
-	private final HashMap<Integer, Node> mIdToNodes;
+	private HashMap<Integer, Node> mIdToNodes;
+
+	/**
+	 * The listeners which get notified about changes of the network.
+	 */
+	private final LinkedList<INetworkListener> mListeners;
+
+	/**
+	 * The id of the next edge to create, see
+	 * {@link DirectedWeightedEdge#getId()}.
+	 */
+	private int mNextEdgeId;
 
 	/**
 	 * Maps nodes to their incoming edges.
@@ -61,6 +78,8 @@ public class PathNetwork implements IPathNetwork {
 		this.mAmountOfNodes = 0;
 		this.mAmountOfEdges = 0;
 		this.mIdToNodes = new HashMap<>();
+		this.mListeners = new LinkedList<>();
+		this.mNextEdgeId = 0;
 		this.mNodeToOutgoingEdges = new HashMap<>();
 		this.mNodeToIncomingEdges = new HashMap<>();
 	}
@@ -73,11 +92,14 @@ public class PathNetwork implements IPathNetwork {
 	 * network.Node, de.zabuza.pathweaver.network.Node, float)
 	 */
 	@Override
-	public DirectedWeightedEdge addEdge(final Node source, final Node destination, final float cost) {
+	public DirectedWeightedEdge addEdge(final Node source, final Node destination, final float cost)
+			throws IllegalStateException {
+		ensureNoListeners();
 		if (!containsNodeId(source.getId()) || !containsNodeId(destination.getId())) {
 			throw new IllegalArgumentException(EXCEPTION_NODE_NOT_ADDED);
 		}
-		final DirectedWeightedEdge edge = new DirectedWeightedEdge(source, destination, cost);
+		final DirectedWeightedEdge edge = new DirectedWeightedEdge(source, destination, cost, this.mNextEdgeId);
+		this.mNextEdgeId++;
 		HashSet<DirectedWeightedEdge> outgoingEdges = this.mNodeToOutgoingEdges.get(source);
 		if (outgoingEdges == null) {
 			outgoingEdges = new LinkedHashSet<>();
@@ -97,6 +119,18 @@ public class PathNetwork implements IPathNetwork {
 		return edge;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.IPathNetwork#addNetworkListener(de.zabuza.
+	 * pathweaver.network.INetworkListener)
+	 */
+	@Override
+	public void addNetworkListener(final INetworkListener listener) {
+		this.mListeners.add(listener);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -105,7 +139,8 @@ public class PathNetwork implements IPathNetwork {
 	 * network.Node)
 	 */
 	@Override
-	public boolean addNode(final Node node) {
+	public boolean addNode(final Node node) throws IllegalStateException {
+		ensureNoListeners();
 		final Node previousElement = this.mIdToNodes.get(Integer.valueOf(node.getId()));
 		final boolean getsAdded = previousElement == null;
 		if (getsAdded) {
@@ -231,23 +266,45 @@ public class PathNetwork implements IPathNetwork {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see de.zabuza.pathweaver.network.IPathNetwork#reduceToLargestScc()
+	 * @see
+	 * de.zabuza.pathweaver.network.IPathNetwork#induceSubnetwork(java.util.
+	 * function.Predicate)
 	 */
 	@Override
-	public void reduceToLargestScc() {
-		final ISccComputation sccComputation = new TarjanNonRecursiveSccComputation(this);
-		final StronglyConnectedComponent largestScc = sccComputation.getLargestScc();
-		final Set<Node> largestSccNodes = largestScc.getNodes();
-		final LinkedList<Node> nodesToRemove = new LinkedList<>();
+	public IPathNetwork induceSubnetwork(final Predicate<Node> filter) {
+		final PathNetwork subnetwork = new PathNetwork();
 		for (final Node node : getNodes()) {
-			if (largestSccNodes.contains(node)) {
-				continue;
+			if (filter.test(node)) {
+				subnetwork.addNode(node);
+			}
+		}
+		for (final Node node : subnetwork.getNodes()) {
+			for (final DirectedWeightedEdge edge : getOutgoingEdges(node)) {
+				final Node destination = edge.getDestination();
+				if (subnetwork.containsNodeId(destination.getId())) {
+					subnetwork.addEdge(node, destination, edge.getCost());
+				}
 			}
-			nodesToRemove.add(node);
 		}
-		for (final Node node : nodesToRemove) {
-			removeNode(node);
+		return subnetwork;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.IPathNetwork#reduceToLargestScc()
+	 */
+	@Override
+	public void reduceToLargestScc() throws IllegalStateException {
+		ensureNoListeners();
+		final ISccComputation sccComputation = new IterativeTarjanSccComputation(this);
+		final StronglyConnectedComponent largestScc = sccComputation.getLargestScc();
+		if (largestScc == null) {
+			// The network is empty
+			return;
 		}
+		final Set<Node> largestSccNodes = largestScc.getNodes();
+		retainNodes(largestSccNodes::contains);
 	}
 
 	/*
@@ -258,7 +315,8 @@ public class PathNetwork implements IPathNetwork {
 	 * .network.DirectedWeightedEdge)
 	 */
 	@Override
-	public void removeEdge(final DirectedWeightedEdge edge) throws NoSuchElementException {
+	public void removeEdge(final DirectedWeightedEdge edge) throws NoSuchElementException, IllegalStateException {
+		ensureNoListeners();
 		if (!this.mNodeToOutgoingEdges.containsKey(edge.getSource())
 				|| !this.mNodeToIncomingEdges.containsKey(edge.getDestination())) {
 			throw new NoSuchElementException();
@@ -269,6 +327,17 @@ public class PathNetwork implements IPathNetwork {
 		this.mAmountOfEdges--;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.IPathNetwork#removeNetworkListener(de.
+	 * zabuza.pathweaver.network.INetworkListener)
+	 */
+	@Override
+	public void removeNetworkListener(final INetworkListener listener) {
+		this.mListeners.remove(listener);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -277,7 +346,8 @@ public class PathNetwork implements IPathNetwork {
 	 * .network.Node)
 	 */
 	@Override
-	public void removeNode(final Node node) throws NoSuchElementException {
+	public void removeNode(final Node node) throws NoSuchElementException, IllegalStateException {
+		ensureNoListeners();
 		if (!this.mIdToNodes.containsKey(Integer.valueOf(node.getId()))) {
 			throw new NoSuchElementException();
 		}
@@ -306,13 +376,67 @@ public class PathNetwork implements IPathNetwork {
 		this.mAmountOfNodes--;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.IPathNetwork#retainNodes(java.util.function.
+	 * Predicate)
+	 */
+	@Override
+	public void retainNodes(final Predicate<Node> filter) throws IllegalStateException {
+		ensureNoListeners();
+		final HashMap<Integer, Node> idToNodes = new HashMap<>();
+		for (final Node node : getNodes()) {
+			if (filter.test(node)) {
+				idToNodes.put(Integer.valueOf(node.getId()), node);
+			}
+		}
+
+		// Build the edge maps from scratch instead of removing entries
+		final HashMap<Node, HashSet<DirectedWeightedEdge>> nodeToOutgoingEdges = new HashMap<>();
+		final HashMap<Node, HashSet<DirectedWeightedEdge>> nodeToIncomingEdges = new HashMap<>();
+		int amountOfEdges = 0;
+		for (final Node node : idToNodes.values()) {
+			final HashSet<DirectedWeightedEdge> previousOutgoingEdges = this.mNodeToOutgoingEdges.get(node);
+			if (previousOutgoingEdges == null) {
+				continue;
+			}
+			final HashSet<DirectedWeightedEdge> outgoingEdges = new LinkedHashSet<>();
+			for (final DirectedWeightedEdge edge : previousOutgoingEdges) {
+				final Node destination = edge.getDestination();
+				if (!idToNodes.containsKey(Integer.valueOf(destination.getId()))) {
+					continue;
+				}
+				outgoingEdges.add(edge);
+				HashSet<DirectedWeightedEdge> incomingEdges = nodeToIncomingEdges.get(destination);
+				if (incomingEdges == null) {
+					incomingEdges = new LinkedHashSet<>();
+					nodeToIncomingEdges.put(destination, incomingEdges);
+				}
+				incomingEdges.add(edge);
+				amountOfEdges++;
+			}
+			if (!outgoingEdges.isEmpty()) {
+				nodeToOutgoingEdges.put(node, outgoingEdges);
+			}
+		}
+
+		this.mIdToNodes = idToNodes;
+		this.mNodeToOutgoingEdges = nodeToOutgoingEdges;
+		this.mNodeToIncomingEdges = nodeToIncomingEdges;
+		this.mAmountOfNodes = idToNodes.size();
+		this.mAmountOfEdges = amountOfEdges;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
 	 * @see de.zabuza.pathweaver.network.IPathNetwork#reverse()
 	 */
 	@Override
-	public void reverse() {
+	public void reverse() throws IllegalStateException {
+		ensureNoListeners();
 		// Iterate every edge exactly one time and reverse it
 		for (final HashSet<DirectedWeightedEdge> edges : this.mNodeToOutgoingEdges.values()) {
 			for (final DirectedWeightedEdge edge : edges) {
@@ -326,6 +450,41 @@ public class PathNetwork implements IPathNetwork {
 		this.mNodeToOutgoingEdges = tmpNodeToIncomingEdges;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.IPathNetwork#setEdgeCost(de.zabuza.pathweaver
+	 * .network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void setEdgeCost(final DirectedWeightedEdge edge, final float cost)
+			throws NoSuchElementException, IllegalArgumentException {
+		if (!hasOutgoingEdge(edge.getSource(), edge)) {
+			throw new NoSuchElementException();
+		}
+
+		final float previousCost = edge.getCost();
+		if (previousCost == cost) {
+			return;
+		}
+		final INetworkListener[] listeners = this.mListeners.toArray(new INetworkListener[this.mListeners.size()]);
+		int amountOfAnnounced = 0;
+		try {
+			for (final INetworkListener listener : listeners) {
+				listener.edgeCostChanging(edge, cost);
+				amountOfAnnounced++;
+			}
+			edge.setCost(cost);
+		} finally {
+			// Also conclude a rejected change such that listeners release
+			// their data again
+			for (int i = 0; i < amountOfAnnounced; i++) {
+				listeners[i].edgeCostChanged(edge, previousCost);
+			}
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -354,4 +513,17 @@ public class PathNetwork implements IPathNetwork {
 
 		return builder.toString();
 	}
+
+	/**
+	 * Ensures that no listeners are attached, such that the structure of the
+	 * network may be changed.
+	 * 
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network
+	 */
+	protected void ensureNoListeners() throws IllegalStateException {
+		if (!this.mListeners.isEmpty()) {
+			throw new IllegalStateException(EXCEPTION_LISTENERS_ATTACHED);
+		}
+	}
 }
@@ -105,7 +105,10 @@ public final class GreedyFarthestLandmarkProvider implements ILandmarkProvider<N
 			Node farthestKnownNode = null;
 			for (final Entry<Node, Float> entry : nodeToCost.entrySet()) {
 				final Node node = entry.getKey();
-				assert !landmarks.contains(node);
+				// The landmarks themselves are reached with cost zero
+				if (landmarks.contains(node)) {
+					continue;
+				}
 
 				final float cost = entry.getValue().floatValue();
 				if (cost > highestKnownCost) {
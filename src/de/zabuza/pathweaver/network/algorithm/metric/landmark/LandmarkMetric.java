@@ -2,24 +2,50 @@ package de.zabuza.pathweaver.network.algorithm.metric.landmark;
 
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.INetworkListener;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.algorithm.metric.IMetric;
 import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.TentativeNodeContainer;
 import de.zabuza.pathweaver.util.NestedMap2;
 
 /**
  * Metric which estimates the costs between two given {@link Node}s by computing
  * the cost of the path from source to destination over a pre-selected landmark.
  * The more landmarks are used the better is the estimate but the used space
- * will increase.
+ * will increase.<br>
+ * <br>
+ * The metric listens to cost changes of the network. Increased costs need no
+ * repair since the stored costs still yield lower bounds, only less tight ones.
+ * Decreased costs get repaired incrementally by propagating the improvement
+ * from the changed edge through the stored costs of each landmark. Estimates
+ * may be requested concurrently, repairs wait for them and block further
+ * estimates until they are finished. Use {@link #detach()} once the metric is
+ * not needed anymore.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
-public final class LandmarkMetric implements IMetric<Node> {
+public final class LandmarkMetric implements IMetric<Node>, INetworkListener {
+	/**
+	 * Whether the given cost improves the given stored cost.
+	 * 
+	 * @param cost
+	 *            The cost in question
+	 * @param storedCost
+	 *            The stored cost or <tt>null</tt> if there is none
+	 * @return <tt>True</tt> if the cost is smaller than the stored cost or if
+	 *         there is no stored cost, <tt>false</tt> otherwise
+	 */
+	private static boolean isImprovement(final float cost, final Float storedCost) {
+		return storedCost == null || cost < storedCost.floatValue();
+	}
 
 	/**
 	 * The amount of landmarks to use.
@@ -49,6 +75,11 @@ public final class LandmarkMetric implements IMetric<Node> {
 	 * Map which stores the cost needed for traveling from a node to a landmark.
 	 */
 	private final NestedMap2<Integer, Integer, Float> mNodeIdAndToLandmarkIdToCost;
+	/**
+	 * Lock which estimates hold for reading and repairs of the stored costs
+	 * for writing.
+	 */
+	private final ReentrantReadWriteLock mStoredCostLock;
 
 	/**
 	 * Creates a new metric which estimates the costs between two given
@@ -91,9 +122,20 @@ public final class LandmarkMetric implements IMetric<Node> {
 		this.mAmount = amount;
 		this.mLandmarkIdAndNodeIdToCost = new NestedMap2<>();
 		this.mNodeIdAndToLandmarkIdToCost = new NestedMap2<>();
+		this.mStoredCostLock = new ReentrantReadWriteLock();
 		this.mComputation = new DijkstraShortestPathComputation(this.mNetwork);
 
 		initialize();
+		this.mNetwork.addNetworkListener(this);
+	}
+
+	/**
+	 * Stops listening to cost changes of the network, which otherwise keeps
+	 * the metric reachable. Afterwards decreased costs are not repaired
+	 * anymore, thus the estimates may exceed the actual costs.
+	 */
+	public void detach() {
+		this.mNetwork.removeNetworkListener(this);
 	}
 
 	/*
@@ -107,20 +149,27 @@ public final class LandmarkMetric implements IMetric<Node> {
 	public float distance(final Node first, final Node second) {
 		final float startingDistance = 0;
 		float greatestDistanceWithLandmark = startingDistance;
-		for (final Node landmark : this.mLandmarks) {
-			final Integer firstId = Integer.valueOf(first.getId());
-			final Integer secondId = Integer.valueOf(second.getId());
-			final Integer landmarkId = Integer.valueOf(landmark.getId());
-
-			final float landmarkBehindDestinationCost = this.mNodeIdAndToLandmarkIdToCost.get(firstId, landmarkId)
-					.floatValue() - this.mNodeIdAndToLandmarkIdToCost.get(secondId, landmarkId).floatValue();
-			final float landmarkBeforeSourceCost = this.mLandmarkIdAndNodeIdToCost.get(landmarkId, secondId)
-					.floatValue() - this.mLandmarkIdAndNodeIdToCost.get(landmarkId, firstId).floatValue();
-			final float distanceWithLandmark = Math.max(landmarkBehindDestinationCost, landmarkBeforeSourceCost);
-
-			if (distanceWithLandmark > greatestDistanceWithLandmark) {
-				greatestDistanceWithLandmark = distanceWithLandmark;
+		this.mStoredCostLock.readLock().lock();
+		try {
+			for (final Node landmark : this.mLandmarks) {
+				final Integer firstId = Integer.valueOf(first.getId());
+				final Integer secondId = Integer.valueOf(second.getId());
+				final Integer landmarkId = Integer.valueOf(landmark.getId());
+
+				final float landmarkBehindDestinationCost = this.mNodeIdAndToLandmarkIdToCost
+						.get(firstId, landmarkId).floatValue()
+						- this.mNodeIdAndToLandmarkIdToCost.get(secondId, landmarkId).floatValue();
+				final float landmarkBeforeSourceCost = this.mLandmarkIdAndNodeIdToCost.get(landmarkId, secondId)
+						.floatValue() - this.mLandmarkIdAndNodeIdToCost.get(landmarkId, firstId).floatValue();
+				final float distanceWithLandmark = Math.max(landmarkBehindDestinationCost,
+						landmarkBeforeSourceCost);
+
+				if (distanceWithLandmark > greatestDistanceWithLandmark) {
+					greatestDistanceWithLandmark = distanceWithLandmark;
+				}
 			}
+		} finally {
+			this.mStoredCostLock.readLock().unlock();
 		}
 
 		assert greatestDistanceWithLandmark >= 0;
@@ -128,6 +177,82 @@ public final class LandmarkMetric implements IMetric<Node> {
 		return greatestDistanceWithLandmark;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanged(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost) {
+		// The lock was acquired when the change was announced
+		try {
+			// Stored costs stay valid lower bounds if the cost increased
+			if (edge.getCost() >= previousCost) {
+				return;
+			}
+
+			final Node source = edge.getSource();
+			final Node destination = edge.getDestination();
+			for (final Node landmark : this.mLandmarks) {
+				// Costs from the landmark improve behind the edge
+				final Float costToSource = getStoredCost(landmark, source, true);
+				if (costToSource != null) {
+					final float costOverEdge = costToSource.floatValue() + edge.getCost();
+					if (isImprovement(costOverEdge, getStoredCost(landmark, destination, true))) {
+						repairStoredCosts(landmark, destination, costOverEdge, true);
+					}
+				}
+
+				// Costs to the landmark improve before the edge
+				final Float costFromDestination = getStoredCost(landmark, destination, false);
+				if (costFromDestination != null) {
+					final float costOverEdge = costFromDestination.floatValue() + edge.getCost();
+					if (isImprovement(costOverEdge, getStoredCost(landmark, source, false))) {
+						repairStoredCosts(landmark, source, costOverEdge, false);
+					}
+				}
+			}
+		} finally {
+			this.mStoredCostLock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanging(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanging(final DirectedWeightedEdge edge, final float cost) {
+		// Queries must not see the new cost before the stored costs are repaired
+		this.mStoredCostLock.writeLock().lock();
+	}
+
+	/**
+	 * Gets the stored cost between the given landmark and node.
+	 * 
+	 * @param landmark
+	 *            The landmark in question
+	 * @param node
+	 *            The node in question
+	 * @param isFromLandmark
+	 *            <tt>True</tt> for the cost of traveling from the landmark to
+	 *            the node, <tt>false</tt> for the opposite direction
+	 * @return The stored cost or <tt>null</tt> if there is no path
+	 */
+	private Float getStoredCost(final Node landmark, final Node node, final boolean isFromLandmark) {
+		final Integer landmarkId = Integer.valueOf(landmark.getId());
+		final Integer nodeId = Integer.valueOf(node.getId());
+		if (isFromLandmark) {
+			return this.mLandmarkIdAndNodeIdToCost.get(landmarkId, nodeId);
+		}
+		return this.mNodeIdAndToLandmarkIdToCost.get(nodeId, landmarkId);
+	}
+
 	/**
 	 * Initializes the metric by computing costs from and to all landmarks. This
 	 * may take some time depending on the size of the network and the amount of
@@ -145,17 +270,90 @@ public final class LandmarkMetric implements IMetric<Node> {
 			}
 		}
 
-		// Computation of costs from all other nodes to landmarks
-		this.mNetwork.reverse();
+		// Computation of costs from all other nodes to landmarks. Without any
+		// stored cost, repairing from the landmark follows all incoming edges
+		// like a backward search, the network must not be reversed since
+		// listeners may be attached to it.
 		for (final Node landmark : this.mLandmarks) {
-			final Map<Node, Float> nodeToCost = this.mComputation.computeShortestPathCostsReachable(landmark);
-			for (final Entry<Node, Float> entry : nodeToCost.entrySet()) {
-				this.mNodeIdAndToLandmarkIdToCost.put(Integer.valueOf(entry.getKey().getId()),
-						Integer.valueOf(landmark.getId()), entry.getValue());
+			repairStoredCosts(landmark, landmark, 0.0f, false);
+		}
+	}
+
+	/**
+	 * Repairs the stored costs of the given landmark after the cost of the
+	 * given node decreased. The improvement gets propagated like in Dijkstras
+	 * algorithm, but only to nodes whose stored cost improves.
+	 * 
+	 * @param landmark
+	 *            The landmark whose costs to repair
+	 * @param start
+	 *            The node whose cost decreased
+	 * @param startCost
+	 *            The new cost of the node
+	 * @param isFromLandmark
+	 *            <tt>True</tt> for repairing the costs of traveling from the
+	 *            landmark to nodes, <tt>false</tt> for the opposite direction
+	 */
+	private void repairStoredCosts(final Node landmark, final Node start, final float startCost,
+			final boolean isFromLandmark) {
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		setStoredCost(landmark, start, startCost, isFromLandmark);
+		activeNodes.add(new TentativeNodeContainer(start, null, startCost));
+
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+			final float currentCost = currentNodeContainer.getTentativeCost();
+
+			// The container was abandoned if the cost improved again
+			if (currentCost > getStoredCost(landmark, currentNode, isFromLandmark).floatValue()) {
+				continue;
+			}
+
+			final Set<DirectedWeightedEdge> edges;
+			if (isFromLandmark) {
+				edges = this.mNetwork.getOutgoingEdges(currentNode);
+			} else {
+				edges = this.mNetwork.getIncomingEdges(currentNode);
+			}
+			for (final DirectedWeightedEdge edge : edges) {
+				final Node nextNode;
+				if (isFromLandmark) {
+					nextNode = edge.getDestination();
+				} else {
+					nextNode = edge.getSource();
+				}
+				final float nextCost = currentCost + edge.getCost();
+				if (isImprovement(nextCost, getStoredCost(landmark, nextNode, isFromLandmark))) {
+					setStoredCost(landmark, nextNode, nextCost, isFromLandmark);
+					activeNodes.add(new TentativeNodeContainer(nextNode, null, nextCost));
+				}
 			}
 		}
+	}
 
-		this.mNetwork.reverse();
+	/**
+	 * Sets the stored cost between the given landmark and node.
+	 * 
+	 * @param landmark
+	 *            The landmark in question
+	 * @param node
+	 *            The node in question
+	 * @param cost
+	 *            The cost to store
+	 * @param isFromLandmark
+	 *            <tt>True</tt> for the cost of traveling from the landmark to
+	 *            the node, <tt>false</tt> for the opposite direction
+	 */
+	private void setStoredCost(final Node landmark, final Node node, final float cost,
+			final boolean isFromLandmark) {
+		final Integer landmarkId = Integer.valueOf(landmark.getId());
+		final Integer nodeId = Integer.valueOf(node.getId());
+		if (isFromLandmark) {
+			this.mLandmarkIdAndNodeIdToCost.put(landmarkId, nodeId, Float.valueOf(cost));
+		} else {
+			this.mNodeIdAndToLandmarkIdToCost.put(nodeId, landmarkId, Float.valueOf(cost));
+		}
 	}
 
 }
@@ -0,0 +1,478 @@
+package de.zabuza.pathweaver.network.algorithm.scc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Parallel forward-backward strongly connected component algorithm which
+ * solves strongly connected component computation tasks in
+ * {@link PathNetwork}s.<br>
+ * <br>
+ * The nodes are divided into subproblems, each identified by a color. For a
+ * subproblem, first all nodes without predecessors or successors inside the
+ * subproblem get trimmed, they form trivial SCCs. Then a pivot gets chosen
+ * and the nodes reachable forward and backward from it are determined. Their
+ * intersection is the SCC of the pivot, the remaining three sets can not share
+ * SCCs with each other and form independent subproblems. Large subproblems
+ * are processed in parallel by a {@link ForkJoinPool}.<br>
+ * <br>
+ * The computation works on an {@link IndexedNetwork} and dense primitive
+ * arrays instead of hash based structures.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ForwardBackwardSccComputation implements ISccComputation {
+	/**
+	 * The color of nodes which are already assigned to an SCC.
+	 */
+	private static final int ASSIGNED = -1;
+	/**
+	 * The color of the subproblem which contains all nodes.
+	 */
+	private static final int INITIAL_COLOR = 0;
+	/**
+	 * The minimal amount of nodes of a subproblem for processing it as
+	 * separate task of the pool.
+	 */
+	static final int PARALLEL_THRESHOLD = 4_096;
+
+	/**
+	 * The color the search in the backward direction has marked nodes with.
+	 */
+	private final int[] mBackwardMarks;
+	/**
+	 * The color of each node, nodes of the same subproblem share their color.
+	 */
+	private final int[] mColors;
+	/**
+	 * The color the search in the forward direction has marked nodes with.
+	 */
+	private final int[] mForwardMarks;
+	/**
+	 * The amount of predecessors of each node inside of its subproblem, used
+	 * for trimming.
+	 */
+	private final int[] mInDegrees;
+	/**
+	 * The largest SCC.
+	 */
+	private StronglyConnectedComponent mLargestScc;
+	/**
+	 * The array-based snapshot of the network.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * Provides colors which were not used before.
+	 */
+	private final AtomicInteger mNextColor;
+	/**
+	 * Provides SCC IDs which were not used before.
+	 */
+	private final AtomicInteger mNextSccId;
+	/**
+	 * The amount of successors of each node inside of its subproblem, used for
+	 * trimming.
+	 */
+	private final int[] mOutDegrees;
+	/**
+	 * The ID of the SCC each node belongs to.
+	 */
+	private final int[] mSccIds;
+	/**
+	 * The root node of each SCC, accessible by the ID of the SCC.
+	 */
+	private final int[] mSccRoots;
+	/**
+	 * The list of all SCCs.
+	 */
+	private final List<StronglyConnectedComponent> mSccs;
+
+	/**
+	 * Creates a new strongly connected component computation object and starts
+	 * the computation using the common {@link ForkJoinPool}.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 */
+	public ForwardBackwardSccComputation(final IPathNetwork network) {
+		this(network, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new strongly connected component computation object and starts
+	 * the computation using the given pool.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param pool
+	 *            The pool to execute the computation in
+	 */
+	public ForwardBackwardSccComputation(final IPathNetwork network, final ForkJoinPool pool) {
+		this.mNetwork = new IndexedNetwork(network);
+		final int amountOfNodes = this.mNetwork.getAmountOfNodes();
+		this.mColors = new int[amountOfNodes];
+		this.mForwardMarks = new int[amountOfNodes];
+		this.mBackwardMarks = new int[amountOfNodes];
+		this.mInDegrees = new int[amountOfNodes];
+		this.mOutDegrees = new int[amountOfNodes];
+		this.mSccIds = new int[amountOfNodes];
+		this.mSccRoots = new int[amountOfNodes];
+		this.mNextColor = new AtomicInteger(INITIAL_COLOR + 1);
+		this.mNextSccId = new AtomicInteger(0);
+		this.mSccs = new ArrayList<>();
+
+		// Marks must not match any color initially
+		Arrays.fill(this.mColors, INITIAL_COLOR);
+		Arrays.fill(this.mForwardMarks, ASSIGNED);
+		Arrays.fill(this.mBackwardMarks, ASSIGNED);
+
+		final int[] allNodes = new int[amountOfNodes];
+		for (int node = 0; node < amountOfNodes; node++) {
+			allNodes[node] = node;
+		}
+		pool.invoke(new SubproblemTask(allNodes, INITIAL_COLOR));
+
+		this.mLargestScc = SccUtil.collectSccs(this.mNetwork, this.mSccIds, this.mSccRoots, this.mNextSccId.get(),
+				this.mSccs);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getLargestScc(
+	 * )
+	 */
+	@Override
+	public StronglyConnectedComponent getLargestScc() {
+		return this.mLargestScc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getPathNetwork
+	 * ()
+	 */
+	@Override
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork.getPathNetwork();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getSccs()
+	 */
+	@Override
+	public List<StronglyConnectedComponent> getSccs() {
+		return this.mSccs;
+	}
+
+	/**
+	 * Assigns the given node to a new SCC with the given node as root.
+	 * 
+	 * @param root
+	 *            The root node of the new SCC
+	 * @return The ID of the new SCC
+	 */
+	private int assignNewScc(final int root) {
+		final int sccId = this.mNextSccId.getAndIncrement();
+		this.mSccRoots[sccId] = root;
+		this.mSccIds[root] = sccId;
+		this.mColors[root] = ASSIGNED;
+		return sccId;
+	}
+
+	/**
+	 * Marks all nodes of the given color which are reachable from the given
+	 * pivot with the color.
+	 * 
+	 * @param pivot
+	 *            The node to start at
+	 * @param color
+	 *            The color of the subproblem
+	 * @param amountOfNodes
+	 *            The amount of nodes of the subproblem
+	 * @param isForward
+	 *            <tt>True</tt> if outgoing edges should be followed,
+	 *            <tt>false</tt> for incoming edges
+	 */
+	private void markReachable(final int pivot, final int color, final int amountOfNodes, final boolean isForward) {
+		final IndexedNetwork network = this.mNetwork;
+		final int[] marks;
+		if (isForward) {
+			marks = this.mForwardMarks;
+		} else {
+			marks = this.mBackwardMarks;
+		}
+		final int[] queue = new int[amountOfNodes];
+		int head = 0;
+		int tail = 0;
+		marks[pivot] = color;
+		queue[tail] = pivot;
+		tail++;
+		while (head < tail) {
+			final int node = queue[head];
+			head++;
+			if (isForward) {
+				for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+					final int neighbor = network.getDestination(edge);
+					if (this.mColors[neighbor] == color && marks[neighbor] != color) {
+						marks[neighbor] = color;
+						queue[tail] = neighbor;
+						tail++;
+					}
+				}
+			} else {
+				for (int position = network.getIncomingBegin(node); position < network
+						.getIncomingEnd(node); position++) {
+					final int neighbor = network.getSource(network.getIncomingEdge(position));
+					if (this.mColors[neighbor] == color && marks[neighbor] != color) {
+						marks[neighbor] = color;
+						queue[tail] = neighbor;
+						tail++;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Trims the given subproblem, i.e. repeatedly assigns nodes without
+	 * predecessors or successors inside of the subproblem to their own
+	 * trivial SCC.
+	 * 
+	 * @param nodes
+	 *            The nodes of the subproblem
+	 * @param color
+	 *            The color of the subproblem
+	 * @return The nodes of the subproblem which were not trimmed
+	 */
+	private int[] trim(final int[] nodes, final int color) {
+		final IndexedNetwork network = this.mNetwork;
+		final int[] queue = new int[nodes.length];
+		int head = 0;
+		int tail = 0;
+
+		// Count the neighbors inside of the subproblem
+		for (final int node : nodes) {
+			int outDegree = 0;
+			for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+				final int neighbor = network.getDestination(edge);
+				if (neighbor != node && this.mColors[neighbor] == color) {
+					outDegree++;
+				}
+			}
+			int inDegree = 0;
+			for (int position = network.getIncomingBegin(node); position < network.getIncomingEnd(node); position++) {
+				final int neighbor = network.getSource(network.getIncomingEdge(position));
+				if (neighbor != node && this.mColors[neighbor] == color) {
+					inDegree++;
+				}
+			}
+			this.mOutDegrees[node] = outDegree;
+			this.mInDegrees[node] = inDegree;
+		}
+		for (final int node : nodes) {
+			if (this.mOutDegrees[node] == 0 || this.mInDegrees[node] == 0) {
+				assignNewScc(node);
+				queue[tail] = node;
+				tail++;
+			}
+		}
+
+		// Removing a node may make its neighbors trimmable
+		while (head < tail) {
+			final int node = queue[head];
+			head++;
+			for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+				final int neighbor = network.getDestination(edge);
+				if (neighbor != node && this.mColors[neighbor] == color) {
+					this.mInDegrees[neighbor]--;
+					if (this.mInDegrees[neighbor] == 0) {
+						assignNewScc(neighbor);
+						queue[tail] = neighbor;
+						tail++;
+					}
+				}
+			}
+			for (int position = network.getIncomingBegin(node); position < network.getIncomingEnd(node); position++) {
+				final int neighbor = network.getSource(network.getIncomingEdge(position));
+				if (neighbor != node && this.mColors[neighbor] == color) {
+					this.mOutDegrees[neighbor]--;
+					if (this.mOutDegrees[neighbor] == 0) {
+						assignNewScc(neighbor);
+						queue[tail] = neighbor;
+						tail++;
+					}
+				}
+			}
+		}
+
+		if (tail == 0) {
+			return nodes;
+		}
+		final int[] remainingNodes = new int[nodes.length - tail];
+		int amountOfRemainingNodes = 0;
+		for (final int node : nodes) {
+			if (this.mColors[node] == color) {
+				remainingNodes[amountOfRemainingNodes] = node;
+				amountOfRemainingNodes++;
+			}
+		}
+		return remainingNodes;
+	}
+
+	/**
+	 * Task which computes the SCCs of a subproblem. Nodes of other subproblems
+	 * are never modified by the task, and since colors are never reused, nodes
+	 * of other subproblems are never mistaken for nodes of this subproblem.
+	 * 
+	 * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+	 * 
+	 */
+	private final class SubproblemTask extends RecursiveAction {
+		/**
+		 * The serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The color of the subproblem.
+		 */
+		private final int mColor;
+		/**
+		 * The nodes of the subproblem.
+		 */
+		private final int[] mNodes;
+
+		/**
+		 * Creates a new task for the given subproblem.
+		 * 
+		 * @param nodes
+		 *            The nodes of the subproblem
+		 * @param color
+		 *            The color of the subproblem, all nodes must have it
+		 */
+		public SubproblemTask(final int[] nodes, final int color) {
+			this.mNodes = nodes;
+			this.mColor = color;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			// Small subproblems are processed by this task, large ones by
+			// separate tasks. An explicit list avoids deep recursion.
+			final LinkedList<SubproblemTask> ownSubproblems = new LinkedList<>();
+			final List<SubproblemTask> forkedSubproblems = new ArrayList<>();
+			ownSubproblems.add(this);
+			while (!ownSubproblems.isEmpty()) {
+				for (final SubproblemTask subproblem : ownSubproblems.poll().decompose()) {
+					if (subproblem.mNodes.length >= PARALLEL_THRESHOLD) {
+						subproblem.fork();
+						forkedSubproblems.add(subproblem);
+					} else {
+						ownSubproblems.add(subproblem);
+					}
+				}
+			}
+			for (final SubproblemTask subproblem : forkedSubproblems) {
+				subproblem.join();
+			}
+		}
+
+		/**
+		 * Creates a subproblem with a new color out of the given nodes.
+		 * 
+		 * @param nodes
+		 *            Array containing the nodes of the subproblem
+		 * @param amountOfNodes
+		 *            The amount of nodes in the array
+		 * @return The created subproblem
+		 */
+		private SubproblemTask createSubproblem(final int[] nodes, final int amountOfNodes) {
+			final int color = ForwardBackwardSccComputation.this.mNextColor.getAndIncrement();
+			final int[] subproblemNodes = Arrays.copyOf(nodes, amountOfNodes);
+			for (final int node : subproblemNodes) {
+				ForwardBackwardSccComputation.this.mColors[node] = color;
+			}
+			return new SubproblemTask(subproblemNodes, color);
+		}
+
+		/**
+		 * Trims the subproblem and computes the SCC of a pivot node. The
+		 * remaining nodes are divided into independent subproblems.
+		 * 
+		 * @return The subproblems which remain to be solved
+		 */
+		private List<SubproblemTask> decompose() {
+			final List<SubproblemTask> subproblems = new ArrayList<>(3);
+			final int[] nodes = trim(this.mNodes, this.mColor);
+			if (nodes.length == 0) {
+				return subproblems;
+			}
+
+			final int pivot = nodes[0];
+			markReachable(pivot, this.mColor, nodes.length, true);
+			markReachable(pivot, this.mColor, nodes.length, false);
+
+			// The intersection of both directions is the SCC of the pivot
+			final int[] forwardOnly = new int[nodes.length];
+			final int[] backwardOnly = new int[nodes.length];
+			final int[] remaining = new int[nodes.length];
+			int amountOfForwardOnly = 0;
+			int amountOfBackwardOnly = 0;
+			int amountOfRemaining = 0;
+			final int sccId = assignNewScc(pivot);
+			final int[] forwardMarks = ForwardBackwardSccComputation.this.mForwardMarks;
+			final int[] backwardMarks = ForwardBackwardSccComputation.this.mBackwardMarks;
+			for (final int node : nodes) {
+				if (node == pivot) {
+					continue;
+				}
+				final boolean isForward = forwardMarks[node] == this.mColor;
+				final boolean isBackward = backwardMarks[node] == this.mColor;
+				if (isForward && isBackward) {
+					ForwardBackwardSccComputation.this.mSccIds[node] = sccId;
+					ForwardBackwardSccComputation.this.mColors[node] = ASSIGNED;
+				} else if (isForward) {
+					forwardOnly[amountOfForwardOnly] = node;
+					amountOfForwardOnly++;
+				} else if (isBackward) {
+					backwardOnly[amountOfBackwardOnly] = node;
+					amountOfBackwardOnly++;
+				} else {
+					remaining[amountOfRemaining] = node;
+					amountOfRemaining++;
+				}
+			}
+
+			if (amountOfForwardOnly > 0) {
+				subproblems.add(createSubproblem(forwardOnly, amountOfForwardOnly));
+			}
+			if (amountOfBackwardOnly > 0) {
+				subproblems.add(createSubproblem(backwardOnly, amountOfBackwardOnly));
+			}
+			if (amountOfRemaining > 0) {
+				subproblems.add(createSubproblem(remaining, amountOfRemaining));
+			}
+			return subproblems;
+		}
+	}
+}
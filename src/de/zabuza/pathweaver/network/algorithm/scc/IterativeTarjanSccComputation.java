@@ -0,0 +1,223 @@
+package de.zabuza.pathweaver.network.algorithm.scc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Iterative implementation of Tarjans strongly connected component algorithm
+ * which solves strongly connected component computation tasks in
+ * {@link PathNetwork}s.<br>
+ * <br>
+ * The computation works on an {@link IndexedNetwork} and simulates the
+ * recursion by an explicit stack of nodes together with the position of the
+ * next outgoing edge to visit. All state is held in primitive arrays which
+ * are allocated once, such that no objects are created per visited node and
+ * the depth of the network is not limited by the size of the call stack.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IterativeTarjanSccComputation implements ISccComputation {
+	/**
+	 * Index of nodes which were not visited yet.
+	 */
+	private static final int UNVISITED = -1;
+
+	/**
+	 * The position of the next outgoing edge to visit for each node of the
+	 * call stack, accessible by the position in the call stack.
+	 */
+	private final int[] mCallStackEdges;
+	/**
+	 * The nodes of the simulated call stack.
+	 */
+	private final int[] mCallStackNodes;
+	/**
+	 * The index of each node, i.e. the order in which the nodes were visited,
+	 * or {@link #UNVISITED}.
+	 */
+	private final int[] mIndices;
+	/**
+	 * The largest SCC.
+	 */
+	private StronglyConnectedComponent mLargestScc;
+	/**
+	 * The low link value of each node.
+	 */
+	private final int[] mLowLinks;
+	/**
+	 * The array-based snapshot of the network.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * The nodes of the Tarjan stack, i.e. nodes which are visited but not yet
+	 * assigned to an SCC.
+	 */
+	private final int[] mNodeStack;
+	/**
+	 * Whether the nodes are contained in the Tarjan stack.
+	 */
+	private final BitSet mOnStack;
+	/**
+	 * The ID of the SCC each node belongs to.
+	 */
+	private final int[] mSccIds;
+	/**
+	 * The root node of each SCC, accessible by the ID of the SCC.
+	 */
+	private final int[] mSccRoots;
+	/**
+	 * The list of all SCCs.
+	 */
+	private final List<StronglyConnectedComponent> mSccs;
+
+	/**
+	 * Creates a new strongly connected component computation object and starts
+	 * the computation.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 */
+	public IterativeTarjanSccComputation(final IPathNetwork network) {
+		this.mNetwork = new IndexedNetwork(network);
+		final int amountOfNodes = this.mNetwork.getAmountOfNodes();
+		this.mIndices = new int[amountOfNodes];
+		this.mLowLinks = new int[amountOfNodes];
+		this.mOnStack = new BitSet(amountOfNodes);
+		this.mNodeStack = new int[amountOfNodes];
+		this.mCallStackNodes = new int[amountOfNodes];
+		this.mCallStackEdges = new int[amountOfNodes];
+		this.mSccIds = new int[amountOfNodes];
+		this.mSccRoots = new int[amountOfNodes];
+		this.mSccs = new ArrayList<>();
+
+		Arrays.fill(this.mIndices, UNVISITED);
+		final int amountOfSccs = computeSccIds();
+		this.mLargestScc = SccUtil.collectSccs(this.mNetwork, this.mSccIds, this.mSccRoots, amountOfSccs,
+				this.mSccs);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getLargestScc(
+	 * )
+	 */
+	@Override
+	public StronglyConnectedComponent getLargestScc() {
+		return this.mLargestScc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getPathNetwork
+	 * ()
+	 */
+	@Override
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork.getPathNetwork();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.scc.ISccComputation#getSccs()
+	 */
+	@Override
+	public List<StronglyConnectedComponent> getSccs() {
+		return this.mSccs;
+	}
+
+	/**
+	 * Computes the ID of the SCC of each node by visiting all nodes in depth
+	 * first order.
+	 * 
+	 * @return The amount of computed SCCs
+	 */
+	private int computeSccIds() {
+		final IndexedNetwork network = this.mNetwork;
+		final int[] indices = this.mIndices;
+		final int[] lowLinks = this.mLowLinks;
+		final int[] callStackNodes = this.mCallStackNodes;
+		final int[] callStackEdges = this.mCallStackEdges;
+		final int[] nodeStack = this.mNodeStack;
+		int currentIndex = 0;
+		int amountOfSccs = 0;
+		int nodeStackSize = 0;
+
+		for (int start = 0; start < network.getAmountOfNodes(); start++) {
+			if (indices[start] != UNVISITED) {
+				continue;
+			}
+
+			// Visit the starting node
+			indices[start] = currentIndex;
+			lowLinks[start] = currentIndex;
+			currentIndex++;
+			nodeStack[nodeStackSize] = start;
+			nodeStackSize++;
+			this.mOnStack.set(start);
+			callStackNodes[0] = start;
+			callStackEdges[0] = network.getOutgoingBegin(start);
+			int callStackSize = 1;
+
+			while (callStackSize > 0) {
+				final int node = callStackNodes[callStackSize - 1];
+				final int edge = callStackEdges[callStackSize - 1];
+
+				if (edge < network.getOutgoingEnd(node)) {
+					// Process the next successor
+					callStackEdges[callStackSize - 1] = edge + 1;
+					final int successor = network.getDestination(edge);
+					if (indices[successor] == UNVISITED) {
+						// Descend into the successor
+						indices[successor] = currentIndex;
+						lowLinks[successor] = currentIndex;
+						currentIndex++;
+						nodeStack[nodeStackSize] = successor;
+						nodeStackSize++;
+						this.mOnStack.set(successor);
+						callStackNodes[callStackSize] = successor;
+						callStackEdges[callStackSize] = network.getOutgoingBegin(successor);
+						callStackSize++;
+					} else if (this.mOnStack.get(successor) && indices[successor] < lowLinks[node]) {
+						lowLinks[node] = indices[successor];
+					}
+					continue;
+				}
+
+				// All successors are processed, the node is finished
+				callStackSize--;
+				if (lowLinks[node] == indices[node]) {
+					// The node is the root of an SCC, pop it from the stack
+					int member;
+					do {
+						nodeStackSize--;
+						member = nodeStack[nodeStackSize];
+						this.mOnStack.clear(member);
+						this.mSccIds[member] = amountOfSccs;
+					} while (member != node);
+					this.mSccRoots[amountOfSccs] = node;
+					amountOfSccs++;
+				}
+				if (callStackSize > 0) {
+					// Update the low link value of the predecessor
+					final int predecessor = callStackNodes[callStackSize - 1];
+					if (lowLinks[node] < lowLinks[predecessor]) {
+						lowLinks[predecessor] = lowLinks[node];
+					}
+				}
+			}
+		}
+		return amountOfSccs;
+	}
+}
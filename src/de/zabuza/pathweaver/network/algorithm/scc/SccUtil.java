@@ -0,0 +1,65 @@
+package de.zabuza.pathweaver.network.algorithm.scc;
+
+import java.util.List;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+
+/**
+ * Utility class which offers methods shared by the strongly connected
+ * component computations working on an {@link IndexedNetwork}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class SccUtil {
+	/**
+	 * Creates the SCC objects out of the computed SCC IDs of all nodes and
+	 * adds them to the given list, in order of their IDs.
+	 * 
+	 * @param network
+	 *            The network the SCCs were computed on
+	 * @param sccIds
+	 *            The ID of the SCC each node belongs to, accessible by the
+	 *            index of the node
+	 * @param sccRoots
+	 *            The index of the root node of each SCC, accessible by the ID
+	 *            of the SCC
+	 * @param amountOfSccs
+	 *            The amount of computed SCCs, their IDs are <tt>0</tt> to
+	 *            <tt>amountOfSccs - 1</tt>
+	 * @param sccs
+	 *            The list to add the SCCs to
+	 * @return The largest SCC, the first one if multiple are the largest, or
+	 *         <tt>null</tt> if there are no SCCs
+	 */
+	static StronglyConnectedComponent collectSccs(final IndexedNetwork network, final int[] sccIds,
+			final int[] sccRoots, final int amountOfSccs, final List<StronglyConnectedComponent> sccs) {
+		final StronglyConnectedComponent[] sccsById = new StronglyConnectedComponent[amountOfSccs];
+		for (int sccId = 0; sccId < amountOfSccs; sccId++) {
+			sccsById[sccId] = new StronglyConnectedComponent();
+		}
+		for (int node = 0; node < network.getAmountOfNodes(); node++) {
+			sccsById[sccIds[node]].addNode(network.getNode(node));
+		}
+
+		StronglyConnectedComponent largestScc = null;
+		int largestSccSize = -1;
+		for (int sccId = 0; sccId < amountOfSccs; sccId++) {
+			final StronglyConnectedComponent scc = sccsById[sccId];
+			scc.setRootNode(network.getNode(sccRoots[sccId]));
+			sccs.add(scc);
+			if (scc.getSize() > largestSccSize) {
+				largestSccSize = scc.getSize();
+				largestScc = scc;
+			}
+		}
+		return largestScc;
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private SccUtil() {
+
+	}
+}
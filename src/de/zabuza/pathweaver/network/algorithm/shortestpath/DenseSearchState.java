@@ -0,0 +1,267 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath;
+
+import java.util.Arrays;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.util.IndexedMinHeap;
+
+/**
+ * Reusable state of a shortest path search over densely indexed elements,
+ * usually the node indices of an {@link IndexedNetwork}. It stores tentative
+ * costs, parents and whether elements are settled.<br>
+ * <br>
+ * Resetting the state is done in constant time by incrementing a stamp
+ * instead of clearing the arrays. Thus a state object should be reused for
+ * several searches, for example one per thread, and not be created per search.
+ * The object is not thread-safe.<br>
+ * <br>
+ * The state also counts relaxations and settled elements of the current
+ * search, which allows searches to report statistics about their effort, see
+ * {@link SearchStatistics}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class DenseSearchState {
+	/**
+	 * The value for parents which are not set.
+	 */
+	public static final int NO_PARENT = -1;
+	/**
+	 * The stamp which no search uses, all stamp arrays start with this value.
+	 */
+	private static final int UNUSED_STAMP = 0;
+
+	/**
+	 * The amount of relaxations in the current search which improved the
+	 * tentative cost of an element.
+	 */
+	private int mAmountOfImprovements;
+	/**
+	 * The amount of relaxations in the current search.
+	 */
+	private int mAmountOfRelaxations;
+	/**
+	 * The amount of elements settled in the current search.
+	 */
+	private int mAmountOfSettledElements;
+	/**
+	 * The current stamp, elements whose reached stamp differs are considered
+	 * as not reached.
+	 */
+	private int mCurrentStamp;
+	/**
+	 * The queue of active elements ordered by their key.
+	 */
+	private final IndexedMinHeap mHeap;
+	/**
+	 * The arc used to reach the elements, its meaning is defined by the
+	 * search.
+	 */
+	private final int[] mParentArcs;
+	/**
+	 * The parent element of the elements.
+	 */
+	private final int[] mParents;
+	/**
+	 * The stamp of the search in which the elements where reached.
+	 */
+	private final int[] mReachedStamps;
+	/**
+	 * The stamp of the search in which the elements where settled.
+	 */
+	private final int[] mSettledStamps;
+	/**
+	 * The tentative costs of the elements, only valid if they are reached in
+	 * the current search.
+	 */
+	private final float[] mTentativeCosts;
+
+	/**
+	 * Creates a new search state for the elements <tt>0</tt> to
+	 * <tt>capacity - 1</tt>.
+	 * 
+	 * @param capacity
+	 *            The amount of elements the search works on
+	 */
+	public DenseSearchState(final int capacity) {
+		this.mHeap = new IndexedMinHeap(capacity);
+		this.mTentativeCosts = new float[capacity];
+		this.mParents = new int[capacity];
+		this.mParentArcs = new int[capacity];
+		this.mReachedStamps = new int[capacity];
+		this.mSettledStamps = new int[capacity];
+		this.mCurrentStamp = UNUSED_STAMP + 1;
+	}
+
+	/**
+	 * Gets the amount of relaxations in the current search which improved the
+	 * tentative cost of an element, i.e. which inserted the element into the
+	 * queue or decreased its key.
+	 * 
+	 * @return The amount of improving relaxations
+	 */
+	public int getAmountOfImprovements() {
+		return this.mAmountOfImprovements;
+	}
+
+	/**
+	 * Gets the amount of relaxations in the current search.
+	 * 
+	 * @return The amount of relaxations
+	 */
+	public int getAmountOfRelaxations() {
+		return this.mAmountOfRelaxations;
+	}
+
+	/**
+	 * Gets the amount of elements settled in the current search.
+	 * 
+	 * @return The amount of settled elements
+	 */
+	public int getAmountOfSettledElements() {
+		return this.mAmountOfSettledElements;
+	}
+
+	/**
+	 * Gets the capacity of this state, i.e. the amount of elements it accepts.
+	 * 
+	 * @return The capacity of this state
+	 */
+	public int getCapacity() {
+		return this.mTentativeCosts.length;
+	}
+
+	/**
+	 * Gets the queue of active elements.
+	 * 
+	 * @return The queue of active elements
+	 */
+	public IndexedMinHeap getHeap() {
+		return this.mHeap;
+	}
+
+	/**
+	 * Gets the parent of the given element.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return The parent of the element or {@link #NO_PARENT}
+	 */
+	public int getParent(final int element) {
+		return this.mParents[element];
+	}
+
+	/**
+	 * Gets the arc used to reach the given element.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return The arc used to reach the element or {@link #NO_PARENT}
+	 */
+	public int getParentArc(final int element) {
+		return this.mParentArcs[element];
+	}
+
+	/**
+	 * Gets the tentative cost of the given element.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return The tentative cost of the element or
+	 *         {@link Float#POSITIVE_INFINITY} if it was not reached yet
+	 */
+	public float getTentativeCost(final int element) {
+		if (this.mReachedStamps[element] != this.mCurrentStamp) {
+			return Float.POSITIVE_INFINITY;
+		}
+		return this.mTentativeCosts[element];
+	}
+
+	/**
+	 * Returns whether the given element was reached in the current search.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return <tt>True</tt> if the element was reached, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isReached(final int element) {
+		return this.mReachedStamps[element] == this.mCurrentStamp;
+	}
+
+	/**
+	 * Returns whether the given element was settled in the current search.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return <tt>True</tt> if the element was settled, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isSettled(final int element) {
+		return this.mSettledStamps[element] == this.mCurrentStamp;
+	}
+
+	/**
+	 * Relaxes the given element, i.e. updates its tentative cost and parent
+	 * if the given cost improves the current cost. The element is then queued
+	 * using the given cost plus the given estimate as key.
+	 * 
+	 * @param element
+	 *            The element to relax
+	 * @param tentativeCost
+	 *            The new tentative cost of the element
+	 * @param estimatedRemainingCost
+	 *            The estimated remaining cost from the element to the
+	 *            destination, must be <tt>0</tt> if not used
+	 * @param parent
+	 *            The parent of the element
+	 * @param parentArc
+	 *            The arc used to reach the element
+	 * @return <tt>True</tt> if the tentative cost was improved,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean relax(final int element, final float tentativeCost, final float estimatedRemainingCost,
+			final int parent, final int parentArc) {
+		this.mAmountOfRelaxations++;
+		if (this.mReachedStamps[element] == this.mCurrentStamp && this.mTentativeCosts[element] <= tentativeCost) {
+			return false;
+		}
+		this.mReachedStamps[element] = this.mCurrentStamp;
+		this.mTentativeCosts[element] = tentativeCost;
+		this.mParents[element] = parent;
+		this.mParentArcs[element] = parentArc;
+		this.mAmountOfImprovements++;
+		this.mHeap.addOrDecreaseKey(element, tentativeCost + estimatedRemainingCost);
+		return true;
+	}
+
+	/**
+	 * Resets the state such that no element is reached or settled anymore and
+	 * the queue is empty.
+	 */
+	public void reset() {
+		this.mHeap.clear();
+		this.mAmountOfImprovements = 0;
+		this.mAmountOfRelaxations = 0;
+		this.mAmountOfSettledElements = 0;
+		if (this.mCurrentStamp == Integer.MAX_VALUE) {
+			// The stamp would overflow and collide with stamps of old searches
+			Arrays.fill(this.mReachedStamps, UNUSED_STAMP);
+			Arrays.fill(this.mSettledStamps, UNUSED_STAMP);
+			this.mCurrentStamp = UNUSED_STAMP;
+		}
+		this.mCurrentStamp++;
+	}
+
+	/**
+	 * Settles the given element, its tentative cost is final afterwards.
+	 * 
+	 * @param element
+	 *            The element to settle
+	 */
+	public void settle(final int element) {
+		this.mSettledStamps[element] = this.mCurrentStamp;
+		this.mAmountOfSettledElements++;
+	}
+}
@@ -2,13 +2,14 @@ package de.zabuza.pathweaver.network.algorithm.shortestpath;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Set;
 
+import de.zabuza.pathweaver.network.CompactPath;
 import de.zabuza.pathweaver.network.DirectedWeightedEdge;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
@@ -23,10 +24,106 @@ import de.zabuza.pathweaver.network.PathNetwork;
  *
  */
 public class DijkstraShortestPathComputation implements IShortestPathComputation {
+	/**
+	 * Builds the compact representation of the shortest path to the given
+	 * destination by following the parent edges of the given search result
+	 * back to a source.
+	 * 
+	 * @param sources
+	 *            Set of source nodes the search started from
+	 * @param destination
+	 *            Destination node to build the path to, it must be contained
+	 *            in the search result
+	 * @param nodeToData
+	 *            The result of the search, see
+	 *            {@link #computeShortestPathCostHelper(Set, Optional, Set)}
+	 * @return The shortest path between the set of sources and the destination
+	 */
+	private static CompactPath buildCompactPath(final Set<Node> sources, final Node destination,
+			final Map<Node, TentativeNodeContainer> nodeToData) {
+		final int[] nodeIds = new int[countPathEdges(sources, destination, nodeToData) + 1];
+		Node currentNode = destination;
+		for (int i = nodeIds.length - 1; i > 0; i--) {
+			nodeIds[i] = currentNode.getId();
+			currentNode = nodeToData.get(currentNode).getParentEdge().getSource();
+		}
+		nodeIds[0] = currentNode.getId();
+
+		return new CompactPath(nodeIds, nodeToData.get(destination).getTentativeCost());
+	}
+
+	/**
+	 * Builds the shortest path to the given destination by following the
+	 * parent edges of the given search result back to a source.
+	 * 
+	 * @param sources
+	 *            Set of source nodes the search started from
+	 * @param destination
+	 *            Destination node to build the path to, it must be contained
+	 *            in the search result
+	 * @param nodeToData
+	 *            The result of the search, see
+	 *            {@link #computeShortestPathCostHelper(Set, Optional, Set)}
+	 * @return The shortest path between the set of sources and the destination
+	 */
+	private static Path buildPath(final Set<Node> sources, final Node destination,
+			final Map<Node, TentativeNodeContainer> nodeToData) {
+		final DirectedWeightedEdge[] edges = new DirectedWeightedEdge[countPathEdges(sources, destination,
+				nodeToData)];
+		Node currentNode = destination;
+		for (int i = edges.length - 1; i >= 0; i--) {
+			edges[i] = nodeToData.get(currentNode).getParentEdge();
+			currentNode = edges[i].getSource();
+		}
+
+		final Path path = new Path(currentNode);
+		for (final DirectedWeightedEdge edge : edges) {
+			path.addEdge(edge);
+		}
+		assert (path.getSource() == currentNode && path.getDestination() == destination);
+
+		return path;
+	}
+
+	/**
+	 * Counts the edges of the shortest path to the given destination by
+	 * following the parent edges of the given search result back to a source.
+	 * 
+	 * @param sources
+	 *            Set of source nodes the search started from
+	 * @param destination
+	 *            Destination node of the path, it must be contained in the
+	 *            search result
+	 * @param nodeToData
+	 *            The result of the search, see
+	 *            {@link #computeShortestPathCostHelper(Set, Optional, Set)}
+	 * @return The amount of edges of the shortest path between the set of
+	 *         sources and the destination
+	 */
+	private static int countPathEdges(final Set<Node> sources, final Node destination,
+			final Map<Node, TentativeNodeContainer> nodeToData) {
+		int amountOfEdges = 0;
+		Node currentNode = destination;
+		while (!sources.contains(currentNode)) {
+			currentNode = nodeToData.get(currentNode).getParentEdge().getSource();
+			amountOfEdges++;
+		}
+		return amountOfEdges;
+	}
+
+	/**
+	 * The statistics of the last search, one per thread. Replaced whenever
+	 * recording is switched, which discards the statistics of all threads.
+	 */
+	private volatile ThreadLocal<SearchStatistics> mLastSearchStatistics;
 	/**
 	 * The path network this object works on.
 	 */
 	private final IPathNetwork mNetwork;
+	/**
+	 * Whether statistics about the effort of searches are recorded.
+	 */
+	private volatile boolean mSearchStatisticsEnabled;
 
 	/**
 	 * Creates a new shortest path computation object.
@@ -36,6 +133,26 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 	 */
 	public DijkstraShortestPathComputation(final IPathNetwork network) {
 		this.mNetwork = network;
+		this.mLastSearchStatistics = new ThreadLocal<>();
+		this.mSearchStatisticsEnabled = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestCompactPath(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<CompactPath> computeShortestCompactPath(final Node source, final Node destination) {
+		final Set<Node> sources = Collections.singleton(source);
+		final Map<Node, TentativeNodeContainer> nodeToData = computeShortestPathCostHelper(sources,
+				Optional.of(destination));
+		if (!nodeToData.containsKey(destination)) {
+			return Optional.empty();
+		}
+		return Optional.of(buildCompactPath(sources, destination, nodeToData));
 	}
 
 	/*
@@ -64,25 +181,7 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 		if (!nodeToData.containsKey(destination)) {
 			return Optional.empty();
 		}
-
-		final LinkedList<DirectedWeightedEdge> edgesBackwards = new LinkedList<>();
-		Node currentNode = destination;
-		while (!sources.contains(currentNode)) {
-			final TentativeNodeContainer container = nodeToData.get(currentNode);
-			final DirectedWeightedEdge parentEdge = container.getParentEdge();
-			edgesBackwards.add(parentEdge);
-
-			currentNode = parentEdge.getSource();
-		}
-
-		final Path path = new Path(currentNode);
-		Collections.reverse(edgesBackwards);
-		while (!edgesBackwards.isEmpty()) {
-			path.addEdge(edgesBackwards.poll());
-		}
-		assert (path.getSource() == currentNode && path.getDestination() == destination);
-
-		return Optional.of(path);
+		return Optional.of(buildPath(sources, destination, nodeToData));
 	}
 
 	/*
@@ -168,6 +267,53 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 		return nodeToData.keySet();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPaths(de.zabuza.pathweaver.
+	 * network.Node, java.util.Set)
+	 */
+	@Override
+	public Map<Node, Path> computeShortestPaths(final Node source, final Set<Node> destinations) {
+		final Map<Node, Path> destinationToPath = new HashMap<>();
+		if (destinations.size() == 1) {
+			// A single destination can make use of the goal direction of the
+			// search
+			final Node destination = destinations.iterator().next();
+			computeShortestPath(source, destination).ifPresent(path -> destinationToPath.put(destination, path));
+			return destinationToPath;
+		}
+		if (destinations.isEmpty()) {
+			return destinationToPath;
+		}
+
+		// Grow one shortest path tree until it covers all destinations
+		final Set<Node> sources = Collections.singleton(source);
+		final Map<Node, TentativeNodeContainer> nodeToData = computeShortestPathCostHelper(sources, Optional.empty(),
+				destinations);
+		for (final Node destination : destinations) {
+			if (nodeToData.containsKey(destination)) {
+				destinationToPath.put(destination, buildPath(sources, destination, nodeToData));
+			}
+		}
+		return destinationToPath;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#getLastSearchStatistics()
+	 */
+	@Override
+	public Optional<SearchStatistics> getLastSearchStatistics() {
+		if (!this.mSearchStatisticsEnabled) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.mLastSearchStatistics.get());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -179,6 +325,31 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 		return this.mNetwork;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#isSearchStatisticsEnabled()
+	 */
+	@Override
+	public boolean isSearchStatisticsEnabled() {
+		return this.mSearchStatisticsEnabled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#setSearchStatisticsEnabled(boolean)
+	 */
+	@Override
+	public void setSearchStatisticsEnabled(final boolean enabled) {
+		if (enabled != this.mSearchStatisticsEnabled) {
+			this.mLastSearchStatistics = new ThreadLocal<>();
+		}
+		this.mSearchStatisticsEnabled = enabled;
+	}
+
 	/**
 	 * Helper method for computing shortest paths between the set of sources and
 	 * a given destination. If the destination is not given, then all, from
@@ -199,9 +370,40 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 	 */
 	protected Map<Node, TentativeNodeContainer> computeShortestPathCostHelper(final Set<Node> sources,
 			final Optional<Node> destination) {
+		return computeShortestPathCostHelper(sources, destination, Collections.emptySet());
+	}
+
+	/**
+	 * Helper method for computing shortest paths between the set of sources and
+	 * a given destination, like {@link #computeShortestPathCostHelper(Set,
+	 * Optional)}. Additionally the search stops as soon as all of the given
+	 * nodes are settled.
+	 * 
+	 * @param sources
+	 *            Set of source nodes to compute the shortest path from
+	 * @param destination
+	 *            Destination node to compute the shortest path to, if present.
+	 *            If not present, then all, from the set of sources, reachable
+	 *            nodes get considered as destinations.
+	 * @param stopNodes
+	 *            Set of nodes after whose settling the search stops, an empty
+	 *            set does not stop the search early
+	 * @return A mapping of all settled nodes to the data container of the
+	 *         shortest paths from the sources to them
+	 */
+	protected Map<Node, TentativeNodeContainer> computeShortestPathCostHelper(final Set<Node> sources,
+			final Optional<Node> destination, final Set<Node> stopNodes) {
+		final boolean recordStatistics = this.mSearchStatisticsEnabled;
+		final long startTime = recordStatistics ? System.nanoTime() : 0L;
+		int amountOfRelaxedEdges = 0;
+		int amountOfQueuePushes = 0;
+		int amountOfStalePops = 0;
+		int amountOfHeuristicEvaluations = 0;
+
 		final HashMap<Node, TentativeNodeContainer> nodeToContainer = new HashMap<>();
 		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
 		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+		final Set<Node> unsettledStopNodes = new HashSet<>(stopNodes);
 
 		// Start with the set of sources as initial node
 		for (final Node source : sources) {
@@ -209,11 +411,13 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 			if (destination.isPresent()) {
 				sourceContainer = new TentativeNodeContainer(source, null, 0,
 						getEstCostToDest(source, destination.get()));
+				amountOfHeuristicEvaluations++;
 			} else {
 				sourceContainer = new TentativeNodeContainer(source, null, 0);
 			}
 			nodeToContainer.put(source, sourceContainer);
 			activeNodes.add(sourceContainer);
+			amountOfQueuePushes++;
 		}
 
 		while (!activeNodes.isEmpty()) {
@@ -227,6 +431,7 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 			// previously abandoned while updating the tentative costs for this
 			// node.
 			if (nodeToSettledContainer.containsKey(currentNode)) {
+				amountOfStalePops++;
 				continue;
 			}
 
@@ -238,6 +443,10 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 			if (destination.isPresent() && currentNode.equals(destination.get())) {
 				break;
 			}
+			// End if the last of the stop nodes was settled
+			if (unsettledStopNodes.remove(currentNode) && unsettledStopNodes.isEmpty()) {
+				break;
+			}
 
 			// Relax all outgoing edges
 			final Set<DirectedWeightedEdge> outgoingEdges = getPathNetwork().getOutgoingEdges(currentNode);
@@ -257,20 +466,24 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 				TentativeNodeContainer edgeDestinationContainer = nodeToContainer.get(edgeDestination);
 				if (edgeDestinationContainer == null) {
 					// Edge destination is visited for the first time
+					amountOfRelaxedEdges++;
 					if (destination.isPresent()) {
 						edgeDestinationContainer = new TentativeNodeContainer(edgeDestination, outgoingEdge,
 								tentativeEdgeCost, getEstCostToDest(edgeDestination, destination.get()));
+						amountOfHeuristicEvaluations++;
 					} else {
 						edgeDestinationContainer = new TentativeNodeContainer(edgeDestination, outgoingEdge,
 								tentativeEdgeCost);
 					}
 					nodeToContainer.put(edgeDestination, edgeDestinationContainer);
 					activeNodes.add(edgeDestinationContainer);
+					amountOfQueuePushes++;
 				} else {
 					if (nodeToSettledContainer.containsKey(edgeDestination)) {
 						// Settled nodes can not be improved anymore
 						continue;
 					}
+					amountOfRelaxedEdges++;
 					// Check if this edge improves the tentative costs of the
 					// edge destination
 					final float currentTentativeEdgeDestinationCost = edgeDestinationContainer.getTentativeCost();
@@ -283,6 +496,7 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 						if (destination.isPresent()) {
 							betterEdgeDestinationContainer = new TentativeNodeContainer(edgeDestination, outgoingEdge,
 									tentativeEdgeCost, getEstCostToDest(edgeDestination, destination.get()));
+							amountOfHeuristicEvaluations++;
 						} else {
 							betterEdgeDestinationContainer = new TentativeNodeContainer(edgeDestination, outgoingEdge,
 									tentativeEdgeCost);
@@ -290,10 +504,17 @@ public class DijkstraShortestPathComputation implements IShortestPathComputation
 
 						nodeToContainer.put(edgeDestination, betterEdgeDestinationContainer);
 						activeNodes.add(betterEdgeDestinationContainer);
+						amountOfQueuePushes++;
 					}
 				}
 			}
 		}
+
+		if (recordStatistics) {
+			this.mLastSearchStatistics.set(new SearchStatistics(nodeToSettledContainer.size(), amountOfRelaxedEdges,
+					amountOfQueuePushes, amountOfStalePops, amountOfHeuristicEvaluations,
+					System.nanoTime() - startTime));
+		}
 		return nodeToSettledContainer;
 	}
 
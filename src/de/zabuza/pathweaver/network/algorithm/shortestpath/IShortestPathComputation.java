@@ -4,6 +4,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import de.zabuza.pathweaver.network.CompactPath;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.Path;
@@ -17,6 +18,22 @@ import de.zabuza.pathweaver.network.PathNetwork;
  *
  */
 public interface IShortestPathComputation {
+	/**
+	 * Computes the shortest path in the network specified by
+	 * {@link #getPathNetwork()} between the given source and destination in
+	 * its compact representation. This is cheaper than
+	 * {@link #computeShortestPath(Node, Node)} for callers which do not need
+	 * the edges of the path.
+	 * 
+	 * @param source
+	 *            Source node to compute the shortest path from
+	 * @param destination
+	 *            Destination node to compute the shortest path to
+	 * @return The shortest path between the given source and destination if
+	 *         present, if not present there is no such path.
+	 */
+	public Optional<CompactPath> computeShortestCompactPath(final Node source, final Node destination);
+
 	/**
 	 * Computes the shortest path in the network specified by
 	 * {@link #getPathNetwork()} between the given source and destination.
@@ -129,10 +146,60 @@ public interface IShortestPathComputation {
 	 */
 	public Set<Node> computeShortestPathSearchSpace(final Set<Node> sources, final Node destination);
 
+	/**
+	 * Computes the shortest paths in the network specified by
+	 * {@link #getPathNetwork()} between the given source and every given
+	 * destination. Where the technique allows it, all destinations are
+	 * answered by a single search, which is cheaper than searching for every
+	 * destination on its own.
+	 * 
+	 * @param source
+	 *            Source node to compute the shortest paths from
+	 * @param destinations
+	 *            Set of destination nodes to compute the shortest paths to
+	 * @return A mapping of all, from the source, reachable given destinations
+	 *         to the shortest paths from the source to them. Destinations
+	 *         without such path are not contained.
+	 */
+	public Map<Node, Path> computeShortestPaths(final Node source, final Set<Node> destinations);
+
+	/**
+	 * Gets the statistics of the last search executed by the calling thread.
+	 * Statistics are only recorded while enabled, see
+	 * {@link #setSearchStatisticsEnabled(boolean)}. The values belong to the
+	 * main search of the query, thus they should be read immediately after the
+	 * query returned.
+	 * 
+	 * @return The statistics of the last search of the calling thread if
+	 *         present, if not present recording is disabled or the thread did
+	 *         not execute a search since recording was enabled
+	 */
+	public Optional<SearchStatistics> getLastSearchStatistics();
+
 	/**
 	 * Gets the path network this object works on.
 	 * 
 	 * @return The path network this object works on
 	 */
 	public IPathNetwork getPathNetwork();
+
+	/**
+	 * Whether statistics about the effort of searches are recorded.
+	 * 
+	 * @return <tt>True</tt> if statistics are recorded, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isSearchStatisticsEnabled();
+
+	/**
+	 * Sets whether statistics about the effort of searches are recorded, see
+	 * {@link #getLastSearchStatistics()}. Recording is disabled by default.
+	 * Searches always count their work in local variables, enabling only adds
+	 * two clock readings and one allocation per search.
+	 * 
+	 * @param enabled
+	 *            <tt>True</tt> if statistics should be recorded,
+	 *            <tt>false</tt> otherwise
+	 */
+	public void setSearchStatisticsEnabled(final boolean enabled);
 }
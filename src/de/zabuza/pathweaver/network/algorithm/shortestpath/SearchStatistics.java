@@ -0,0 +1,139 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath;
+
+/**
+ * Statistics about the effort of a single shortest path search, see
+ * {@link IShortestPathComputation#getLastSearchStatistics()}. Counters which
+ * do not apply to an algorithm are <tt>0</tt>, for example stale queue entries
+ * of searches which decrease keys in place.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class SearchStatistics {
+	/**
+	 * The amount of evaluations of the heuristic estimating the remaining cost
+	 * to the destination.
+	 */
+	private final int mAmountOfHeuristicEvaluations;
+	/**
+	 * The amount of insertions into the queue and decreases of keys in the
+	 * queue.
+	 */
+	private final int mAmountOfQueuePushes;
+	/**
+	 * The amount of edges, or shortcuts, which were relaxed.
+	 */
+	private final int mAmountOfRelaxedEdges;
+	/**
+	 * The amount of settled nodes.
+	 */
+	private final int mAmountOfSettledNodes;
+	/**
+	 * The amount of entries polled from the queue which were abandoned since
+	 * their node was already settled.
+	 */
+	private final int mAmountOfStalePops;
+	/**
+	 * The elapsed wall-clock time of the search, in nanoseconds.
+	 */
+	private final long mWallTime;
+
+	/**
+	 * Creates new statistics with the given values.
+	 * 
+	 * @param amountOfSettledNodes
+	 *            The amount of settled nodes
+	 * @param amountOfRelaxedEdges
+	 *            The amount of edges, or shortcuts, which were relaxed
+	 * @param amountOfQueuePushes
+	 *            The amount of insertions into the queue and decreases of keys
+	 *            in the queue
+	 * @param amountOfStalePops
+	 *            The amount of entries polled from the queue which were
+	 *            abandoned since their node was already settled
+	 * @param amountOfHeuristicEvaluations
+	 *            The amount of evaluations of the heuristic
+	 * @param wallTime
+	 *            The elapsed wall-clock time of the search, in nanoseconds
+	 */
+	public SearchStatistics(final int amountOfSettledNodes, final int amountOfRelaxedEdges,
+			final int amountOfQueuePushes, final int amountOfStalePops, final int amountOfHeuristicEvaluations,
+			final long wallTime) {
+		this.mAmountOfSettledNodes = amountOfSettledNodes;
+		this.mAmountOfRelaxedEdges = amountOfRelaxedEdges;
+		this.mAmountOfQueuePushes = amountOfQueuePushes;
+		this.mAmountOfStalePops = amountOfStalePops;
+		this.mAmountOfHeuristicEvaluations = amountOfHeuristicEvaluations;
+		this.mWallTime = wallTime;
+	}
+
+	/**
+	 * Gets the amount of evaluations of the heuristic estimating the remaining
+	 * cost to the destination.
+	 * 
+	 * @return The amount of heuristic evaluations
+	 */
+	public int getAmountOfHeuristicEvaluations() {
+		return this.mAmountOfHeuristicEvaluations;
+	}
+
+	/**
+	 * Gets the amount of insertions into the queue and decreases of keys in
+	 * the queue.
+	 * 
+	 * @return The amount of queue pushes
+	 */
+	public int getAmountOfQueuePushes() {
+		return this.mAmountOfQueuePushes;
+	}
+
+	/**
+	 * Gets the amount of edges, or shortcuts, which were relaxed.
+	 * 
+	 * @return The amount of relaxed edges
+	 */
+	public int getAmountOfRelaxedEdges() {
+		return this.mAmountOfRelaxedEdges;
+	}
+
+	/**
+	 * Gets the amount of settled nodes.
+	 * 
+	 * @return The amount of settled nodes
+	 */
+	public int getAmountOfSettledNodes() {
+		return this.mAmountOfSettledNodes;
+	}
+
+	/**
+	 * Gets the amount of entries polled from the queue which were abandoned
+	 * since their node was already settled.
+	 * 
+	 * @return The amount of stale pops
+	 */
+	public int getAmountOfStalePops() {
+		return this.mAmountOfStalePops;
+	}
+
+	/**
+	 * Gets the elapsed wall-clock time of the search.
+	 * 
+	 * @return The elapsed wall-clock time, in nanoseconds
+	 */
+	public long getWallTime() {
+		return this.mWallTime;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SearchStatistics[settled=" + this.mAmountOfSettledNodes + ", relaxed=" + this.mAmountOfRelaxedEdges
+				+ ", pushes=" + this.mAmountOfQueuePushes + ", stalePops=" + this.mAmountOfStalePops
+				+ ", heuristicEvaluations=" + this.mAmountOfHeuristicEvaluations + ", wallTime="
+				+ this.mWallTime + "ns]";
+	}
+}
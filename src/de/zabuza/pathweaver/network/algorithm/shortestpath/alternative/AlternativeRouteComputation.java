@@ -0,0 +1,450 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.alternative;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.TentativeNodeContainer;
+
+/**
+ * Computes alternative routes to the shortest path between two nodes with the
+ * plateau method. A forward shortest path tree from the source and a
+ * backward shortest path tree to the destination are grown, both bounded by
+ * the maximal stretch. Every node <tt>v</tt> reached by both trees defines a
+ * via path, the shortest path from the source to <tt>v</tt> followed by the
+ * shortest path from <tt>v</tt> to the destination. Edges contained in both
+ * trees form plateaus, all nodes of a plateau define the same via path and
+ * every section of the via path which is not longer than its plateau is a
+ * shortest path.<br>
+ * <br>
+ * Via paths are considered in order of increasing cost and accepted as
+ * alternative route if they are admissible:
+ * <ul>
+ * <li><b>Bounded stretch:</b> the cost is at most <tt>1 + maxStretch</tt>
+ * times the cost of the shortest path.</li>
+ * <li><b>Limited sharing:</b> the cost shared with the shortest path and with
+ * every previously accepted route is at most <tt>maxSharing</tt> times the
+ * cost of the shortest path.</li>
+ * <li><b>Local optimality:</b> the plateau is at least
+ * <tt>minLocalOptimality</tt> times as long as the shortest path, such that
+ * the route contains no short unnecessary detours.</li>
+ * </ul>
+ * Both searches are executed once per query, regardless of the amount of
+ * requested alternatives.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class AlternativeRouteComputation {
+	/**
+	 * The default maximal sharing, relative to the cost of the shortest path.
+	 */
+	public static final float DEFAULT_MAX_SHARING = 0.8f;
+	/**
+	 * The default maximal stretch, relative to the cost of the shortest path.
+	 */
+	public static final float DEFAULT_MAX_STRETCH = 0.25f;
+	/**
+	 * The default minimal local optimality, relative to the cost of the
+	 * shortest path.
+	 */
+	public static final float DEFAULT_MIN_LOCAL_OPTIMALITY = 0.25f;
+	/**
+	 * Message of the exception thrown when the amount of alternatives is
+	 * negative.
+	 */
+	private static final String EXCEPTION_AMOUNT_ILLEGAL = "The amount of alternatives must not be negative: ";
+	/**
+	 * Message of the exception thrown when a factor is negative.
+	 */
+	private static final String EXCEPTION_FACTOR_ILLEGAL = "The factor must not be negative: ";
+
+	/**
+	 * Builds the path from the root of the given forward tree to the given
+	 * node followed by the path from the node to the root of the given
+	 * backward tree.
+	 * 
+	 * @param viaNode
+	 *            The node to build the via path of, contained in both trees
+	 * @param forwardTree
+	 *            The forward shortest path tree
+	 * @param backwardTree
+	 *            The backward shortest path tree
+	 * @return The via path if present, if not present it would contain a node
+	 *         more than once
+	 */
+	private static Optional<Path> buildViaPath(final Node viaNode,
+			final Map<Node, TentativeNodeContainer> forwardTree,
+			final Map<Node, TentativeNodeContainer> backwardTree) {
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		final Set<Node> visitedNodes = new HashSet<>();
+		visitedNodes.add(viaNode);
+		Node currentNode = viaNode;
+		DirectedWeightedEdge edge = forwardTree.get(currentNode).getParentEdge();
+		while (edge != null) {
+			edges.add(edge);
+			currentNode = edge.getSource();
+			if (!visitedNodes.add(currentNode)) {
+				return Optional.empty();
+			}
+			edge = forwardTree.get(currentNode).getParentEdge();
+		}
+		final Path path = new Path(currentNode);
+		for (int i = edges.size() - 1; i >= 0; i--) {
+			path.addEdge(edges.get(i));
+		}
+
+		edge = backwardTree.get(viaNode).getParentEdge();
+		while (edge != null) {
+			path.addEdge(edge);
+			currentNode = edge.getDestination();
+			if (!visitedNodes.add(currentNode)) {
+				return Optional.empty();
+			}
+			edge = backwardTree.get(currentNode).getParentEdge();
+		}
+		return Optional.of(path);
+	}
+
+	/**
+	 * Collects all nodes of the plateau which contains the given node, i.e.
+	 * the nodes which are connected to it by edges contained in both trees.
+	 * 
+	 * @param node
+	 *            The node whose plateau to collect, contained in both trees
+	 * @param forwardTree
+	 *            The forward shortest path tree
+	 * @param backwardTree
+	 *            The backward shortest path tree
+	 * @param nodesOnPlateaus
+	 *            Set to add the nodes of the plateau to
+	 * @return The cost of the plateau
+	 */
+	private static float collectPlateau(final Node node, final Map<Node, TentativeNodeContainer> forwardTree,
+			final Map<Node, TentativeNodeContainer> backwardTree, final Set<Node> nodesOnPlateaus) {
+		nodesOnPlateaus.add(node);
+		float plateauCost = 0.0f;
+		DirectedWeightedEdge edge = forwardTree.get(node).getParentEdge();
+		while (edge != null && isPlateauEdge(edge, forwardTree, backwardTree)) {
+			plateauCost += edge.getCost();
+			nodesOnPlateaus.add(edge.getSource());
+			edge = forwardTree.get(edge.getSource()).getParentEdge();
+		}
+		edge = backwardTree.get(node).getParentEdge();
+		while (edge != null && isPlateauEdge(edge, forwardTree, backwardTree)) {
+			plateauCost += edge.getCost();
+			nodesOnPlateaus.add(edge.getDestination());
+			edge = backwardTree.get(edge.getDestination()).getParentEdge();
+		}
+		return plateauCost;
+	}
+
+	/**
+	 * Computes the cost of the edges of the given path which are contained in
+	 * the given set.
+	 * 
+	 * @param path
+	 *            The path in question
+	 * @param edges
+	 *            The set of edges
+	 * @return The cost of the edges shared by the path and the set
+	 */
+	private static float computeSharedCost(final Path path, final Set<DirectedWeightedEdge> edges) {
+		float sharedCost = 0.0f;
+		for (final DirectedWeightedEdge edge : path.getEdges()) {
+			if (edges.contains(edge)) {
+				sharedCost += edge.getCost();
+			}
+		}
+		return sharedCost;
+	}
+
+	/**
+	 * Whether the given edge is contained in both given trees.
+	 * 
+	 * @param edge
+	 *            The edge in question
+	 * @param forwardTree
+	 *            The forward shortest path tree
+	 * @param backwardTree
+	 *            The backward shortest path tree
+	 * @return <tt>True</tt> if the edge is contained in both trees,
+	 *         <tt>false</tt> otherwise
+	 */
+	private static boolean isPlateauEdge(final DirectedWeightedEdge edge,
+			final Map<Node, TentativeNodeContainer> forwardTree,
+			final Map<Node, TentativeNodeContainer> backwardTree) {
+		final TentativeNodeContainer forwardContainer = forwardTree.get(edge.getDestination());
+		final TentativeNodeContainer backwardContainer = backwardTree.get(edge.getSource());
+		return forwardContainer != null && backwardContainer != null
+				&& edge.equals(forwardContainer.getParentEdge()) && edge.equals(backwardContainer.getParentEdge());
+	}
+
+	/**
+	 * The maximal sharing, relative to the cost of the shortest path.
+	 */
+	private float mMaxSharing;
+	/**
+	 * The maximal stretch, relative to the cost of the shortest path.
+	 */
+	private float mMaxStretch;
+	/**
+	 * The minimal local optimality, relative to the cost of the shortest
+	 * path.
+	 */
+	private float mMinLocalOptimality;
+	/**
+	 * The path network this object works on.
+	 */
+	private final IPathNetwork mNetwork;
+
+	/**
+	 * Creates a new alternative route computation with the default
+	 * admissibility parameters.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 */
+	public AlternativeRouteComputation(final IPathNetwork network) {
+		this.mNetwork = network;
+		this.mMaxSharing = DEFAULT_MAX_SHARING;
+		this.mMaxStretch = DEFAULT_MAX_STRETCH;
+		this.mMinLocalOptimality = DEFAULT_MIN_LOCAL_OPTIMALITY;
+	}
+
+	/**
+	 * Computes the shortest path between the given nodes and up to the given
+	 * amount of admissible alternative routes.
+	 * 
+	 * @param source
+	 *            Source node of the routes
+	 * @param destination
+	 *            Destination node of the routes
+	 * @param maxAlternatives
+	 *            The maximal amount of alternative routes
+	 * @return The shortest path followed by the alternative routes in order of
+	 *         increasing cost. The list is empty if there is no path between
+	 *         the nodes.
+	 * @throws IllegalArgumentException
+	 *             If the amount of alternatives is negative
+	 */
+	public List<Path> computeAlternativeRoutes(final Node source, final Node destination,
+			final int maxAlternatives) throws IllegalArgumentException {
+		if (maxAlternatives < 0) {
+			throw new IllegalArgumentException(EXCEPTION_AMOUNT_ILLEGAL + maxAlternatives);
+		}
+		final Map<Node, TentativeNodeContainer> forwardTree = computeShortestPathTree(source, destination, false);
+		if (!forwardTree.containsKey(destination)) {
+			return Collections.emptyList();
+		}
+		final Map<Node, TentativeNodeContainer> backwardTree = computeShortestPathTree(destination, source, true);
+		final float shortestCost = forwardTree.get(destination).getTentativeCost();
+		final float maxCost = shortestCost * (1.0f + this.mMaxStretch);
+
+		final Path shortestPath = buildViaPath(destination, forwardTree, backwardTree).get();
+		final List<Path> routes = new ArrayList<>();
+		routes.add(shortestPath);
+		if (maxAlternatives == 0) {
+			return routes;
+		}
+
+		// Collect one node per plateau, the plateau of the shortest path
+		// contains the source
+		final Set<Node> nodesOnPlateaus = new HashSet<>();
+		collectPlateau(source, forwardTree, backwardTree, nodesOnPlateaus);
+		final List<Node> viaNodes = new ArrayList<>();
+		final Map<Node, Float> viaNodeToPlateauCost = new HashMap<>();
+		for (final Map.Entry<Node, TentativeNodeContainer> forwardEntry : forwardTree.entrySet()) {
+			final Node node = forwardEntry.getKey();
+			final TentativeNodeContainer backwardContainer = backwardTree.get(node);
+			if (backwardContainer == null || nodesOnPlateaus.contains(node)
+					|| forwardEntry.getValue().getTentativeCost() + backwardContainer.getTentativeCost() > maxCost) {
+				continue;
+			}
+			viaNodes.add(node);
+			viaNodeToPlateauCost.put(node,
+					Float.valueOf(collectPlateau(node, forwardTree, backwardTree, nodesOnPlateaus)));
+		}
+		viaNodes.sort(Comparator.comparingDouble(
+				node -> forwardTree.get(node).getTentativeCost() + backwardTree.get(node).getTentativeCost()));
+
+		final List<Set<DirectedWeightedEdge>> routeEdges = new ArrayList<>();
+		routeEdges.add(new HashSet<>(shortestPath.getEdges()));
+		final float maxSharedCost = shortestCost * this.mMaxSharing;
+		final float minPlateauCost = shortestCost * this.mMinLocalOptimality;
+		for (final Node viaNode : viaNodes) {
+			if (routes.size() > maxAlternatives) {
+				break;
+			}
+			if (viaNodeToPlateauCost.get(viaNode).floatValue() < minPlateauCost) {
+				continue;
+			}
+			final Optional<Path> viaPath = buildViaPath(viaNode, forwardTree, backwardTree);
+			if (!viaPath.isPresent()) {
+				continue;
+			}
+			boolean isSharingLimited = true;
+			for (final Set<DirectedWeightedEdge> edges : routeEdges) {
+				if (computeSharedCost(viaPath.get(), edges) > maxSharedCost) {
+					isSharingLimited = false;
+					break;
+				}
+			}
+			if (isSharingLimited) {
+				routes.add(viaPath.get());
+				routeEdges.add(new HashSet<>(viaPath.get().getEdges()));
+			}
+		}
+		return routes;
+	}
+
+	/**
+	 * Gets the path network this object works on.
+	 * 
+	 * @return The path network this object works on
+	 */
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Sets the maximal cost an alternative route may share with the shortest
+	 * path and with every other alternative route, relative to the cost of
+	 * the shortest path. Defaults to {@link #DEFAULT_MAX_SHARING}.
+	 * 
+	 * @param maxSharing
+	 *            The maximal sharing, for example <tt>0.8</tt> for routes
+	 *            which share at most <tt>80%</tt>
+	 * @throws IllegalArgumentException
+	 *             If the factor is negative
+	 */
+	public void setMaxSharing(final float maxSharing) throws IllegalArgumentException {
+		if (maxSharing < 0.0f) {
+			throw new IllegalArgumentException(EXCEPTION_FACTOR_ILLEGAL + maxSharing);
+		}
+		this.mMaxSharing = maxSharing;
+	}
+
+	/**
+	 * Sets the maximal additional cost of an alternative route, relative to
+	 * the cost of the shortest path. Defaults to {@link #DEFAULT_MAX_STRETCH}.
+	 * Bounds the search space of both searches.
+	 * 
+	 * @param maxStretch
+	 *            The maximal stretch, for example <tt>0.25</tt> for routes
+	 *            which cost at most <tt>25%</tt> more than the shortest path
+	 * @throws IllegalArgumentException
+	 *             If the factor is negative
+	 */
+	public void setMaxStretch(final float maxStretch) throws IllegalArgumentException {
+		if (maxStretch < 0.0f) {
+			throw new IllegalArgumentException(EXCEPTION_FACTOR_ILLEGAL + maxStretch);
+		}
+		this.mMaxStretch = maxStretch;
+	}
+
+	/**
+	 * Sets the minimal cost of the plateau of an alternative route, relative
+	 * to the cost of the shortest path. Every section of the route which is
+	 * not more expensive than its plateau is a shortest path. Defaults to
+	 * {@link #DEFAULT_MIN_LOCAL_OPTIMALITY}.
+	 * 
+	 * @param minLocalOptimality
+	 *            The minimal local optimality, for example <tt>0.25</tt> for
+	 *            routes whose plateau costs at least <tt>25%</tt> of the
+	 *            shortest path
+	 * @throws IllegalArgumentException
+	 *             If the factor is negative
+	 */
+	public void setMinLocalOptimality(final float minLocalOptimality) throws IllegalArgumentException {
+		if (minLocalOptimality < 0.0f) {
+			throw new IllegalArgumentException(EXCEPTION_FACTOR_ILLEGAL + minLocalOptimality);
+		}
+		this.mMinLocalOptimality = minLocalOptimality;
+	}
+
+	/**
+	 * Grows a shortest path tree from the given root until all nodes whose
+	 * cost does not exceed the maximal stretch of the cost of the given
+	 * target are settled. Backward trees follow edges in reverse direction,
+	 * the parent edge of a node then is the edge leaving it towards the root.
+	 * 
+	 * @param root
+	 *            The root of the tree
+	 * @param target
+	 *            The node whose cost bounds the tree
+	 * @param backward
+	 *            Whether edges are followed in reverse direction
+	 * @return A mapping of all settled nodes to the data container of their
+	 *         shortest path to or from the root. If the target is not
+	 *         reachable, all reachable nodes are contained.
+	 */
+	private Map<Node, TentativeNodeContainer> computeShortestPathTree(final Node root, final Node target,
+			final boolean backward) {
+		final HashMap<Node, TentativeNodeContainer> nodeToContainer = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+		float maxCost = Float.POSITIVE_INFINITY;
+
+		final TentativeNodeContainer rootContainer = new TentativeNodeContainer(root, null, 0);
+		nodeToContainer.put(root, rootContainer);
+		activeNodes.add(rootContainer);
+
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final float currentTentativeCost = currentNodeContainer.getTentativeCost();
+			final Node currentNode = currentNodeContainer.getNode();
+			if (nodeToSettledContainer.containsKey(currentNode)) {
+				continue;
+			}
+			if (currentTentativeCost > maxCost) {
+				break;
+			}
+			nodeToSettledContainer.put(currentNode, currentNodeContainer);
+			if (currentNode.equals(target)) {
+				maxCost = currentTentativeCost * (1.0f + this.mMaxStretch);
+			}
+
+			final Set<DirectedWeightedEdge> edges;
+			if (backward) {
+				edges = this.mNetwork.getIncomingEdges(currentNode);
+			} else {
+				edges = this.mNetwork.getOutgoingEdges(currentNode);
+			}
+			if (edges == null) {
+				continue;
+			}
+			for (final DirectedWeightedEdge edge : edges) {
+				final Node edgeNode;
+				if (backward) {
+					edgeNode = edge.getSource();
+				} else {
+					edgeNode = edge.getDestination();
+				}
+				if (nodeToSettledContainer.containsKey(edgeNode)) {
+					continue;
+				}
+				final float tentativeEdgeCost = currentTentativeCost + edge.getCost();
+				final TentativeNodeContainer edgeNodeContainer = nodeToContainer.get(edgeNode);
+				if (edgeNodeContainer == null || tentativeEdgeCost < edgeNodeContainer.getTentativeCost()) {
+					final TentativeNodeContainer betterContainer = new TentativeNodeContainer(edgeNode, edge,
+							tentativeEdgeCost);
+					nodeToContainer.put(edgeNode, betterContainer);
+					activeNodes.add(betterContainer);
+				}
+			}
+		}
+		return nodeToSettledContainer;
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the core package for computing alternative routes to shortest paths
+ * of the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.alternative;
\ No newline at end of file
@@ -1,13 +1,21 @@
 package de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.INetworkListener;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.PathNetwork;
@@ -18,18 +26,54 @@ import de.zabuza.pathweaver.util.NestedMap2;
 /**
  * Arc flag shortest path algorithm which solves shortest path computation tasks
  * in {@link PathNetwork}s by dividing the network into regions and
- * pre-computing shortest paths from everywhere to the regions.
+ * pre-computing shortest paths from everywhere to the regions.<br>
+ * <br>
+ * The flags are computed by backward searches from the boundary nodes of each
+ * region which follow incoming edges, the network itself is not modified.
+ * Only the boundary nodes of each region are kept besides the flags, costs to
+ * them are computed on demand when a cost change needs to be repaired.<br>
+ * <br>
+ * The computation listens to cost changes of the network and repairs the
+ * flags immediately. If the cost of an edge increases, only the regions for
+ * which the edge is flagged can be affected. If it decreases, only the regions
+ * to whose boundary nodes the edge now yields a shorter path from its source
+ * are affected, which is determined by two searches from the endpoints of the
+ * edge before the change. The flags of affected regions are recomputed while
+ * holding a lock which queries also hold, thus queries may be executed
+ * concurrently but wait for running repairs. Use {@link #detach()} once the
+ * computation is not needed anymore.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
-public final class ArcFlagShortestPathComputation extends DijkstraShortestPathComputation {
+public final class ArcFlagShortestPathComputation extends DijkstraShortestPathComputation
+		implements INetworkListener {
+	/**
+	 * Creates a label vector for the centralized preprocessing where no
+	 * boundary node has been reached yet.
+	 * 
+	 * @param amountOfBoundaryNodes
+	 *            The amount of boundary nodes, i.e. the size of the vector
+	 * @return A label vector of the given size with every entry set to
+	 *         infinity
+	 */
+	private static float[] createUnreachedLabel(final int amountOfBoundaryNodes) {
+		final float[] label = new float[amountOfBoundaryNodes];
+		Arrays.fill(label, Float.POSITIVE_INFINITY);
+		return label;
+	}
+
 	/**
 	 * Data structure that maps edges and regions to their relevance. If the
 	 * boolean is set to true, then the edge is relevant for reaching the region
 	 * with a shortest path.
 	 */
 	private final NestedMap2<DirectedWeightedEdge, Integer, Boolean> mEdgeAndRegionIdToRelevance;
+	/**
+	 * Lock which queries hold for reading and repairs of the flags for
+	 * writing.
+	 */
+	private final ReentrantReadWriteLock mFlagLock;
 	/**
 	 * Maps each region with an ID, accessible by the ID.
 	 */
@@ -42,10 +86,25 @@ public final class ArcFlagShortestPathComputation extends DijkstraShortestPathCo
 	 * Provider used for partitioning the network into regions.
 	 */
 	private final INetworkPartitioningProvider mPartitioningProvider;
+	/**
+	 * The technique used for computing the flags.
+	 */
+	private final EArcFlagPreprocessing mPreprocessing;
+	/**
+	 * Maps each region ID to the boundary nodes of the region, i.e. the nodes
+	 * which have an incoming edge from another region.
+	 */
+	private final HashMap<Integer, List<Node>> mRegionIdToBoundaryNodes;
+	/**
+	 * The IDs of the regions to repair once the announced cost change is done.
+	 * Only set while the flag lock is held for the change.
+	 */
+	private Set<Integer> mRegionIdsToRepair;
 
 	/**
 	 * Creates a new shortest path computation object with the given
-	 * partitioning provider.<br>
+	 * partitioning provider. The flags get computed using
+	 * {@link EArcFlagPreprocessing#DIJKSTRA_PER_BOUNDARY_NODE}.<br>
 	 * The constructor may need some time to compute the flags for all arcs and
 	 * regions.
 	 * 
@@ -56,13 +115,359 @@ public final class ArcFlagShortestPathComputation extends DijkstraShortestPathCo
 	 */
 	public ArcFlagShortestPathComputation(final IPathNetwork network,
 			final INetworkPartitioningProvider partitioningProvider) {
+		this(network, partitioningProvider, EArcFlagPreprocessing.DIJKSTRA_PER_BOUNDARY_NODE);
+	}
+
+	/**
+	 * Creates a new shortest path computation object with the given
+	 * partitioning provider which computes the flags using the given
+	 * preprocessing technique.<br>
+	 * The constructor may need some time to compute the flags for all arcs and
+	 * regions.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param partitioningProvider
+	 *            The provider used for partitioning the network into regions
+	 * @param preprocessing
+	 *            The technique to use for computing the flags
+	 */
+	public ArcFlagShortestPathComputation(final IPathNetwork network,
+			final INetworkPartitioningProvider partitioningProvider, final EArcFlagPreprocessing preprocessing) {
 		super(network);
 		this.mPartitioningProvider = partitioningProvider;
+		this.mPreprocessing = preprocessing;
 		this.mEdgeAndRegionIdToRelevance = new NestedMap2<>();
 		this.mNodeToRegionId = new HashMap<>();
 		this.mIdToRegion = new HashMap<>();
+		this.mRegionIdToBoundaryNodes = new HashMap<>();
+		this.mRegionIdsToRepair = Collections.emptySet();
+		this.mFlagLock = new ReentrantReadWriteLock();
 
 		initialize();
+		network.addNetworkListener(this);
+	}
+
+	/**
+	 * Stops listening to cost changes of the network. Afterwards the flags are
+	 * not repaired anymore, thus queries may miss shortest paths once costs
+	 * change. The network does not keep the computation reachable anymore.
+	 */
+	public void detach() {
+		getPathNetwork().removeNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanged(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost) {
+		// The lock was acquired and the regions to repair were determined
+		// when the change was announced
+		try {
+			if (edge.getCost() != previousCost) {
+				repairRegions(this.mRegionIdsToRepair);
+			}
+		} finally {
+			this.mRegionIdsToRepair = Collections.emptySet();
+			this.mFlagLock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanging(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanging(final DirectedWeightedEdge edge, final float cost) {
+		// Queries must not see the new cost before the flags are repaired
+		this.mFlagLock.writeLock().lock();
+		try {
+			if (cost < edge.getCost()) {
+				this.mRegionIdsToRepair = getRegionsImprovedBy(edge, cost);
+			} else {
+				// Only shortest paths which used the edge can change
+				final Set<Integer> regionIds = new HashSet<>();
+				final Map<Integer, Boolean> regionIdToRelevance = this.mEdgeAndRegionIdToRelevance.get(edge);
+				if (regionIdToRelevance != null) {
+					for (final Entry<Integer, Boolean> entry : regionIdToRelevance.entrySet()) {
+						if (entry.getValue().booleanValue()) {
+							regionIds.add(entry.getKey());
+						}
+					}
+				}
+				this.mRegionIdsToRepair = regionIds;
+			}
+		} catch (final RuntimeException e) {
+			// The change is not concluded for this listener if it fails here
+			this.mFlagLock.writeLock().unlock();
+			throw e;
+		}
+	}
+
+	/**
+	 * Computes the flags of the given region by performing one centralized
+	 * search from all its boundary nodes at once. Every node gets a label
+	 * vector which contains the tentative cost to each boundary node. The
+	 * vectors get propagated in a label-correcting fashion, nodes are processed
+	 * in order of the smallest entry of their vector. Afterwards an edge gets
+	 * flagged if it is part of the shortest path tree of at least one boundary
+	 * node. The search follows incoming edges.
+	 * 
+	 * @param boundaryNodes
+	 *            The boundary nodes of the region
+	 * @param regionId
+	 *            The ID of the region
+	 */
+	private void computeFlagsCentralized(final List<Node> boundaryNodes, final Integer regionId) {
+		final IPathNetwork network = getPathNetwork();
+		final int amountOfBoundaryNodes = boundaryNodes.size();
+		final HashMap<Node, float[]> nodeToLabel = new HashMap<>();
+		final HashMap<Node, TentativeNodeContainer> nodeToQueuedContainer = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+
+		// Start with every boundary node having cost zero to itself
+		int boundaryIndex = 0;
+		for (final Node boundaryNode : boundaryNodes) {
+			final float[] label = createUnreachedLabel(amountOfBoundaryNodes);
+			label[boundaryIndex] = 0;
+			nodeToLabel.put(boundaryNode, label);
+
+			final TentativeNodeContainer container = new TentativeNodeContainer(boundaryNode, null, 0);
+			nodeToQueuedContainer.put(boundaryNode, container);
+			activeNodes.add(container);
+			boundaryIndex++;
+		}
+
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+
+			// The container was abandoned if the label of the node changed
+			// after it was queued
+			if (nodeToQueuedContainer.get(currentNode) != currentNodeContainer) {
+				continue;
+			}
+			nodeToQueuedContainer.remove(currentNode);
+
+			// Propagate the label backwards over all incoming edges
+			final float[] currentLabel = nodeToLabel.get(currentNode);
+			for (final DirectedWeightedEdge incomingEdge : network.getIncomingEdges(currentNode)) {
+				final Node edgeSource = incomingEdge.getSource();
+				final float edgeCost = incomingEdge.getCost();
+
+				float[] sourceLabel = nodeToLabel.get(edgeSource);
+				if (sourceLabel == null) {
+					sourceLabel = createUnreachedLabel(amountOfBoundaryNodes);
+					nodeToLabel.put(edgeSource, sourceLabel);
+				}
+
+				boolean wasImproved = false;
+				float smallestEntry = Float.POSITIVE_INFINITY;
+				for (int i = 0; i < amountOfBoundaryNodes; i++) {
+					final float tentativeCost = currentLabel[i] + edgeCost;
+					if (tentativeCost < sourceLabel[i]) {
+						sourceLabel[i] = tentativeCost;
+						wasImproved = true;
+					}
+					smallestEntry = Math.min(smallestEntry, sourceLabel[i]);
+				}
+
+				// Queue the source again, this abandons any previously queued
+				// container of it
+				if (wasImproved) {
+					final TentativeNodeContainer container = new TentativeNodeContainer(edgeSource, null,
+							smallestEntry);
+					nodeToQueuedContainer.put(edgeSource, container);
+					activeNodes.add(container);
+				}
+			}
+		}
+
+		// Flag every edge which is part of a shortest path tree of a boundary
+		// node. All labels are final, thus a tree edge reproduces the cost of
+		// its source exactly.
+		for (final Entry<Node, float[]> entry : nodeToLabel.entrySet()) {
+			final float[] destinationLabel = entry.getValue();
+			for (final DirectedWeightedEdge incomingEdge : network.getIncomingEdges(entry.getKey())) {
+				final float[] sourceLabel = nodeToLabel.get(incomingEdge.getSource());
+				final float edgeCost = incomingEdge.getCost();
+				for (int i = 0; i < amountOfBoundaryNodes; i++) {
+					if (destinationLabel[i] != Float.POSITIVE_INFINITY
+							&& destinationLabel[i] + edgeCost == sourceLabel[i]) {
+						this.mEdgeAndRegionIdToRelevance.put(incomingEdge, regionId, Boolean.TRUE);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the flags of the given region by performing a backward Dijkstra
+	 * search for every of its boundary nodes.
+	 * 
+	 * @param boundaryNodes
+	 *            The boundary nodes of the region
+	 * @param regionId
+	 *            The ID of the region
+	 */
+	private void computeFlagsPerBoundaryNode(final List<Node> boundaryNodes, final Integer regionId) {
+		for (final Node boundaryNode : boundaryNodes) {
+			// Perform a Dijkstra search to compute all shortest
+			// paths to this node
+			final Map<Node, TentativeNodeContainer> nodeToData = computeShortestPathTreeTo(boundaryNode);
+			// Set the flag for every parent edge of a settled node,
+			// as they are part of a shortest path to
+			// the boundary node
+			for (final TentativeNodeContainer settledNodeContainer : nodeToData.values()) {
+				final DirectedWeightedEdge parentEdge = settledNodeContainer.getParentEdge();
+
+				// Ignore the edge if the settled node is the source
+				if (parentEdge == null) {
+					continue;
+				}
+
+				// Settle the flag for the edge
+				this.mEdgeAndRegionIdToRelevance.put(parentEdge, regionId, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Computes the flags of the given region, i.e. sets the flags of all edges
+	 * inside the region and of all edges on shortest paths to its boundary
+	 * nodes. The boundary nodes of the region are updated.
+	 * 
+	 * @param region
+	 *            The region to compute the flags of
+	 * @param regionId
+	 *            The ID of the region
+	 */
+	private void computeFlagsOfRegion(final Set<Node> region, final Integer regionId) {
+		final IPathNetwork network = getPathNetwork();
+		final List<Node> boundaryNodes = new ArrayList<>();
+		for (final Node node : region) {
+			// A boundary node has an incoming edge from another region
+			boolean isBoundaryNode = false;
+			for (final DirectedWeightedEdge edge : network.getIncomingEdges(node)) {
+				// If source and destination are inside the region, the flag
+				// will be set for the edge
+				final boolean isEdgeInside = region.contains(edge.getSource());
+				if (isEdgeInside) {
+					this.mEdgeAndRegionIdToRelevance.put(edge, regionId, Boolean.TRUE);
+				}
+
+				// If the edge is not inside, the node is a boundary node
+				if (!isEdgeInside && !isBoundaryNode) {
+					isBoundaryNode = true;
+					boundaryNodes.add(node);
+				}
+			}
+		}
+
+		this.mRegionIdToBoundaryNodes.put(regionId, boundaryNodes);
+		if (boundaryNodes.isEmpty()) {
+			// Only edges inside the region are flagged
+			return;
+		}
+		if (this.mPreprocessing == EArcFlagPreprocessing.CENTRALIZED) {
+			computeFlagsCentralized(boundaryNodes, regionId);
+		} else if (this.mPreprocessing == EArcFlagPreprocessing.DIJKSTRA_PER_BOUNDARY_NODE) {
+			computeFlagsPerBoundaryNode(boundaryNodes, regionId);
+		} else {
+			throw new AssertionError();
+		}
+	}
+
+	/**
+	 * Computes the shortest paths from all nodes to the given node by a
+	 * Dijkstra search which follows incoming edges.
+	 * 
+	 * @param destination
+	 *            The node to compute the shortest paths to
+	 * @return A mapping of all nodes which can reach the destination to the
+	 *         data container of their shortest path. The parent edge of a
+	 *         container is the first edge of the path.
+	 */
+	private Map<Node, TentativeNodeContainer> computeShortestPathTreeTo(final Node destination) {
+		final IPathNetwork network = getPathNetwork();
+		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+		final HashMap<Node, Float> nodeToTentativeCost = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		activeNodes.add(new TentativeNodeContainer(destination, null, 0));
+		nodeToTentativeCost.put(destination, Float.valueOf(0));
+
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+			// Skip containers of nodes which were settled by a cheaper one
+			if (nodeToSettledContainer.containsKey(currentNode)) {
+				continue;
+			}
+			nodeToSettledContainer.put(currentNode, currentNodeContainer);
+
+			final float currentCost = currentNodeContainer.getTentativeCost();
+			for (final DirectedWeightedEdge incomingEdge : network.getIncomingEdges(currentNode)) {
+				final Node edgeSource = incomingEdge.getSource();
+				if (nodeToSettledContainer.containsKey(edgeSource)) {
+					continue;
+				}
+				final float tentativeCost = currentCost + incomingEdge.getCost();
+				final Float previousCost = nodeToTentativeCost.get(edgeSource);
+				if (previousCost == null || tentativeCost < previousCost.floatValue()) {
+					nodeToTentativeCost.put(edgeSource, Float.valueOf(tentativeCost));
+					activeNodes.add(new TentativeNodeContainer(edgeSource, incomingEdge, tentativeCost));
+				}
+			}
+		}
+		return nodeToSettledContainer;
+	}
+
+	/**
+	 * Gets the IDs of all regions to which the given edge, with the given
+	 * decreased cost, yields a shorter path from its source to at least one
+	 * of the boundary nodes. The flags of all other regions stay valid. Must
+	 * be called before the cost of the edge changes.
+	 * 
+	 * @param edge
+	 *            The edge whose cost decreases, it still has its previous cost
+	 * @param cost
+	 *            The decreased cost of the edge
+	 * @return The IDs of the affected regions
+	 */
+	private Set<Integer> getRegionsImprovedBy(final DirectedWeightedEdge edge, final float cost) {
+		// Shortest paths from the destination never use the edge since costs
+		// are positive, the costs from the source are the previous ones
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(getPathNetwork());
+		final Map<Node, Float> costsFromDestination = computation
+				.computeShortestPathCostsReachable(edge.getDestination());
+		final Map<Node, Float> costsFromSource = computation.computeShortestPathCostsReachable(edge.getSource());
+
+		final Set<Integer> regionIds = new HashSet<>();
+		for (final Entry<Integer, List<Node>> entry : this.mRegionIdToBoundaryNodes.entrySet()) {
+			for (final Node boundaryNode : entry.getValue()) {
+				final Float costFromDestination = costsFromDestination.get(boundaryNode);
+				if (costFromDestination == null) {
+					// The edge does not lead towards the boundary node
+					continue;
+				}
+				final Float costFromSource = costsFromSource.get(boundaryNode);
+				if (costFromSource == null
+						|| cost + costFromDestination.floatValue() < costFromSource.floatValue()) {
+					regionIds.add(entry.getKey());
+					break;
+				}
+			}
+		}
+		return regionIds;
 	}
 
 	/**
@@ -73,60 +478,38 @@ public final class ArcFlagShortestPathComputation extends DijkstraShortestPathCo
 	private void initialize() {
 		// Compute the arc flags
 		final Collection<Set<Node>> regions = this.mPartitioningProvider.getPartitioning();
-		final IPathNetwork network = getPathNetwork();
-		// Computation is done on the reversed graph
-		network.reverse();
 
 		int regionId = 0;
 		// Iterate every node of every region
 		for (final Set<Node> region : regions) {
 			final Integer regionIdAsInteger = Integer.valueOf(regionId);
 			this.mIdToRegion.put(regionIdAsInteger, region);
-
 			for (final Node node : region) {
 				this.mNodeToRegionId.put(node, regionIdAsInteger);
-
-				// A boundary node has an incoming edge from another reagion. In
-				// the reversed graph this are outgoing egdes.
-				boolean isBoundaryNode = false;
-				for (final DirectedWeightedEdge edge : network.getOutgoingEdges(node)) {
-					// If source and destination are inside the region, the flag
-					// will be set for the edge
-					final boolean isEdgeInside = region.contains(edge.getDestination());
-					if (isEdgeInside) {
-						this.mEdgeAndRegionIdToRelevance.put(edge, regionIdAsInteger, Boolean.TRUE);
-					}
-
-					// If the edge is not inside, the node is a boundary node
-					if (!isEdgeInside && !isBoundaryNode) {
-						isBoundaryNode = true;
-
-						// Perform a Dijkstra search to compute all shortest
-						// paths to this node
-						final Map<Node, TentativeNodeContainer> nodeToData = computeShortestPathCostHelper(
-								Collections.singleton(node), Optional.empty());
-						// Set the flag for every parent edge of a settled node,
-						// as they are part of a shortest path from
-						// the boundary node
-						for (final TentativeNodeContainer settledNodeContainer : nodeToData.values()) {
-							final DirectedWeightedEdge parentEdge = settledNodeContainer.getParentEdge();
-
-							// Ignore the edge if the settled node is the source
-							if (parentEdge == null) {
-								continue;
-							}
-
-							// Settle the flag for the edge
-							this.mEdgeAndRegionIdToRelevance.put(parentEdge, regionIdAsInteger, Boolean.TRUE);
-						}
-					}
-				}
 			}
+
+			computeFlagsOfRegion(region, regionIdAsInteger);
 			regionId++;
 		}
+	}
 
-		// Undo the network reversion
-		network.reverse();
+	/**
+	 * Recomputes the flags of the given regions. The flags of all of them are
+	 * removed in a single pass over the flagged edges first.
+	 * 
+	 * @param regionIds
+	 *            The IDs of the regions whose flags are outdated
+	 */
+	private void repairRegions(final Set<Integer> regionIds) {
+		if (regionIds.isEmpty()) {
+			return;
+		}
+		for (final DirectedWeightedEdge edge : this.mEdgeAndRegionIdToRelevance.keySet()) {
+			this.mEdgeAndRegionIdToRelevance.get(edge).keySet().removeAll(regionIds);
+		}
+		for (final Integer regionId : regionIds) {
+			computeFlagsOfRegion(this.mIdToRegion.get(regionId), regionId);
+		}
 	}
 
 	/*
@@ -157,4 +540,22 @@ public final class ArcFlagShortestPathComputation extends DijkstraShortestPathCo
 
 		return true;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * DijkstraShortestPathComputation#computeShortestPathCostHelper(java.util.
+	 * Set, java.util.Optional, java.util.Set)
+	 */
+	@Override
+	protected Map<Node, TentativeNodeContainer> computeShortestPathCostHelper(final Set<Node> sources,
+			final Optional<Node> destination, final Set<Node> stopNodes) {
+		this.mFlagLock.readLock().lock();
+		try {
+			return super.computeShortestPathCostHelper(sources, destination, stopNodes);
+		} finally {
+			this.mFlagLock.readLock().unlock();
+		}
+	}
 }
@@ -0,0 +1,24 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag;
+
+/**
+ * Techniques an {@link ArcFlagShortestPathComputation} can use for computing
+ * the flags of all arcs and regions.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EArcFlagPreprocessing {
+	/**
+	 * Performs one search per region which computes the shortest path trees of
+	 * all boundary nodes of the region at once. Every node holds a vector of
+	 * tentative costs, one entry per boundary node, which gets propagated
+	 * through the network. This avoids repeating the work that the searches
+	 * of neighboring boundary nodes share.
+	 */
+	CENTRALIZED,
+	/**
+	 * Performs a separate Dijkstra search for every boundary node of every
+	 * region.
+	 */
+	DIJKSTRA_PER_BOUNDARY_NODE
+}
@@ -0,0 +1,151 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.cache;
+
+import java.util.Optional;
+
+import de.zabuza.pathweaver.network.CompactPath;
+
+/**
+ * Cached result of a shortest path query between a source and a destination.
+ * The entry either knows only the cost of the shortest path or the path
+ * itself, which is stored in its compact representation. Unreachable
+ * destinations are cached as well.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class CacheEntry {
+	/**
+	 * The cost of entries whose destination is not reachable.
+	 */
+	private static final float COST_UNREACHABLE = Float.POSITIVE_INFINITY;
+
+	/**
+	 * Creates an entry which only knows the cost of the shortest path.
+	 * 
+	 * @param cost
+	 *            The cost of the shortest path if present, if not present
+	 *            there is no such path
+	 * @param creationTime
+	 *            The time the result was computed at, in nanoseconds as given
+	 *            by {@link System#nanoTime()}
+	 * @return The created entry
+	 */
+	static CacheEntry ofCost(final Optional<Float> cost, final long creationTime) {
+		if (!cost.isPresent()) {
+			return new CacheEntry(COST_UNREACHABLE, null, creationTime);
+		}
+		return new CacheEntry(cost.get().floatValue(), null, creationTime);
+	}
+
+	/**
+	 * Creates an entry which knows the shortest path.
+	 * 
+	 * @param path
+	 *            The shortest path if present, if not present there is no such
+	 *            path
+	 * @param creationTime
+	 *            The time the result was computed at, in nanoseconds as given
+	 *            by {@link System#nanoTime()}
+	 * @return The created entry
+	 */
+	static CacheEntry ofPath(final Optional<CompactPath> path, final long creationTime) {
+		if (!path.isPresent()) {
+			return new CacheEntry(COST_UNREACHABLE, null, creationTime);
+		}
+		return new CacheEntry(path.get().getCost(), path.get(), creationTime);
+	}
+
+	/**
+	 * The cost of the shortest path, {@link #COST_UNREACHABLE} if there is no
+	 * such path.
+	 */
+	private final float mCost;
+	/**
+	 * The time the result was computed at, in nanoseconds as given by
+	 * {@link System#nanoTime()}.
+	 */
+	private final long mCreationTime;
+	/**
+	 * The shortest path, <tt>null</tt> if only the cost is known or if there
+	 * is no such path.
+	 */
+	private final CompactPath mPath;
+
+	/**
+	 * Creates a new entry.
+	 * 
+	 * @param cost
+	 *            The cost of the shortest path, {@link #COST_UNREACHABLE} if
+	 *            there is no such path
+	 * @param path
+	 *            The shortest path, <tt>null</tt> if only the cost is known or
+	 *            if there is no such path
+	 * @param creationTime
+	 *            The time the result was computed at, in nanoseconds as given
+	 *            by {@link System#nanoTime()}
+	 */
+	private CacheEntry(final float cost, final CompactPath path, final long creationTime) {
+		this.mCost = cost;
+		this.mPath = path;
+		this.mCreationTime = creationTime;
+	}
+
+	/**
+	 * Gets the time the result was computed at.
+	 * 
+	 * @return The time the result was computed at, in nanoseconds as given by
+	 *         {@link System#nanoTime()}
+	 */
+	long getCreationTime() {
+		return this.mCreationTime;
+	}
+
+	/**
+	 * Gets the shortest path. Must only be called if the entry has a path,
+	 * see {@link #hasPath()}.
+	 * 
+	 * @return The shortest path if present, if not present there is no such
+	 *         path
+	 */
+	Optional<CompactPath> getPath() {
+		assert (hasPath());
+		return Optional.ofNullable(this.mPath);
+	}
+
+	/**
+	 * Gets the weight of the entry, which approximates its memory footprint.
+	 * It is <tt>1</tt> plus the amount of edges of the stored path.
+	 * 
+	 * @return The weight of the entry
+	 */
+	int getWeight() {
+		if (this.mPath == null) {
+			return 1;
+		}
+		return this.mPath.getLength();
+	}
+
+	/**
+	 * Whether the entry can answer path queries, i.e. it knows the path or
+	 * that there is no path.
+	 * 
+	 * @return <tt>True</tt> if the entry can answer path queries,
+	 *         <tt>false</tt> if it only knows the cost
+	 */
+	boolean hasPath() {
+		return this.mPath != null || this.mCost == COST_UNREACHABLE;
+	}
+
+	/**
+	 * Gets the cost of the shortest path.
+	 * 
+	 * @return The cost of the shortest path if present, if not present there
+	 *         is no such path
+	 */
+	Optional<Float> toCost() {
+		if (this.mCost == COST_UNREACHABLE) {
+			return Optional.empty();
+		}
+		return Optional.of(Float.valueOf(this.mCost));
+	}
+}
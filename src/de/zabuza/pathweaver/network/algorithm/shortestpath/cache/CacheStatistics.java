@@ -0,0 +1,144 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.cache;
+
+/**
+ * Statistics about the usage of the cache of a
+ * {@link CachedShortestPathComputation}, see
+ * {@link CachedShortestPathComputation#getCacheStatistics()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CacheStatistics {
+	/**
+	 * The amount of entries currently in the cache.
+	 */
+	private final int mAmountOfEntries;
+	/**
+	 * The amount of entries removed to respect the maximal weight.
+	 */
+	private final long mAmountOfEvictions;
+	/**
+	 * The amount of entries removed since their time to live elapsed.
+	 */
+	private final long mAmountOfExpirations;
+	/**
+	 * The amount of queries answered by the cache.
+	 */
+	private final long mAmountOfHits;
+	/**
+	 * The amount of queries which were not answered by the cache.
+	 */
+	private final long mAmountOfMisses;
+	/**
+	 * The total weight of the entries currently in the cache.
+	 */
+	private final long mTotalWeight;
+
+	/**
+	 * Creates new statistics with the given values.
+	 * 
+	 * @param amountOfHits
+	 *            The amount of queries answered by the cache
+	 * @param amountOfMisses
+	 *            The amount of queries which were not answered by the cache
+	 * @param amountOfEvictions
+	 *            The amount of entries removed to respect the maximal weight
+	 * @param amountOfExpirations
+	 *            The amount of entries removed since their time to live
+	 *            elapsed
+	 * @param amountOfEntries
+	 *            The amount of entries currently in the cache
+	 * @param totalWeight
+	 *            The total weight of the entries currently in the cache
+	 */
+	public CacheStatistics(final long amountOfHits, final long amountOfMisses, final long amountOfEvictions,
+			final long amountOfExpirations, final int amountOfEntries, final long totalWeight) {
+		this.mAmountOfHits = amountOfHits;
+		this.mAmountOfMisses = amountOfMisses;
+		this.mAmountOfEvictions = amountOfEvictions;
+		this.mAmountOfExpirations = amountOfExpirations;
+		this.mAmountOfEntries = amountOfEntries;
+		this.mTotalWeight = totalWeight;
+	}
+
+	/**
+	 * Gets the amount of entries currently in the cache.
+	 * 
+	 * @return The amount of entries
+	 */
+	public int getAmountOfEntries() {
+		return this.mAmountOfEntries;
+	}
+
+	/**
+	 * Gets the amount of entries removed to respect the maximal weight.
+	 * 
+	 * @return The amount of evictions
+	 */
+	public long getAmountOfEvictions() {
+		return this.mAmountOfEvictions;
+	}
+
+	/**
+	 * Gets the amount of entries removed since their time to live elapsed.
+	 * 
+	 * @return The amount of expirations
+	 */
+	public long getAmountOfExpirations() {
+		return this.mAmountOfExpirations;
+	}
+
+	/**
+	 * Gets the amount of queries answered by the cache.
+	 * 
+	 * @return The amount of hits
+	 */
+	public long getAmountOfHits() {
+		return this.mAmountOfHits;
+	}
+
+	/**
+	 * Gets the amount of queries which were not answered by the cache.
+	 * 
+	 * @return The amount of misses
+	 */
+	public long getAmountOfMisses() {
+		return this.mAmountOfMisses;
+	}
+
+	/**
+	 * Gets the ratio of queries answered by the cache.
+	 * 
+	 * @return The ratio of hits to all queries, between <tt>0</tt> and
+	 *         <tt>1</tt> (both inclusive). <tt>0</tt> if there were no
+	 *         queries.
+	 */
+	public double getHitRate() {
+		final long amountOfQueries = this.mAmountOfHits + this.mAmountOfMisses;
+		if (amountOfQueries == 0) {
+			return 0.0;
+		}
+		return (double) this.mAmountOfHits / amountOfQueries;
+	}
+
+	/**
+	 * Gets the total weight of the entries currently in the cache.
+	 * 
+	 * @return The total weight
+	 */
+	public long getTotalWeight() {
+		return this.mTotalWeight;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CacheStatistics[hits=" + this.mAmountOfHits + ", misses=" + this.mAmountOfMisses + ", evictions="
+				+ this.mAmountOfEvictions + ", expirations=" + this.mAmountOfExpirations + ", entries="
+				+ this.mAmountOfEntries + ", weight=" + this.mTotalWeight + "]";
+	}
+}
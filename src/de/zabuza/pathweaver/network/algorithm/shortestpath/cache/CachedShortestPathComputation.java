@@ -0,0 +1,541 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.INetworkListener;
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.SearchStatistics;
+
+/**
+ * Decorator which caches the results of queries between a single source and
+ * a single destination of another shortest path computation. Costs and paths
+ * are cached by their source and destination. Paths are stored as
+ * {@link CompactPath} and materialized as {@link Path} for every hit, thus
+ * callers may modify them.<br>
+ * <br>
+ * The cache is bounded by a maximal weight, an entry weighs <tt>1</tt> plus
+ * the amount of edges of its path. If the bound is exceeded, the least
+ * recently used entries are evicted. Optionally entries expire after a time
+ * to live. The cache is invalidated whenever the cost of an edge of the
+ * network changes, other changes of the network require to call
+ * {@link #invalidate()}. A cache which is not used anymore should be
+ * detached from the network by {@link #detach()}. Queries with a set of sources and queries for all
+ * reachable nodes are not cached.<br>
+ * <br>
+ * The cache is thread-safe, concurrent queries are supported if the
+ * decorated computation supports them. The statistics of a query answered by
+ * the cache report no search effort, only the time of the lookup.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CachedShortestPathComputation implements IShortestPathComputation, INetworkListener {
+	/**
+	 * Message of the exception thrown when the time to live is not positive.
+	 */
+	private static final String EXCEPTION_TIME_TO_LIVE_ILLEGAL = "The time to live must be positive: ";
+	/**
+	 * Message of the exception thrown when the maximal weight is not positive.
+	 */
+	private static final String EXCEPTION_WEIGHT_ILLEGAL = "The maximal weight must be positive: ";
+	/**
+	 * The time to live of entries which never expire.
+	 */
+	private static final long TIME_TO_LIVE_UNLIMITED = Long.MAX_VALUE;
+
+	/**
+	 * Creates the key of the query between the given nodes.
+	 * 
+	 * @param source
+	 *            The source of the query
+	 * @param destination
+	 *            The destination of the query
+	 * @return The key of the query
+	 */
+	private static Long toKey(final Node source, final Node destination) {
+		return Long.valueOf(((long) source.getId() << Integer.SIZE) | (destination.getId() & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * The amount of entries removed to respect the maximal weight.
+	 */
+	private long mAmountOfEvictions;
+	/**
+	 * The amount of entries removed since their time to live elapsed.
+	 */
+	private long mAmountOfExpirations;
+	/**
+	 * The amount of queries answered by the cache.
+	 */
+	private long mAmountOfHits;
+	/**
+	 * The amount of queries which were not answered by the cache.
+	 */
+	private long mAmountOfMisses;
+	/**
+	 * The decorated computation which answers queries the cache can not
+	 * answer.
+	 */
+	private final IShortestPathComputation mComputation;
+	/**
+	 * The generation of the cache, increased by every invalidation. Results
+	 * computed in an older generation are not cached.
+	 */
+	private volatile long mGeneration;
+	/**
+	 * The cached entries, accessible by the key of their query, in order of
+	 * their last access. Also used as lock for the cache.
+	 */
+	private final LinkedHashMap<Long, CacheEntry> mKeyToEntry;
+	/**
+	 * The statistics of the last query of the current thread if it was
+	 * answered by the cache, empty if it was delegated to the decorated
+	 * computation. Replaced whenever recording is switched, which discards
+	 * the statistics of all threads.
+	 */
+	private volatile ThreadLocal<SearchStatistics> mLastHitStatistics;
+	/**
+	 * The maximal total weight of all entries.
+	 */
+	private final long mMaxWeight;
+	/**
+	 * The time after which entries expire, in nanoseconds.
+	 */
+	private final long mTimeToLive;
+	/**
+	 * The total weight of all entries.
+	 */
+	private long mTotalWeight;
+
+	/**
+	 * Creates a new cache in front of the given computation whose entries do
+	 * not expire. The cache listens to changes of the network of the
+	 * computation.
+	 * 
+	 * @param computation
+	 *            The computation to decorate
+	 * @param maxWeight
+	 *            The maximal total weight of all entries, an entry weighs
+	 *            <tt>1</tt> plus the amount of edges of its path
+	 * @throws IllegalArgumentException
+	 *             If the maximal weight is not positive
+	 */
+	public CachedShortestPathComputation(final IShortestPathComputation computation, final long maxWeight)
+			throws IllegalArgumentException {
+		this(computation, maxWeight, TIME_TO_LIVE_UNLIMITED, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Creates a new cache in front of the given computation. The cache listens
+	 * to changes of the network of the computation.
+	 * 
+	 * @param computation
+	 *            The computation to decorate
+	 * @param maxWeight
+	 *            The maximal total weight of all entries, an entry weighs
+	 *            <tt>1</tt> plus the amount of edges of its path
+	 * @param timeToLive
+	 *            The time after which entries expire
+	 * @param unit
+	 *            The unit of the time to live
+	 * @throws IllegalArgumentException
+	 *             If the maximal weight or the time to live is not positive
+	 */
+	public CachedShortestPathComputation(final IShortestPathComputation computation, final long maxWeight,
+			final long timeToLive, final TimeUnit unit) throws IllegalArgumentException {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_WEIGHT_ILLEGAL + maxWeight);
+		}
+		if (timeToLive <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_TIME_TO_LIVE_ILLEGAL + timeToLive);
+		}
+		this.mComputation = computation;
+		this.mMaxWeight = maxWeight;
+		this.mTimeToLive = unit.toNanos(timeToLive);
+		this.mKeyToEntry = new LinkedHashMap<>(16, 0.75f, true);
+		this.mLastHitStatistics = new ThreadLocal<>();
+		this.mGeneration = 0L;
+		this.mTotalWeight = 0L;
+		computation.getPathNetwork().addNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestCompactPath(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<CompactPath> computeShortestCompactPath(final Node source, final Node destination) {
+		final Long key = toKey(source, destination);
+		final long startTime = System.nanoTime();
+		final long generation = this.mGeneration;
+		final CacheEntry entry = lookup(key, true);
+		if (entry != null) {
+			// Compact paths are immutable and can be shared
+			recordHit(startTime);
+			return entry.getPath();
+		}
+
+		this.mLastHitStatistics.remove();
+		final Optional<CompactPath> path = this.mComputation.computeShortestCompactPath(source, destination);
+		store(key, CacheEntry.ofPath(path, System.nanoTime()), generation);
+		return path;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPath(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Path> computeShortestPath(final Node source, final Node destination) {
+		final Long key = toKey(source, destination);
+		final long startTime = System.nanoTime();
+		final long generation = this.mGeneration;
+		final CacheEntry entry = lookup(key, true);
+		if (entry != null) {
+			recordHit(startTime);
+			return entry.getPath().map(path -> path.toPath(getPathNetwork()));
+		}
+
+		this.mLastHitStatistics.remove();
+		final Optional<Path> path = this.mComputation.computeShortestPath(source, destination);
+		store(key, CacheEntry.ofPath(path.map(CompactPath::ofPath), System.nanoTime()), generation);
+		return path;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPath(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Path> computeShortestPath(final Set<Node> sources, final Node destination) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPath(sources, destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCost(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Float> computeShortestPathCost(final Node source, final Node destination) {
+		final Long key = toKey(source, destination);
+		final long startTime = System.nanoTime();
+		final long generation = this.mGeneration;
+		final CacheEntry entry = lookup(key, false);
+		if (entry != null) {
+			recordHit(startTime);
+			return entry.toCost();
+		}
+
+		this.mLastHitStatistics.remove();
+		final Optional<Float> cost = this.mComputation.computeShortestPathCost(source, destination);
+		store(key, CacheEntry.ofCost(cost, System.nanoTime()), generation);
+		return cost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCost(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Float> computeShortestPathCost(final Set<Node> sources, final Node destination) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPathCost(sources, destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCostsReachable(de.zabuza.
+	 * pathweaver.network.Node)
+	 */
+	@Override
+	public Map<Node, Float> computeShortestPathCostsReachable(final Node source) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPathCostsReachable(source);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCostsReachable(java.util.Set)
+	 */
+	@Override
+	public Map<Node, Float> computeShortestPathCostsReachable(final Set<Node> sources) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPathCostsReachable(sources);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathSearchSpace(de.zabuza.
+	 * pathweaver.network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Set<Node> computeShortestPathSearchSpace(final Node source, final Node destination) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPathSearchSpace(source, destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathSearchSpace(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Set<Node> computeShortestPathSearchSpace(final Set<Node> sources, final Node destination) {
+		this.mLastHitStatistics.remove();
+		return this.mComputation.computeShortestPathSearchSpace(sources, destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPaths(de.zabuza.pathweaver.
+	 * network.Node, java.util.Set)
+	 */
+	@Override
+	public Map<Node, Path> computeShortestPaths(final Node source, final Set<Node> destinations) {
+		final long startTime = System.nanoTime();
+		final long generation = this.mGeneration;
+		final Map<Node, Path> destinationToPath = new HashMap<>();
+		final Set<Node> missingDestinations = new HashSet<>();
+		for (final Node destination : destinations) {
+			final CacheEntry entry = lookup(toKey(source, destination), true);
+			if (entry == null) {
+				missingDestinations.add(destination);
+			} else {
+				entry.getPath().ifPresent(path -> destinationToPath.put(destination, path.toPath(getPathNetwork())));
+			}
+		}
+		if (missingDestinations.isEmpty()) {
+			recordHit(startTime);
+			return destinationToPath;
+		}
+
+		// Search all missing destinations at once
+		this.mLastHitStatistics.remove();
+		final Map<Node, Path> missingDestinationToPath = this.mComputation.computeShortestPaths(source,
+				missingDestinations);
+		final long creationTime = System.nanoTime();
+		for (final Node destination : missingDestinations) {
+			final Optional<CompactPath> path = Optional.ofNullable(missingDestinationToPath.get(destination))
+					.map(CompactPath::ofPath);
+			store(toKey(source, destination), CacheEntry.ofPath(path, creationTime), generation);
+		}
+		destinationToPath.putAll(missingDestinationToPath);
+		return destinationToPath;
+	}
+
+	/**
+	 * Stops listening to cost changes of the network, such that the network
+	 * does not keep the cache reachable. Afterwards the cache is not
+	 * invalidated automatically anymore.
+	 */
+	public void detach() {
+		getPathNetwork().removeNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanged(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost) {
+		// A cheaper edge may improve any path, thus every entry is affected
+		invalidate();
+	}
+
+	/**
+	 * Gets statistics about the usage of the cache since its creation.
+	 * 
+	 * @return Statistics about the usage of the cache
+	 */
+	public CacheStatistics getCacheStatistics() {
+		synchronized (this.mKeyToEntry) {
+			return new CacheStatistics(this.mAmountOfHits, this.mAmountOfMisses, this.mAmountOfEvictions,
+					this.mAmountOfExpirations, this.mKeyToEntry.size(), this.mTotalWeight);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#getLastSearchStatistics()
+	 */
+	@Override
+	public Optional<SearchStatistics> getLastSearchStatistics() {
+		final SearchStatistics hitStatistics = this.mLastHitStatistics.get();
+		if (hitStatistics != null) {
+			return Optional.of(hitStatistics);
+		}
+		return this.mComputation.getLastSearchStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#getPathNetwork()
+	 */
+	@Override
+	public IPathNetwork getPathNetwork() {
+		return this.mComputation.getPathNetwork();
+	}
+
+	/**
+	 * Removes all entries from the cache. Results of queries which are in
+	 * progress are not cached. Needs to be called after changes of the
+	 * network other than changes of edge costs.
+	 */
+	public void invalidate() {
+		synchronized (this.mKeyToEntry) {
+			this.mGeneration++;
+			this.mKeyToEntry.clear();
+			this.mTotalWeight = 0L;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#isSearchStatisticsEnabled()
+	 */
+	@Override
+	public boolean isSearchStatisticsEnabled() {
+		return this.mComputation.isSearchStatisticsEnabled();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#setSearchStatisticsEnabled(boolean)
+	 */
+	@Override
+	public void setSearchStatisticsEnabled(final boolean enabled) {
+		if (enabled != this.mComputation.isSearchStatisticsEnabled()) {
+			this.mLastHitStatistics = new ThreadLocal<>();
+		}
+		this.mComputation.setSearchStatisticsEnabled(enabled);
+	}
+
+	/**
+	 * Looks up the entry of the query with the given key and records whether
+	 * it was a hit or a miss. Expired entries are removed.
+	 * 
+	 * @param key
+	 *            The key of the query
+	 * @param needsPath
+	 *            Whether the query needs the path or only its cost
+	 * @return The entry of the query if it can answer the query,
+	 *         <tt>null</tt> otherwise
+	 */
+	private CacheEntry lookup(final Long key, final boolean needsPath) {
+		synchronized (this.mKeyToEntry) {
+			final CacheEntry entry = this.mKeyToEntry.get(key);
+			if (entry != null && System.nanoTime() - entry.getCreationTime() >= this.mTimeToLive) {
+				this.mKeyToEntry.remove(key);
+				this.mTotalWeight -= entry.getWeight();
+				this.mAmountOfExpirations++;
+				this.mAmountOfMisses++;
+				return null;
+			}
+			if (entry == null || (needsPath && !entry.hasPath())) {
+				this.mAmountOfMisses++;
+				return null;
+			}
+			this.mAmountOfHits++;
+			return entry;
+		}
+	}
+
+	/**
+	 * Records that the last query of the current thread was answered by the
+	 * cache, such that its statistics do not report the effort of an earlier
+	 * search of the decorated computation.
+	 * 
+	 * @param startTime
+	 *            The time the query started, in nanoseconds
+	 */
+	private void recordHit(final long startTime) {
+		if (isSearchStatisticsEnabled()) {
+			this.mLastHitStatistics.set(new SearchStatistics(0, 0, 0, 0, 0, System.nanoTime() - startTime));
+		} else {
+			this.mLastHitStatistics.remove();
+		}
+	}
+
+	/**
+	 * Stores the given entry under the given key, replacing a previous entry,
+	 * and evicts the least recently used entries if the maximal weight is
+	 * exceeded.
+	 * 
+	 * @param key
+	 *            The key of the query
+	 * @param entry
+	 *            The entry to store
+	 * @param generation
+	 *            The generation of the cache when the query started, the
+	 *            entry is discarded if the cache was invalidated since then
+	 */
+	private void store(final Long key, final CacheEntry entry, final long generation) {
+		synchronized (this.mKeyToEntry) {
+			if (generation != this.mGeneration || entry.getWeight() > this.mMaxWeight) {
+				return;
+			}
+			final CacheEntry previousEntry = this.mKeyToEntry.put(key, entry);
+			if (previousEntry != null) {
+				this.mTotalWeight -= previousEntry.getWeight();
+			}
+			this.mTotalWeight += entry.getWeight();
+
+			final Iterator<CacheEntry> leastRecentlyUsed = this.mKeyToEntry.values().iterator();
+			while (this.mTotalWeight > this.mMaxWeight) {
+				final CacheEntry evictedEntry = leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+				this.mTotalWeight -= evictedEntry.getWeight();
+				this.mAmountOfEvictions++;
+			}
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the core package for caching the results of shortest path
+ * computations of the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.cache;
\ No newline at end of file
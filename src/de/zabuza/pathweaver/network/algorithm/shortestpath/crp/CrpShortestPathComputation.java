@@ -0,0 +1,648 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.INetworkListener;
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DenseSearchState;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.SearchStatistics;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.INetworkPartitioningProvider;
+import de.zabuza.pathweaver.util.IndexedMinHeap;
+
+/**
+ * Customizable route planning, a shortest path computation on a multilevel
+ * overlay of the network. The preprocessing is split into two phases. The
+ * metric-independent phase partitions the network and builds the
+ * {@link OverlayGraph}, it only depends on the structure of the network. The
+ * customization phase computes the costs of the shortcuts of all cells, see
+ * {@link OverlayMetric}. The computation listens to cost changes of the
+ * network, only the cells containing changed edges get customized again,
+ * immediately when the change is reported. This is much faster than repeating
+ * the whole preprocessing.<br>
+ * <br>
+ * Queries run a unidirectional Dijkstra which uses the edges of the
+ * network near the sources and the destination and the shortcuts of the
+ * highest level which separates a node from them everywhere else. Shortcuts
+ * of the resulting path are unpacked by restricted searches inside of their
+ * cell.<br>
+ * <br>
+ * The structure of the network must not be changed after creation. Queries
+ * may be executed concurrently, customization waits for running queries and
+ * blocks new ones until it is finished. Use {@link #detach()} once the
+ * computation is not needed anymore.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CrpShortestPathComputation implements IShortestPathComputation, INetworkListener {
+	/**
+	 * Lock which queries hold for reading and customization for writing, such
+	 * that queries never see a partially customized metric.
+	 */
+	private final ReentrantReadWriteLock mCustomizationLock;
+	/**
+	 * Computation used for queries without destination, which can not profit
+	 * from the overlay.
+	 */
+	private final DijkstraShortestPathComputation mDijkstra;
+	/**
+	 * The statistics of the last search, one per thread. Replaced whenever
+	 * recording is switched, which discards the statistics of all threads.
+	 */
+	private volatile ThreadLocal<SearchStatistics> mLastSearchStatistics;
+	/**
+	 * The metric of the overlay.
+	 */
+	private final OverlayMetric mMetric;
+	/**
+	 * The path network this object works on.
+	 */
+	private final IPathNetwork mNetwork;
+	/**
+	 * Search states used by queries, one per thread.
+	 */
+	private final ThreadLocal<DenseSearchState> mSearchStates;
+	/**
+	 * Whether statistics about the effort of searches are recorded.
+	 */
+	private volatile boolean mSearchStatisticsEnabled;
+
+	/**
+	 * Creates a new shortest path computation object which uses a single level
+	 * overlay given by the partitioning of the given provider. The
+	 * preprocessing and the customization are executed immediately.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param partitioningProvider
+	 *            Object that provides a partitioning of the given network
+	 * @throws IllegalArgumentException
+	 *             If the partitioning does not cover every node exactly once
+	 */
+	public CrpShortestPathComputation(final IPathNetwork network,
+			final INetworkPartitioningProvider partitioningProvider) throws IllegalArgumentException {
+		this(network, Collections.singletonList(partitioningProvider));
+	}
+
+	/**
+	 * Creates a new shortest path computation object which uses a multilevel
+	 * overlay given by the partitionings of the given providers. The
+	 * preprocessing and the customization are executed immediately.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param partitioningProviders
+	 *            Objects that provide the partitionings of the levels of the
+	 *            overlay, starting with the finest level. The partitions of
+	 *            each level must be nested into the partitions of the next
+	 *            level.
+	 * @throws IllegalArgumentException
+	 *             If no partitioning is given, if a partitioning does not
+	 *             cover every node exactly once or if the partitionings are
+	 *             not nested
+	 */
+	public CrpShortestPathComputation(final IPathNetwork network,
+			final List<INetworkPartitioningProvider> partitioningProviders) throws IllegalArgumentException {
+		this.mNetwork = network;
+		this.mCustomizationLock = new ReentrantReadWriteLock();
+		this.mDijkstra = new DijkstraShortestPathComputation(network);
+
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		final MultilevelPartition partition = new MultilevelPartition(indexedNetwork, partitioningProviders);
+		this.mMetric = new OverlayMetric(new OverlayGraph(indexedNetwork, partition));
+
+		final int amountOfNodes = indexedNetwork.getAmountOfNodes();
+		this.mSearchStates = ThreadLocal.withInitial(() -> new DenseSearchState(amountOfNodes));
+		this.mLastSearchStatistics = new ThreadLocal<>();
+		this.mSearchStatisticsEnabled = false;
+		network.addNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestCompactPath(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<CompactPath> computeShortestCompactPath(final Node source, final Node destination) {
+		// Unpacking shortcuts yields edges, thus the path is built anyway
+		return computeShortestPath(source, destination).map(CompactPath::ofPath);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPath(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Path> computeShortestPath(final Node source, final Node destination) {
+		return computeShortestPath(Collections.singleton(source), destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPath(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Path> computeShortestPath(final Set<Node> sources, final Node destination) {
+		this.mCustomizationLock.readLock().lock();
+		try {
+			return computeShortestPathLocked(sources, destination);
+		} finally {
+			this.mCustomizationLock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCost(de.zabuza.pathweaver.
+	 * network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Float> computeShortestPathCost(final Node source, final Node destination) {
+		return computeShortestPathCost(Collections.singleton(source), destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCost(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Optional<Float> computeShortestPathCost(final Set<Node> sources, final Node destination) {
+		final DenseSearchState state = this.mSearchStates.get();
+		this.mCustomizationLock.readLock().lock();
+		try {
+			final int destinationIndex = search(sources, destination, state);
+			if (destinationIndex == IndexedNetwork.NO_INDEX || !state.isSettled(destinationIndex)) {
+				return Optional.empty();
+			}
+			return Optional.of(Float.valueOf(state.getTentativeCost(destinationIndex)));
+		} finally {
+			this.mCustomizationLock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCostsReachable(de.zabuza.
+	 * pathweaver.network.Node)
+	 */
+	@Override
+	public Map<Node, Float> computeShortestPathCostsReachable(final Node source) {
+		return computeShortestPathCostsReachable(Collections.singleton(source));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathCostsReachable(java.util.Set)
+	 */
+	@Override
+	public Map<Node, Float> computeShortestPathCostsReachable(final Set<Node> sources) {
+		final Map<Node, Float> nodeToCost = this.mDijkstra.computeShortestPathCostsReachable(sources);
+		if (this.mSearchStatisticsEnabled) {
+			this.mLastSearchStatistics.set(this.mDijkstra.getLastSearchStatistics().orElse(null));
+		}
+		return nodeToCost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathSearchSpace(de.zabuza.
+	 * pathweaver.network.Node, de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Set<Node> computeShortestPathSearchSpace(final Node source, final Node destination) {
+		return computeShortestPathSearchSpace(Collections.singleton(source), destination);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPathSearchSpace(java.util.Set,
+	 * de.zabuza.pathweaver.network.Node)
+	 */
+	@Override
+	public Set<Node> computeShortestPathSearchSpace(final Set<Node> sources, final Node destination) {
+		final DenseSearchState state = this.mSearchStates.get();
+		this.mCustomizationLock.readLock().lock();
+		try {
+			search(sources, destination, state);
+		} finally {
+			this.mCustomizationLock.readLock().unlock();
+		}
+
+		final IndexedNetwork network = getIndexedNetwork();
+		final Set<Node> searchSpace = new HashSet<>();
+		for (int node = 0; node < network.getAmountOfNodes(); node++) {
+			if (state.isSettled(node)) {
+				searchSpace.add(network.getNode(node));
+			}
+		}
+		return searchSpace;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#computeShortestPaths(de.zabuza.pathweaver.
+	 * network.Node, java.util.Set)
+	 */
+	@Override
+	public Map<Node, Path> computeShortestPaths(final Node source, final Set<Node> destinations) {
+		// A query on the overlay only settles a small part of the network, one
+		// query per destination is thus cheaper than growing a full shortest
+		// path tree
+		final Map<Node, Path> destinationToPath = new HashMap<>();
+		for (final Node destination : destinations) {
+			computeShortestPath(source, destination).ifPresent(path -> destinationToPath.put(destination, path));
+		}
+		return destinationToPath;
+	}
+
+	/**
+	 * Customizes the whole overlay using the current costs of the edges of the
+	 * network. Changes made by
+	 * {@link IPathNetwork#setEdgeCost(DirectedWeightedEdge, float)} are
+	 * applied automatically, thus this is only needed if costs changed in a
+	 * different way. Waits for running queries and blocks new ones until the
+	 * customization is finished.
+	 */
+	public void customize() {
+		this.mCustomizationLock.writeLock().lock();
+		try {
+			this.mMetric.customize();
+		} finally {
+			this.mCustomizationLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops listening to cost changes of the network, which then does not keep
+	 * the computation reachable anymore. Afterwards changes are only applied
+	 * by calling {@link #customize()}.
+	 */
+	public void detach() {
+		this.mNetwork.removeNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanged(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost) {
+		// The lock was acquired when the change was announced
+		try {
+			final int edgeIndex = getIndexedNetwork().getIndex(edge);
+			if (edgeIndex == IndexedNetwork.NO_INDEX || edge.getCost() == previousCost) {
+				return;
+			}
+			this.mMetric.invalidateEdge(edgeIndex);
+			this.mMetric.customizeInvalidCells();
+		} finally {
+			this.mCustomizationLock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanging(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanging(final DirectedWeightedEdge edge, final float cost) {
+		// Queries must not see the new cost before the overlay is customized
+		this.mCustomizationLock.writeLock().lock();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#getLastSearchStatistics()
+	 */
+	@Override
+	public Optional<SearchStatistics> getLastSearchStatistics() {
+		if (!this.mSearchStatisticsEnabled) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.mLastSearchStatistics.get());
+	}
+
+	/**
+	 * Gets the metric of the overlay this computation uses.
+	 * 
+	 * @return The metric of the overlay
+	 */
+	public OverlayMetric getOverlayMetric() {
+		return this.mMetric;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#getPathNetwork()
+	 */
+	@Override
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#isSearchStatisticsEnabled()
+	 */
+	@Override
+	public boolean isSearchStatisticsEnabled() {
+		return this.mSearchStatisticsEnabled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.
+	 * IShortestPathComputation#setSearchStatisticsEnabled(boolean)
+	 */
+	@Override
+	public void setSearchStatisticsEnabled(final boolean enabled) {
+		this.mDijkstra.setSearchStatisticsEnabled(enabled);
+		if (enabled != this.mSearchStatisticsEnabled) {
+			this.mLastSearchStatistics = new ThreadLocal<>();
+		}
+		this.mSearchStatisticsEnabled = enabled;
+	}
+
+	/**
+	 * Computes the shortest path from the given sources to the given
+	 * destination. The caller must hold the read lock of the customization.
+	 * 
+	 * @param sources
+	 *            Set of source nodes to compute the shortest path from
+	 * @param destination
+	 *            Destination node to compute the shortest path to
+	 * @return The shortest path if there is one
+	 */
+	private Optional<Path> computeShortestPathLocked(final Set<Node> sources, final Node destination) {
+		final DenseSearchState state = this.mSearchStates.get();
+		final int destinationIndex = search(sources, destination, state);
+		if (destinationIndex == IndexedNetwork.NO_INDEX || !state.isSettled(destinationIndex)) {
+			return Optional.empty();
+		}
+
+		// Extract the overlay path before the state is reused for unpacking
+		final LinkedList<Integer> nodesBackwards = new LinkedList<>();
+		final LinkedList<Integer> arcsBackwards = new LinkedList<>();
+		int currentNode = destinationIndex;
+		while (state.getParent(currentNode) != DenseSearchState.NO_PARENT) {
+			nodesBackwards.add(Integer.valueOf(currentNode));
+			arcsBackwards.add(Integer.valueOf(state.getParentArc(currentNode)));
+			currentNode = state.getParent(currentNode);
+		}
+
+		final IndexedNetwork network = getIndexedNetwork();
+		final Path path = new Path(network.getNode(currentNode));
+		while (!nodesBackwards.isEmpty()) {
+			final int nextNode = nodesBackwards.removeLast().intValue();
+			final int arc = arcsBackwards.removeLast().intValue();
+			if (arc >= 0) {
+				path.addEdge(network.getEdge(arc));
+			} else {
+				unpackShortcut(-arc, currentNode, nextNode, path, state);
+			}
+			currentNode = nextNode;
+		}
+		assert (path.getDestination().equals(destination));
+
+		return Optional.of(path);
+	}
+
+	/**
+	 * Gets the array-based snapshot of the network the overlay is built on.
+	 * 
+	 * @return The array-based snapshot of the network
+	 */
+	private IndexedNetwork getIndexedNetwork() {
+		return this.mMetric.getOverlayGraph().getNetwork();
+	}
+
+	/**
+	 * Gets the level of the overlay the search uses at the given node. This is
+	 * the highest level on which the cell of the node differs from the cells
+	 * of all sources and the destination.
+	 * 
+	 * @param node
+	 *            The index of the node
+	 * @param sourceCells
+	 *            The cells of the sources, accessible by <tt>level - 1</tt>
+	 * @param destinationCells
+	 *            The cells of the destination, accessible by
+	 *            <tt>level - 1</tt>
+	 * @return The level to use at the node or <tt>0</tt> if the node shares
+	 *         its finest cell with a source or the destination
+	 */
+	private int getQueryLevel(final int node, final Set<Integer>[] sourceCells, final int[] destinationCells) {
+		final MultilevelPartition partition = this.mMetric.getOverlayGraph().getPartition();
+		for (int level = partition.getAmountOfLevels(); level >= 1; level--) {
+			final int cell = partition.getCell(level, node);
+			if (cell != destinationCells[level - 1] && !sourceCells[level - 1].contains(Integer.valueOf(cell))) {
+				return level;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Records the statistics of the search which used the given state as last
+	 * search of the calling thread. The overlay search decreases keys in
+	 * place and uses no heuristic, thus there are neither stale pops nor
+	 * heuristic evaluations.
+	 * 
+	 * @param state
+	 *            The state the search used
+	 * @param startTime
+	 *            The value of {@link System#nanoTime()} at the start of the
+	 *            search
+	 */
+	private void recordSearchStatistics(final DenseSearchState state, final long startTime) {
+		this.mLastSearchStatistics.set(new SearchStatistics(state.getAmountOfSettledElements(),
+				state.getAmountOfRelaxations(), state.getAmountOfImprovements(), 0, 0,
+				System.nanoTime() - startTime));
+	}
+
+	/**
+	 * Searches a shortest path from the given sources to the given destination
+	 * on the overlay. The settled nodes, costs and parents are available in
+	 * the given state afterwards. The caller must hold the read lock of the
+	 * customization. Parent arcs are either indices of edges or
+	 * <tt>-level</tt> for shortcuts of the given level.
+	 * 
+	 * @param sources
+	 *            Set of source nodes to compute the shortest path from
+	 * @param destination
+	 *            Destination node to compute the shortest path to
+	 * @param state
+	 *            The state to use for the search
+	 * @return The index of the destination or {@link IndexedNetwork#NO_INDEX}
+	 *         if it is not contained in the network
+	 */
+	private int search(final Set<Node> sources, final Node destination, final DenseSearchState state) {
+		final boolean recordStatistics = this.mSearchStatisticsEnabled;
+		final long startTime = recordStatistics ? System.nanoTime() : 0L;
+		final OverlayGraph graph = this.mMetric.getOverlayGraph();
+		final IndexedNetwork network = graph.getNetwork();
+		final MultilevelPartition partition = graph.getPartition();
+		final int amountOfLevels = partition.getAmountOfLevels();
+		state.reset();
+
+		final int destinationIndex = network.getIndex(destination);
+		if (destinationIndex == IndexedNetwork.NO_INDEX) {
+			if (recordStatistics) {
+				recordSearchStatistics(state, startTime);
+			}
+			return IndexedNetwork.NO_INDEX;
+		}
+		final int[] destinationCells = new int[amountOfLevels];
+		@SuppressWarnings("unchecked")
+		final Set<Integer>[] sourceCells = new Set[amountOfLevels];
+		for (int level = 1; level <= amountOfLevels; level++) {
+			destinationCells[level - 1] = partition.getCell(level, destinationIndex);
+			sourceCells[level - 1] = new HashSet<>();
+		}
+		for (final Node source : sources) {
+			final int sourceIndex = network.getIndex(source);
+			if (sourceIndex == IndexedNetwork.NO_INDEX) {
+				continue;
+			}
+			for (int level = 1; level <= amountOfLevels; level++) {
+				sourceCells[level - 1].add(Integer.valueOf(partition.getCell(level, sourceIndex)));
+			}
+			state.relax(sourceIndex, 0.0f, 0.0f, DenseSearchState.NO_PARENT, DenseSearchState.NO_PARENT);
+		}
+
+		final IndexedMinHeap heap = state.getHeap();
+		while (!heap.isEmpty()) {
+			final int node = heap.poll();
+			state.settle(node);
+			if (node == destinationIndex) {
+				break;
+			}
+			final float nodeCost = state.getTentativeCost(node);
+			final int queryLevel = getQueryLevel(node, sourceCells, destinationCells);
+
+			if (queryLevel > 0) {
+				this.mMetric.relaxShortcuts(queryLevel, node, nodeCost, state);
+			}
+			for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+				if (graph.getEdgeLevel(edge) < queryLevel) {
+					continue;
+				}
+				final int edgeDestination = network.getDestination(edge);
+				if (!state.isSettled(edgeDestination)) {
+					state.relax(edgeDestination, nodeCost + network.getCost(edge), 0.0f, node, edge);
+				}
+			}
+		}
+
+		if (recordStatistics) {
+			recordSearchStatistics(state, startTime);
+		}
+		return destinationIndex;
+	}
+
+	/**
+	 * Unpacks the given shortcut into edges of the network by a search
+	 * restricted to the cell of the shortcut and appends them to the given
+	 * path.
+	 * 
+	 * @param level
+	 *            The level of the shortcut
+	 * @param entry
+	 *            The index of the entry the shortcut starts at
+	 * @param exit
+	 *            The index of the exit the shortcut ends at
+	 * @param path
+	 *            The path to append the edges to, must end at the entry
+	 * @param state
+	 *            The state to use for the search, it is reset
+	 */
+	private void unpackShortcut(final int level, final int entry, final int exit, final Path path,
+			final DenseSearchState state) {
+		final IndexedNetwork network = getIndexedNetwork();
+		final OverlayGraph graph = this.mMetric.getOverlayGraph();
+		final IndexedMinHeap heap = state.getHeap();
+		state.reset();
+		state.relax(entry, 0.0f, 0.0f, DenseSearchState.NO_PARENT, DenseSearchState.NO_PARENT);
+		while (!heap.isEmpty()) {
+			final int node = heap.poll();
+			state.settle(node);
+			if (node == exit) {
+				break;
+			}
+			final float nodeCost = state.getTentativeCost(node);
+			for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+				// Edges of lower levels do not leave the cell of the shortcut
+				if (graph.getEdgeLevel(edge) >= level) {
+					continue;
+				}
+				final int edgeDestination = network.getDestination(edge);
+				if (!state.isSettled(edgeDestination)) {
+					state.relax(edgeDestination, nodeCost + network.getCost(edge), 0.0f, node, edge);
+				}
+			}
+		}
+		assert (state.isSettled(exit));
+
+		final LinkedList<Integer> edgesBackwards = new LinkedList<>();
+		int currentNode = exit;
+		while (currentNode != entry) {
+			edgesBackwards.add(Integer.valueOf(state.getParentArc(currentNode)));
+			currentNode = state.getParent(currentNode);
+		}
+		while (!edgesBackwards.isEmpty()) {
+			path.addEdge(network.getEdge(edgesBackwards.removeLast().intValue()));
+		}
+	}
+}
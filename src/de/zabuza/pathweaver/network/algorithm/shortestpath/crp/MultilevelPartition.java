@@ -0,0 +1,172 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.INetworkPartitioningProvider;
+
+/**
+ * Nested partitioning of an {@link IndexedNetwork} into cells on several
+ * levels. Level <tt>1</tt> is the finest level, every cell of a level is
+ * completely contained in exactly one cell of the next higher level.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MultilevelPartition {
+	/**
+	 * Message of the exception thrown when no partitioning is given.
+	 */
+	private static final String EXCEPTION_NO_LEVELS = "At least one partitioning must be given.";
+	/**
+	 * Message of the exception thrown when a node is not covered by exactly
+	 * one cell of a level.
+	 */
+	private static final String EXCEPTION_NOT_COVERED = "Every node must be contained in exactly one partition of each level. Violated on level: ";
+	/**
+	 * Message of the exception thrown when the partitions of a level are not
+	 * nested into the partitions of the next higher level.
+	 */
+	private static final String EXCEPTION_NOT_NESTED = "Every partition must be contained in exactly one partition of the next higher level. Violated on level: ";
+	/**
+	 * The value used for nodes that are not assigned to a cell yet.
+	 */
+	private static final int NO_CELL = -1;
+
+	/**
+	 * The amount of cells of each level, accessible by <tt>level - 1</tt>.
+	 */
+	private final int[] mAmountOfCells;
+	/**
+	 * Maps each node index to its cell, accessible by <tt>level - 1</tt>.
+	 */
+	private final int[][] mNodeToCell;
+
+	/**
+	 * Creates a new multilevel partition of the given network using the given
+	 * partitionings.
+	 * 
+	 * @param network
+	 *            The network to partition
+	 * @param partitioningProviders
+	 *            The providers of the partitionings of each level, starting
+	 *            with the finest level. The partitions of each level must be
+	 *            nested into the partitions of the next level.
+	 * @throws IllegalArgumentException
+	 *             If no partitioning is given, if a partitioning does not
+	 *             cover every node exactly once or if the partitionings are
+	 *             not nested
+	 */
+	public MultilevelPartition(final IndexedNetwork network,
+			final List<INetworkPartitioningProvider> partitioningProviders) throws IllegalArgumentException {
+		if (partitioningProviders.isEmpty()) {
+			throw new IllegalArgumentException(EXCEPTION_NO_LEVELS);
+		}
+		final int amountOfLevels = partitioningProviders.size();
+		final int amountOfNodes = network.getAmountOfNodes();
+		this.mAmountOfCells = new int[amountOfLevels];
+		this.mNodeToCell = new int[amountOfLevels][amountOfNodes];
+
+		int levelIndex = 0;
+		for (final INetworkPartitioningProvider provider : partitioningProviders) {
+			final int[] nodeToCell = this.mNodeToCell[levelIndex];
+			Arrays.fill(nodeToCell, NO_CELL);
+			int cell = 0;
+			for (final Set<Node> partition : provider.getPartitioning()) {
+				for (final Node node : partition) {
+					final int nodeIndex = network.getIndex(node);
+					if (nodeIndex == IndexedNetwork.NO_INDEX) {
+						continue;
+					}
+					if (nodeToCell[nodeIndex] != NO_CELL) {
+						throw new IllegalArgumentException(EXCEPTION_NOT_COVERED + (levelIndex + 1));
+					}
+					nodeToCell[nodeIndex] = cell;
+				}
+				cell++;
+			}
+			this.mAmountOfCells[levelIndex] = cell;
+
+			for (int nodeIndex = 0; nodeIndex < amountOfNodes; nodeIndex++) {
+				if (nodeToCell[nodeIndex] == NO_CELL) {
+					throw new IllegalArgumentException(EXCEPTION_NOT_COVERED + (levelIndex + 1));
+				}
+			}
+			levelIndex++;
+		}
+
+		// Every cell must be contained in exactly one cell of the next level
+		for (int level = 1; level < amountOfLevels; level++) {
+			final int[] cellToParent = new int[this.mAmountOfCells[level - 1]];
+			Arrays.fill(cellToParent, NO_CELL);
+			for (int nodeIndex = 0; nodeIndex < amountOfNodes; nodeIndex++) {
+				final int cell = this.mNodeToCell[level - 1][nodeIndex];
+				final int parentCell = this.mNodeToCell[level][nodeIndex];
+				if (cellToParent[cell] == NO_CELL) {
+					cellToParent[cell] = parentCell;
+				} else if (cellToParent[cell] != parentCell) {
+					throw new IllegalArgumentException(EXCEPTION_NOT_NESTED + level);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the amount of cells of the given level.
+	 * 
+	 * @param level
+	 *            The level, between <tt>1</tt> and
+	 *            {@link #getAmountOfLevels()} (both inclusive)
+	 * @return The amount of cells of the level
+	 */
+	public int getAmountOfCells(final int level) {
+		return this.mAmountOfCells[level - 1];
+	}
+
+	/**
+	 * Gets the amount of levels of this partition.
+	 * 
+	 * @return The amount of levels of this partition
+	 */
+	public int getAmountOfLevels() {
+		return this.mAmountOfCells.length;
+	}
+
+	/**
+	 * Gets the cell the given node belongs to on the given level.
+	 * 
+	 * @param level
+	 *            The level, between <tt>1</tt> and
+	 *            {@link #getAmountOfLevels()} (both inclusive)
+	 * @param node
+	 *            The index of the node
+	 * @return The cell of the node on the given level
+	 */
+	public int getCell(final int level, final int node) {
+		return this.mNodeToCell[level - 1][node];
+	}
+
+	/**
+	 * Gets the highest level on which the two given nodes belong to different
+	 * cells. Since the cells are nested, the nodes are also separated on all
+	 * lower levels.
+	 * 
+	 * @param first
+	 *            The index of the first node
+	 * @param second
+	 *            The index of the second node
+	 * @return The highest level on which the nodes belong to different cells
+	 *         or <tt>0</tt> if they share the cell on every level
+	 */
+	public int getHighestSeparatingLevel(final int first, final int second) {
+		for (int level = getAmountOfLevels(); level >= 1; level--) {
+			if (getCell(level, first) != getCell(level, second)) {
+				return level;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,295 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+
+/**
+ * Metric-independent topology of a multilevel overlay. For every level and
+ * cell of a {@link MultilevelPartition} it determines the boundary nodes of
+ * the cell, i.e. its <i>entries</i> which have incoming edges from outside of
+ * the cell and its <i>exits</i> which have outgoing edges leaving the cell.
+ * Every cell is represented by a clique of shortcuts from each entry to each
+ * exit whose costs are stored by an {@link OverlayMetric}.<br>
+ * <br>
+ * The topology only depends on the structure of the network and not on the
+ * costs of its edges, thus it does not need to be recomputed when costs
+ * change.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class OverlayGraph {
+	/**
+	 * The value returned for nodes which are no boundary node of the
+	 * requested kind.
+	 */
+	public static final int NO_POSITION = -1;
+
+	/**
+	 * The entries of each cell, accessible by <tt>level - 1</tt> and the cell.
+	 */
+	private final int[][][] mCellEntries;
+	/**
+	 * The exits of each cell, accessible by <tt>level - 1</tt> and the cell.
+	 */
+	private final int[][][] mCellExits;
+	/**
+	 * The offset of the shortcut matrix of each cell, accessible by
+	 * <tt>level - 1</tt> and the cell.
+	 */
+	private final int[][] mCellMatrixOffsets;
+	/**
+	 * The level of each edge, i.e. the highest level on which its source and
+	 * destination belong to different cells or <tt>0</tt> if they share all
+	 * cells.
+	 */
+	private final int[] mEdgeLevels;
+	/**
+	 * The position of each node in the entries of its cell, accessible by
+	 * {@link #mNodeOffsets} of the node plus <tt>level - 1</tt>.
+	 */
+	private final int[] mEntryPositions;
+	/**
+	 * The position of each node in the exits of its cell, accessible by
+	 * {@link #mNodeOffsets} of the node plus <tt>level - 1</tt>.
+	 */
+	private final int[] mExitPositions;
+	/**
+	 * The total size of all shortcut matrices of each level, accessible by
+	 * <tt>level - 1</tt>.
+	 */
+	private final int[] mMatrixSizes;
+	/**
+	 * The network the overlay is built on.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * The offsets of each node into the boundary position arrays. A node has
+	 * one entry per level it is a boundary node on. Contains one more element
+	 * than there are nodes.
+	 */
+	private final int[] mNodeOffsets;
+	/**
+	 * The partition the overlay is built on.
+	 */
+	private final MultilevelPartition mPartition;
+
+	/**
+	 * Creates the overlay topology of the given partitioned network.
+	 * 
+	 * @param network
+	 *            The network to build the overlay on
+	 * @param partition
+	 *            A partition of the given network
+	 */
+	public OverlayGraph(final IndexedNetwork network, final MultilevelPartition partition) {
+		this.mNetwork = network;
+		this.mPartition = partition;
+		final int amountOfLevels = partition.getAmountOfLevels();
+		final int amountOfNodes = network.getAmountOfNodes();
+		final int amountOfEdges = network.getAmountOfEdges();
+
+		// Determine the level of each edge and the boundary levels of each node
+		this.mEdgeLevels = new int[amountOfEdges];
+		final int[] maxIncomingLevels = new int[amountOfNodes];
+		final int[] maxOutgoingLevels = new int[amountOfNodes];
+		for (int edge = 0; edge < amountOfEdges; edge++) {
+			final int source = network.getSource(edge);
+			final int destination = network.getDestination(edge);
+			final int edgeLevel = partition.getHighestSeparatingLevel(source, destination);
+			this.mEdgeLevels[edge] = edgeLevel;
+			maxOutgoingLevels[source] = Math.max(maxOutgoingLevels[source], edgeLevel);
+			maxIncomingLevels[destination] = Math.max(maxIncomingLevels[destination], edgeLevel);
+		}
+
+		this.mNodeOffsets = new int[amountOfNodes + 1];
+		for (int node = 0; node < amountOfNodes; node++) {
+			final int boundaryLevels = Math.max(maxIncomingLevels[node], maxOutgoingLevels[node]);
+			this.mNodeOffsets[node + 1] = this.mNodeOffsets[node] + boundaryLevels;
+		}
+		this.mEntryPositions = new int[this.mNodeOffsets[amountOfNodes]];
+		this.mExitPositions = new int[this.mNodeOffsets[amountOfNodes]];
+
+		// Collect the boundary nodes of each cell
+		this.mCellEntries = new int[amountOfLevels][][];
+		this.mCellExits = new int[amountOfLevels][][];
+		this.mCellMatrixOffsets = new int[amountOfLevels][];
+		this.mMatrixSizes = new int[amountOfLevels];
+		for (int level = 1; level <= amountOfLevels; level++) {
+			final int amountOfCells = partition.getAmountOfCells(level);
+			final int[] amountOfEntries = new int[amountOfCells];
+			final int[] amountOfExits = new int[amountOfCells];
+			for (int node = 0; node < amountOfNodes; node++) {
+				final int cell = partition.getCell(level, node);
+				if (maxIncomingLevels[node] >= level) {
+					amountOfEntries[cell]++;
+				}
+				if (maxOutgoingLevels[node] >= level) {
+					amountOfExits[cell]++;
+				}
+			}
+
+			final int[][] entries = new int[amountOfCells][];
+			final int[][] exits = new int[amountOfCells][];
+			final int[] matrixOffsets = new int[amountOfCells];
+			int matrixSize = 0;
+			for (int cell = 0; cell < amountOfCells; cell++) {
+				entries[cell] = new int[amountOfEntries[cell]];
+				exits[cell] = new int[amountOfExits[cell]];
+				matrixOffsets[cell] = matrixSize;
+				matrixSize += amountOfEntries[cell] * amountOfExits[cell];
+				amountOfEntries[cell] = 0;
+				amountOfExits[cell] = 0;
+			}
+
+			for (int node = 0; node < amountOfNodes; node++) {
+				if (this.mNodeOffsets[node] + level > this.mNodeOffsets[node + 1]) {
+					continue;
+				}
+				final int positionIndex = this.mNodeOffsets[node] + level - 1;
+				final int cell = partition.getCell(level, node);
+				if (maxIncomingLevels[node] >= level) {
+					entries[cell][amountOfEntries[cell]] = node;
+					this.mEntryPositions[positionIndex] = amountOfEntries[cell];
+					amountOfEntries[cell]++;
+				} else {
+					this.mEntryPositions[positionIndex] = NO_POSITION;
+				}
+				if (maxOutgoingLevels[node] >= level) {
+					exits[cell][amountOfExits[cell]] = node;
+					this.mExitPositions[positionIndex] = amountOfExits[cell];
+					amountOfExits[cell]++;
+				} else {
+					this.mExitPositions[positionIndex] = NO_POSITION;
+				}
+			}
+
+			this.mCellEntries[level - 1] = entries;
+			this.mCellExits[level - 1] = exits;
+			this.mCellMatrixOffsets[level - 1] = matrixOffsets;
+			this.mMatrixSizes[level - 1] = matrixSize;
+		}
+	}
+
+	/**
+	 * Gets the level of the given edge, i.e. the highest level on which its
+	 * source and destination belong to different cells.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The level of the edge or <tt>0</tt> if the edge does not leave
+	 *         any cell
+	 */
+	public int getEdgeLevel(final int edge) {
+		return this.mEdgeLevels[edge];
+	}
+
+	/**
+	 * Gets the entries of the given cell.
+	 * 
+	 * @param level
+	 *            The level of the cell
+	 * @param cell
+	 *            The cell in question
+	 * @return The indices of the entry nodes of the cell. The array must not be
+	 *         modified.
+	 */
+	public int[] getEntries(final int level, final int cell) {
+		return this.mCellEntries[level - 1][cell];
+	}
+
+	/**
+	 * Gets the position of the given node in the entries of its cell on the
+	 * given level.
+	 * 
+	 * @param level
+	 *            The level in question
+	 * @param node
+	 *            The index of the node
+	 * @return The position of the node in the entries of its cell or
+	 *         {@link #NO_POSITION} if it is no entry
+	 */
+	public int getEntryPosition(final int level, final int node) {
+		final int positionIndex = this.mNodeOffsets[node] + level - 1;
+		if (positionIndex >= this.mNodeOffsets[node + 1]) {
+			return NO_POSITION;
+		}
+		return this.mEntryPositions[positionIndex];
+	}
+
+	/**
+	 * Gets the position of the given node in the exits of its cell on the
+	 * given level.
+	 * 
+	 * @param level
+	 *            The level in question
+	 * @param node
+	 *            The index of the node
+	 * @return The position of the node in the exits of its cell or
+	 *         {@link #NO_POSITION} if it is no exit
+	 */
+	public int getExitPosition(final int level, final int node) {
+		final int positionIndex = this.mNodeOffsets[node] + level - 1;
+		if (positionIndex >= this.mNodeOffsets[node + 1]) {
+			return NO_POSITION;
+		}
+		return this.mExitPositions[positionIndex];
+	}
+
+	/**
+	 * Gets the exits of the given cell.
+	 * 
+	 * @param level
+	 *            The level of the cell
+	 * @param cell
+	 *            The cell in question
+	 * @return The indices of the exit nodes of the cell. The array must not be
+	 *         modified.
+	 */
+	public int[] getExits(final int level, final int cell) {
+		return this.mCellExits[level - 1][cell];
+	}
+
+	/**
+	 * Gets the offset of the shortcut matrix of the given cell. The shortcut
+	 * from the entry at position <tt>i</tt> to the exit at position <tt>j</tt>
+	 * is located at <tt>offset + i * amountOfExits + j</tt>.
+	 * 
+	 * @param level
+	 *            The level of the cell
+	 * @param cell
+	 *            The cell in question
+	 * @return The offset of the shortcut matrix of the cell
+	 */
+	public int getMatrixOffset(final int level, final int cell) {
+		return this.mCellMatrixOffsets[level - 1][cell];
+	}
+
+	/**
+	 * Gets the total size of all shortcut matrices of the given level.
+	 * 
+	 * @param level
+	 *            The level in question
+	 * @return The total size of all shortcut matrices of the level
+	 */
+	public int getMatrixSize(final int level) {
+		return this.mMatrixSizes[level - 1];
+	}
+
+	/**
+	 * Gets the network this overlay is built on.
+	 * 
+	 * @return The network this overlay is built on
+	 */
+	public IndexedNetwork getNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Gets the partition this overlay is built on.
+	 * 
+	 * @return The partition this overlay is built on
+	 */
+	public MultilevelPartition getPartition() {
+		return this.mPartition;
+	}
+}
@@ -0,0 +1,262 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DenseSearchState;
+import de.zabuza.pathweaver.util.IndexedMinHeap;
+
+/**
+ * Metric of a multilevel overlay, i.e. the costs of the shortcuts of all cells
+ * of an {@link OverlayGraph}. The costs are computed by
+ * <i>customization</i>, which reads the current costs of the edges of the
+ * network. Customization processes the levels bottom-up, the cells of a level
+ * are independent of each other and get customized in parallel. Cells of
+ * higher levels are customized by searching on the shortcuts of their
+ * subcells instead of the edges of the network.<br>
+ * <br>
+ * The metric needs to be customized again after edge costs have changed,
+ * until then it represents the previous costs. Changed edges can be reported
+ * by {@link #invalidateEdge(int)}, then only the cells containing them need
+ * to be customized again by {@link #customizeInvalidCells()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class OverlayMetric {
+	/**
+	 * The topology of the overlay.
+	 */
+	private final OverlayGraph mGraph;
+	/**
+	 * Whether there are cells which need to be customized again.
+	 */
+	private volatile boolean mHasInvalidCells;
+	/**
+	 * Whether the cells need to be customized again, accessible by
+	 * <tt>level - 1</tt> and the cell.
+	 */
+	private final boolean[][] mInvalidCells;
+	/**
+	 * Search states used by the customization, one per thread.
+	 */
+	private final ThreadLocal<DenseSearchState> mSearchStates;
+	/**
+	 * The costs of the shortcuts of all cells, accessible by
+	 * <tt>level - 1</tt>. The layout of each level is given by
+	 * {@link OverlayGraph#getMatrixOffset(int, int)}.
+	 */
+	private final float[][] mShortcutCosts;
+
+	/**
+	 * Creates a new metric for the given overlay and customizes it using the
+	 * current costs of the network.
+	 * 
+	 * @param graph
+	 *            The topology of the overlay
+	 */
+	public OverlayMetric(final OverlayGraph graph) {
+		this.mGraph = graph;
+		final int amountOfLevels = graph.getPartition().getAmountOfLevels();
+		this.mShortcutCosts = new float[amountOfLevels][];
+		this.mInvalidCells = new boolean[amountOfLevels][];
+		for (int level = 1; level <= amountOfLevels; level++) {
+			this.mShortcutCosts[level - 1] = new float[graph.getMatrixSize(level)];
+			this.mInvalidCells[level - 1] = new boolean[graph.getPartition().getAmountOfCells(level)];
+		}
+		this.mHasInvalidCells = false;
+		final int amountOfNodes = graph.getNetwork().getAmountOfNodes();
+		this.mSearchStates = ThreadLocal.withInitial(() -> new DenseSearchState(amountOfNodes));
+
+		customize();
+	}
+
+	/**
+	 * Customizes all cells of all levels using the current costs of the edges
+	 * of the network. The cells of each level are customized in parallel.
+	 */
+	public synchronized void customize() {
+		final MultilevelPartition partition = this.mGraph.getPartition();
+		for (int level = 1; level <= partition.getAmountOfLevels(); level++) {
+			final int currentLevel = level;
+			IntStream.range(0, partition.getAmountOfCells(level)).parallel()
+					.forEach(cell -> customizeCell(currentLevel, cell));
+			Arrays.fill(this.mInvalidCells[level - 1], false);
+		}
+		this.mHasInvalidCells = false;
+	}
+
+	/**
+	 * Customizes the given cell using the current costs of the edges of the
+	 * network. If the level is greater than <tt>1</tt>, the subcells of the
+	 * cell must already be customized.
+	 * 
+	 * @param level
+	 *            The level of the cell
+	 * @param cell
+	 *            The cell to customize
+	 */
+	public void customizeCell(final int level, final int cell) {
+		final int[] entries = this.mGraph.getEntries(level, cell);
+		final int[] exits = this.mGraph.getExits(level, cell);
+		if (entries.length == 0 || exits.length == 0) {
+			return;
+		}
+
+		final IndexedNetwork network = this.mGraph.getNetwork();
+		final DenseSearchState state = this.mSearchStates.get();
+		final IndexedMinHeap heap = state.getHeap();
+		final float[] costs = this.mShortcutCosts[level - 1];
+		final int matrixOffset = this.mGraph.getMatrixOffset(level, cell);
+
+		for (int entryPosition = 0; entryPosition < entries.length; entryPosition++) {
+			state.reset();
+			state.relax(entries[entryPosition], 0.0f, 0.0f, DenseSearchState.NO_PARENT, DenseSearchState.NO_PARENT);
+			int settledExits = 0;
+			while (!heap.isEmpty()) {
+				final int node = heap.poll();
+				state.settle(node);
+				if (this.mGraph.getExitPosition(level, node) != OverlayGraph.NO_POSITION) {
+					settledExits++;
+					if (settledExits == exits.length) {
+						break;
+					}
+				}
+				final float nodeCost = state.getTentativeCost(node);
+
+				// Edges which stay in the cell but leave the subcells
+				for (int edge = network.getOutgoingBegin(node); edge < network.getOutgoingEnd(node); edge++) {
+					if (this.mGraph.getEdgeLevel(edge) != level - 1) {
+						continue;
+					}
+					final int destination = network.getDestination(edge);
+					if (!state.isSettled(destination)) {
+						state.relax(destination, nodeCost + network.getCost(edge), 0.0f, node, edge);
+					}
+				}
+
+				// Shortcuts of the subcell
+				if (level > 1) {
+					relaxShortcuts(level - 1, node, nodeCost, state);
+				}
+			}
+
+			final int rowOffset = matrixOffset + entryPosition * exits.length;
+			for (int exitPosition = 0; exitPosition < exits.length; exitPosition++) {
+				costs[rowOffset + exitPosition] = state.getTentativeCost(exits[exitPosition]);
+			}
+		}
+	}
+
+	/**
+	 * Customizes all cells which were invalidated since the last
+	 * customization, see {@link #invalidateEdge(int)}. The invalid cells of
+	 * each level are customized in parallel.
+	 */
+	public synchronized void customizeInvalidCells() {
+		if (!this.mHasInvalidCells) {
+			return;
+		}
+		final MultilevelPartition partition = this.mGraph.getPartition();
+		for (int level = 1; level <= partition.getAmountOfLevels(); level++) {
+			final int currentLevel = level;
+			final boolean[] invalidCells = this.mInvalidCells[level - 1];
+			IntStream.range(0, invalidCells.length).filter(cell -> invalidCells[cell]).parallel()
+					.forEach(cell -> customizeCell(currentLevel, cell));
+			Arrays.fill(invalidCells, false);
+		}
+		this.mHasInvalidCells = false;
+	}
+
+	/**
+	 * Gets the topology of the overlay.
+	 * 
+	 * @return The topology of the overlay
+	 */
+	public OverlayGraph getOverlayGraph() {
+		return this.mGraph;
+	}
+
+	/**
+	 * Gets the cost of the given shortcut.
+	 * 
+	 * @param level
+	 *            The level of the cell the shortcut belongs to
+	 * @param cell
+	 *            The cell the shortcut belongs to
+	 * @param entryPosition
+	 *            The position of the entry the shortcut starts at
+	 * @param exitPosition
+	 *            The position of the exit the shortcut ends at
+	 * @return The cost of the shortcut or {@link Float#POSITIVE_INFINITY} if
+	 *         the exit is not reachable from the entry inside of the cell
+	 */
+	public float getShortcutCost(final int level, final int cell, final int entryPosition, final int exitPosition) {
+		final int amountOfExits = this.mGraph.getExits(level, cell).length;
+		return this.mShortcutCosts[level - 1][this.mGraph.getMatrixOffset(level, cell)
+				+ entryPosition * amountOfExits + exitPosition];
+	}
+
+	/**
+	 * Whether there are cells which were invalidated since the last
+	 * customization.
+	 * 
+	 * @return <tt>True</tt> if there are invalid cells, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean hasInvalidCells() {
+		return this.mHasInvalidCells;
+	}
+
+	/**
+	 * Invalidates all cells whose shortcuts depend on the cost of the given
+	 * edge, i.e. the cells of all levels which contain the edge completely.
+	 * Edges between cells of a level are used directly by queries and do not
+	 * invalidate cells of that level.
+	 * 
+	 * @param edge
+	 *            The index of the edge whose cost changed
+	 */
+	public synchronized void invalidateEdge(final int edge) {
+		final MultilevelPartition partition = this.mGraph.getPartition();
+		final int source = this.mGraph.getNetwork().getSource(edge);
+		for (int level = this.mGraph.getEdgeLevel(edge) + 1; level <= partition.getAmountOfLevels(); level++) {
+			this.mInvalidCells[level - 1][partition.getCell(level, source)] = true;
+			this.mHasInvalidCells = true;
+		}
+	}
+
+	/**
+	 * Relaxes all shortcuts starting at the given node in its cell of the
+	 * given level, if the node is an entry of it. The shortcuts are recorded
+	 * as parent arcs with the value <tt>-level</tt>.
+	 * 
+	 * @param level
+	 *            The level of the shortcuts to relax
+	 * @param node
+	 *            The node to relax shortcuts of
+	 * @param nodeCost
+	 *            The tentative cost of the node
+	 * @param state
+	 *            The state of the search
+	 */
+	void relaxShortcuts(final int level, final int node, final float nodeCost, final DenseSearchState state) {
+		final int entryPosition = this.mGraph.getEntryPosition(level, node);
+		if (entryPosition == OverlayGraph.NO_POSITION) {
+			return;
+		}
+		final int cell = this.mGraph.getPartition().getCell(level, node);
+		final int[] exits = this.mGraph.getExits(level, cell);
+		final float[] costs = this.mShortcutCosts[level - 1];
+		final int rowOffset = this.mGraph.getMatrixOffset(level, cell) + entryPosition * exits.length;
+		for (int exitPosition = 0; exitPosition < exits.length; exitPosition++) {
+			final int exit = exits[exitPosition];
+			final float shortcutCost = costs[rowOffset + exitPosition];
+			if (exit == node || shortcutCost == Float.POSITIVE_INFINITY || state.isSettled(exit)) {
+				continue;
+			}
+			state.relax(exit, nodeCost + shortcutCost, 0.0f, node, -level);
+		}
+	}
+}
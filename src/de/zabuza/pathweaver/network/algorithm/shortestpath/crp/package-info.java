@@ -0,0 +1,5 @@
+/**
+ * This is the core package for customizable route planning shortest path
+ * algorithms for the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
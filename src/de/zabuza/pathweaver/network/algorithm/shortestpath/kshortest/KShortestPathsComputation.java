@@ -0,0 +1,292 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.kshortest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.TentativeNodeContainer;
+
+/**
+ * Computes the k shortest loopless paths between two nodes with the
+ * algorithm of Yen. Every further path deviates from a previous path at a
+ * spur node, it follows the previous path up to the spur node and continues
+ * with the shortest spur path which avoids the nodes of the root path and the
+ * edges of all previous paths sharing that root path. The network is not
+ * modified, removed edges and nodes are only skipped by the spur searches.
+ * <br>
+ * <br>
+ * A backward shortest path tree to the destination is computed once per
+ * query along the incoming edges. Since removing edges only increases
+ * distances, its costs are consistent lower bounds which guide all spur
+ * searches as A* heuristic, and nodes outside of the tree are never
+ * explored. Following Lawler, the spur nodes of a path only start at the
+ * node where it deviated from its predecessor.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class KShortestPathsComputation {
+	/**
+	 * Message of the exception thrown when the amount of paths is not
+	 * positive.
+	 */
+	private static final String EXCEPTION_AMOUNT_ILLEGAL = "The amount of paths must be positive: ";
+
+	/**
+	 * Builds the path following the given edges.
+	 * 
+	 * @param source
+	 *            The source of the path
+	 * @param edges
+	 *            The edges of the path in order
+	 * @return The built path
+	 */
+	private static Path buildPath(final Node source, final List<DirectedWeightedEdge> edges) {
+		final Path path = new Path(source);
+		for (final DirectedWeightedEdge edge : edges) {
+			path.addEdge(edge);
+		}
+		return path;
+	}
+
+	/**
+	 * The path network this object works on.
+	 */
+	private final IPathNetwork mNetwork;
+
+	/**
+	 * Creates a new k shortest paths computation.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 */
+	public KShortestPathsComputation(final IPathNetwork network) {
+		this.mNetwork = network;
+	}
+
+	/**
+	 * Computes the given amount of shortest loopless paths between the given
+	 * nodes.
+	 * 
+	 * @param source
+	 *            Source node of the paths
+	 * @param destination
+	 *            Destination node of the paths
+	 * @param amount
+	 *            The amount of paths to compute
+	 * @return The shortest paths in order of increasing cost. Contains less
+	 *         paths than requested if there are not enough loopless paths and
+	 *         is empty if there is no path between the nodes.
+	 * @throws IllegalArgumentException
+	 *             If the amount is not positive
+	 */
+	public List<Path> computeKShortestPaths(final Node source, final Node destination, final int amount)
+			throws IllegalArgumentException {
+		if (amount <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_AMOUNT_ILLEGAL + amount);
+		}
+		final Map<Node, TentativeNodeContainer> backwardTree = computeBackwardTree(destination);
+		if (!backwardTree.containsKey(source)) {
+			return Collections.emptyList();
+		}
+
+		final List<YenPath> shortestPaths = new ArrayList<>();
+		final List<DirectedWeightedEdge> firstEdges = new ArrayList<>();
+		DirectedWeightedEdge edge = backwardTree.get(source).getParentEdge();
+		while (edge != null) {
+			firstEdges.add(edge);
+			edge = backwardTree.get(edge.getDestination()).getParentEdge();
+		}
+		shortestPaths.add(new YenPath(source, firstEdges, 0));
+
+		final PriorityQueue<YenPath> candidates = new PriorityQueue<>();
+		final Set<List<DirectedWeightedEdge>> knownPaths = new HashSet<>();
+		knownPaths.add(firstEdges);
+		while (shortestPaths.size() < amount) {
+			final YenPath previousPath = shortestPaths.get(shortestPaths.size() - 1);
+			final List<DirectedWeightedEdge> previousEdges = previousPath.getEdges();
+			final Set<Node> rootNodes = new HashSet<>();
+			for (int i = 0; i < previousEdges.size(); i++) {
+				final Node spurNode = previousPath.getNode(i);
+				if (i >= previousPath.getDeviationIndex()) {
+					// Edges of paths sharing the root path lead to known paths
+					final Set<DirectedWeightedEdge> removedEdges = new HashSet<>();
+					final List<DirectedWeightedEdge> rootEdges = previousEdges.subList(0, i);
+					for (final YenPath path : shortestPaths) {
+						if (path.getEdges().size() > i && path.getEdges().subList(0, i).equals(rootEdges)) {
+							removedEdges.add(path.getEdges().get(i));
+						}
+					}
+
+					final Optional<List<DirectedWeightedEdge>> spurEdges = searchSpurPath(spurNode, destination,
+							backwardTree, rootNodes, removedEdges);
+					if (spurEdges.isPresent()) {
+						final List<DirectedWeightedEdge> candidateEdges = new ArrayList<>(rootEdges);
+						candidateEdges.addAll(spurEdges.get());
+						if (knownPaths.add(candidateEdges)) {
+							candidates.add(new YenPath(source, candidateEdges, i));
+						}
+					}
+				}
+				rootNodes.add(spurNode);
+			}
+
+			final YenPath nextPath = candidates.poll();
+			if (nextPath == null) {
+				break;
+			}
+			shortestPaths.add(nextPath);
+		}
+
+		final List<Path> paths = new ArrayList<>(shortestPaths.size());
+		for (final YenPath path : shortestPaths) {
+			paths.add(buildPath(source, path.getEdges()));
+		}
+		return paths;
+	}
+
+	/**
+	 * Gets the path network this object works on.
+	 * 
+	 * @return The path network this object works on
+	 */
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Computes the shortest path tree of all nodes which can reach the given
+	 * destination, following incoming edges. The parent edge of a node is the
+	 * edge leaving it towards the destination.
+	 * 
+	 * @param destination
+	 *            The root of the tree
+	 * @return A mapping of all nodes which can reach the destination to the
+	 *         data container of their shortest path to it
+	 */
+	private Map<Node, TentativeNodeContainer> computeBackwardTree(final Node destination) {
+		final HashMap<Node, TentativeNodeContainer> nodeToContainer = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+
+		final TentativeNodeContainer destinationContainer = new TentativeNodeContainer(destination, null, 0);
+		nodeToContainer.put(destination, destinationContainer);
+		activeNodes.add(destinationContainer);
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+			if (nodeToSettledContainer.containsKey(currentNode)) {
+				continue;
+			}
+			nodeToSettledContainer.put(currentNode, currentNodeContainer);
+
+			final Set<DirectedWeightedEdge> incomingEdges = this.mNetwork.getIncomingEdges(currentNode);
+			if (incomingEdges == null) {
+				continue;
+			}
+			for (final DirectedWeightedEdge incomingEdge : incomingEdges) {
+				final Node edgeSource = incomingEdge.getSource();
+				if (nodeToSettledContainer.containsKey(edgeSource)) {
+					continue;
+				}
+				final float tentativeEdgeCost = currentNodeContainer.getTentativeCost() + incomingEdge.getCost();
+				final TentativeNodeContainer edgeSourceContainer = nodeToContainer.get(edgeSource);
+				if (edgeSourceContainer == null || tentativeEdgeCost < edgeSourceContainer.getTentativeCost()) {
+					final TentativeNodeContainer betterContainer = new TentativeNodeContainer(edgeSource,
+							incomingEdge, tentativeEdgeCost);
+					nodeToContainer.put(edgeSource, betterContainer);
+					activeNodes.add(betterContainer);
+				}
+			}
+		}
+		return nodeToSettledContainer;
+	}
+
+	/**
+	 * Searches the shortest spur path from the given spur node to the
+	 * destination with A*, guided by the costs of the given backward tree.
+	 * 
+	 * @param spurNode
+	 *            The node to start from
+	 * @param destination
+	 *            The destination of the path
+	 * @param backwardTree
+	 *            The backward shortest path tree of the destination
+	 * @param blockedNodes
+	 *            The nodes the path must not visit
+	 * @param removedEdges
+	 *            The edges the path must not use
+	 * @return The edges of the spur path in order if present, if not present
+	 *         there is no such path
+	 */
+	private Optional<List<DirectedWeightedEdge>> searchSpurPath(final Node spurNode, final Node destination,
+			final Map<Node, TentativeNodeContainer> backwardTree, final Set<Node> blockedNodes,
+			final Set<DirectedWeightedEdge> removedEdges) {
+		final HashMap<Node, TentativeNodeContainer> nodeToContainer = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+
+		final TentativeNodeContainer spurContainer = new TentativeNodeContainer(spurNode, null, 0,
+				backwardTree.get(spurNode).getTentativeCost());
+		nodeToContainer.put(spurNode, spurContainer);
+		activeNodes.add(spurContainer);
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+			if (nodeToSettledContainer.containsKey(currentNode)) {
+				continue;
+			}
+			nodeToSettledContainer.put(currentNode, currentNodeContainer);
+			if (currentNode.equals(destination)) {
+				break;
+			}
+
+			final Set<DirectedWeightedEdge> outgoingEdges = this.mNetwork.getOutgoingEdges(currentNode);
+			if (outgoingEdges == null) {
+				continue;
+			}
+			for (final DirectedWeightedEdge outgoingEdge : outgoingEdges) {
+				final Node edgeDestination = outgoingEdge.getDestination();
+				final TentativeNodeContainer backwardContainer = backwardTree.get(edgeDestination);
+				// Nodes outside of the backward tree can not reach the
+				// destination
+				if (backwardContainer == null || removedEdges.contains(outgoingEdge)
+						|| blockedNodes.contains(edgeDestination)
+						|| nodeToSettledContainer.containsKey(edgeDestination)) {
+					continue;
+				}
+				final float tentativeEdgeCost = currentNodeContainer.getTentativeCost() + outgoingEdge.getCost();
+				final TentativeNodeContainer edgeDestinationContainer = nodeToContainer.get(edgeDestination);
+				if (edgeDestinationContainer == null
+						|| tentativeEdgeCost < edgeDestinationContainer.getTentativeCost()) {
+					final TentativeNodeContainer betterContainer = new TentativeNodeContainer(edgeDestination,
+							outgoingEdge, tentativeEdgeCost, backwardContainer.getTentativeCost());
+					nodeToContainer.put(edgeDestination, betterContainer);
+					activeNodes.add(betterContainer);
+				}
+			}
+		}
+		if (!nodeToSettledContainer.containsKey(destination)) {
+			return Optional.empty();
+		}
+
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		DirectedWeightedEdge edge = nodeToSettledContainer.get(destination).getParentEdge();
+		while (edge != null) {
+			edges.add(edge);
+			edge = nodeToSettledContainer.get(edge.getSource()).getParentEdge();
+		}
+		Collections.reverse(edges);
+		return Optional.of(edges);
+	}
+}
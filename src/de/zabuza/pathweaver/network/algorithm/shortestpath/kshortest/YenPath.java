@@ -0,0 +1,105 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.kshortest;
+
+import java.util.List;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+
+/**
+ * Path found by the algorithm of Yen, together with the index of the spur
+ * node at which it deviates from the path it was derived from. Paths are
+ * ordered by their cost.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class YenPath implements Comparable<YenPath> {
+	/**
+	 * The total cost of the path.
+	 */
+	private final float mCost;
+	/**
+	 * The index of the spur node at which the path deviates from the path it
+	 * was derived from, <tt>0</tt> for the shortest path.
+	 */
+	private final int mDeviationIndex;
+	/**
+	 * The edges of the path in order.
+	 */
+	private final List<DirectedWeightedEdge> mEdges;
+	/**
+	 * The source of the path.
+	 */
+	private final Node mSource;
+
+	/**
+	 * Creates a new path.
+	 * 
+	 * @param source
+	 *            The source of the path
+	 * @param edges
+	 *            The edges of the path in order
+	 * @param deviationIndex
+	 *            The index of the spur node at which the path deviates from
+	 *            the path it was derived from, <tt>0</tt> for the shortest
+	 *            path
+	 */
+	YenPath(final Node source, final List<DirectedWeightedEdge> edges, final int deviationIndex) {
+		this.mSource = source;
+		this.mEdges = edges;
+		this.mDeviationIndex = deviationIndex;
+		float cost = 0.0f;
+		for (final DirectedWeightedEdge edge : edges) {
+			cost += edge.getCost();
+		}
+		this.mCost = cost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Comparable#compareTo(java.lang.Object)
+	 */
+	@Override
+	public int compareTo(final YenPath other) {
+		final int costComparison = Float.compare(this.mCost, other.mCost);
+		if (costComparison != 0) {
+			return costComparison;
+		}
+		// Prefer paths with less edges among paths of equal cost
+		return Integer.compare(this.mEdges.size(), other.mEdges.size());
+	}
+
+	/**
+	 * Gets the index of the spur node at which the path deviates from the
+	 * path it was derived from.
+	 * 
+	 * @return The index of the deviation, <tt>0</tt> for the shortest path
+	 */
+	int getDeviationIndex() {
+		return this.mDeviationIndex;
+	}
+
+	/**
+	 * Gets the edges of the path.
+	 * 
+	 * @return The edges of the path in order
+	 */
+	List<DirectedWeightedEdge> getEdges() {
+		return this.mEdges;
+	}
+
+	/**
+	 * Gets the node at the given position of the path.
+	 * 
+	 * @param index
+	 *            The position of the node, <tt>0</tt> for the source
+	 * @return The node at the given position
+	 */
+	Node getNode(final int index) {
+		if (index == 0) {
+			return this.mSource;
+		}
+		return this.mEdges.get(index - 1).getDestination();
+	}
+}
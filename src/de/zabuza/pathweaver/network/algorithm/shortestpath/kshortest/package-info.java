@@ -0,0 +1,5 @@
+/**
+ * This is the core package for computing the k shortest loopless paths of
+ * the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.kshortest;
\ No newline at end of file
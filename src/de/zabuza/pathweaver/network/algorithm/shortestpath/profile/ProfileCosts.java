@@ -0,0 +1,105 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.profile;
+
+import java.util.BitSet;
+
+/**
+ * Costs of the edges of an {@link de.zabuza.pathweaver.network.IndexedNetwork
+ * IndexedNetwork} for one routing profile, for example a car, a truck or a
+ * bicycle. The costs are stored in an array accessible by the indices of the
+ * edges, together with flags for the edges the profile may use. The topology
+ * of the network is not copied, all profiles share it.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ProfileCosts {
+	/**
+	 * Message of the exception thrown when a cost is negative or not a number.
+	 */
+	private static final String EXCEPTION_COST_ILLEGAL = "The cost of an edge must not be negative: ";
+
+	/**
+	 * The flags of the edges the profile may use, accessible by the indices of
+	 * the edges.
+	 */
+	private final BitSet mAccessibleEdges;
+	/**
+	 * The costs of the edges, accessible by the indices of the edges.
+	 */
+	private final float[] mCosts;
+	/**
+	 * The name of the profile.
+	 */
+	private final String mName;
+
+	/**
+	 * Creates new costs of a profile. The given objects are not copied and
+	 * must not be modified afterwards.
+	 * 
+	 * @param name
+	 *            The name of the profile
+	 * @param costs
+	 *            The costs of the edges, accessible by the indices of the
+	 *            edges
+	 * @param accessibleEdges
+	 *            The flags of the edges the profile may use, accessible by the
+	 *            indices of the edges
+	 * @throws IllegalArgumentException
+	 *             If the cost of an accessible edge is negative or not a
+	 *             number
+	 */
+	public ProfileCosts(final String name, final float[] costs, final BitSet accessibleEdges)
+			throws IllegalArgumentException {
+		int edge = accessibleEdges.nextSetBit(0);
+		while (edge >= 0 && edge < costs.length) {
+			if (!(costs[edge] >= 0.0f)) {
+				throw new IllegalArgumentException(EXCEPTION_COST_ILLEGAL + costs[edge]);
+			}
+			edge = accessibleEdges.nextSetBit(edge + 1);
+		}
+		this.mName = name;
+		this.mCosts = costs;
+		this.mAccessibleEdges = accessibleEdges;
+	}
+
+	/**
+	 * Gets the amount of edges the costs are given for.
+	 * 
+	 * @return The amount of edges
+	 */
+	public int getAmountOfEdges() {
+		return this.mCosts.length;
+	}
+
+	/**
+	 * Gets the cost of the given edge for this profile.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return The cost of the edge, only meaningful if the edge is accessible
+	 */
+	public float getCost(final int edge) {
+		return this.mCosts[edge];
+	}
+
+	/**
+	 * Gets the name of the profile.
+	 * 
+	 * @return The name of the profile
+	 */
+	public String getName() {
+		return this.mName;
+	}
+
+	/**
+	 * Whether the profile may use the given edge.
+	 * 
+	 * @param edge
+	 *            The index of the edge
+	 * @return <tt>True</tt> if the profile may use the edge, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isAccessible(final int edge) {
+		return this.mAccessibleEdges.get(edge);
+	}
+}
@@ -0,0 +1,224 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.profile;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DenseSearchState;
+import de.zabuza.pathweaver.util.IndexedMinHeap;
+
+/**
+ * Computes shortest paths for a selectable routing profile. All profiles
+ * share the topology of one {@link IndexedNetwork} and only contribute their
+ * {@link ProfileCosts}, such that supporting another profile does not need
+ * another copy of the network. Edges a profile may not use are skipped.<br>
+ * <br>
+ * Profiles can be added while queries run. Queries of different threads use
+ * their own search state.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ProfileShortestPathComputation {
+	/**
+	 * Message of the exception thrown when the costs of a profile do not
+	 * match the amount of edges of the network.
+	 */
+	private static final String EXCEPTION_AMOUNT_OF_EDGES = "The costs of the profile do not match the amount of edges of the network: ";
+	/**
+	 * Message of the exception thrown when a profile is not known.
+	 */
+	private static final String EXCEPTION_UNKNOWN_PROFILE = "The profile is not known: ";
+
+	/**
+	 * The indexed network this object works on.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * The costs of all known profiles, accessible by their name.
+	 */
+	private final Map<String, ProfileCosts> mNameToProfile;
+	/**
+	 * The search state of each thread, reused for all its queries.
+	 */
+	private final ThreadLocal<DenseSearchState> mSearchStates;
+
+	/**
+	 * Creates a new profile shortest path computation without profiles.
+	 * 
+	 * @param network
+	 *            The indexed network to work on
+	 */
+	public ProfileShortestPathComputation(final IndexedNetwork network) {
+		this.mNetwork = network;
+		this.mNameToProfile = new ConcurrentHashMap<>();
+		final int amountOfNodes = network.getAmountOfNodes();
+		this.mSearchStates = ThreadLocal.withInitial(() -> new DenseSearchState(amountOfNodes));
+	}
+
+	/**
+	 * Adds the given profile, replacing a profile with the same name.
+	 * 
+	 * @param profile
+	 *            The costs of the profile to add
+	 * @throws IllegalArgumentException
+	 *             If the costs do not match the amount of edges of the network
+	 */
+	public void addProfile(final ProfileCosts profile) throws IllegalArgumentException {
+		if (profile.getAmountOfEdges() != this.mNetwork.getAmountOfEdges()) {
+			throw new IllegalArgumentException(EXCEPTION_AMOUNT_OF_EDGES + profile.getAmountOfEdges());
+		}
+		this.mNameToProfile.put(profile.getName(), profile);
+	}
+
+	/**
+	 * Computes the shortest path between the given nodes for the given
+	 * profile. The cost of the returned path is its cost for the profile, the
+	 * same as given by {@link #computeShortestPathCost(String, Node, Node)}.
+	 * 
+	 * @param profileName
+	 *            The name of the profile to use
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @return The shortest path if present, if not present there is no path
+	 *         between the nodes the profile may use
+	 * @throws IllegalArgumentException
+	 *             If the profile is not known
+	 */
+	public Optional<CompactPath> computeShortestCompactPath(final String profileName, final Node source,
+			final Node destination) throws IllegalArgumentException {
+		final DenseSearchState state = this.mSearchStates.get();
+		final int destinationIndex = search(getProfile(profileName), source, destination, state);
+		if (destinationIndex == IndexedNetwork.NO_INDEX) {
+			return Optional.empty();
+		}
+
+		int length = 1;
+		for (int node = destinationIndex; state.getParent(node) != DenseSearchState.NO_PARENT; node = state
+				.getParent(node)) {
+			length++;
+		}
+		final int[] nodeIds = new int[length];
+		int node = destinationIndex;
+		for (int i = length - 1; i >= 0; i--) {
+			nodeIds[i] = this.mNetwork.getNode(node).getId();
+			node = state.getParent(node);
+		}
+		return Optional.of(new CompactPath(nodeIds, state.getTentativeCost(destinationIndex)));
+	}
+
+	/**
+	 * Computes the cost of the shortest path between the given nodes for the
+	 * given profile.
+	 * 
+	 * @param profileName
+	 *            The name of the profile to use
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @return The cost of the shortest path for the profile if present, if not
+	 *         present there is no path between the nodes the profile may use
+	 * @throws IllegalArgumentException
+	 *             If the profile is not known
+	 */
+	public Optional<Float> computeShortestPathCost(final String profileName, final Node source,
+			final Node destination) throws IllegalArgumentException {
+		final DenseSearchState state = this.mSearchStates.get();
+		final int destinationIndex = search(getProfile(profileName), source, destination, state);
+		if (destinationIndex == IndexedNetwork.NO_INDEX) {
+			return Optional.empty();
+		}
+		return Optional.of(Float.valueOf(state.getTentativeCost(destinationIndex)));
+	}
+
+	/**
+	 * Gets the indexed network this object works on.
+	 * 
+	 * @return The indexed network this object works on
+	 */
+	public IndexedNetwork getIndexedNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Gets the names of all known profiles.
+	 * 
+	 * @return An unmodifiable view on the names of all known profiles
+	 */
+	public Set<String> getProfileNames() {
+		return Collections.unmodifiableSet(this.mNameToProfile.keySet());
+	}
+
+	/**
+	 * Gets the costs of the given profile.
+	 * 
+	 * @param profileName
+	 *            The name of the profile
+	 * @return The costs of the profile
+	 * @throws IllegalArgumentException
+	 *             If the profile is not known
+	 */
+	private ProfileCosts getProfile(final String profileName) throws IllegalArgumentException {
+		final ProfileCosts profile = this.mNameToProfile.get(profileName);
+		if (profile == null) {
+			throw new IllegalArgumentException(EXCEPTION_UNKNOWN_PROFILE + profileName);
+		}
+		return profile;
+	}
+
+	/**
+	 * Searches the shortest paths from the given source with Dijkstra until
+	 * the destination is settled. The settled nodes, costs and parents are
+	 * available in the given state afterwards.
+	 * 
+	 * @param profile
+	 *            The costs of the profile to use
+	 * @param source
+	 *            Source node of the search
+	 * @param destination
+	 *            Destination node of the search
+	 * @param state
+	 *            The state to use for the search, it is reset
+	 * @return The index of the destination if it was settled,
+	 *         {@link IndexedNetwork#NO_INDEX} otherwise
+	 */
+	private int search(final ProfileCosts profile, final Node source, final Node destination,
+			final DenseSearchState state) {
+		state.reset();
+		final int sourceIndex = this.mNetwork.getIndex(source);
+		final int destinationIndex = this.mNetwork.getIndex(destination);
+		if (sourceIndex == IndexedNetwork.NO_INDEX || destinationIndex == IndexedNetwork.NO_INDEX) {
+			return IndexedNetwork.NO_INDEX;
+		}
+		state.relax(sourceIndex, 0.0f, 0.0f, DenseSearchState.NO_PARENT, DenseSearchState.NO_PARENT);
+
+		final IndexedMinHeap heap = state.getHeap();
+		while (!heap.isEmpty()) {
+			final int node = heap.poll();
+			state.settle(node);
+			if (node == destinationIndex) {
+				return destinationIndex;
+			}
+			final float nodeCost = state.getTentativeCost(node);
+			for (int edge = this.mNetwork.getOutgoingBegin(node); edge < this.mNetwork
+					.getOutgoingEnd(node); edge++) {
+				if (!profile.isAccessible(edge)) {
+					continue;
+				}
+				final int edgeDestination = this.mNetwork.getDestination(edge);
+				if (!state.isSettled(edgeDestination)) {
+					state.relax(edgeDestination, nodeCost + profile.getCost(edge), 0.0f, node, edge);
+				}
+			}
+		}
+		return IndexedNetwork.NO_INDEX;
+	}
+}
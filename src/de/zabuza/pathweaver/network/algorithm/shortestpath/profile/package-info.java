@@ -0,0 +1,5 @@
+/**
+ * This is the core package for routing profiles sharing one network topology
+ * of the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.profile;
\ No newline at end of file
@@ -0,0 +1,26 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+
+/**
+ * Interface for providers of time-dependent travel times of edges. Travel
+ * times must be FIFO, i.e. departing later on an edge must never arrive
+ * earlier, such that the earliest arrival at a node is always the best.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@FunctionalInterface
+public interface ITravelTimeProvider {
+	/**
+	 * Gets the time needed to travel along the given edge when departing at
+	 * the given time.
+	 * 
+	 * @param edge
+	 *            The edge to travel along
+	 * @param departureTime
+	 *            The time of departure at the source of the edge
+	 * @return The non-negative travel time
+	 */
+	public float getTravelTime(final DirectedWeightedEdge edge, final float departureTime);
+}
@@ -0,0 +1,277 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import java.util.Arrays;
+
+/**
+ * Immutable periodic piecewise linear function, given by breakpoints in one
+ * period. Between two breakpoints the value is interpolated linearly, after
+ * the last breakpoint it is interpolated towards the first breakpoint of the
+ * next period.<br>
+ * <br>
+ * A function describing travel times is FIFO, i.e. departing later never
+ * arrives earlier, if its slope is never less than <tt>-1</tt>, see
+ * {@link #getMinimumSlope()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PiecewiseLinearFunction {
+	/**
+	 * Message of the exception thrown when the arrays of the breakpoints have
+	 * different lengths or are empty.
+	 */
+	private static final String EXCEPTION_BREAKPOINTS_AMOUNT = "The function needs at least one breakpoint and a value for every time.";
+	/**
+	 * Message of the exception thrown when the period is not positive.
+	 */
+	private static final String EXCEPTION_PERIOD_ILLEGAL = "The period must be positive: ";
+	/**
+	 * Message of the exception thrown when the times of the breakpoints are not
+	 * strictly increasing inside of the period.
+	 */
+	private static final String EXCEPTION_TIMES_ILLEGAL = "The times must be strictly increasing and inside of the period: ";
+	/**
+	 * Message of the exception thrown when a value is negative or not finite.
+	 */
+	private static final String EXCEPTION_VALUE_ILLEGAL = "The values must be finite and not negative: ";
+
+	/**
+	 * Creates a function with the given constant value.
+	 * 
+	 * @param period
+	 *            The positive period of the function
+	 * @param value
+	 *            The value of the function, finite and not negative
+	 * @return The created function
+	 * @throws IllegalArgumentException
+	 *             If the period is not positive or the value is negative or
+	 *             not finite
+	 */
+	public static PiecewiseLinearFunction ofConstant(final float period, final float value)
+			throws IllegalArgumentException {
+		return new PiecewiseLinearFunction(period, new float[] { 0.0f }, new float[] { value });
+	}
+
+	/**
+	 * The minimal value of the function.
+	 */
+	private final float mMinimum;
+	/**
+	 * The minimal slope of all segments of the function.
+	 */
+	private final float mMinimumSlope;
+	/**
+	 * The period of the function.
+	 */
+	private final float mPeriod;
+	/**
+	 * The times of the breakpoints, strictly increasing inside of the period.
+	 */
+	private final float[] mTimes;
+	/**
+	 * The values of the breakpoints, in the order of their times.
+	 */
+	private final float[] mValues;
+
+	/**
+	 * Creates a new periodic piecewise linear function. The given arrays are
+	 * copied, such that later modifications do not affect the function.
+	 * 
+	 * @param period
+	 *            The positive period of the function
+	 * @param times
+	 *            The times of the breakpoints, strictly increasing and
+	 *            inside of <tt>[0, period)</tt>
+	 * @param values
+	 *            The values of the breakpoints in the order of their times,
+	 *            finite and not negative
+	 * @throws IllegalArgumentException
+	 *             If the period is not positive, if there are no breakpoints,
+	 *             if the arrays have different lengths, if the times are not
+	 *             strictly increasing inside of the period or if a value is
+	 *             negative or not finite
+	 */
+	public PiecewiseLinearFunction(final float period, final float[] times, final float[] values)
+			throws IllegalArgumentException {
+		if (!(period > 0.0f) || Float.isInfinite(period)) {
+			throw new IllegalArgumentException(EXCEPTION_PERIOD_ILLEGAL + period);
+		}
+		if (times.length == 0 || times.length != values.length) {
+			throw new IllegalArgumentException(EXCEPTION_BREAKPOINTS_AMOUNT);
+		}
+		// Copy before validating, the function is shared by interning
+		final float[] copiedTimes = times.clone();
+		final float[] copiedValues = values.clone();
+		float previousTime = Float.NEGATIVE_INFINITY;
+		float minimum = Float.POSITIVE_INFINITY;
+		for (int i = 0; i < copiedTimes.length; i++) {
+			if (!(copiedTimes[i] > previousTime) || copiedTimes[i] < 0.0f || copiedTimes[i] >= period) {
+				throw new IllegalArgumentException(EXCEPTION_TIMES_ILLEGAL + Arrays.toString(copiedTimes));
+			}
+			if (!(copiedValues[i] >= 0.0f) || Float.isInfinite(copiedValues[i])) {
+				throw new IllegalArgumentException(EXCEPTION_VALUE_ILLEGAL + copiedValues[i]);
+			}
+			previousTime = copiedTimes[i];
+			minimum = Math.min(minimum, copiedValues[i]);
+		}
+		this.mPeriod = period;
+		this.mTimes = copiedTimes;
+		this.mValues = copiedValues;
+		this.mMinimum = minimum;
+
+		float minimumSlope = 0.0f;
+		for (int i = 0; i < copiedTimes.length; i++) {
+			final int next = (i + 1) % copiedTimes.length;
+			final float timeDifference;
+			if (next == 0) {
+				timeDifference = copiedTimes[0] + period - copiedTimes[i];
+			} else {
+				timeDifference = copiedTimes[next] - copiedTimes[i];
+			}
+			minimumSlope = Math.min(minimumSlope, (copiedValues[next] - copiedValues[i]) / timeDifference);
+		}
+		this.mMinimumSlope = minimumSlope;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (!(obj instanceof PiecewiseLinearFunction)) {
+			return false;
+		}
+		final PiecewiseLinearFunction other = (PiecewiseLinearFunction) obj;
+		if (Float.floatToIntBits(this.mPeriod) != Float.floatToIntBits(other.mPeriod)) {
+			return false;
+		}
+		if (!Arrays.equals(this.mTimes, other.mTimes)) {
+			return false;
+		}
+		if (!Arrays.equals(this.mValues, other.mValues)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Evaluates the function at the given time.
+	 * 
+	 * @param time
+	 *            The time to evaluate at, it may be outside of the first
+	 *            period
+	 * @return The value of the function at the given time
+	 */
+	public float evaluate(final float time) {
+		final int amount = this.mTimes.length;
+		if (amount == 1) {
+			return this.mValues[0];
+		}
+		float periodTime = time % this.mPeriod;
+		if (periodTime < 0.0f) {
+			periodTime += this.mPeriod;
+		}
+		final int index = Arrays.binarySearch(this.mTimes, periodTime);
+		if (index >= 0) {
+			return this.mValues[index];
+		}
+
+		// The segment containing the time, it wraps around the period before
+		// the first and after the last breakpoint
+		final int insertionIndex = -index - 1;
+		final int startIndex;
+		final int endIndex;
+		final float startTime;
+		final float endTime;
+		if (insertionIndex == 0) {
+			startIndex = amount - 1;
+			endIndex = 0;
+			startTime = this.mTimes[startIndex] - this.mPeriod;
+			endTime = this.mTimes[endIndex];
+		} else if (insertionIndex == amount) {
+			startIndex = amount - 1;
+			endIndex = 0;
+			startTime = this.mTimes[startIndex];
+			endTime = this.mTimes[endIndex] + this.mPeriod;
+		} else {
+			startIndex = insertionIndex - 1;
+			endIndex = insertionIndex;
+			startTime = this.mTimes[startIndex];
+			endTime = this.mTimes[endIndex];
+		}
+		final float ratio = (periodTime - startTime) / (endTime - startTime);
+		return this.mValues[startIndex] + ratio * (this.mValues[endIndex] - this.mValues[startIndex]);
+	}
+
+	/**
+	 * Gets the amount of breakpoints of the function in one period.
+	 * 
+	 * @return The amount of breakpoints
+	 */
+	public int getAmountOfBreakpoints() {
+		return this.mTimes.length;
+	}
+
+	/**
+	 * Gets the minimal value of the function.
+	 * 
+	 * @return The minimal value of the function
+	 */
+	public float getMinimum() {
+		return this.mMinimum;
+	}
+
+	/**
+	 * Gets the minimal slope of all segments of the function, including the
+	 * segment wrapping around the period. It is never positive since the
+	 * function is periodic.
+	 * 
+	 * @return The minimal slope of the function
+	 */
+	public float getMinimumSlope() {
+		return this.mMinimumSlope;
+	}
+
+	/**
+	 * Gets the period of the function.
+	 * 
+	 * @return The period of the function
+	 */
+	public float getPeriod() {
+		return this.mPeriod;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(this.mPeriod);
+		result = prime * result + Arrays.hashCode(this.mTimes);
+		result = prime * result + Arrays.hashCode(this.mValues);
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PiecewiseLinearFunction [period=" + this.mPeriod + ", times=" + Arrays.toString(this.mTimes)
+				+ ", values=" + Arrays.toString(this.mValues) + "]";
+	}
+}
@@ -0,0 +1,224 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.metric.IMetric;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.TentativeNodeContainer;
+
+/**
+ * Computes quickest paths for a given departure time with a time-dependent
+ * Dijkstra, or A* if a metric is given. The travel time of an edge depends on
+ * the time it is entered, which is the departure time plus the travel time to
+ * its source. Since travel times are FIFO, the earliest arrival at a node is
+ * always the best and nodes only need to be settled once.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TimeDependentShortestPathComputation {
+	/**
+	 * The metric used as heuristic, <tt>null</tt> if no heuristic is used.
+	 */
+	private final IMetric<Node> mMetric;
+	/**
+	 * The path network this object works on.
+	 */
+	private final IPathNetwork mNetwork;
+	/**
+	 * The provider of the travel times of edges.
+	 */
+	private final ITravelTimeProvider mTravelTimeProvider;
+
+	/**
+	 * Creates a new time-dependent shortest path computation which uses
+	 * Dijkstra.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param travelTimeProvider
+	 *            The provider of the travel times of edges
+	 */
+	public TimeDependentShortestPathComputation(final IPathNetwork network,
+			final ITravelTimeProvider travelTimeProvider) {
+		this(network, travelTimeProvider, null);
+	}
+
+	/**
+	 * Creates a new time-dependent shortest path computation which uses A*
+	 * with the given metric.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param travelTimeProvider
+	 *            The provider of the travel times of edges
+	 * @param metric
+	 *            The metric to use as heuristic, it must not overestimate the
+	 *            travel time at any time of departure
+	 */
+	public TimeDependentShortestPathComputation(final IPathNetwork network,
+			final ITravelTimeProvider travelTimeProvider, final IMetric<Node> metric) {
+		this.mNetwork = network;
+		this.mTravelTimeProvider = travelTimeProvider;
+		this.mMetric = metric;
+	}
+
+	/**
+	 * Computes the quickest path between the given nodes when departing at the
+	 * given time. The cost of the returned path consists of the costs of its
+	 * edges, the travel time is given by
+	 * {@link #computeTravelTime(Node, Node, float)}.
+	 * 
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @param departureTime
+	 *            The time of departure at the source
+	 * @return The quickest path if present, if not present there is no path
+	 *         between the nodes
+	 */
+	public Optional<Path> computeShortestPath(final Node source, final Node destination, final float departureTime) {
+		final Optional<Map<Node, TentativeNodeContainer>> settledNodes = search(source, destination,
+				departureTime);
+		if (!settledNodes.isPresent()) {
+			return Optional.empty();
+		}
+
+		final Map<Node, TentativeNodeContainer> nodeToSettledContainer = settledNodes.get();
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		DirectedWeightedEdge edge = nodeToSettledContainer.get(destination).getParentEdge();
+		while (edge != null) {
+			edges.add(edge);
+			edge = nodeToSettledContainer.get(edge.getSource()).getParentEdge();
+		}
+		final Path path = new Path(source);
+		for (int i = edges.size() - 1; i >= 0; i--) {
+			path.addEdge(edges.get(i));
+		}
+		return Optional.of(path);
+	}
+
+	/**
+	 * Computes the travel time of the quickest path between the given nodes
+	 * when departing at the given time.
+	 * 
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @param departureTime
+	 *            The time of departure at the source
+	 * @return The travel time of the quickest path if present, the earliest
+	 *         arrival is the departure time plus the travel time. If not
+	 *         present there is no path between the nodes.
+	 */
+	public Optional<Float> computeTravelTime(final Node source, final Node destination, final float departureTime) {
+		return search(source, destination, departureTime)
+				.map(settledNodes -> Float.valueOf(settledNodes.get(destination).getTentativeCost()));
+	}
+
+	/**
+	 * Gets the path network this object works on.
+	 * 
+	 * @return The path network this object works on
+	 */
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Gets the provider of the travel times of edges.
+	 * 
+	 * @return The provider of the travel times of edges
+	 */
+	public ITravelTimeProvider getTravelTimeProvider() {
+		return this.mTravelTimeProvider;
+	}
+
+	/**
+	 * Gets the estimated travel time from the given node to the destination.
+	 * 
+	 * @param node
+	 *            The node to estimate from
+	 * @param destination
+	 *            The destination to estimate to
+	 * @return The estimated travel time, <tt>0</tt> if no heuristic is used
+	 */
+	private float getEstCostToDest(final Node node, final Node destination) {
+		if (this.mMetric == null) {
+			return TentativeNodeContainer.DEFAULT_EST_COST_TO_DEST;
+		}
+		return this.mMetric.distance(node, destination);
+	}
+
+	/**
+	 * Searches the quickest paths from the given source until the destination
+	 * is settled. The tentative cost of a node is the travel time from the
+	 * source.
+	 * 
+	 * @param source
+	 *            Source node of the search
+	 * @param destination
+	 *            Destination node of the search
+	 * @param departureTime
+	 *            The time of departure at the source
+	 * @return A mapping of all settled nodes to their data container if the
+	 *         destination was settled, if not present the destination can not
+	 *         be reached
+	 */
+	private Optional<Map<Node, TentativeNodeContainer>> search(final Node source, final Node destination,
+			final float departureTime) {
+		final HashMap<Node, TentativeNodeContainer> nodeToContainer = new HashMap<>();
+		final PriorityQueue<TentativeNodeContainer> activeNodes = new PriorityQueue<>();
+		final HashMap<Node, TentativeNodeContainer> nodeToSettledContainer = new HashMap<>();
+
+		final TentativeNodeContainer sourceContainer = new TentativeNodeContainer(source, null, 0,
+				getEstCostToDest(source, destination));
+		nodeToContainer.put(source, sourceContainer);
+		activeNodes.add(sourceContainer);
+		while (!activeNodes.isEmpty()) {
+			final TentativeNodeContainer currentNodeContainer = activeNodes.poll();
+			final Node currentNode = currentNodeContainer.getNode();
+			if (nodeToSettledContainer.containsKey(currentNode)) {
+				continue;
+			}
+			nodeToSettledContainer.put(currentNode, currentNodeContainer);
+			if (currentNode.equals(destination)) {
+				return Optional.of(nodeToSettledContainer);
+			}
+
+			final Set<DirectedWeightedEdge> outgoingEdges = this.mNetwork.getOutgoingEdges(currentNode);
+			if (outgoingEdges == null) {
+				continue;
+			}
+			final float currentTime = departureTime + currentNodeContainer.getTentativeCost();
+			for (final DirectedWeightedEdge outgoingEdge : outgoingEdges) {
+				final Node edgeDestination = outgoingEdge.getDestination();
+				if (nodeToSettledContainer.containsKey(edgeDestination)) {
+					continue;
+				}
+				final float tentativeEdgeCost = currentNodeContainer.getTentativeCost()
+						+ this.mTravelTimeProvider.getTravelTime(outgoingEdge, currentTime);
+				final TentativeNodeContainer edgeDestinationContainer = nodeToContainer.get(edgeDestination);
+				if (edgeDestinationContainer == null
+						|| tentativeEdgeCost < edgeDestinationContainer.getTentativeCost()) {
+					final TentativeNodeContainer betterContainer = new TentativeNodeContainer(edgeDestination,
+							outgoingEdge, tentativeEdgeCost, getEstCostToDest(edgeDestination, destination));
+					nodeToContainer.put(edgeDestination, betterContainer);
+					activeNodes.add(betterContainer);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+}
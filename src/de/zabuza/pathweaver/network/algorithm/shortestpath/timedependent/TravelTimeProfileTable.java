@@ -0,0 +1,254 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.INetworkListener;
+import de.zabuza.pathweaver.network.IPathNetwork;
+
+/**
+ * Provider of travel times which scales the cost of edges by time-dependent
+ * profiles. A profile is a {@link PiecewiseLinearFunction} of factors, the
+ * travel time of an edge departing at a given time is its cost multiplied by
+ * the factor of its profile at that time. Edges without profile always need
+ * their cost.<br>
+ * <br>
+ * Profiles describe typical traffic patterns and are shared, equal profiles
+ * are only stored once. Per edge only the index of its profile is stored, in
+ * an array indexed by the id of the edge, see
+ * {@link DirectedWeightedEdge#getId()}. This keeps the table compact for
+ * large networks.<br>
+ * <br>
+ * The table listens to cost changes of the network and rejects costs for
+ * which the travel times of an edge with its profile would not be FIFO. Use
+ * {@link #detach()} once the table is not used anymore.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TravelTimeProfileTable implements ITravelTimeProvider, INetworkListener {
+	/**
+	 * Message of the exception thrown when a profile is set for an edge which
+	 * was not created by a network.
+	 */
+	private static final String EXCEPTION_EDGE_WITHOUT_ID = "The edge was not created by a network and has no id.";
+	/**
+	 * Message of the exception thrown when the travel times of an edge with
+	 * the given profile would not be FIFO.
+	 */
+	private static final String EXCEPTION_NOT_FIFO = "The profile decreases too fast for the edge, travel times would not be FIFO for the edge cost: ";
+	/**
+	 * Message of the exception thrown when the table already holds the
+	 * maximal amount of distinct profiles.
+	 */
+	private static final String EXCEPTION_TOO_MANY_PROFILES = "The table can not hold more distinct profiles than: ";
+	/**
+	 * The initial capacity of the array of profile indices of edges.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	/**
+	 * The maximal amount of distinct profiles, limited by the type of the
+	 * stored indices.
+	 */
+	private static final int MAX_AMOUNT_OF_PROFILES = Short.MAX_VALUE;
+
+	/**
+	 * Whether the travel times of an edge with the given cost and profile are
+	 * FIFO.
+	 * 
+	 * @param cost
+	 *            The cost of the edge
+	 * @param profile
+	 *            The profile of the edge
+	 * @return <tt>True</tt> if departing later never arrives earlier,
+	 *         <tt>false</tt> otherwise
+	 */
+	private static boolean isFifo(final float cost, final PiecewiseLinearFunction profile) {
+		return cost * profile.getMinimumSlope() >= -1.0f;
+	}
+
+	/**
+	 * The profiles of edges, indexed by their id. An entry is the index of
+	 * the profile in {@link #mProfiles} plus one, <tt>0</tt> if the edge has
+	 * no profile.
+	 */
+	private short[] mEdgeIdToProfile;
+	/**
+	 * The network whose edges have profiles.
+	 */
+	private final IPathNetwork mNetwork;
+	/**
+	 * All distinct profiles used by edges, mapped to their index in
+	 * {@link #mProfiles}.
+	 */
+	private final Map<PiecewiseLinearFunction, Integer> mProfileToIndex;
+	/**
+	 * All distinct profiles used by edges.
+	 */
+	private final List<PiecewiseLinearFunction> mProfiles;
+
+	/**
+	 * Creates a new table without profiles for the edges of the given network
+	 * and starts listening to cost changes of it.
+	 * 
+	 * @param network
+	 *            The network whose edges get profiles
+	 */
+	public TravelTimeProfileTable(final IPathNetwork network) {
+		this.mNetwork = network;
+		this.mEdgeIdToProfile = new short[INITIAL_CAPACITY];
+		this.mProfileToIndex = new HashMap<>();
+		this.mProfiles = new ArrayList<>();
+		this.mNetwork.addNetworkListener(this);
+	}
+
+	/**
+	 * Stops listening to cost changes of the network, which otherwise keeps
+	 * the table reachable. Afterwards costs are not checked to be FIFO
+	 * anymore.
+	 */
+	public void detach() {
+		this.mNetwork.removeNetworkListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanged(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanged(final DirectedWeightedEdge edge, final float previousCost) {
+		// Travel times are derived from the current cost, nothing to repair
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.INetworkListener#edgeCostChanging(de.zabuza.
+	 * pathweaver.network.DirectedWeightedEdge, float)
+	 */
+	@Override
+	public void edgeCostChanging(final DirectedWeightedEdge edge, final float cost) throws IllegalArgumentException {
+		final PiecewiseLinearFunction profile = getStoredProfile(edge);
+		if (profile != null && !isFifo(cost, profile)) {
+			throw new IllegalArgumentException(EXCEPTION_NOT_FIFO + cost);
+		}
+	}
+
+	/**
+	 * Gets the amount of distinct profiles stored in the table.
+	 * 
+	 * @return The amount of distinct profiles
+	 */
+	public int getAmountOfProfiles() {
+		return this.mProfiles.size();
+	}
+
+	/**
+	 * Gets the profile of the given edge.
+	 * 
+	 * @param edge
+	 *            The edge to get the profile of
+	 * @return The profile of the edge if present, if not present the edge has
+	 *         no profile
+	 */
+	public Optional<PiecewiseLinearFunction> getProfile(final DirectedWeightedEdge edge) {
+		return Optional.ofNullable(getStoredProfile(edge));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent.
+	 * ITravelTimeProvider#getTravelTime(de.zabuza.pathweaver.network.
+	 * DirectedWeightedEdge, float)
+	 */
+	@Override
+	public float getTravelTime(final DirectedWeightedEdge edge, final float departureTime) {
+		final PiecewiseLinearFunction profile = getStoredProfile(edge);
+		if (profile == null) {
+			return edge.getCost();
+		}
+		return edge.getCost() * profile.evaluate(departureTime);
+	}
+
+	/**
+	 * Removes the profile of the given edge, it needs its cost afterwards.
+	 * Profiles which are not used anymore are kept.
+	 * 
+	 * @param edge
+	 *            The edge to remove the profile of
+	 */
+	public void removeProfile(final DirectedWeightedEdge edge) {
+		final int id = edge.getId();
+		if (id >= 0 && id < this.mEdgeIdToProfile.length) {
+			this.mEdgeIdToProfile[id] = 0;
+		}
+	}
+
+	/**
+	 * Sets the profile of the given edge, replacing any previous profile. The
+	 * travel times of the edge are checked to be FIFO for its current cost,
+	 * later cost changes are checked when they are announced by the network.
+	 * 
+	 * @param edge
+	 *            The edge of the network to set the profile of
+	 * @param profile
+	 *            The profile of factors for the cost of the edge
+	 * @throws IllegalArgumentException
+	 *             If the edge was not created by a network or if the travel
+	 *             times of the edge with the profile would not be FIFO
+	 * @throws IllegalStateException
+	 *             If the profile is new and the table already holds the
+	 *             maximal amount of distinct profiles
+	 */
+	public void setProfile(final DirectedWeightedEdge edge, final PiecewiseLinearFunction profile)
+			throws IllegalArgumentException, IllegalStateException {
+		final int id = edge.getId();
+		if (id == DirectedWeightedEdge.NO_ID) {
+			throw new IllegalArgumentException(EXCEPTION_EDGE_WITHOUT_ID);
+		}
+		if (!isFifo(edge.getCost(), profile)) {
+			throw new IllegalArgumentException(EXCEPTION_NOT_FIFO + edge.getCost());
+		}
+
+		Integer index = this.mProfileToIndex.get(profile);
+		if (index == null) {
+			if (this.mProfiles.size() == MAX_AMOUNT_OF_PROFILES) {
+				throw new IllegalStateException(EXCEPTION_TOO_MANY_PROFILES + MAX_AMOUNT_OF_PROFILES);
+			}
+			index = Integer.valueOf(this.mProfiles.size());
+			this.mProfiles.add(profile);
+			this.mProfileToIndex.put(profile, index);
+		}
+
+		if (id >= this.mEdgeIdToProfile.length) {
+			this.mEdgeIdToProfile = Arrays.copyOf(this.mEdgeIdToProfile,
+					Math.max(id + 1, this.mEdgeIdToProfile.length * 2));
+		}
+		this.mEdgeIdToProfile[id] = (short) (index.intValue() + 1);
+	}
+
+	/**
+	 * Gets the stored profile of the given edge.
+	 * 
+	 * @param edge
+	 *            The edge to get the profile of
+	 * @return The profile of the edge or <tt>null</tt> if it has none
+	 */
+	private PiecewiseLinearFunction getStoredProfile(final DirectedWeightedEdge edge) {
+		final int id = edge.getId();
+		if (id < 0 || id >= this.mEdgeIdToProfile.length || this.mEdgeIdToProfile[id] == 0) {
+			return null;
+		}
+		return this.mProfiles.get(this.mEdgeIdToProfile[id] - 1);
+	}
+}
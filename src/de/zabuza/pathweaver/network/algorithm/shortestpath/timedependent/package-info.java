@@ -0,0 +1,5 @@
+/**
+ * This is the core package for time-dependent travel times and shortest path
+ * computation of the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
\ No newline at end of file
@@ -0,0 +1,205 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import java.util.Optional;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DenseSearchState;
+import de.zabuza.pathweaver.util.IndexedMinHeap;
+
+/**
+ * Computes shortest paths respecting turn restrictions and turn costs with
+ * an edge-based Dijkstra. The state of the search is the edge a node was
+ * entered by instead of the node itself, such that the cost of a turn can
+ * depend on where it comes from.<br>
+ * <br>
+ * The edge-based graph is not materialized. States are expanded on the fly
+ * over the outgoing edges of an {@link IndexedNetwork} and kept in a
+ * {@link DenseSearchState} over the indices of its edges, so a query does not
+ * allocate objects per reached edge. Queries of different threads use their
+ * own search state.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class EdgeBasedShortestPathComputation {
+	/**
+	 * The indexed network this object works on.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * The search state of each thread over the indices of the edges, reused
+	 * for all its queries.
+	 */
+	private final ThreadLocal<DenseSearchState> mSearchStates;
+	/**
+	 * The provider of the costs of turns.
+	 */
+	private final ITurnCostProvider mTurnCostProvider;
+
+	/**
+	 * Creates a new edge-based shortest path computation.
+	 * 
+	 * @param network
+	 *            The indexed network to work on
+	 * @param turnCostProvider
+	 *            The provider of the costs of turns
+	 */
+	public EdgeBasedShortestPathComputation(final IndexedNetwork network, final ITurnCostProvider turnCostProvider) {
+		this.mNetwork = network;
+		this.mTurnCostProvider = turnCostProvider;
+		final int amountOfEdges = network.getAmountOfEdges();
+		this.mSearchStates = ThreadLocal.withInitial(() -> new DenseSearchState(amountOfEdges));
+	}
+
+	/**
+	 * Computes the shortest path between the given nodes which only uses
+	 * allowed turns. The cost of the returned path only consists of its edge
+	 * costs, the total cost including turn costs is given by
+	 * {@link #computeShortestPathCost(Node, Node)}.
+	 * 
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @return The shortest path if present, if not present there is no path
+	 *         with allowed turns between the nodes
+	 */
+	public Optional<Path> computeShortestPath(final Node source, final Node destination) {
+		if (source.equals(destination)) {
+			return Optional.of(new Path(source));
+		}
+		final DenseSearchState state = this.mSearchStates.get();
+		final int destinationEdge = search(source, destination, state);
+		if (destinationEdge == IndexedNetwork.NO_INDEX) {
+			return Optional.empty();
+		}
+
+		int amountOfEdges = 0;
+		for (int edge = destinationEdge; edge != DenseSearchState.NO_PARENT; edge = state.getParent(edge)) {
+			amountOfEdges++;
+		}
+		final int[] edges = new int[amountOfEdges];
+		int edge = destinationEdge;
+		for (int i = amountOfEdges - 1; i >= 0; i--) {
+			edges[i] = edge;
+			edge = state.getParent(edge);
+		}
+		final Path path = new Path(source);
+		for (final int pathEdge : edges) {
+			path.addEdge(this.mNetwork.getEdge(pathEdge));
+		}
+		return Optional.of(path);
+	}
+
+	/**
+	 * Computes the cost of the shortest path between the given nodes which
+	 * only uses allowed turns, including the costs of its turns.
+	 * 
+	 * @param source
+	 *            Source node of the path
+	 * @param destination
+	 *            Destination node of the path
+	 * @return The cost of the shortest path if present, if not present there
+	 *         is no path with allowed turns between the nodes
+	 */
+	public Optional<Float> computeShortestPathCost(final Node source, final Node destination) {
+		if (source.equals(destination)) {
+			return Optional.of(Float.valueOf(0.0f));
+		}
+		final DenseSearchState state = this.mSearchStates.get();
+		final int destinationEdge = search(source, destination, state);
+		if (destinationEdge == IndexedNetwork.NO_INDEX) {
+			return Optional.empty();
+		}
+		return Optional.of(Float.valueOf(state.getTentativeCost(destinationEdge)));
+	}
+
+	/**
+	 * Gets the indexed network this object works on.
+	 * 
+	 * @return The indexed network this object works on
+	 */
+	public IndexedNetwork getIndexedNetwork() {
+		return this.mNetwork;
+	}
+
+	/**
+	 * Gets the path network this object works on.
+	 * 
+	 * @return The path network this object works on
+	 */
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork.getPathNetwork();
+	}
+
+	/**
+	 * Gets the provider of the costs of turns.
+	 * 
+	 * @return The provider of the costs of turns
+	 */
+	public ITurnCostProvider getTurnCostProvider() {
+		return this.mTurnCostProvider;
+	}
+
+	/**
+	 * Searches the cheapest edge entering the destination with an edge-based
+	 * Dijkstra. Since turns only happen when leaving an edge, the first
+	 * settled edge entering the destination is optimal. The costs and parent
+	 * edges of the reached edges are available in the given state afterwards.
+	 * 
+	 * @param source
+	 *            Source node of the search
+	 * @param destination
+	 *            Destination node of the search
+	 * @param state
+	 *            The state over the indices of the edges to use for the
+	 *            search, it is reset
+	 * @return The index of the cheapest edge entering the destination,
+	 *         {@link IndexedNetwork#NO_INDEX} if the destination can not be
+	 *         entered with allowed turns
+	 */
+	private int search(final Node source, final Node destination, final DenseSearchState state) {
+		state.reset();
+		final int sourceIndex = this.mNetwork.getIndex(source);
+		final int destinationIndex = this.mNetwork.getIndex(destination);
+		if (sourceIndex == IndexedNetwork.NO_INDEX || destinationIndex == IndexedNetwork.NO_INDEX) {
+			return IndexedNetwork.NO_INDEX;
+		}
+
+		// The source is not entered by an edge, all its edges are allowed
+		for (int edge = this.mNetwork.getOutgoingBegin(sourceIndex); edge < this.mNetwork
+				.getOutgoingEnd(sourceIndex); edge++) {
+			state.relax(edge, this.mNetwork.getCost(edge), 0.0f, DenseSearchState.NO_PARENT,
+					DenseSearchState.NO_PARENT);
+		}
+
+		final IndexedMinHeap heap = state.getHeap();
+		while (!heap.isEmpty()) {
+			final int currentEdge = heap.poll();
+			state.settle(currentEdge);
+			final int currentNode = this.mNetwork.getDestination(currentEdge);
+			if (currentNode == destinationIndex) {
+				return currentEdge;
+			}
+
+			final float currentCost = state.getTentativeCost(currentEdge);
+			for (int outgoingEdge = this.mNetwork.getOutgoingBegin(currentNode); outgoingEdge < this.mNetwork
+					.getOutgoingEnd(currentNode); outgoingEdge++) {
+				if (state.isSettled(outgoingEdge)) {
+					continue;
+				}
+				final float turnCost = this.mTurnCostProvider.getTurnCost(this.mNetwork.getEdge(currentEdge),
+						this.mNetwork.getEdge(outgoingEdge));
+				if (turnCost == Float.POSITIVE_INFINITY) {
+					continue;
+				}
+				state.relax(outgoingEdge, currentCost + turnCost + this.mNetwork.getCost(outgoingEdge), 0.0f,
+						currentEdge, DenseSearchState.NO_PARENT);
+			}
+		}
+		return IndexedNetwork.NO_INDEX;
+	}
+}
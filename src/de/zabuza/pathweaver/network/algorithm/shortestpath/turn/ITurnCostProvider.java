@@ -0,0 +1,27 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+
+/**
+ * Interface for providers of the costs of turning from an edge into one of
+ * the edges leaving its destination. Forbidden turns have infinite costs.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@FunctionalInterface
+public interface ITurnCostProvider {
+	/**
+	 * Gets the cost of turning from the given incoming edge into the given
+	 * outgoing edge. The destination of the incoming edge is the source of the
+	 * outgoing edge.
+	 * 
+	 * @param incomingEdge
+	 *            The edge the turn comes from
+	 * @param outgoingEdge
+	 *            The edge the turn goes to
+	 * @return The non-negative cost of the turn, or
+	 *         {@link Float#POSITIVE_INFINITY} if the turn is forbidden
+	 */
+	public float getTurnCost(final DirectedWeightedEdge incomingEdge, final DirectedWeightedEdge outgoingEdge);
+}
@@ -0,0 +1,135 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import java.util.Arrays;
+
+/**
+ * The restricted turns coming from one node at one via node of a
+ * {@link TurnCostTable}, given by the ids of the nodes they go to. Since only
+ * few turns share the same node and via node, the ids are kept in small
+ * arrays which are searched linearly and grow by one element at a time.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class RestrictedTurns {
+	/**
+	 * The cost of turns which have no explicit cost.
+	 */
+	static final float NO_COST = -1.0f;
+
+	/**
+	 * Searches the given id in the given array.
+	 * 
+	 * @param ids
+	 *            The array to search in
+	 * @param id
+	 *            The id to search
+	 * @return The position of the id or <tt>-1</tt> if it is not contained
+	 */
+	private static int indexOf(final int[] ids, final int id) {
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] == id) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The ids of the nodes turns with an explicit cost go to.
+	 */
+	private int[] mCostTargets;
+	/**
+	 * The explicit costs of the turns, accessible by the position of the id
+	 * of the node they go to.
+	 */
+	private float[] mCosts;
+	/**
+	 * The ids of the nodes mandatory turns go to.
+	 */
+	private int[] mMandatoryTargets;
+
+	/**
+	 * Creates new restricted turns without restrictions.
+	 */
+	RestrictedTurns() {
+		this.mCostTargets = new int[0];
+		this.mCosts = new float[0];
+		this.mMandatoryTargets = new int[0];
+	}
+
+	/**
+	 * Adds the turn going to the given node as mandatory.
+	 * 
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 */
+	void addMandatoryTarget(final int toId) {
+		if (indexOf(this.mMandatoryTargets, toId) != -1) {
+			return;
+		}
+		final int amountOfMandatoryTargets = this.mMandatoryTargets.length;
+		this.mMandatoryTargets = Arrays.copyOf(this.mMandatoryTargets, amountOfMandatoryTargets + 1);
+		this.mMandatoryTargets[amountOfMandatoryTargets] = toId;
+	}
+
+	/**
+	 * Gets the explicit cost of the turn going to the given node.
+	 * 
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 * @return The cost of the turn or {@link #NO_COST} if it has no explicit
+	 *         cost
+	 */
+	float getCost(final int toId) {
+		final int position = indexOf(this.mCostTargets, toId);
+		if (position == -1) {
+			return NO_COST;
+		}
+		return this.mCosts[position];
+	}
+
+	/**
+	 * Whether there are mandatory turns, which forbid all other turns.
+	 * 
+	 * @return <tt>True</tt> if there are mandatory turns, <tt>false</tt>
+	 *         otherwise
+	 */
+	boolean hasMandatoryTargets() {
+		return this.mMandatoryTargets.length != 0;
+	}
+
+	/**
+	 * Whether the turn going to the given node is mandatory.
+	 * 
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 * @return <tt>True</tt> if the turn is mandatory, <tt>false</tt>
+	 *         otherwise
+	 */
+	boolean isMandatoryTarget(final int toId) {
+		return indexOf(this.mMandatoryTargets, toId) != -1;
+	}
+
+	/**
+	 * Sets the explicit cost of the turn going to the given node, replacing
+	 * any previous cost.
+	 * 
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 * @param cost
+	 *            The non-negative cost of the turn
+	 */
+	void setCost(final int toId, final float cost) {
+		final int position = indexOf(this.mCostTargets, toId);
+		if (position != -1) {
+			this.mCosts[position] = cost;
+			return;
+		}
+		final int amountOfCosts = this.mCostTargets.length;
+		this.mCostTargets = Arrays.copyOf(this.mCostTargets, amountOfCosts + 1);
+		this.mCosts = Arrays.copyOf(this.mCosts, amountOfCosts + 1);
+		this.mCostTargets[amountOfCosts] = toId;
+		this.mCosts[amountOfCosts] = cost;
+	}
+}
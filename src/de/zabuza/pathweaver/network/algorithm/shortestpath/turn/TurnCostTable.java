@@ -0,0 +1,243 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.util.LongObjectHashMap;
+
+/**
+ * Table of turn restrictions and turn costs, given by the ids of the node a
+ * turn comes from, the via node and the node it goes to. Turns which are not
+ * in the table are free, except for U-turns which cost
+ * {@link #getUTurnCost()}. Mandatory turns forbid all other turns coming
+ * from the same node at the via node, like the <tt>only_*</tt> restrictions
+ * of OSM.<br>
+ * <br>
+ * Only restricted turns are stored, the table is sparse and does not depend
+ * on the size of the network. Turns are grouped by the node they come from
+ * and the via node in a map with primitive keys, such that looking up the
+ * cost of a turn does not allocate any objects.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TurnCostTable implements ITurnCostProvider {
+	/**
+	 * Message of the exception thrown when a turn cost is negative or not a
+	 * number.
+	 */
+	private static final String EXCEPTION_COST_ILLEGAL = "The cost of a turn must not be negative: ";
+
+	/**
+	 * Gets the key of the turns coming from the given node at the given via
+	 * node.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turns come from
+	 * @param viaId
+	 *            The id of the node at which the turns happen
+	 * @return The key of the turns
+	 */
+	private static long toKey(final int fromId, final int viaId) {
+		return ((long) fromId << 32) | (viaId & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * The restricted turns, accessible by the key of the node they come from
+	 * and the via node, see {@link #toKey(int, int)}.
+	 */
+	private final LongObjectHashMap<RestrictedTurns> mKeyToTurns;
+	/**
+	 * The ids of all nodes which are part of a mandatory turn or of a turn
+	 * with an explicit cost.
+	 */
+	private final Set<Integer> mRestrictedNodeIds;
+	/**
+	 * The cost of U-turns which have no explicit cost.
+	 */
+	private float mUTurnCost;
+
+	/**
+	 * Creates a new table without restrictions in which U-turns are
+	 * forbidden.
+	 */
+	public TurnCostTable() {
+		this.mKeyToTurns = new LongObjectHashMap<>();
+		this.mRestrictedNodeIds = new HashSet<>();
+		this.mUTurnCost = Float.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Adds the given turn as mandatory. All turns coming from the same node at
+	 * the via node which are not mandatory are forbidden. Can be called
+	 * multiple times to allow multiple turns.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turn comes from
+	 * @param viaId
+	 *            The id of the node at which the turn happens
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 */
+	public void addMandatoryTurn(final int fromId, final int viaId, final int toId) {
+		getOrCreateTurns(fromId, viaId).addMandatoryTarget(toId);
+		addRestrictedNodes(fromId, viaId, toId);
+	}
+
+	/**
+	 * Forbids the given turn.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turn comes from
+	 * @param viaId
+	 *            The id of the node at which the turn happens
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 */
+	public void forbidTurn(final int fromId, final int viaId, final int toId) {
+		setTurnCost(fromId, viaId, toId, Float.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Gets the ids of all nodes which are part of a mandatory turn or of a
+	 * turn with an explicit cost, in any role. Simplifications of the network
+	 * must keep these nodes for the turns to stay valid.
+	 * 
+	 * @return An unmodifiable view of the ids of the restricted nodes
+	 */
+	public Set<Integer> getRestrictedNodeIds() {
+		return Collections.unmodifiableSet(this.mRestrictedNodeIds);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.shortestpath.turn.
+	 * ITurnCostProvider#getTurnCost(de.zabuza.pathweaver.network.
+	 * DirectedWeightedEdge, de.zabuza.pathweaver.network.DirectedWeightedEdge)
+	 */
+	@Override
+	public float getTurnCost(final DirectedWeightedEdge incomingEdge, final DirectedWeightedEdge outgoingEdge) {
+		return getTurnCost(incomingEdge.getSource().getId(), incomingEdge.getDestination().getId(),
+				outgoingEdge.getDestination().getId());
+	}
+
+	/**
+	 * Gets the cost of the given turn.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turn comes from
+	 * @param viaId
+	 *            The id of the node at which the turn happens
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 * @return The cost of the turn, or {@link Float#POSITIVE_INFINITY} if the
+	 *         turn is forbidden
+	 */
+	public float getTurnCost(final int fromId, final int viaId, final int toId) {
+		final RestrictedTurns turns = this.mKeyToTurns.isEmpty() ? null : this.mKeyToTurns.get(toKey(fromId, viaId));
+		if (turns == null) {
+			return fromId == toId ? this.mUTurnCost : 0.0f;
+		}
+		if (turns.hasMandatoryTargets() && !turns.isMandatoryTarget(toId)) {
+			return Float.POSITIVE_INFINITY;
+		}
+		final float cost = turns.getCost(toId);
+		if (cost != RestrictedTurns.NO_COST) {
+			return cost;
+		}
+		// Mandatory U-turns are not penalized
+		if (fromId == toId && !turns.hasMandatoryTargets()) {
+			return this.mUTurnCost;
+		}
+		return 0.0f;
+	}
+
+	/**
+	 * Gets the cost of U-turns which have no explicit cost.
+	 * 
+	 * @return The cost of U-turns, {@link Float#POSITIVE_INFINITY} if they are
+	 *         forbidden
+	 */
+	public float getUTurnCost() {
+		return this.mUTurnCost;
+	}
+
+	/**
+	 * Sets the cost of the given turn, replacing any previous cost.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turn comes from
+	 * @param viaId
+	 *            The id of the node at which the turn happens
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 * @param cost
+	 *            The non-negative cost of the turn,
+	 *            {@link Float#POSITIVE_INFINITY} forbids it
+	 * @throws IllegalArgumentException
+	 *             If the cost is negative or not a number
+	 */
+	public void setTurnCost(final int fromId, final int viaId, final int toId, final float cost)
+			throws IllegalArgumentException {
+		if (!(cost >= 0.0f)) {
+			throw new IllegalArgumentException(EXCEPTION_COST_ILLEGAL + cost);
+		}
+		getOrCreateTurns(fromId, viaId).setCost(toId, cost);
+		addRestrictedNodes(fromId, viaId, toId);
+	}
+
+	/**
+	 * Sets the cost of U-turns which have no explicit cost.
+	 * 
+	 * @param uTurnCost
+	 *            The non-negative cost of U-turns,
+	 *            {@link Float#POSITIVE_INFINITY} forbids them
+	 * @throws IllegalArgumentException
+	 *             If the cost is negative or not a number
+	 */
+	public void setUTurnCost(final float uTurnCost) throws IllegalArgumentException {
+		if (!(uTurnCost >= 0.0f)) {
+			throw new IllegalArgumentException(EXCEPTION_COST_ILLEGAL + uTurnCost);
+		}
+		this.mUTurnCost = uTurnCost;
+	}
+
+	/**
+	 * Adds the nodes of the given turn to the restricted nodes.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turn comes from
+	 * @param viaId
+	 *            The id of the node at which the turn happens
+	 * @param toId
+	 *            The id of the node the turn goes to
+	 */
+	private void addRestrictedNodes(final int fromId, final int viaId, final int toId) {
+		this.mRestrictedNodeIds.add(Integer.valueOf(fromId));
+		this.mRestrictedNodeIds.add(Integer.valueOf(viaId));
+		this.mRestrictedNodeIds.add(Integer.valueOf(toId));
+	}
+
+	/**
+	 * Gets the restricted turns coming from the given node at the given via
+	 * node, creating them if there are none yet.
+	 * 
+	 * @param fromId
+	 *            The id of the node the turns come from
+	 * @param viaId
+	 *            The id of the node at which the turns happen
+	 * @return The restricted turns
+	 */
+	private RestrictedTurns getOrCreateTurns(final int fromId, final int viaId) {
+		final long key = toKey(fromId, viaId);
+		RestrictedTurns turns = this.mKeyToTurns.get(key);
+		if (turns == null) {
+			turns = new RestrictedTurns();
+			this.mKeyToTurns.put(key, turns);
+		}
+		return turns;
+	}
+}
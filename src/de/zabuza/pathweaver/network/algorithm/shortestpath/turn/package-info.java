@@ -0,0 +1,5 @@
+/**
+ * This is the core package for turn restrictions, turn costs and edge-based
+ * shortest path computation of the network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
\ No newline at end of file
@@ -0,0 +1,40 @@
+package de.zabuza.pathweaver.network.algorithm.wcc;
+
+import java.util.List;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Interface for algorithm which solve weakly connected component computation
+ * tasks in {@link PathNetwork}s.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface IWccComputation {
+	/**
+	 * Gets the largest weakly connected component of the network specified by
+	 * {@link #getPathNetwork()}. There is no condition on how ties should get
+	 * broken if there are multiple largest WCCs.
+	 * 
+	 * @return The largest WCC of the graph
+	 */
+	public WeaklyConnectedComponent getLargestWcc();
+
+	/**
+	 * Gets the path network this object works on.
+	 * 
+	 * @return The path network this object works on
+	 */
+	public IPathNetwork getPathNetwork();
+
+	/**
+	 * Gets a list of all weakly connected component of the network specified
+	 * by {@link #getPathNetwork()}. Each node must be contained in exactly one
+	 * WCC.
+	 * 
+	 * @return A list of all WCCs of the graph
+	 */
+	public List<WeaklyConnectedComponent> getWccs();
+}
@@ -0,0 +1,202 @@
+package de.zabuza.pathweaver.network.algorithm.wcc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import de.zabuza.pathweaver.network.IPathNetwork;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Union-find based weakly connected component algorithm which solves weakly
+ * connected component computation tasks in {@link PathNetwork}s.<br>
+ * <br>
+ * The computation works on an {@link IndexedNetwork}. Each node has a parent
+ * in a forest, nodes of the same tree belong to the same WCC. The edges are
+ * processed in parallel by a {@link ForkJoinPool}, each edge unites the trees
+ * of its endpoints. The forest is shared without locks: parents are only
+ * changed by compare-and-set and roots are always linked to roots with a
+ * smaller index, which prevents cycles. Finding roots compresses paths by
+ * halving.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class UnionFindWccComputation implements IWccComputation {
+	/**
+	 * Value for roots which were not assigned to a WCC yet.
+	 */
+	private static final int NO_WCC = -1;
+
+	/**
+	 * The largest WCC.
+	 */
+	private WeaklyConnectedComponent mLargestWcc;
+	/**
+	 * The array-based snapshot of the network.
+	 */
+	private final IndexedNetwork mNetwork;
+	/**
+	 * The parent of each node in the union-find forest, roots are their own
+	 * parent.
+	 */
+	private final AtomicIntegerArray mParents;
+	/**
+	 * The list of all WCCs.
+	 */
+	private final List<WeaklyConnectedComponent> mWccs;
+
+	/**
+	 * Creates a new weakly connected component computation object and starts
+	 * the computation using the common {@link ForkJoinPool}.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 */
+	public UnionFindWccComputation(final IPathNetwork network) {
+		this(network, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new weakly connected component computation object and starts
+	 * the computation using the given pool.
+	 * 
+	 * @param network
+	 *            The network to work on
+	 * @param pool
+	 *            The pool to execute the computation in
+	 */
+	public UnionFindWccComputation(final IPathNetwork network, final ForkJoinPool pool) {
+		this.mNetwork = new IndexedNetwork(network);
+		final int amountOfNodes = this.mNetwork.getAmountOfNodes();
+		this.mParents = new AtomicIntegerArray(amountOfNodes);
+		for (int node = 0; node < amountOfNodes; node++) {
+			this.mParents.set(node, node);
+		}
+		this.mWccs = new ArrayList<>();
+
+		// Parallel streams run in the pool they are started from
+		pool.submit(() -> IntStream.range(0, this.mNetwork.getAmountOfEdges()).parallel()
+				.forEach(edge -> union(this.mNetwork.getSource(edge), this.mNetwork.getDestination(edge)))).join();
+
+		collectWccs();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.wcc.IWccComputation#getLargestWcc(
+	 * )
+	 */
+	@Override
+	public WeaklyConnectedComponent getLargestWcc() {
+		return this.mLargestWcc;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.algorithm.wcc.IWccComputation#getPathNetwork
+	 * ()
+	 */
+	@Override
+	public IPathNetwork getPathNetwork() {
+		return this.mNetwork.getPathNetwork();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.pathweaver.network.algorithm.wcc.IWccComputation#getWccs()
+	 */
+	@Override
+	public List<WeaklyConnectedComponent> getWccs() {
+		return this.mWccs;
+	}
+
+	/**
+	 * Creates the WCC objects out of the union-find forest. The root of each
+	 * tree becomes the root node of its WCC.
+	 */
+	private void collectWccs() {
+		final int amountOfNodes = this.mNetwork.getAmountOfNodes();
+		final int[] rootToWcc = new int[amountOfNodes];
+		Arrays.fill(rootToWcc, NO_WCC);
+		final List<WeaklyConnectedComponent> wccs = this.mWccs;
+		for (int node = 0; node < amountOfNodes; node++) {
+			final int root = find(node);
+			if (rootToWcc[root] == NO_WCC) {
+				rootToWcc[root] = wccs.size();
+				wccs.add(new WeaklyConnectedComponent());
+			}
+			wccs.get(rootToWcc[root]).addNode(this.mNetwork.getNode(node));
+		}
+
+		int largestWccSize = -1;
+		for (int root = 0; root < amountOfNodes; root++) {
+			if (rootToWcc[root] == NO_WCC) {
+				continue;
+			}
+			final WeaklyConnectedComponent wcc = wccs.get(rootToWcc[root]);
+			wcc.setRootNode(this.mNetwork.getNode(root));
+			if (wcc.getSize() > largestWccSize) {
+				largestWccSize = wcc.getSize();
+				this.mLargestWcc = wcc;
+			}
+		}
+	}
+
+	/**
+	 * Finds the root of the tree the given node belongs to. Halves the path
+	 * from the node to the root on the way.
+	 * 
+	 * @param node
+	 *            The node to find the root of
+	 * @return The root of the tree the node belongs to
+	 */
+	private int find(final int node) {
+		int current = node;
+		int parent = this.mParents.get(current);
+		while (parent != current) {
+			final int grandParent = this.mParents.get(parent);
+			if (grandParent != parent) {
+				// Failing is fine since other threads only move nodes upwards
+				this.mParents.compareAndSet(current, parent, grandParent);
+			}
+			current = grandParent;
+			parent = this.mParents.get(current);
+		}
+		return current;
+	}
+
+	/**
+	 * Unites the trees the given nodes belong to.
+	 * 
+	 * @param first
+	 *            The first node
+	 * @param second
+	 *            The second node
+	 */
+	private void union(final int first, final int second) {
+		while (true) {
+			final int firstRoot = find(first);
+			final int secondRoot = find(second);
+			if (firstRoot == secondRoot) {
+				return;
+			}
+			// Link the root with the greater index, the link fails if it is not
+			// a root anymore
+			final int lowerRoot = Math.min(firstRoot, secondRoot);
+			final int greaterRoot = Math.max(firstRoot, secondRoot);
+			if (this.mParents.compareAndSet(greaterRoot, greaterRoot, lowerRoot)) {
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package de.zabuza.pathweaver.network.algorithm.wcc;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.Node;
+
+/**
+ * Class for weakly connected components of directed graphs, i.e. components
+ * which are connected if the direction of the edges is ignored.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class WeaklyConnectedComponent {
+	/**
+	 * Message which is shown when trying to modify the WCC though the root node
+	 * has already been set.
+	 */
+	private final static String ROOT_SET_METHOD_UNSUPPORTED = "If root node is set, WCC may not be modified.";
+	/**
+	 * A set of all nodes that belong to this WCC.
+	 */
+	private final HashSet<Node> mNodes;
+	/**
+	 * The root node of this WCC.
+	 */
+	private Node mRootNode;
+
+	/**
+	 * Creates a new empty weakly connected component.
+	 */
+	public WeaklyConnectedComponent() {
+		this.mNodes = new HashSet<>();
+	}
+
+	/**
+	 * Adds a given node to the WCC.
+	 * 
+	 * @param node
+	 *            The node to add
+	 * @throws UnsupportedOperationException
+	 *             If the root node was already set, since the WCC may not be
+	 *             modified after this
+	 */
+	public void addNode(final Node node) throws UnsupportedOperationException {
+		if (this.mRootNode != null) {
+			throw new UnsupportedOperationException(ROOT_SET_METHOD_UNSUPPORTED);
+		}
+		final boolean wasAlreadyContained = this.mNodes.add(node);
+		assert wasAlreadyContained;
+	}
+
+	/**
+	 * Gets an unmodifiable set of all nodes that belong to this WCC.
+	 * 
+	 * @return An unmodifiable set of all nodes that belong to this WCC
+	 */
+	public Set<Node> getNodes() {
+		return Collections.unmodifiableSet(this.mNodes);
+	}
+
+	/**
+	 * Gets the root node of this WCC. If a root node was set, the WCC may not
+	 * be modified.
+	 * 
+	 * @return The root node of this WCC
+	 */
+	public Node getRootNode() {
+		return this.mRootNode;
+	}
+
+	/**
+	 * Gets the size of the WCC which is the amount of nodes.
+	 * 
+	 * @return The size of the WCC which is the amount of nodes
+	 */
+	public int getSize() {
+		return this.mNodes.size();
+	}
+
+	/**
+	 * Sets the root node.
+	 * 
+	 * @param rootNode
+	 *            The root node to set
+	 * @throws UnsupportedOperationException
+	 *             If the root node was already set, since the WCC may not be
+	 *             modified after this
+	 */
+	public void setRootNode(final Node rootNode) throws UnsupportedOperationException {
+		if (this.mRootNode != null) {
+			throw new UnsupportedOperationException(ROOT_SET_METHOD_UNSUPPORTED);
+		}
+		this.mRootNode = rootNode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.mNodes.toString();
+	}
+
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the core package for weakly connected component algorithms for the
+ * network API.
+ */
+package de.zabuza.pathweaver.network.algorithm.wcc;
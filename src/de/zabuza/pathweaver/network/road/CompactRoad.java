@@ -0,0 +1,89 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable compact form of a {@link Road} which only keeps what turn
+ * restrictions need, i.e. its id, the ids of its nodes and the directions in
+ * which it can be travelled. Used to resolve the turn restrictions of an
+ * OSM-file, which refer to roads read before, without keeping all roads.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class CompactRoad {
+	/**
+	 * Whether the road can be travelled against the direction of its nodes.
+	 */
+	private final boolean mHasBackward;
+	/**
+	 * Whether the road can be travelled in the direction of its nodes.
+	 */
+	private final boolean mHasForward;
+	/**
+	 * The id of the road.
+	 */
+	private final int mId;
+	/**
+	 * The ids of the nodes of the road, in order.
+	 */
+	private final int[] mNodeIds;
+
+	/**
+	 * Creates a compact form of the given road.
+	 * 
+	 * @param road
+	 *            The road to create a compact form of
+	 */
+	public CompactRoad(final Road road) {
+		this.mId = road.getId();
+		this.mNodeIds = new int[road.getRoadNodesAmount()];
+		final Iterator<Integer> roadNodesIter = road.getRoadNodes();
+		for (int i = 0; roadNodesIter.hasNext(); i++) {
+			this.mNodeIds[i] = roadNodesIter.next().intValue();
+		}
+		// One-way roads can only be travelled in one direction of their nodes
+		this.mHasForward = !road.isOneway() || !road.isReversed();
+		this.mHasBackward = !road.isOneway() || road.isReversed();
+	}
+
+	/**
+	 * Collects the ids of the nodes adjacent to the given via node which are
+	 * connected to it by the road in the given direction.
+	 * 
+	 * @param viaNodeId
+	 *            The id of the via node
+	 * @param isTowardsVia
+	 *            Whether the adjacent nodes are those from which the road
+	 *            leads to the via node or those to which it leads from the via
+	 *            node
+	 * @return The ids of the adjacent nodes, empty if the road does not contain
+	 *         the via node
+	 */
+	public Set<Integer> collectAdjacentRoadNodes(final int viaNodeId, final boolean isTowardsVia) {
+		final Set<Integer> adjacentNodes = new HashSet<>();
+		for (int i = 0; i < this.mNodeIds.length; i++) {
+			if (this.mNodeIds[i] != viaNodeId) {
+				continue;
+			}
+			if (i > 0 && (isTowardsVia ? this.mHasForward : this.mHasBackward)) {
+				adjacentNodes.add(Integer.valueOf(this.mNodeIds[i - 1]));
+			}
+			if (i < this.mNodeIds.length - 1 && (isTowardsVia ? this.mHasBackward : this.mHasForward)) {
+				adjacentNodes.add(Integer.valueOf(this.mNodeIds[i + 1]));
+			}
+		}
+		return adjacentNodes;
+	}
+
+	/**
+	 * Gets the id of the road.
+	 * 
+	 * @return The id of the road
+	 */
+	public int getId() {
+		return this.mId;
+	}
+}
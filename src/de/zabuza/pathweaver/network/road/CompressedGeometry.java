@@ -0,0 +1,139 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Immutable compressed sequence of coordinates, used for the shape points of
+ * edges which replace chains of roads, see {@link RoadNetwork#contractChains()}.
+ * The coordinates are stored in millionths of a degree, each as the difference
+ * to the previous coordinate, zigzag-encoded as variable-length integer. Since
+ * shape points are close to each other, most of them need two bytes per
+ * coordinate instead of four.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompressedGeometry {
+	/**
+	 * Message of the exception thrown when the coordinates do not consist of
+	 * pairs of latitude and longitude.
+	 */
+	private static final String EXCEPTION_COORDINATES_NOT_PAIRED = "The coordinates must consist of pairs of latitude and longitude, but the amount is: ";
+	/**
+	 * The factor by which coordinates are scaled before being encoded.
+	 */
+	private static final double PRECISION = 1e6;
+
+	/**
+	 * Encodes the given value with zigzag-encoding, which maps values of small
+	 * magnitude to small unsigned values.
+	 * 
+	 * @param value
+	 *            The value to encode
+	 * @return The zigzag-encoded value
+	 */
+	private static long toZigzag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Writes the given value as unsigned variable-length integer.
+	 * 
+	 * @param value
+	 *            The value to write
+	 * @param data
+	 *            The stream to write to
+	 */
+	private static void writeVarint(final long value, final ByteArrayOutputStream data) {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0) {
+			data.write((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		data.write((int) remaining);
+	}
+
+	/**
+	 * The amount of points of the geometry.
+	 */
+	private final int mAmountOfPoints;
+	/**
+	 * The encoded differences of the coordinates.
+	 */
+	private final byte[] mData;
+
+	/**
+	 * Creates a new geometry of the given coordinates.
+	 * 
+	 * @param coordinates
+	 *            The coordinates of the points in degrees, the latitude of a
+	 *            point followed by its longitude
+	 * @throws IllegalArgumentException
+	 *             If the amount of coordinates is odd
+	 */
+	public CompressedGeometry(final float[] coordinates) throws IllegalArgumentException {
+		if (coordinates.length % 2 != 0) {
+			throw new IllegalArgumentException(EXCEPTION_COORDINATES_NOT_PAIRED + coordinates.length);
+		}
+		final ByteArrayOutputStream data = new ByteArrayOutputStream(coordinates.length * 2);
+		long previousLatitude = 0L;
+		long previousLongitude = 0L;
+		for (int i = 0; i < coordinates.length; i += 2) {
+			final long latitude = Math.round(coordinates[i] * PRECISION);
+			final long longitude = Math.round(coordinates[i + 1] * PRECISION);
+			writeVarint(toZigzag(latitude - previousLatitude), data);
+			writeVarint(toZigzag(longitude - previousLongitude), data);
+			previousLatitude = latitude;
+			previousLongitude = longitude;
+		}
+		this.mData = data.toByteArray();
+		this.mAmountOfPoints = coordinates.length / 2;
+	}
+
+	/**
+	 * Decodes the coordinates of the geometry.
+	 * 
+	 * @return The coordinates of the points in degrees, the latitude of a
+	 *         point followed by its longitude
+	 */
+	public float[] decode() {
+		final float[] coordinates = new float[this.mAmountOfPoints * 2];
+		// Latitudes and longitudes are differences to their own predecessors
+		final long[] previousValues = new long[2];
+		int position = 0;
+		for (int i = 0; i < coordinates.length; i++) {
+			long zigzag = 0L;
+			int shift = 0;
+			byte current;
+			do {
+				current = this.mData[position];
+				position++;
+				zigzag |= (long) (current & 0x7F) << shift;
+				shift += 7;
+			} while ((current & 0x80) != 0);
+
+			final long value = previousValues[i % 2] + ((zigzag >>> 1) ^ -(zigzag & 1));
+			previousValues[i % 2] = value;
+			coordinates[i] = (float) (value / PRECISION);
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Gets the amount of points of the geometry.
+	 * 
+	 * @return The amount of points of the geometry
+	 */
+	public int getAmountOfPoints() {
+		return this.mAmountOfPoints;
+	}
+
+	/**
+	 * Gets the amount of bytes the encoded coordinates need.
+	 * 
+	 * @return The amount of bytes the encoded coordinates need
+	 */
+	public int getSizeInBytes() {
+		return this.mData.length;
+	}
+}
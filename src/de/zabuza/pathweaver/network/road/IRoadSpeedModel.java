@@ -0,0 +1,25 @@
+package de.zabuza.pathweaver.network.road;
+
+/**
+ * Interface for models which determine the average speed on a road from its
+ * type and tags. The costs of the edges of a {@link RoadNetwork} are the
+ * travel times resulting from the speeds of their roads.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@FunctionalInterface
+public interface IRoadSpeedModel {
+	/**
+	 * Gets the average speed on the given road. In order to keep the
+	 * {@link de.zabuza.pathweaver.network.algorithm.metric.StraightLineRoadTimeMetric}
+	 * admissible, the speed should not exceed the average speed of
+	 * {@link RoadUtil#getFastestRoadType()}.
+	 * 
+	 * @param road
+	 *            The road to get the speed of
+	 * @return The average speed on the road in km/h, or a speed which is not
+	 *         positive if the road may not be used at all
+	 */
+	public float getSpeed(final Road road);
+}
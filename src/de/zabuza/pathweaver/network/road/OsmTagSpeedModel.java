@@ -0,0 +1,44 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.Optional;
+
+/**
+ * Speed model which uses the OSM tags of a road. Roads which may not be
+ * accessed are not used. The speed on a road is its tagged maximal speed, or
+ * the average speed of its type if not tagged. It is limited on unpaved roads
+ * and never exceeds the average speed of {@link RoadUtil#getFastestRoadType()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class OsmTagSpeedModel implements IRoadSpeedModel {
+	/**
+	 * The maximal average speed on unpaved roads in km/h.
+	 */
+	private static final float UNPAVED_MAX_SPEED = 30;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.pathweaver.network.road.IRoadSpeedModel#getSpeed(de.zabuza.
+	 * pathweaver.network.road.Road)
+	 */
+	@Override
+	public float getSpeed(final Road road) {
+		if (!road.isAccessible()) {
+			return 0.0f;
+		}
+		final Optional<Float> maxSpeed = road.getMaxSpeed();
+		float speed;
+		if (maxSpeed.isPresent()) {
+			speed = maxSpeed.get().floatValue();
+		} else {
+			speed = RoadUtil.getAverageSpeedOfRoadType(road.getRoadType());
+		}
+		if (road.isUnpaved()) {
+			speed = Math.min(speed, UNPAVED_MAX_SPEED);
+		}
+		return Math.min(speed, RoadUtil.getAverageSpeedOfRoadType(RoadUtil.getFastestRoadType()));
+	}
+}
@@ -3,24 +3,55 @@ package de.zabuza.pathweaver.network.road;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 
 import de.zabuza.pathweaver.util.ReverseIterator;
 
 /**
- * Data container used for constructing roads.
+ * Data container used for constructing roads. Besides its nodes and type it
+ * holds the tags of the road which influence its speed, they are evaluated by
+ * an {@link IRoadSpeedModel}.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class Road {
+	/**
+	 * Message of the exception thrown when setting a maximal speed which is not
+	 * positive.
+	 */
+	private static final String EXCEPTION_MAX_SPEED_ILLEGAL = "The maximal speed must be positive: ";
+	/**
+	 * Value of the maximal speed which indicates that it is not known.
+	 */
+	private static final float NO_MAX_SPEED = 0.0f;
+
 	/**
 	 * The id of the road.
 	 */
 	private final int mId;
+	/**
+	 * Whether vehicles may access the road or not.
+	 */
+	private boolean mIsAccessible;
 	/**
 	 * Whether the road is only one-way or not.
 	 */
 	private boolean mIsOneway;
+	/**
+	 * Whether the direction of a one-way road is against the order of its
+	 * nodes or not.
+	 */
+	private boolean mIsReversed;
+	/**
+	 * Whether the surface of the road is unpaved or not.
+	 */
+	private boolean mIsUnpaved;
+	/**
+	 * The maximal speed on the road in km/h, {@link #NO_MAX_SPEED} if not
+	 * known.
+	 */
+	private float mMaxSpeed;
 	/**
 	 * The list of IDs of the road nodes that belong to the road.
 	 */
@@ -39,7 +70,11 @@ public final class Road {
 	 */
 	public Road(final int id) {
 		this.mId = id;
+		this.mIsAccessible = true;
 		this.mIsOneway = false;
+		this.mIsReversed = false;
+		this.mIsUnpaved = false;
+		this.mMaxSpeed = NO_MAX_SPEED;
 		this.mRoadType = ERoadType.UNCLASSIFIED;
 		this.mNodes = new LinkedList<>();
 	}
@@ -87,6 +122,19 @@ public final class Road {
 		return this.mId;
 	}
 
+	/**
+	 * Gets the maximal speed on the road.
+	 * 
+	 * @return The maximal speed on the road in km/h if present, if not present
+	 *         it is not known
+	 */
+	public Optional<Float> getMaxSpeed() {
+		if (this.mMaxSpeed == NO_MAX_SPEED) {
+			return Optional.empty();
+		}
+		return Optional.of(Float.valueOf(this.mMaxSpeed));
+	}
+
 	/**
 	 * Gets an iterator over the IDs of the road nodes belonging to this road.
 	 * 
@@ -138,6 +186,15 @@ public final class Road {
 		return result;
 	}
 
+	/**
+	 * Gets whether vehicles may access the road or not.
+	 * 
+	 * @return Whether vehicles may access the road or not
+	 */
+	public boolean isAccessible() {
+		return this.mIsAccessible;
+	}
+
 	/**
 	 * Gets whether the road to construct is only one-way or no.
 	 * 
@@ -147,6 +204,36 @@ public final class Road {
 		return this.mIsOneway;
 	}
 
+	/**
+	 * Gets whether the direction of the road, if it is one-way, is against the
+	 * order of its nodes or not.
+	 * 
+	 * @return Whether the direction of the road is against the order of its
+	 *         nodes or not
+	 */
+	public boolean isReversed() {
+		return this.mIsReversed;
+	}
+
+	/**
+	 * Gets whether the surface of the road is unpaved or not.
+	 * 
+	 * @return Whether the surface of the road is unpaved or not
+	 */
+	public boolean isUnpaved() {
+		return this.mIsUnpaved;
+	}
+
+	/**
+	 * Sets whether vehicles may access the road or not.
+	 * 
+	 * @param isAccessible
+	 *            If vehicles may access the road or not
+	 */
+	public void setIsAccessible(final boolean isAccessible) {
+		this.mIsAccessible = isAccessible;
+	}
+
 	/**
 	 * Set whether the road is only one-way or not.
 	 * 
@@ -157,6 +244,43 @@ public final class Road {
 		this.mIsOneway = isOneway;
 	}
 
+	/**
+	 * Sets whether the direction of the road, if it is one-way, is against the
+	 * order of its nodes or not.
+	 * 
+	 * @param isReversed
+	 *            If the direction of the road is against the order of its
+	 *            nodes or not
+	 */
+	public void setIsReversed(final boolean isReversed) {
+		this.mIsReversed = isReversed;
+	}
+
+	/**
+	 * Sets whether the surface of the road is unpaved or not.
+	 * 
+	 * @param isUnpaved
+	 *            If the surface of the road is unpaved or not
+	 */
+	public void setIsUnpaved(final boolean isUnpaved) {
+		this.mIsUnpaved = isUnpaved;
+	}
+
+	/**
+	 * Sets the maximal speed on the road.
+	 * 
+	 * @param maxSpeed
+	 *            The maximal speed on the road in km/h
+	 * @throws IllegalArgumentException
+	 *             If the maximal speed is not positive
+	 */
+	public void setMaxSpeed(final float maxSpeed) throws IllegalArgumentException {
+		if (!(maxSpeed > 0.0f) || Float.isInfinite(maxSpeed)) {
+			throw new IllegalArgumentException(EXCEPTION_MAX_SPEED_ILLEGAL + maxSpeed);
+		}
+		this.mMaxSpeed = maxSpeed;
+	}
+
 	/**
 	 * Sets the type of the road to construct.
 	 * 
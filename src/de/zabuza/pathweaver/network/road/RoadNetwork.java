@@ -6,28 +6,56 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.zabuza.pathweaver.network.CompactPath;
 import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IndexedNetwork;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.PathNetwork;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.profile.ProfileCosts;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.turn.TurnCostTable;
 
 /**
  * A path network which consists of roads and road crossings. The cost of a road
- * is measured in seconds.
+ * is measured in seconds. Turn restrictions of the network are collected in
+ * its {@link TurnCostTable}, they are respected by edge-based searches. The
+ * road type of every edge is kept, such that costs for other vehicles can be
+ * created as {@link RoadProfile} without importing the network again. The
+ * speeds on roads are determined by an {@link IRoadSpeedModel}, by default an
+ * {@link OsmTagSpeedModel}. Chains of roads without junctions can be
+ * contracted into single edges by {@link #contractChains()}, the shape of the
+ * contracted roads is kept as {@link CompressedGeometry} of the edges.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class RoadNetwork extends PathNetwork {
 
+	/**
+	 * The speed model used if none is given.
+	 */
+	private static final IRoadSpeedModel DEFAULT_SPEED_MODEL = new OsmTagSpeedModel();
 	/**
 	 * The exception message shown when trying to construct a road with less
 	 * than 2 road nodes.
 	 */
 	private static final String ILLEGAL_AMOUNT_OF_ROAD_NODES = "A road must contain at least 2 road nodes to be constructed.";
+	/**
+	 * The initial capacity of the array of road types of the edges.
+	 */
+	private static final int INITIAL_ROAD_TYPES_CAPACITY = 16;
 	/**
 	 * The regex needle used for matching nodes in lines of the OSM-format.
 	 */
@@ -47,6 +75,47 @@ public final class RoadNetwork extends PathNetwork {
 	 * needle for matching nodes in lines of the OSM-format.
 	 */
 	private final static int OSM_NEEDLE_NODE_GROUP_LON = 3;
+	/**
+	 * The regex needle used for matching relation ends in lines of the
+	 * OSM-format.
+	 */
+	private final static String OSM_NEEDLE_RELATION_END = "\\A\\s*<\\s*\\/relation>";
+	/**
+	 * The regex needle used for matching members of turn restriction relations
+	 * in lines of the OSM-format.
+	 */
+	private final static String OSM_NEEDLE_RELATION_MEMBER = "\\A\\s*<member\\s*type\\s*=\\s*\"(node|way)\"\\s*ref\\s*=\\s*\"(-?\\d+)\"\\s*role\\s*=\\s*\"(from|via|to)\".*\\/?>";
+	/**
+	 * The number of the capturing group for a member reference. Used in the
+	 * regex needle for matching relation members in lines of the OSM-format.
+	 */
+	private final static int OSM_NEEDLE_RELATION_MEMBER_GROUP_REF = 2;
+	/**
+	 * The number of the capturing group for a member role. Used in the regex
+	 * needle for matching relation members in lines of the OSM-format.
+	 */
+	private final static int OSM_NEEDLE_RELATION_MEMBER_GROUP_ROLE = 3;
+	/**
+	 * The number of the capturing group for a member type. Used in the regex
+	 * needle for matching relation members in lines of the OSM-format.
+	 */
+	private final static int OSM_NEEDLE_RELATION_MEMBER_GROUP_TYPE = 1;
+	/**
+	 * The regex needle used for matching the kind of turn restrictions in
+	 * lines of the OSM-format.
+	 */
+	private final static String OSM_NEEDLE_RELATION_RESTRICTION = "\\A\\s*<tag\\s*k\\s*=\\s*\"restriction\"\\s*v\\s*=\\s*\"(no|only)_[a-z_]+\".*\\/?>";
+	/**
+	 * The number of the capturing group for a restriction kind, either
+	 * <tt>no</tt> or <tt>only</tt>. Used in the regex needle for matching turn
+	 * restrictions in lines of the OSM-format.
+	 */
+	private final static int OSM_NEEDLE_RELATION_RESTRICTION_GROUP_KIND = 1;
+	/**
+	 * The regex needle used for matching relation starts in lines of the
+	 * OSM-format.
+	 */
+	private final static String OSM_NEEDLE_RELATION_START = "\\A\\s*<relation\\s*id\\s*=\\s*\"(-?\\d+)\".*>";
 	/**
 	 * The regex needle used for matching road ends in lines of the OSM-format.
 	 */
@@ -61,11 +130,6 @@ public final class RoadNetwork extends PathNetwork {
 	 * regex needle for matching road entries in lines of the OSM-format.
 	 */
 	private final static int OSM_NEEDLE_ROAD_ENTRY_GROUP_REF = 1;
-	/**
-	 * The regex needle used for matching road one-way property in lines of the
-	 * OSM-format.
-	 */
-	private final static String OSM_NEEDLE_ROAD_ONEWAY = "\\A\\s*<tag\\s*k\\s*=\\s*\"oneway\"\\s*v\\s*=\\s*\"yes\".*\\/?>";
 	/**
 	 * The regex needle used for matching road starts in lines of the
 	 * OSM-format.
@@ -77,14 +141,23 @@ public final class RoadNetwork extends PathNetwork {
 	 */
 	private final static int OSM_NEEDLE_ROAD_START_GROUP_ID = 1;
 	/**
-	 * The regex needle used for matching road types in lines of the OSM-format.
+	 * The regex needle used for matching road tags in lines of the OSM-format.
+	 */
+	private final static String OSM_NEEDLE_ROAD_TAG = "\\A\\s*<tag\\s*k\\s*=\\s*\"([^\"]+)\"\\s*v\\s*=\\s*\"([^\"]*)\".*\\/?>";
+	/**
+	 * The number of the capturing group for a tag key. Used in the regex needle
+	 * for matching road tags in lines of the OSM-format.
 	 */
-	private final static String OSM_NEEDLE_ROAD_TYPE = "\\A\\s*<tag\\s*k\\s*=\\s*\"highway\"\\s*v\\s*=\\s*\"(.+)\".*\\/?>";
+	private final static int OSM_NEEDLE_ROAD_TAG_GROUP_KEY = 1;
 	/**
-	 * The number of the capturing group for a road type. Used in the regex
-	 * needle for matching road types in lines of the OSM-format.
+	 * The number of the capturing group for a tag value. Used in the regex
+	 * needle for matching road tags in lines of the OSM-format.
 	 */
-	private final static int OSM_NEEDLE_ROAD_TYPE_GROUP_TYPE = 1;
+	private final static int OSM_NEEDLE_ROAD_TAG_GROUP_VALUE = 2;
+	/**
+	 * All road types, accessible by their ordinal.
+	 */
+	private static final ERoadType[] ROAD_TYPES = ERoadType.values();
 	/**
 	 * Exception message which is shown when the unsupported operation
 	 * {@link #addEdge(Node, Node, float)} is called.
@@ -107,9 +180,28 @@ public final class RoadNetwork extends PathNetwork {
 	 * @throws IOException
 	 *             If an I/O-Exception occurred
 	 */
-	@SuppressWarnings("resource")
 	public static RoadNetwork createFromOsmFile(final File osmFile) throws FileNotFoundException, IOException {
-		return createFromOsmReader(new FileReader(osmFile));
+		return createFromOsmFile(osmFile, DEFAULT_SPEED_MODEL);
+	}
+
+	/**
+	 * Creates a road network from a given file in the OSM-format, using the
+	 * given model for the speeds on its roads.
+	 * 
+	 * @param osmFile
+	 *            File which contains the road network in the OSM-format
+	 * @param speedModel
+	 *            The model which determines the speeds on the roads
+	 * @return The road network created from the file
+	 * @throws FileNotFoundException
+	 *             If the given file was not found
+	 * @throws IOException
+	 *             If an I/O-Exception occurred
+	 */
+	@SuppressWarnings("resource")
+	public static RoadNetwork createFromOsmFile(final File osmFile, final IRoadSpeedModel speedModel)
+			throws FileNotFoundException, IOException {
+		return createFromOsmReader(new FileReader(osmFile), speedModel);
 	}
 
 	/**
@@ -123,22 +215,57 @@ public final class RoadNetwork extends PathNetwork {
 	 *             If an I/O-Exception occurred
 	 */
 	public static RoadNetwork createFromOsmReader(final Reader osmReader) throws IOException {
+		return createFromOsmReader(osmReader, DEFAULT_SPEED_MODEL);
+	}
+
+	/**
+	 * Creates a road network from a given reader stream whose content is in the
+	 * OSM-format, using the given model for the speeds on its roads. Besides
+	 * the <tt>highway</tt> and <tt>oneway</tt> tags of roads, the tags
+	 * <tt>maxspeed</tt>, <tt>access</tt>, <tt>surface</tt> and
+	 * <tt>junction=roundabout</tt> are read and passed to the model by the
+	 * roads.
+	 * 
+	 * @param osmReader
+	 *            The stream reader whose content is in the OSM-format
+	 * @param speedModel
+	 *            The model which determines the speeds on the roads
+	 * @return The road network created from the reader
+	 * @throws IOException
+	 *             If an I/O-Exception occurred
+	 */
+	public static RoadNetwork createFromOsmReader(final Reader osmReader, final IRoadSpeedModel speedModel)
+			throws IOException {
 		RoadNetwork network = null;
 		BufferedReader br = null;
 		try {
 			br = new BufferedReader(osmReader);
 			network = new RoadNetwork();
-			final Pattern nodePattern = Pattern.compile(OSM_NEEDLE_NODE);
-			final Pattern roadStartPattern = Pattern.compile(OSM_NEEDLE_ROAD_START);
-			final Pattern roadEntryPattern = Pattern.compile(OSM_NEEDLE_ROAD_ENTRY);
-			final Pattern roadTypePattern = Pattern.compile(OSM_NEEDLE_ROAD_TYPE);
-			final Pattern roadOnewayPattern = Pattern.compile(OSM_NEEDLE_ROAD_ONEWAY);
-			final Pattern roadEndPattern = Pattern.compile(OSM_NEEDLE_ROAD_END);
+			// Matchers are reset for every line instead of being created again
+			final Matcher nodeMatcher = Pattern.compile(OSM_NEEDLE_NODE).matcher("");
+			final Matcher roadStartMatcher = Pattern.compile(OSM_NEEDLE_ROAD_START).matcher("");
+			final Matcher roadEntryMatcher = Pattern.compile(OSM_NEEDLE_ROAD_ENTRY).matcher("");
+			final Matcher roadTagMatcher = Pattern.compile(OSM_NEEDLE_ROAD_TAG).matcher("");
+			final Matcher roadEndMatcher = Pattern.compile(OSM_NEEDLE_ROAD_END).matcher("");
+			final Matcher relationStartMatcher = Pattern.compile(OSM_NEEDLE_RELATION_START).matcher("");
+			final Matcher relationMemberMatcher = Pattern.compile(OSM_NEEDLE_RELATION_MEMBER).matcher("");
+			final Matcher relationRestrictionMatcher = Pattern.compile(OSM_NEEDLE_RELATION_RESTRICTION).matcher("");
+			final Matcher relationEndMatcher = Pattern.compile(OSM_NEEDLE_RELATION_END).matcher("");
 			Matcher matcher;
 
 			boolean insideRoadDefinition = false;
 			Road currentRoad = null;
 			boolean rejectTheCurrentRoadConstructionData = false;
+			// Compact forms of roads are only kept while reading to resolve
+			// turn restrictions
+			final Map<Integer, CompactRoad> idToRoad = new HashMap<>();
+
+			boolean insideRelationDefinition = false;
+			Integer restrictionFromRoadId = null;
+			Integer restrictionViaNodeId = null;
+			Integer restrictionToRoadId = null;
+			String restrictionKind = null;
+			boolean rejectTheCurrentRelationData = false;
 			boolean matchedLine = false;
 			while (br.ready()) {
 				final String line = br.readLine();
@@ -152,7 +279,7 @@ public final class RoadNetwork extends PathNetwork {
 				if (!matchedLine && insideRoadDefinition) {
 					// Match an entry of the road
 					if (!matchedLine) {
-						matcher = roadEntryPattern.matcher(line);
+						matcher = roadEntryMatcher.reset(line);
 						if (matcher.find()) {
 							matchedLine = true;
 							final int ref = Integer.parseInt(matcher.group(OSM_NEEDLE_ROAD_ENTRY_GROUP_REF));
@@ -162,51 +289,89 @@ public final class RoadNetwork extends PathNetwork {
 							currentRoad.addRoadNode(ref);
 						}
 					}
-					// Match the type of the road
+					// Match a tag of the road
 					if (!matchedLine) {
-						matcher = roadTypePattern.matcher(line);
+						matcher = roadTagMatcher.reset(line);
 						if (matcher.find()) {
 							matchedLine = true;
-							final String typeText = matcher.group(OSM_NEEDLE_ROAD_TYPE_GROUP_TYPE);
-							ERoadType type;
-							try {
-								type = RoadUtil.getRoadTypeFromOsm(typeText);
-								if (currentRoad == null) {
-									throw new AssertionError();
-								}
-								currentRoad.setRoadType(type);
-							} catch (final IllegalArgumentException e) {
+							if (currentRoad == null) {
+								throw new AssertionError();
+							}
+							if (!applyRoadTag(currentRoad, matcher.group(OSM_NEEDLE_ROAD_TAG_GROUP_KEY),
+									matcher.group(OSM_NEEDLE_ROAD_TAG_GROUP_VALUE))) {
 								rejectTheCurrentRoadConstructionData = true;
 							}
 						}
 					}
-					// Match the one-way property of the road
+					// Match the end of the road
 					if (!matchedLine) {
-						matcher = roadOnewayPattern.matcher(line);
+						matcher = roadEndMatcher.reset(line);
 						if (matcher.find()) {
 							matchedLine = true;
-							if (currentRoad == null) {
-								throw new AssertionError();
+							insideRoadDefinition = false;
+							if (!rejectTheCurrentRoadConstructionData) {
+								// Construct the road and add it to the network
+								network.addRoad(currentRoad, speedModel);
+								idToRoad.put(Integer.valueOf(currentRoad.getId()), new CompactRoad(currentRoad));
 							}
-							currentRoad.setIsOneway(true);
 						}
 					}
-					// Match the end of the road
+				}
+				// Match relation related data if inside
+				if (!matchedLine && insideRelationDefinition) {
+					// Match a member of the relation
 					if (!matchedLine) {
-						matcher = roadEndPattern.matcher(line);
+						matcher = relationMemberMatcher.reset(line);
 						if (matcher.find()) {
 							matchedLine = true;
-							insideRoadDefinition = false;
-							if (!rejectTheCurrentRoadConstructionData) {
-								// Construct the road and add it to the network
-								network.addRoad(currentRoad);
+							final boolean isWay = matcher.group(OSM_NEEDLE_RELATION_MEMBER_GROUP_TYPE).equals("way");
+							final Integer ref = Integer.valueOf(matcher.group(OSM_NEEDLE_RELATION_MEMBER_GROUP_REF));
+							final String role = matcher.group(OSM_NEEDLE_RELATION_MEMBER_GROUP_ROLE);
+							// Only restrictions from one road via one node to one
+							// road are supported
+							if (role.equals("via") && !isWay && restrictionViaNodeId == null) {
+								restrictionViaNodeId = ref;
+							} else if (role.equals("from") && isWay && restrictionFromRoadId == null) {
+								restrictionFromRoadId = ref;
+							} else if (role.equals("to") && isWay && restrictionToRoadId == null) {
+								restrictionToRoadId = ref;
+							} else {
+								rejectTheCurrentRelationData = true;
+							}
+						}
+					}
+					// Match the kind of the turn restriction
+					if (!matchedLine) {
+						matcher = relationRestrictionMatcher.reset(line);
+						if (matcher.find()) {
+							matchedLine = true;
+							restrictionKind = matcher.group(OSM_NEEDLE_RELATION_RESTRICTION_GROUP_KIND);
+						}
+					}
+					// Match the end of the relation
+					if (!matchedLine) {
+						matcher = relationEndMatcher.reset(line);
+						if (matcher.find()) {
+							matchedLine = true;
+							insideRelationDefinition = false;
+							if (!rejectTheCurrentRelationData && restrictionKind != null
+									&& restrictionFromRoadId != null && restrictionViaNodeId != null
+									&& restrictionToRoadId != null) {
+								final CompactRoad fromRoad = idToRoad.get(restrictionFromRoadId);
+								final CompactRoad toRoad = idToRoad.get(restrictionToRoadId);
+								// Restrictions of roads which are not part of the
+								// network are ignored
+								if (fromRoad != null && toRoad != null) {
+									network.addTurnRestriction(fromRoad, restrictionViaNodeId.intValue(), toRoad,
+											restrictionKind.equals("only"));
+								}
 							}
 						}
 					}
 				}
 				// Match a node line
 				if (!matchedLine) {
-					matcher = nodePattern.matcher(line);
+					matcher = nodeMatcher.reset(line);
 					if (matcher.find()) {
 						matchedLine = true;
 						final int id = Integer.parseInt(matcher.group(OSM_NEEDLE_NODE_GROUP_ID));
@@ -217,10 +382,23 @@ public final class RoadNetwork extends PathNetwork {
 						network.addRoadNode(node);
 					}
 				}
+				// Match a relation start line
+				if (!matchedLine) {
+					matcher = relationStartMatcher.reset(line);
+					if (matcher.find()) {
+						matchedLine = true;
+						insideRelationDefinition = true;
+						rejectTheCurrentRelationData = false;
+						restrictionFromRoadId = null;
+						restrictionViaNodeId = null;
+						restrictionToRoadId = null;
+						restrictionKind = null;
+					}
+				}
 				// Match a road start line
 				if (!matchedLine) {
 					matchedLine = true;
-					matcher = roadStartPattern.matcher(line);
+					matcher = roadStartMatcher.reset(line);
 					if (matcher.find()) {
 						insideRoadDefinition = true;
 						rejectTheCurrentRoadConstructionData = false;
@@ -242,10 +420,89 @@ public final class RoadNetwork extends PathNetwork {
 	}
 
 	/**
-	 * Creates an empty road network.
+	 * Applies the given tag of the OSM-format to the given road. Unknown tags
+	 * and values which can not be interpreted are ignored.
+	 * 
+	 * @param road
+	 *            The road to apply the tag to
+	 * @param key
+	 *            The key of the tag
+	 * @param value
+	 *            The value of the tag
+	 * @return <tt>False</tt> if the road must be rejected because of the tag,
+	 *         <tt>true</tt> otherwise
+	 */
+	private static boolean applyRoadTag(final Road road, final String key, final String value) {
+		switch (key) {
+		case "highway":
+			try {
+				road.setRoadType(RoadUtil.getRoadTypeFromOsm(value));
+			} catch (final IllegalArgumentException e) {
+				return false;
+			}
+			break;
+		case "oneway":
+			if (value.equals("yes") || value.equals("true") || value.equals("1")) {
+				road.setIsOneway(true);
+				road.setIsReversed(false);
+			} else if (value.equals("-1") || value.equals("reverse")) {
+				road.setIsOneway(true);
+				road.setIsReversed(true);
+			} else if (value.equals("no") || value.equals("false") || value.equals("0")) {
+				road.setIsOneway(false);
+				road.setIsReversed(false);
+			}
+			break;
+		case "junction":
+			// Roundabouts are one-way without needing an explicit tag
+			if (value.equals("roundabout")) {
+				road.setIsOneway(true);
+			}
+			break;
+		case "maxspeed":
+			try {
+				road.setMaxSpeed(RoadUtil.getMaxSpeedFromOsm(value));
+			} catch (final IllegalArgumentException e) {
+				// Values like 'none' or 'signals' leave the speed unknown
+			}
+			break;
+		case "access":
+			road.setIsAccessible(RoadUtil.isAccessibleFromOsm(value));
+			break;
+		case "surface":
+			road.setIsUnpaved(RoadUtil.isUnpavedSurfaceFromOsm(value));
+			break;
+		default:
+			break;
+		}
+		return true;
+	}
+
+	/**
+	 * The shape points of the edges which replace contracted chains of roads.
+	 * Edges are compared by identity.
+	 */
+	private final Map<DirectedWeightedEdge, CompressedGeometry> mEdgeToGeometry;
+	/**
+	 * The road types of all edges of this network, indexed by the ids of the
+	 * edges. An entry holds the ordinal of the type plus <tt>1</tt>, or
+	 * <tt>0</tt> if there is no edge with the id.
+	 */
+	private byte[] mRoadTypes;
+	/**
+	 * Table of the turn restrictions of this network.
+	 */
+	private final TurnCostTable mTurnCostTable;
+
+	/**
+	 * Creates an empty road network. U-turns are forbidden by its turn cost
+	 * table.
 	 */
 	public RoadNetwork() {
 		super();
+		this.mEdgeToGeometry = new IdentityHashMap<>();
+		this.mRoadTypes = new byte[INITIAL_ROAD_TYPES_CAPACITY];
+		this.mTurnCostTable = new TurnCostTable();
 	}
 
 	/**
@@ -268,44 +525,65 @@ public final class RoadNetwork extends PathNetwork {
 	}
 
 	/**
-	 * Adds the given road to the network.
+	 * Adds the given road to the network. The speed on the road is determined
+	 * by an {@link OsmTagSpeedModel}.
 	 * 
 	 * @param road
 	 *            The road to add
 	 */
 	public void addRoad(final Road road) {
+		addRoad(road, DEFAULT_SPEED_MODEL);
+	}
+
+	/**
+	 * Adds the given road to the network, using the given model for the speed
+	 * on the road. The road is not added if the speed is not positive.
+	 * 
+	 * @param road
+	 *            The road to add
+	 * @param speedModel
+	 *            The model which determines the speed on the road
+	 */
+	public void addRoad(final Road road, final IRoadSpeedModel speedModel) {
 		final ERoadType type = road.getRoadType();
-		final boolean isOneWay = road.isOneway();
+		final boolean hasForward = !road.isOneway() || !road.isReversed();
+		final boolean hasBackward = !road.isOneway() || road.isReversed();
 
 		final int amountOfRoadNodes = road.getRoadNodesAmount();
 		if (amountOfRoadNodes < 2) {
 			System.err.println("Warning: " + ILLEGAL_AMOUNT_OF_ROAD_NODES);
 			return;
 		}
+		final float speed = speedModel.getSpeed(road);
+		if (!(speed > 0.0f)) {
+			return;
+		}
 
-		// Forward direction
-		final Iterator<Integer> nodesIter = road.getRoadNodes();
-		RoadNode lastNode = (RoadNode) getNodeById(nodesIter.next().intValue());
-		while (nodesIter.hasNext()) {
-			final Integer nodeId = nodesIter.next();
-			final RoadNode nextNode = (RoadNode) getNodeById(nodeId.intValue());
+		if (hasForward) {
+			// Forward direction
+			final Iterator<Integer> nodesIter = road.getRoadNodes();
+			RoadNode lastNode = (RoadNode) getNodeById(nodesIter.next().intValue());
+			while (nodesIter.hasNext()) {
+				final Integer nodeId = nodesIter.next();
+				final RoadNode nextNode = (RoadNode) getNodeById(nodeId.intValue());
 
-			// Combine lastNode with nextNode
-			addRoad(lastNode, nextNode, type);
+				// Combine lastNode with nextNode
+				addRoad(lastNode, nextNode, type, speed);
 
-			lastNode = nextNode;
+				lastNode = nextNode;
+			}
 		}
 
-		if (!isOneWay) {
+		if (hasBackward) {
 			// Backward direction
 			final Iterator<Integer> nodesIterReversed = road.getRoadNodesReversed();
-			lastNode = (RoadNode) getNodeById(nodesIterReversed.next().intValue());
+			RoadNode lastNode = (RoadNode) getNodeById(nodesIterReversed.next().intValue());
 			while (nodesIterReversed.hasNext()) {
 				final Integer nodeId = nodesIterReversed.next();
 				final RoadNode nextNode = (RoadNode) getNodeById(nodeId.intValue());
 
 				// Combine lastNode with nextNode
-				addRoad(lastNode, nextNode, type);
+				addRoad(lastNode, nextNode, type, speed);
 
 				lastNode = nextNode;
 			}
@@ -313,8 +591,9 @@ public final class RoadNetwork extends PathNetwork {
 	}
 
 	/**
-	 * Adds a road between the given road nodes. The cost of this road is
-	 * measured in seconds and computed using the distances of the road nodes.
+	 * Adds a road between the given road nodes which is travelled with the
+	 * average speed of its type. The cost of this road is measured in seconds
+	 * and computed using the distances of the road nodes.
 	 * 
 	 * @param source
 	 *            The source node of the road
@@ -324,14 +603,33 @@ public final class RoadNetwork extends PathNetwork {
 	 *            The type of the road to add
 	 */
 	public void addRoad(final RoadNode source, final RoadNode destination, final ERoadType type) {
+		addRoad(source, destination, type, RoadUtil.getAverageSpeedOfRoadType(type));
+	}
+
+	/**
+	 * Adds a road between the given road nodes which is travelled with the
+	 * given speed. The cost of this road is measured in seconds and computed
+	 * using the distances of the road nodes.
+	 * 
+	 * @param source
+	 *            The source node of the road
+	 * @param destination
+	 *            The destination node of the road
+	 * @param type
+	 *            The type of the road to add
+	 * @param speed
+	 *            The average speed on the road in km/h
+	 */
+	public void addRoad(final RoadNode source, final RoadNode destination, final ERoadType type,
+			final float speed) {
 		final float distance = RoadUtil.distanceEquiRect(source, destination);
 		if (distance == 0.0f) {
 			System.err.println("Warning: The given road was not added because the distance was zero.");
 			return;
 		}
-		final float speed = RoadUtil.getAverageSpeedOfRoadType(type);
 		final float timeToTravel = RoadUtil.getTravelTime(distance, speed);
-		super.addEdge(source, destination, timeToTravel);
+		final DirectedWeightedEdge edge = super.addEdge(source, destination, timeToTravel);
+		setStoredRoadType(edge, type);
 	}
 
 	/**
@@ -347,6 +645,148 @@ public final class RoadNetwork extends PathNetwork {
 		return wasAdded;
 	}
 
+	/**
+	 * Adds a turn restriction from the given road via the given node to the
+	 * given road, like the turn restriction relations of OSM. If both roads
+	 * are the same, only the U-turns on the road are restricted.
+	 * 
+	 * @param fromRoad
+	 *            The road the restricted turns come from
+	 * @param viaNodeId
+	 *            The id of the node at which the turns happen, it must be
+	 *            contained in both roads
+	 * @param toRoad
+	 *            The road the restricted turns go to
+	 * @param isMandatory
+	 *            Whether the turns are mandatory, which forbids all other
+	 *            turns coming from the road at the node, like <tt>only_*</tt>
+	 *            restrictions, or whether the turns are forbidden, like
+	 *            <tt>no_*</tt> restrictions
+	 */
+	public void addTurnRestriction(final Road fromRoad, final int viaNodeId, final Road toRoad,
+			final boolean isMandatory) {
+		addTurnRestriction(new CompactRoad(fromRoad), viaNodeId, new CompactRoad(toRoad), isMandatory);
+	}
+
+	/**
+	 * Contracts chains of roads into single edges. A node is removed if it
+	 * only connects two roads of the same type, either as part of a one-way
+	 * chain or of a chain which can be travelled in both directions. Its
+	 * position is kept as shape point of the edges replacing its roads, see
+	 * {@link #getGeometry(DirectedWeightedEdge)}. The costs of the replacing
+	 * edges are the sums of the costs of the replaced roads.<br>
+	 * <br>
+	 * Nodes which are part of turn restrictions are kept, such that the
+	 * restrictions stay valid. Nodes are also kept if the replacing edge would
+	 * be parallel to an existing edge.
+	 * 
+	 * @return The amount of removed nodes
+	 * @throws IllegalStateException
+	 *             If listeners are attached to the network, since they are not
+	 *             notified about structural changes
+	 */
+	public int contractChains() throws IllegalStateException {
+		ensureNoListeners();
+		final Set<Integer> restrictedNodeIds = this.mTurnCostTable.getRestrictedNodeIds();
+		final List<Node> nodes = new ArrayList<>(getNodes());
+		int amountOfContractedNodes = 0;
+		for (final Node node : nodes) {
+			if (restrictedNodeIds.contains(Integer.valueOf(node.getId()))) {
+				continue;
+			}
+			if (contractNode((RoadNode) node)) {
+				amountOfContractedNodes++;
+			}
+		}
+		return amountOfContractedNodes;
+	}
+
+	/**
+	 * Creates the costs of the given profile for the edges of the given
+	 * indexed network of this road network. The cost of an edge is the time
+	 * in seconds the profile needs to travel it, edges whose road type the
+	 * profile may not use are not accessible.
+	 * 
+	 * @param indexedNetwork
+	 *            The indexed network of this road network
+	 * @param profile
+	 *            The profile to create costs for
+	 * @return The costs of the profile, accessible by the indices of the edges
+	 */
+	public ProfileCosts createProfileCosts(final IndexedNetwork indexedNetwork, final RoadProfile profile) {
+		final int amountOfEdges = indexedNetwork.getAmountOfEdges();
+		final float[] costs = new float[amountOfEdges];
+		final BitSet accessibleEdges = new BitSet(amountOfEdges);
+		for (int edge = 0; edge < amountOfEdges; edge++) {
+			final DirectedWeightedEdge roadEdge = indexedNetwork.getEdge(edge);
+			final ERoadType type = getStoredRoadType(roadEdge);
+			if (type == null || !profile.isAccessible(type)) {
+				continue;
+			}
+			costs[edge] = RoadUtil.getTravelTime(getLength(roadEdge), profile.getSpeed(type));
+			accessibleEdges.set(edge);
+		}
+		return new ProfileCosts(profile.getName(), costs, accessibleEdges);
+	}
+
+	/**
+	 * Gets the coordinates of the given path of this network, including the
+	 * shape points of contracted roads. If multiple edges connect two nodes of
+	 * the path, the shape of the cheapest is used.
+	 * 
+	 * @param path
+	 *            The path to get the coordinates of
+	 * @return The coordinates of the points of the path in degrees, the
+	 *         latitude of a point followed by its longitude
+	 */
+	public float[] getCoordinates(final CompactPath path) {
+		// Collect the shapes first to know the amount of points
+		final float[][] shapes = new float[path.getLength()][];
+		int amountOfPoints = path.getLength();
+		for (int i = 1; i < path.getLength(); i++) {
+			final Node source = getNodeById(path.getNodeId(i - 1));
+			final int destinationId = path.getNodeId(i);
+			DirectedWeightedEdge cheapestEdge = null;
+			for (final DirectedWeightedEdge edge : getOutgoingEdges(source)) {
+				if (edge.getDestination().getId() == destinationId
+						&& (cheapestEdge == null || edge.getCost() < cheapestEdge.getCost())) {
+					cheapestEdge = edge;
+				}
+			}
+			if (cheapestEdge != null) {
+				shapes[i] = getShapePoints(cheapestEdge);
+				amountOfPoints += shapes[i].length / 2;
+			}
+		}
+
+		final float[] coordinates = new float[amountOfPoints * 2];
+		int position = 0;
+		for (int i = 0; i < path.getLength(); i++) {
+			if (shapes[i] != null) {
+				System.arraycopy(shapes[i], 0, coordinates, position, shapes[i].length);
+				position += shapes[i].length;
+			}
+			final RoadNode node = (RoadNode) getNodeById(path.getNodeId(i));
+			coordinates[position] = node.getLatitude();
+			coordinates[position + 1] = node.getLongitude();
+			position += 2;
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Gets the shape points of the given edge, which are the positions of the
+	 * nodes of contracted roads between its source and destination.
+	 * 
+	 * @param edge
+	 *            The edge to get the shape points of
+	 * @return The shape points of the edge if present, if not present the edge
+	 *         did not replace contracted roads
+	 */
+	public Optional<CompressedGeometry> getGeometry(final DirectedWeightedEdge edge) {
+		return Optional.ofNullable(this.mEdgeToGeometry.get(edge));
+	}
+
 	/**
 	 * Gets the road node of the network which is nearest to the given position.
 	 * 
@@ -377,4 +817,226 @@ public final class RoadNetwork extends PathNetwork {
 
 		return nearestKnownNode;
 	}
+
+	/**
+	 * Gets the road type of the given edge.
+	 * 
+	 * @param edge
+	 *            The edge to get the road type of
+	 * @return The road type of the edge if present, if not present the edge is
+	 *         not part of this network
+	 */
+	public Optional<ERoadType> getRoadType(final DirectedWeightedEdge edge) {
+		if (!hasOutgoingEdge(edge.getSource(), edge)) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(getStoredRoadType(edge));
+	}
+
+	/**
+	 * Gets the table of the turn restrictions of this network. It can be used
+	 * to add turn costs and to configure the cost of U-turns.
+	 * 
+	 * @return The table of the turn restrictions of this network
+	 */
+	public TurnCostTable getTurnCostTable() {
+		return this.mTurnCostTable;
+	}
+
+	/**
+	 * Adds a turn restriction from the given road via the given node to the
+	 * given road, see
+	 * {@link #addTurnRestriction(Road, int, Road, boolean)}.
+	 * 
+	 * @param fromRoad
+	 *            The compact form of the road the restricted turns come from
+	 * @param viaNodeId
+	 *            The id of the node at which the turns happen, it must be
+	 *            contained in both roads
+	 * @param toRoad
+	 *            The compact form of the road the restricted turns go to
+	 * @param isMandatory
+	 *            Whether the turns are mandatory or forbidden
+	 */
+	private void addTurnRestriction(final CompactRoad fromRoad, final int viaNodeId, final CompactRoad toRoad,
+			final boolean isMandatory) {
+		final Set<Integer> fromNodes = fromRoad.collectAdjacentRoadNodes(viaNodeId, true);
+		final Set<Integer> toNodes = toRoad.collectAdjacentRoadNodes(viaNodeId, false);
+		final boolean isSameRoad = fromRoad.getId() == toRoad.getId();
+		for (final Integer fromNode : fromNodes) {
+			for (final Integer toNode : toNodes) {
+				if (isSameRoad && !fromNode.equals(toNode)) {
+					continue;
+				}
+				if (isMandatory) {
+					this.mTurnCostTable.addMandatoryTurn(fromNode.intValue(), viaNodeId, toNode.intValue());
+				} else {
+					this.mTurnCostTable.forbidTurn(fromNode.intValue(), viaNodeId, toNode.intValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Contracts the given node if it only connects two roads of the same type,
+	 * see {@link #contractChains()}.
+	 * 
+	 * @param node
+	 *            The node to contract
+	 * @return <tt>True</tt> if the node was contracted, <tt>false</tt>
+	 *         otherwise
+	 */
+	private boolean contractNode(final RoadNode node) {
+		final List<DirectedWeightedEdge> incomingEdges = new ArrayList<>(getIncomingEdges(node));
+		final List<DirectedWeightedEdge> outgoingEdges = new ArrayList<>(getOutgoingEdges(node));
+		final int amountOfChains = incomingEdges.size();
+		if (amountOfChains == 0 || amountOfChains > 2 || outgoingEdges.size() != amountOfChains) {
+			return false;
+		}
+		final ERoadType type = getStoredRoadType(incomingEdges.get(0));
+		if (type == null) {
+			return false;
+		}
+
+		// Continue every incoming edge with the only outgoing edge which does
+		// not lead back to its source
+		final DirectedWeightedEdge[] continuingEdges = new DirectedWeightedEdge[amountOfChains];
+		for (int i = 0; i < amountOfChains; i++) {
+			final DirectedWeightedEdge incomingEdge = incomingEdges.get(i);
+			final Node source = incomingEdge.getSource();
+			if (source == node || getStoredRoadType(incomingEdge) != type) {
+				return false;
+			}
+			for (final DirectedWeightedEdge outgoingEdge : outgoingEdges) {
+				final Node destination = outgoingEdge.getDestination();
+				if (destination == node || getStoredRoadType(outgoingEdge) != type) {
+					return false;
+				}
+				if (destination.getId() == source.getId()) {
+					continue;
+				}
+				if (continuingEdges[i] != null) {
+					return false;
+				}
+				continuingEdges[i] = outgoingEdge;
+			}
+			if (continuingEdges[i] == null) {
+				return false;
+			}
+			for (final DirectedWeightedEdge parallelEdge : getOutgoingEdges(source)) {
+				if (parallelEdge.getDestination().getId() == continuingEdges[i].getDestination().getId()) {
+					return false;
+				}
+			}
+		}
+		if (amountOfChains == 2 && continuingEdges[0] == continuingEdges[1]) {
+			return false;
+		}
+
+		final float[][] shapes = new float[amountOfChains][];
+		for (int i = 0; i < amountOfChains; i++) {
+			final float[] incomingShape = getShapePoints(incomingEdges.get(i));
+			final float[] outgoingShape = getShapePoints(continuingEdges[i]);
+			shapes[i] = new float[incomingShape.length + 2 + outgoingShape.length];
+			System.arraycopy(incomingShape, 0, shapes[i], 0, incomingShape.length);
+			shapes[i][incomingShape.length] = node.getLatitude();
+			shapes[i][incomingShape.length + 1] = node.getLongitude();
+			System.arraycopy(outgoingShape, 0, shapes[i], incomingShape.length + 2, outgoingShape.length);
+		}
+
+		removeNode(node);
+		for (int i = 0; i < amountOfChains; i++) {
+			setStoredRoadType(incomingEdges.get(i), null);
+			setStoredRoadType(outgoingEdges.get(i), null);
+			this.mEdgeToGeometry.remove(incomingEdges.get(i));
+			this.mEdgeToGeometry.remove(outgoingEdges.get(i));
+		}
+		for (int i = 0; i < amountOfChains; i++) {
+			final DirectedWeightedEdge incomingEdge = incomingEdges.get(i);
+			final DirectedWeightedEdge edge = super.addEdge(incomingEdge.getSource(),
+					continuingEdges[i].getDestination(), incomingEdge.getCost() + continuingEdges[i].getCost());
+			setStoredRoadType(edge, type);
+			this.mEdgeToGeometry.put(edge, new CompressedGeometry(shapes[i]));
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the length of the given edge, along its shape points if present.
+	 * 
+	 * @param edge
+	 *            The edge to get the length of
+	 * @return The length of the edge in meter
+	 */
+	private float getLength(final DirectedWeightedEdge edge) {
+		final RoadNode source = (RoadNode) edge.getSource();
+		final RoadNode destination = (RoadNode) edge.getDestination();
+		final float[] shape = getShapePoints(edge);
+		float length = 0.0f;
+		float latitude = source.getLatitude();
+		float longitude = source.getLongitude();
+		for (int i = 0; i < shape.length; i += 2) {
+			length += RoadUtil.distanceEquiRect(latitude, longitude, shape[i], shape[i + 1]);
+			latitude = shape[i];
+			longitude = shape[i + 1];
+		}
+		return length + RoadUtil.distanceEquiRect(latitude, longitude, destination.getLatitude(),
+				destination.getLongitude());
+	}
+
+	/**
+	 * Gets the decoded shape points of the given edge.
+	 * 
+	 * @param edge
+	 *            The edge to get the shape points of
+	 * @return The coordinates of the shape points in degrees, the latitude of
+	 *         a point followed by its longitude, empty if the edge has none
+	 */
+	private float[] getShapePoints(final DirectedWeightedEdge edge) {
+		final CompressedGeometry geometry = this.mEdgeToGeometry.get(edge);
+		if (geometry == null) {
+			return new float[0];
+		}
+		return geometry.decode();
+	}
+
+	/**
+	 * Gets the stored road type of the given edge of this network.
+	 * 
+	 * @param edge
+	 *            The edge of this network to get the road type of
+	 * @return The road type of the edge or <tt>null</tt> if none is stored
+	 */
+	private ERoadType getStoredRoadType(final DirectedWeightedEdge edge) {
+		final int id = edge.getId();
+		if (id < 0 || id >= this.mRoadTypes.length || this.mRoadTypes[id] == 0) {
+			return null;
+		}
+		return ROAD_TYPES[this.mRoadTypes[id] - 1];
+	}
+
+	/**
+	 * Stores the road type of the given edge of this network, growing the
+	 * array of road types if needed.
+	 * 
+	 * @param edge
+	 *            The edge of this network to store the road type of
+	 * @param type
+	 *            The road type to store or <tt>null</tt> to remove the stored
+	 *            road type
+	 */
+	private void setStoredRoadType(final DirectedWeightedEdge edge, final ERoadType type) {
+		final int id = edge.getId();
+		if (id >= this.mRoadTypes.length) {
+			if (type == null) {
+				return;
+			}
+			this.mRoadTypes = Arrays.copyOf(this.mRoadTypes, Math.max(id + 1, this.mRoadTypes.length * 2));
+		}
+		if (type == null) {
+			this.mRoadTypes[id] = 0;
+		} else {
+			this.mRoadTypes[id] = (byte) (type.ordinal() + 1);
+		}
+	}
 }
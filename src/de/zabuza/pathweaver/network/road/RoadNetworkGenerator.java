@@ -0,0 +1,326 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.Random;
+
+/**
+ * Generator for synthetic road networks of configurable size. The nodes are
+ * arranged in a grid with slightly jittered positions, neighboring nodes are
+ * connected by roads. The roads form a hierarchy: every few rows and columns
+ * of the grid a faster road type runs, from {@link ERoadType#TERTIARY} up to
+ * {@link ERoadType#MOTORWAY}. The remaining roads are
+ * {@link ERoadType#RESIDENTIAL}, some of them are missing and some are
+ * one-way.<br>
+ * <br>
+ * The generated network only depends on the seed and the configuration of
+ * the generator. Since residential roads may be missing or one-way, the
+ * network is not necessarily strongly connected, see
+ * {@link RoadNetwork#reduceToLargestScc()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoadNetworkGenerator {
+	/**
+	 * The default latitude of the first row of the grid, in degrees.
+	 */
+	private static final float DEFAULT_LATITUDE_ORIGIN = 45.0f;
+	/**
+	 * The default longitude of the first column of the grid, in degrees.
+	 */
+	private static final float DEFAULT_LONGITUDE_ORIGIN = 5.0f;
+	/**
+	 * The default probability of a residential road being one-way.
+	 */
+	private static final double DEFAULT_ONE_WAY_PROBABILITY = 0.1;
+	/**
+	 * The default probability of a residential road between two neighboring
+	 * nodes.
+	 */
+	private static final double DEFAULT_RESIDENTIAL_PROBABILITY = 0.85;
+	/**
+	 * The default distance between two neighboring nodes, in degrees.
+	 */
+	private static final float DEFAULT_SPACING = 0.001f;
+	/**
+	 * Message of the exception thrown when the grid does not fit the range of
+	 * coordinates.
+	 */
+	private static final String EXCEPTION_GRID_EXCEEDS_RANGE = "The grid exceeds the range of latitudes or longitudes.";
+	/**
+	 * Message of the exception thrown when the dimensions of the grid are not
+	 * positive.
+	 */
+	private static final String EXCEPTION_GRID_SIZE_ILLEGAL = "The amount of rows and columns must be positive.";
+	/**
+	 * Message of the exception thrown when the grid has more nodes than an
+	 * array can hold.
+	 */
+	private static final String EXCEPTION_GRID_SIZE_TOO_LARGE = "The grid has more nodes than supported: ";
+	/**
+	 * Message of the exception thrown when a probability is not between
+	 * <tt>0</tt> and <tt>1</tt>.
+	 */
+	private static final String EXCEPTION_PROBABILITY_ILLEGAL = "The probability must be between 0 and 1 (both inclusive): ";
+	/**
+	 * Message of the exception thrown when the spacing is not positive.
+	 */
+	private static final String EXCEPTION_SPACING_ILLEGAL = "The spacing must be positive: ";
+	/**
+	 * The maximal jitter of node positions, relative to the spacing. Must be
+	 * less than <tt>0.5</tt> such that neighboring nodes never coincide.
+	 */
+	private static final float JITTER = 0.25f;
+	/**
+	 * Every how many rows and columns a motorway runs.
+	 */
+	private static final int MOTORWAY_INTERVAL = 64;
+	/**
+	 * Every how many rows and columns a primary road runs.
+	 */
+	private static final int PRIMARY_INTERVAL = 16;
+	/**
+	 * Every how many rows and columns a secondary road runs.
+	 */
+	private static final int SECONDARY_INTERVAL = 8;
+	/**
+	 * Every how many rows and columns a tertiary road runs.
+	 */
+	private static final int TERTIARY_INTERVAL = 4;
+
+	/**
+	 * Gets the type of the roads running along the given row or column.
+	 * 
+	 * @param line
+	 *            The row or column
+	 * @return The type of the roads running along the line
+	 */
+	private static ERoadType getRoadType(final int line) {
+		if (line % MOTORWAY_INTERVAL == 0) {
+			return ERoadType.MOTORWAY;
+		}
+		if (line % PRIMARY_INTERVAL == 0) {
+			return ERoadType.PRIMARY;
+		}
+		if (line % SECONDARY_INTERVAL == 0) {
+			return ERoadType.SECONDARY;
+		}
+		if (line % TERTIARY_INTERVAL == 0) {
+			return ERoadType.TERTIARY;
+		}
+		return ERoadType.RESIDENTIAL;
+	}
+
+	/**
+	 * Validates the given probability.
+	 * 
+	 * @param probability
+	 *            The probability to validate
+	 * @throws IllegalArgumentException
+	 *             If the probability is not between <tt>0</tt> and <tt>1</tt>
+	 *             (both inclusive)
+	 */
+	private static void validateProbability(final double probability) throws IllegalArgumentException {
+		if (!(probability >= 0.0 && probability <= 1.0)) {
+			throw new IllegalArgumentException(EXCEPTION_PROBABILITY_ILLEGAL + probability);
+		}
+	}
+
+	/**
+	 * The latitude of the first row of the grid, in degrees.
+	 */
+	private float mLatitudeOrigin;
+	/**
+	 * The longitude of the first column of the grid, in degrees.
+	 */
+	private float mLongitudeOrigin;
+	/**
+	 * The probability of a residential road being one-way.
+	 */
+	private double mOneWayProbability;
+	/**
+	 * The probability of a residential road between two neighboring nodes.
+	 */
+	private double mResidentialProbability;
+	/**
+	 * The seed of the random generator.
+	 */
+	private final long mSeed;
+	/**
+	 * The distance between two neighboring nodes, in degrees.
+	 */
+	private float mSpacing;
+
+	/**
+	 * Creates a new generator with the given seed and a default configuration.
+	 * 
+	 * @param seed
+	 *            The seed of the random generator, generators with the same
+	 *            seed and configuration generate the same networks
+	 */
+	public RoadNetworkGenerator(final long seed) {
+		this.mSeed = seed;
+		this.mLatitudeOrigin = DEFAULT_LATITUDE_ORIGIN;
+		this.mLongitudeOrigin = DEFAULT_LONGITUDE_ORIGIN;
+		this.mOneWayProbability = DEFAULT_ONE_WAY_PROBABILITY;
+		this.mResidentialProbability = DEFAULT_RESIDENTIAL_PROBABILITY;
+		this.mSpacing = DEFAULT_SPACING;
+	}
+
+	/**
+	 * Generates a road network whose nodes are arranged in a grid with the
+	 * given dimensions. The nodes have the IDs
+	 * <tt>row * amountOfColumns + column</tt>.
+	 * 
+	 * @param amountOfRows
+	 *            The amount of rows of the grid, along the latitude
+	 * @param amountOfColumns
+	 *            The amount of columns of the grid, along the longitude
+	 * @return The generated network
+	 * @throws IllegalArgumentException
+	 *             If the amount of rows or columns is not positive, if the
+	 *             grid has more than {@link Integer#MAX_VALUE} nodes or if the
+	 *             grid exceeds the range of latitudes or longitudes
+	 */
+	public RoadNetwork createGridNetwork(final int amountOfRows, final int amountOfColumns)
+			throws IllegalArgumentException {
+		if (amountOfRows <= 0 || amountOfColumns <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_GRID_SIZE_ILLEGAL);
+		}
+		final long amountOfNodes = (long) amountOfRows * amountOfColumns;
+		if (amountOfNodes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(EXCEPTION_GRID_SIZE_TOO_LARGE + amountOfNodes);
+		}
+		final float latitudeMax = this.mLatitudeOrigin + (amountOfRows - 1 + JITTER) * this.mSpacing;
+		final float longitudeMax = this.mLongitudeOrigin + (amountOfColumns - 1 + JITTER) * this.mSpacing;
+		final float latitudeMin = this.mLatitudeOrigin - JITTER * this.mSpacing;
+		final float longitudeMin = this.mLongitudeOrigin - JITTER * this.mSpacing;
+		if (latitudeMin < RoadNode.LATITUDE_MIN || latitudeMax > RoadNode.LATITUDE_MAX
+				|| longitudeMin < RoadNode.LONGITUDE_MIN || longitudeMax > RoadNode.LONGITUDE_MAX) {
+			throw new IllegalArgumentException(EXCEPTION_GRID_EXCEEDS_RANGE);
+		}
+
+		final Random rnd = new Random(this.mSeed);
+		final RoadNetwork network = new RoadNetwork();
+		final RoadNode[] nodes = new RoadNode[amountOfRows * amountOfColumns];
+		for (int row = 0; row < amountOfRows; row++) {
+			for (int column = 0; column < amountOfColumns; column++) {
+				final float latitudeJitter = (rnd.nextFloat() * 2 - 1) * JITTER * this.mSpacing;
+				final float longitudeJitter = (rnd.nextFloat() * 2 - 1) * JITTER * this.mSpacing;
+				final int id = row * amountOfColumns + column;
+				nodes[id] = new RoadNode(id, this.mLatitudeOrigin + row * this.mSpacing + latitudeJitter,
+						this.mLongitudeOrigin + column * this.mSpacing + longitudeJitter);
+				network.addRoadNode(nodes[id]);
+			}
+		}
+
+		for (int row = 0; row < amountOfRows; row++) {
+			for (int column = 0; column < amountOfColumns; column++) {
+				final RoadNode node = nodes[row * amountOfColumns + column];
+				if (column + 1 < amountOfColumns) {
+					addRoad(network, node, nodes[row * amountOfColumns + column + 1], getRoadType(row), rnd);
+				}
+				if (row + 1 < amountOfRows) {
+					addRoad(network, node, nodes[(row + 1) * amountOfColumns + column], getRoadType(column), rnd);
+				}
+			}
+		}
+		return network;
+	}
+
+	/**
+	 * Sets the position of the first node of the grid.
+	 * 
+	 * @param latitude
+	 *            The latitude of the first row of the grid, in degrees
+	 * @param longitude
+	 *            The longitude of the first column of the grid, in degrees
+	 */
+	public void setOrigin(final float latitude, final float longitude) {
+		this.mLatitudeOrigin = latitude;
+		this.mLongitudeOrigin = longitude;
+	}
+
+	/**
+	 * Sets the probability of a residential road being one-way. The direction
+	 * of one-way roads is chosen randomly.
+	 * 
+	 * @param oneWayProbability
+	 *            The probability to set
+	 * @throws IllegalArgumentException
+	 *             If the probability is not between <tt>0</tt> and <tt>1</tt>
+	 *             (both inclusive)
+	 */
+	public void setOneWayProbability(final double oneWayProbability) throws IllegalArgumentException {
+		validateProbability(oneWayProbability);
+		this.mOneWayProbability = oneWayProbability;
+	}
+
+	/**
+	 * Sets the probability of a residential road between two neighboring
+	 * nodes. Roads of other types are always present.
+	 * 
+	 * @param residentialProbability
+	 *            The probability to set
+	 * @throws IllegalArgumentException
+	 *             If the probability is not between <tt>0</tt> and <tt>1</tt>
+	 *             (both inclusive)
+	 */
+	public void setResidentialProbability(final double residentialProbability) throws IllegalArgumentException {
+		validateProbability(residentialProbability);
+		this.mResidentialProbability = residentialProbability;
+	}
+
+	/**
+	 * Sets the distance between two neighboring nodes.
+	 * 
+	 * @param spacing
+	 *            The distance to set, in degrees
+	 * @throws IllegalArgumentException
+	 *             If the spacing is not positive
+	 */
+	public void setSpacing(final float spacing) throws IllegalArgumentException {
+		if (!(spacing > 0.0f)) {
+			throw new IllegalArgumentException(EXCEPTION_SPACING_ILLEGAL + spacing);
+		}
+		this.mSpacing = spacing;
+	}
+
+	/**
+	 * Adds a road of the given type between the given nodes. Residential roads
+	 * may be left out or be one-way, all other roads are added in both
+	 * directions.
+	 * 
+	 * @param network
+	 *            The network to add the road to
+	 * @param first
+	 *            The first node of the road
+	 * @param second
+	 *            The second node of the road
+	 * @param type
+	 *            The type of the road
+	 * @param rnd
+	 *            The random generator to use
+	 */
+	private void addRoad(final RoadNetwork network, final RoadNode first, final RoadNode second,
+			final ERoadType type, final Random rnd) {
+		if (type != ERoadType.RESIDENTIAL) {
+			network.addRoad(first, second, type);
+			network.addRoad(second, first, type);
+			return;
+		}
+
+		if (rnd.nextDouble() >= this.mResidentialProbability) {
+			return;
+		}
+		if (rnd.nextDouble() < this.mOneWayProbability) {
+			if (rnd.nextBoolean()) {
+				network.addRoad(first, second, type);
+			} else {
+				network.addRoad(second, first, type);
+			}
+			return;
+		}
+		network.addRoad(first, second, type);
+		network.addRoad(second, first, type);
+	}
+}
@@ -24,21 +24,21 @@ public class RoadNode extends Node {
 	/**
 	 * The maximal allowed value for a latitude position.
 	 */
-	private static final int LATITUDE_MAX = 90;
+	static final int LATITUDE_MAX = 90;
 
 	/**
 	 * The minimal allowed value for a latitude position.
 	 */
-	private static final int LATITUDE_MIN = -90;
+	static final int LATITUDE_MIN = -90;
 
 	/**
 	 * The maximal allowed value for a longitude position.
 	 */
-	private static final int LONGITUDE_MAX = 180;
+	static final int LONGITUDE_MAX = 180;
 	/**
 	 * The minimal allowed value for a longitude position.
 	 */
-	private static final int LONGITUDE_MIN = -180;
+	static final int LONGITUDE_MIN = -180;
 
 	/**
 	 * The latitude position of this node. Must be between <tt>-90<tt> and
@@ -0,0 +1,174 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Routing profile of a vehicle on roads, given by the average speeds of the
+ * vehicle on the road types it may use. The costs of a road network for a
+ * profile are created by
+ * {@link RoadNetwork#createProfileCosts(de.zabuza.pathweaver.network.IndexedNetwork, RoadProfile)}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoadProfile {
+	/**
+	 * The maximal speed of bicycles in km/h.
+	 */
+	private static final float BICYCLE_MAX_SPEED = 18;
+	/**
+	 * The average speed of bicycles on unsurfaced roads in km/h.
+	 */
+	private static final float BICYCLE_UNSURFACED_SPEED = 12;
+	/**
+	 * Message of the exception thrown when the speed of a road type is not
+	 * positive.
+	 */
+	private static final String EXCEPTION_SPEED_ILLEGAL = "The speed on a road type must be positive: ";
+	/**
+	 * Message of the exception thrown when the speed of a road type the
+	 * profile may not use is requested.
+	 */
+	private static final String EXCEPTION_TYPE_NOT_ACCESSIBLE = "The profile may not use the road type: ";
+	/**
+	 * The name of the bicycle profile.
+	 */
+	public static final String PROFILE_BICYCLE = "bicycle";
+	/**
+	 * The name of the car profile.
+	 */
+	public static final String PROFILE_CAR = "car";
+	/**
+	 * The name of the truck profile.
+	 */
+	public static final String PROFILE_TRUCK = "truck";
+	/**
+	 * The maximal speed of trucks in km/h.
+	 */
+	private static final float TRUCK_MAX_SPEED = 80;
+
+	/**
+	 * Creates the profile of bicycles. Bicycles may not use motorways and
+	 * trunks and are limited to {@link #BICYCLE_MAX_SPEED}.
+	 * 
+	 * @return The profile of bicycles
+	 */
+	public static RoadProfile createBicycleProfile() {
+		final Map<ERoadType, Float> typeToSpeed = new EnumMap<>(ERoadType.class);
+		for (final ERoadType type : ERoadType.values()) {
+			if (type == ERoadType.MOTORWAY || type == ERoadType.MOTORWAY_LINK || type == ERoadType.TRUNK
+					|| type == ERoadType.TRUNK_LINK) {
+				continue;
+			}
+			final float speed = Math.min(RoadUtil.getAverageSpeedOfRoadType(type), BICYCLE_MAX_SPEED);
+			typeToSpeed.put(type, Float.valueOf(speed));
+		}
+		typeToSpeed.put(ERoadType.UNSURFACED, Float.valueOf(BICYCLE_UNSURFACED_SPEED));
+		return new RoadProfile(PROFILE_BICYCLE, typeToSpeed);
+	}
+
+	/**
+	 * Creates the profile of cars. Cars may use all road types with the
+	 * speeds of {@link RoadUtil#getAverageSpeedOfRoadType(ERoadType)}, which
+	 * are also used for the costs of the edges of a {@link RoadNetwork}.
+	 * 
+	 * @return The profile of cars
+	 */
+	public static RoadProfile createCarProfile() {
+		final Map<ERoadType, Float> typeToSpeed = new EnumMap<>(ERoadType.class);
+		for (final ERoadType type : ERoadType.values()) {
+			typeToSpeed.put(type, Float.valueOf(RoadUtil.getAverageSpeedOfRoadType(type)));
+		}
+		return new RoadProfile(PROFILE_CAR, typeToSpeed);
+	}
+
+	/**
+	 * Creates the profile of trucks. Trucks may not use living streets and are
+	 * limited to {@link #TRUCK_MAX_SPEED}.
+	 * 
+	 * @return The profile of trucks
+	 */
+	public static RoadProfile createTruckProfile() {
+		final Map<ERoadType, Float> typeToSpeed = new EnumMap<>(ERoadType.class);
+		for (final ERoadType type : ERoadType.values()) {
+			if (type == ERoadType.LIVING_STREET) {
+				continue;
+			}
+			final float speed = Math.min(RoadUtil.getAverageSpeedOfRoadType(type), TRUCK_MAX_SPEED);
+			typeToSpeed.put(type, Float.valueOf(speed));
+		}
+		return new RoadProfile(PROFILE_TRUCK, typeToSpeed);
+	}
+
+	/**
+	 * The name of the profile.
+	 */
+	private final String mName;
+	/**
+	 * The average speeds in km/h on the road types the profile may use.
+	 */
+	private final Map<ERoadType, Float> mTypeToSpeed;
+
+	/**
+	 * Creates a new profile.
+	 * 
+	 * @param name
+	 *            The name of the profile
+	 * @param typeToSpeed
+	 *            The average speeds in km/h on the road types the profile may
+	 *            use, it is copied
+	 * @throws IllegalArgumentException
+	 *             If a speed is not positive
+	 */
+	public RoadProfile(final String name, final Map<ERoadType, Float> typeToSpeed) throws IllegalArgumentException {
+		this.mName = name;
+		this.mTypeToSpeed = new EnumMap<>(ERoadType.class);
+		for (final Entry<ERoadType, Float> entry : typeToSpeed.entrySet()) {
+			final float speed = entry.getValue().floatValue();
+			if (!(speed > 0.0f) || Float.isInfinite(speed)) {
+				throw new IllegalArgumentException(EXCEPTION_SPEED_ILLEGAL + entry.getKey() + " " + speed);
+			}
+			this.mTypeToSpeed.put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Gets the name of the profile.
+	 * 
+	 * @return The name of the profile
+	 */
+	public String getName() {
+		return this.mName;
+	}
+
+	/**
+	 * Gets the average speed of the profile on the given road type.
+	 * 
+	 * @param type
+	 *            The road type
+	 * @return The average speed on the road type in km/h
+	 * @throws IllegalArgumentException
+	 *             If the profile may not use the road type
+	 */
+	public float getSpeed(final ERoadType type) throws IllegalArgumentException {
+		final Float speed = this.mTypeToSpeed.get(type);
+		if (speed == null) {
+			throw new IllegalArgumentException(EXCEPTION_TYPE_NOT_ACCESSIBLE + type);
+		}
+		return speed.floatValue();
+	}
+
+	/**
+	 * Whether the profile may use the given road type.
+	 * 
+	 * @param type
+	 *            The road type
+	 * @return <tt>True</tt> if the profile may use the road type,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean isAccessible(final ERoadType type) {
+		return this.mTypeToSpeed.containsKey(type);
+	}
+}
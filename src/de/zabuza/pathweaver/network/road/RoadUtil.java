@@ -1,5 +1,9 @@
 package de.zabuza.pathweaver.network.road;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.StringJoiner;
 
 /**
@@ -17,6 +21,11 @@ public final class RoadUtil {
 	 * The degrees which represents a half circle.
 	 */
 	private static final int HALF_CIRCLE_DEG = 180;
+	/**
+	 * Message of an exception which is thrown when a given maximal speed of
+	 * the OSM-format is not supported.
+	 */
+	private static final String ILLEGAL_MAX_SPEED = "The given maximal speed is not supported: ";
 	/**
 	 * Message of an exception which is thrown when a given road type is not
 	 * supported by the using method.
@@ -34,11 +43,33 @@ public final class RoadUtil {
 	 * The average speed on a motorway in km/h.
 	 */
 	private static final float MOTORWAY_SPEED = 110;
+	/**
+	 * Factor which converts miles per hour to kilometer per hour.
+	 */
+	private static final float MPH_TO_KMH = 1.609344f;
 	/**
 	 * Factor to multiply with for conversion from meter per second to kilometer
 	 * per hour.
 	 */
 	private static final float MS_TO_KMH = 3.6f;
+	/**
+	 * Values of the access tag of the OSM-format which forbid the access of
+	 * roads.
+	 */
+	private static final Set<String> OSM_ACCESS_FORBIDDEN = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList("no", "private")));
+	/**
+	 * Suffix of maximal speeds of the OSM-format which are given in miles per
+	 * hour.
+	 */
+	private static final String OSM_MAX_SPEED_MPH = "mph";
+	/**
+	 * Values of the surface tag of the OSM-format which describe unpaved
+	 * surfaces.
+	 */
+	private static final Set<String> OSM_SURFACES_UNPAVED = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("unpaved", "compacted", "fine_gravel", "gravel", "pebblestone", "dirt", "earth",
+					"ground", "grass", "grass_paver", "mud", "sand", "woodchips")));
 	/**
 	 * The average speed on a primary link in km/h.
 	 */
@@ -205,6 +236,32 @@ public final class RoadUtil {
 		return ERoadType.MOTORWAY;
 	}
 
+	/**
+	 * Gets the maximal speed corresponding to the maxspeed tag of the
+	 * OSM-format. Speeds are given in km/h or, with the suffix <tt>mph</tt>,
+	 * in miles per hour.
+	 * 
+	 * @param osmMaxSpeed
+	 *            The value of the maxspeed tag from the OSM-format
+	 * @return The maximal speed in km/h
+	 * @throws IllegalArgumentException
+	 *             If the given value is no positive speed, like the values
+	 *             <tt>none</tt> or <tt>walk</tt>
+	 */
+	public static float getMaxSpeedFromOsm(final String osmMaxSpeed) throws IllegalArgumentException {
+		String value = osmMaxSpeed.trim();
+		float factor = 1.0f;
+		if (value.endsWith(OSM_MAX_SPEED_MPH)) {
+			value = value.substring(0, value.length() - OSM_MAX_SPEED_MPH.length()).trim();
+			factor = MPH_TO_KMH;
+		}
+		final float speed = Float.parseFloat(value) * factor;
+		if (!(speed > 0.0f) || Float.isInfinite(speed)) {
+			throw new IllegalArgumentException(ILLEGAL_MAX_SPEED + osmMaxSpeed);
+		}
+		return speed;
+	}
+
 	/**
 	 * Gets the positions of given road nodes in a TSV-format.
 	 * 
@@ -261,6 +318,32 @@ public final class RoadUtil {
 		return travelTime;
 	}
 
+	/**
+	 * Whether the given value of the access tag of the OSM-format allows
+	 * vehicles to access a road.
+	 * 
+	 * @param osmAccess
+	 *            The value of the access tag from the OSM-format
+	 * @return <tt>True</tt> if the value allows the access, <tt>false</tt>
+	 *         otherwise
+	 */
+	public static boolean isAccessibleFromOsm(final String osmAccess) {
+		return !OSM_ACCESS_FORBIDDEN.contains(osmAccess);
+	}
+
+	/**
+	 * Whether the given value of the surface tag of the OSM-format describes an
+	 * unpaved surface.
+	 * 
+	 * @param osmSurface
+	 *            The value of the surface tag from the OSM-format
+	 * @return <tt>True</tt> if the surface is unpaved, <tt>false</tt>
+	 *         otherwise
+	 */
+	public static boolean isUnpavedSurfaceFromOsm(final String osmSurface) {
+		return OSM_SURFACES_UNPAVED.contains(osmSurface);
+	}
+
 	/**
 	 * Converts a speed given in kilometer per hour to meter per second.
 	 * 
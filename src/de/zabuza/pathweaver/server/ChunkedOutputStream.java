@@ -0,0 +1,134 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stream which encodes the data written to it with the chunked transfer
+ * coding of HTTP/1.1. Data is buffered and emitted in chunks of the size of
+ * the buffer. Closing the stream terminates the body but does not close the
+ * underlying stream, such that the connection can be kept alive.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ChunkedOutputStream extends FilterOutputStream {
+	/**
+	 * The size of the buffer and thus the maximal size of a chunk, in bytes.
+	 */
+	private static final int CHUNK_SIZE = 8_192;
+	/**
+	 * The line terminator of the protocol.
+	 */
+	private static final byte[] CRLF = { '\r', '\n' };
+	/**
+	 * The last chunk followed by an empty trailer, terminating the body.
+	 */
+	private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+	/**
+	 * Buffer holding the data of the current chunk.
+	 */
+	private final byte[] mBuffer;
+	/**
+	 * Whether the body was terminated.
+	 */
+	private boolean mIsClosed;
+	/**
+	 * The amount of bytes in the buffer.
+	 */
+	private int mSize;
+
+	/**
+	 * Creates a new stream which writes the chunks to the given stream.
+	 * 
+	 * @param output
+	 *            The stream to write the chunks to
+	 */
+	ChunkedOutputStream(final OutputStream output) {
+		super(output);
+		this.mBuffer = new byte[CHUNK_SIZE];
+		this.mSize = 0;
+		this.mIsClosed = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.FilterOutputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.mIsClosed) {
+			return;
+		}
+		this.mIsClosed = true;
+		writeChunk();
+		this.out.write(LAST_CHUNK);
+		this.out.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.FilterOutputStream#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		writeChunk();
+		this.out.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.FilterOutputStream#write(byte[], int, int)
+	 */
+	@Override
+	public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+		int written = 0;
+		while (written < length) {
+			if (this.mSize == this.mBuffer.length) {
+				writeChunk();
+			}
+			final int amount = Math.min(length - written, this.mBuffer.length - this.mSize);
+			System.arraycopy(bytes, offset + written, this.mBuffer, this.mSize, amount);
+			this.mSize += amount;
+			written += amount;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.FilterOutputStream#write(int)
+	 */
+	@Override
+	public void write(final int value) throws IOException {
+		if (this.mSize == this.mBuffer.length) {
+			writeChunk();
+		}
+		this.mBuffer[this.mSize] = (byte) value;
+		this.mSize++;
+	}
+
+	/**
+	 * Writes the buffered data as chunk and empties the buffer. Does nothing
+	 * if the buffer is empty, since an empty chunk terminates the body.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	private void writeChunk() throws IOException {
+		if (this.mSize == 0) {
+			return;
+		}
+		this.out.write(Integer.toHexString(this.mSize).getBytes(StandardCharsets.ISO_8859_1));
+		this.out.write(CRLF);
+		this.out.write(this.mBuffer, 0, this.mSize);
+		this.out.write(CRLF);
+		this.mSize = 0;
+	}
+}
@@ -0,0 +1,27 @@
+package de.zabuza.pathweaver.server;
+
+/**
+ * Formats in which a {@link RoutingServer} encodes the geometry of a path,
+ * selected by the <tt>format</tt> parameter of a request.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EPathFormat {
+	/**
+	 * Compact binary format of content type
+	 * <tt>application/octet-stream</tt>, see {@link PathEncoder}. JSONP is not
+	 * supported.
+	 */
+	BINARY,
+	/**
+	 * JSON object with the cost and the path as array of
+	 * <tt>[latitude, longitude]</tt> arrays, the default format.
+	 */
+	JSON,
+	/**
+	 * JSON object with the cost and the path in the encoded polyline format
+	 * of Google with a precision of five decimal places.
+	 */
+	POLYLINE
+}
@@ -0,0 +1,27 @@
+package de.zabuza.pathweaver.server;
+
+/**
+ * Ways a {@link RoutingServer} can assign threads to connections.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EThreadingMode {
+	/**
+	 * Serves connections on a fixed pool of platform threads, one connection
+	 * at a time per thread. Connections exceeding the pool wait in a bounded
+	 * queue. Idle persistent connections are closed as soon as connections
+	 * wait, which releases their threads. The parallelism of the server is
+	 * the size of the pool.
+	 */
+	POOLED,
+	/**
+	 * Serves every connection on its own thread. Virtual threads are used if
+	 * the runtime supports them, which is the case since Java 21, platform
+	 * threads otherwise. Blocking on idle connections thus does not occupy a
+	 * platform thread. The parallelism of the server is the amount of
+	 * searches which run at the same time, further searches wait for a free
+	 * slot such that the searches do not oversubscribe the processors.
+	 */
+	THREAD_PER_CONNECTION
+}
@@ -0,0 +1,429 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A request of the HTTP/1.x protocol. Requests are read from the input stream
+ * of a connection by {@link #readFrom(InputStream)}, several requests can be
+ * read from the same stream one after another, as required by persistent
+ * connections.<br>
+ * <br>
+ * Header names are case-insensitive and stored in lower case. Bodies are only
+ * supported with a <tt>Content-Length</tt>, chunked transfer encoding is
+ * rejected.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class HttpRequest {
+	/**
+	 * Message of the exception thrown when the body of a request exceeds the
+	 * maximal length.
+	 */
+	private static final String EXCEPTION_BODY_TOO_LONG = "The body of the request is too long: ";
+	/**
+	 * Message of the exception thrown when a header line is malformed.
+	 */
+	private static final String EXCEPTION_HEADER_MALFORMED = "The header line is malformed: ";
+	/**
+	 * Message of the exception thrown when a request has too many headers.
+	 */
+	private static final String EXCEPTION_HEADERS_TOO_MANY = "The request has too many headers.";
+	/**
+	 * Message of the exception thrown when a line exceeds the maximal length.
+	 */
+	private static final String EXCEPTION_LINE_TOO_LONG = "A line of the request is too long.";
+	/**
+	 * Message of the exception thrown when the request line is malformed.
+	 */
+	private static final String EXCEPTION_REQUEST_LINE_MALFORMED = "The request line is malformed: ";
+	/**
+	 * Message of the exception thrown when the transfer encoding is not
+	 * supported.
+	 */
+	private static final String EXCEPTION_TRANSFER_ENCODING_UNSUPPORTED = "Transfer encodings are not supported: ";
+	/**
+	 * Name of the header which controls persistent connections.
+	 */
+	private static final String HEADER_CONNECTION = "connection";
+	/**
+	 * Name of the header which contains the length of the body.
+	 */
+	private static final String HEADER_CONTENT_LENGTH = "content-length";
+	/**
+	 * Name of the header which contains the transfer encoding of the body.
+	 */
+	private static final String HEADER_TRANSFER_ENCODING = "transfer-encoding";
+	/**
+	 * The maximal length of bodies, in bytes.
+	 */
+	private static final int MAX_BODY_LENGTH = 1 << 20;
+	/**
+	 * The maximal amount of headers of a request.
+	 */
+	private static final int MAX_HEADERS = 100;
+	/**
+	 * The maximal length of lines of the request line and the headers, in
+	 * bytes.
+	 */
+	private static final int MAX_LINE_LENGTH = 8192;
+	/**
+	 * The version of the protocol which uses persistent connections by
+	 * default.
+	 */
+	private static final String VERSION_PERSISTENT_BY_DEFAULT = "HTTP/1.1";
+
+	/**
+	 * Parses the query parameters of the given query.
+	 * 
+	 * @param query
+	 *            The query, i.e. the part of the target after the question
+	 *            mark
+	 * @return The decoded parameters, accessible by their names. If a name
+	 *         occurs several times, its first value is used.
+	 * @throws IllegalArgumentException
+	 *             If the query is not correctly encoded
+	 */
+	static Map<String, String> parseQuery(final String query) throws IllegalArgumentException {
+		final Map<String, String> parameters = new HashMap<>();
+		if (query.isEmpty()) {
+			return parameters;
+		}
+		for (final String parameter : query.split("&")) {
+			if (parameter.isEmpty()) {
+				continue;
+			}
+			final int separatorIndex = parameter.indexOf('=');
+			final String name;
+			final String value;
+			if (separatorIndex < 0) {
+				name = decode(parameter);
+				value = "";
+			} else {
+				name = decode(parameter.substring(0, separatorIndex));
+				value = decode(parameter.substring(separatorIndex + 1));
+			}
+			parameters.putIfAbsent(name, value);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Reads the next request from the given stream. Blocks until the request
+	 * is completely received.
+	 * 
+	 * @param input
+	 *            The stream to read from, should be buffered
+	 * @return The read request if present, if not present the stream ended
+	 *         before a new request started
+	 * @throws IOException
+	 *             If an I/O-exception occurred or the stream ended within a
+	 *             request
+	 * @throws IllegalArgumentException
+	 *             If the request is malformed or exceeds the limits of the
+	 *             lengths of lines, headers and bodies
+	 */
+	public static Optional<HttpRequest> readFrom(final InputStream input)
+			throws IOException, IllegalArgumentException {
+		String requestLine = readLine(input);
+		// Empty lines in front of a request must be ignored
+		while (requestLine != null && requestLine.isEmpty()) {
+			requestLine = readLine(input);
+		}
+		if (requestLine == null) {
+			return Optional.empty();
+		}
+
+		final String[] requestLineParts = requestLine.split(" ");
+		if (requestLineParts.length != 3 || !requestLineParts[2].startsWith("HTTP/")
+				|| !requestLineParts[1].startsWith("/")) {
+			throw new IllegalArgumentException(EXCEPTION_REQUEST_LINE_MALFORMED + requestLine);
+		}
+		final String method = requestLineParts[0];
+		final String target = requestLineParts[1];
+		final String version = requestLineParts[2];
+
+		final Map<String, String> headers = new HashMap<>();
+		while (true) {
+			final String headerLine = readLine(input);
+			if (headerLine == null) {
+				throw new EOFException();
+			}
+			if (headerLine.isEmpty()) {
+				break;
+			}
+			if (headers.size() >= MAX_HEADERS) {
+				throw new IllegalArgumentException(EXCEPTION_HEADERS_TOO_MANY);
+			}
+			final int separatorIndex = headerLine.indexOf(':');
+			if (separatorIndex <= 0) {
+				throw new IllegalArgumentException(EXCEPTION_HEADER_MALFORMED + headerLine);
+			}
+			final String name = headerLine.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT);
+			final String value = headerLine.substring(separatorIndex + 1).trim();
+			// Repeated headers are combined into a list
+			headers.merge(name, value, (first, second) -> first + "," + second);
+		}
+
+		if (headers.containsKey(HEADER_TRANSFER_ENCODING)) {
+			throw new IllegalArgumentException(
+					EXCEPTION_TRANSFER_ENCODING_UNSUPPORTED + headers.get(HEADER_TRANSFER_ENCODING));
+		}
+		final byte[] body = readBody(input, headers.get(HEADER_CONTENT_LENGTH));
+
+		final int queryIndex = target.indexOf('?');
+		final String path;
+		final Map<String, String> queryParameters;
+		if (queryIndex < 0) {
+			path = target;
+			queryParameters = Collections.emptyMap();
+		} else {
+			path = target.substring(0, queryIndex);
+			queryParameters = parseQuery(target.substring(queryIndex + 1));
+		}
+
+		return Optional.of(new HttpRequest(method, path, version, headers, queryParameters, body));
+	}
+
+	/**
+	 * Decodes the given URL encoded text.
+	 * 
+	 * @param text
+	 *            The text to decode
+	 * @return The decoded text
+	 * @throws IllegalArgumentException
+	 *             If the text is not correctly encoded
+	 */
+	private static String decode(final String text) throws IllegalArgumentException {
+		try {
+			return URLDecoder.decode(text, StandardCharsets.UTF_8.name());
+		} catch (final UnsupportedEncodingException e) {
+			// Can not happen since every platform supports UTF-8
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Reads the body of a request from the given stream.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 * @param contentLength
+	 *            The value of the content length header, may be
+	 *            <tt>null</tt> if the request has no body
+	 * @return The body of the request, empty if it has no body
+	 * @throws IOException
+	 *             If an I/O-exception occurred or the stream ended within the
+	 *             body
+	 * @throws IllegalArgumentException
+	 *             If the content length is not valid or exceeds the maximal
+	 *             length
+	 */
+	private static byte[] readBody(final InputStream input, final String contentLength)
+			throws IOException, IllegalArgumentException {
+		if (contentLength == null) {
+			return new byte[0];
+		}
+		final int length;
+		try {
+			length = Integer.parseInt(contentLength);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(EXCEPTION_HEADER_MALFORMED + contentLength, e);
+		}
+		if (length < 0 || length > MAX_BODY_LENGTH) {
+			throw new IllegalArgumentException(EXCEPTION_BODY_TOO_LONG + contentLength);
+		}
+		final byte[] body = new byte[length];
+		int offset = 0;
+		while (offset < length) {
+			final int amountRead = input.read(body, offset, length - offset);
+			if (amountRead < 0) {
+				throw new EOFException();
+			}
+			offset += amountRead;
+		}
+		return body;
+	}
+
+	/**
+	 * Reads a line of the request line or the headers from the given stream.
+	 * Lines are terminated by <tt>CRLF</tt>, a single <tt>LF</tt> is
+	 * accepted as well.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 * @return The line without terminator or <tt>null</tt> if the stream
+	 *         ended before the first byte of the line
+	 * @throws IOException
+	 *             If an I/O-exception occurred or the stream ended within the
+	 *             line
+	 * @throws IllegalArgumentException
+	 *             If the line exceeds the maximal length
+	 */
+	private static String readLine(final InputStream input) throws IOException, IllegalArgumentException {
+		final ByteArrayOutputStream line = new ByteArrayOutputStream();
+		while (true) {
+			final int value = input.read();
+			if (value < 0) {
+				if (line.size() == 0) {
+					return null;
+				}
+				throw new EOFException();
+			}
+			if (value == '\n') {
+				break;
+			}
+			if (line.size() >= MAX_LINE_LENGTH) {
+				throw new IllegalArgumentException(EXCEPTION_LINE_TOO_LONG);
+			}
+			line.write(value);
+		}
+		final byte[] bytes = line.toByteArray();
+		int length = bytes.length;
+		if (length > 0 && bytes[length - 1] == '\r') {
+			length--;
+		}
+		return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * The body of the request.
+	 */
+	private final byte[] mBody;
+	/**
+	 * The headers of the request, accessible by their lower case names.
+	 */
+	private final Map<String, String> mHeaders;
+	/**
+	 * The method of the request, like <tt>GET</tt>.
+	 */
+	private final String mMethod;
+	/**
+	 * The path of the target of the request, without query.
+	 */
+	private final String mPath;
+	/**
+	 * The decoded query parameters of the request, accessible by their names.
+	 */
+	private final Map<String, String> mQueryParameters;
+	/**
+	 * The version of the protocol, like <tt>HTTP/1.1</tt>.
+	 */
+	private final String mVersion;
+
+	/**
+	 * Creates a new request.
+	 * 
+	 * @param method
+	 *            The method of the request, like <tt>GET</tt>
+	 * @param path
+	 *            The path of the target of the request, without query
+	 * @param version
+	 *            The version of the protocol, like <tt>HTTP/1.1</tt>
+	 * @param headers
+	 *            The headers of the request, accessible by their lower case
+	 *            names
+	 * @param queryParameters
+	 *            The decoded query parameters of the request, accessible by
+	 *            their names
+	 * @param body
+	 *            The body of the request
+	 */
+	public HttpRequest(final String method, final String path, final String version,
+			final Map<String, String> headers, final Map<String, String> queryParameters, final byte[] body) {
+		this.mMethod = method;
+		this.mPath = path;
+		this.mVersion = version;
+		this.mHeaders = headers;
+		this.mQueryParameters = queryParameters;
+		this.mBody = body;
+	}
+
+	/**
+	 * Gets the body of the request.
+	 * 
+	 * @return The body of the request, empty if it has no body
+	 */
+	public byte[] getBody() {
+		return this.mBody;
+	}
+
+	/**
+	 * Gets the value of the header with the given name.
+	 * 
+	 * @param name
+	 *            The case-insensitive name of the header
+	 * @return The value of the header if present, if not present the request
+	 *         does not have such a header
+	 */
+	public Optional<String> getHeader(final String name) {
+		return Optional.ofNullable(this.mHeaders.get(name.toLowerCase(Locale.ROOT)));
+	}
+
+	/**
+	 * Gets the method of the request.
+	 * 
+	 * @return The method of the request, like <tt>GET</tt>
+	 */
+	public String getMethod() {
+		return this.mMethod;
+	}
+
+	/**
+	 * Gets the path of the target of the request.
+	 * 
+	 * @return The path of the target, without query
+	 */
+	public String getPath() {
+		return this.mPath;
+	}
+
+	/**
+	 * Gets the decoded value of the query parameter with the given name.
+	 * 
+	 * @param name
+	 *            The name of the parameter
+	 * @return The value of the parameter if present, if not present the
+	 *         request does not have such a parameter
+	 */
+	public Optional<String> getQueryParameter(final String name) {
+		return Optional.ofNullable(this.mQueryParameters.get(name));
+	}
+
+	/**
+	 * Gets the version of the protocol the request uses.
+	 * 
+	 * @return The version of the protocol, like <tt>HTTP/1.1</tt>
+	 */
+	public String getVersion() {
+		return this.mVersion;
+	}
+
+	/**
+	 * Whether the connection of the request should be kept open after the
+	 * response, i.e. if it is persistent. HTTP/1.1 connections are persistent
+	 * unless the client requests to close them, older connections only if the
+	 * client requests to keep them alive.
+	 * 
+	 * @return <tt>True</tt> if the connection should be kept open,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean isKeepAlive() {
+		final String connection = this.mHeaders.getOrDefault(HEADER_CONNECTION, "").toLowerCase(Locale.ROOT);
+		if (VERSION_PERSISTENT_BY_DEFAULT.equals(this.mVersion)) {
+			return !connection.contains("close");
+		}
+		return connection.contains("keep-alive");
+	}
+}
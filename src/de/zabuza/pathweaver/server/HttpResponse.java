@@ -0,0 +1,236 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A response of the HTTP/1.1 protocol. The body is either held in memory and
+ * sent with its length or streamed with the chunked transfer coding, see
+ * {@link IResponseBodyWriter}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class HttpResponse {
+	/**
+	 * Status code of requests which are malformed.
+	 */
+	public static final int STATUS_BAD_REQUEST = 400;
+	/**
+	 * Status code of requests which failed due to an error of the server.
+	 */
+	public static final int STATUS_INTERNAL_SERVER_ERROR = 500;
+	/**
+	 * Status code of requests whose method is not supported by the target.
+	 */
+	public static final int STATUS_METHOD_NOT_ALLOWED = 405;
+	/**
+	 * Status code of requests whose target does not exist.
+	 */
+	public static final int STATUS_NOT_FOUND = 404;
+	/**
+	 * Status code of successful requests.
+	 */
+	public static final int STATUS_OK = 200;
+	/**
+	 * Status code of requests which can currently not be handled since the
+	 * server is overloaded.
+	 */
+	public static final int STATUS_SERVICE_UNAVAILABLE = 503;
+	/**
+	 * The content type of plain text.
+	 */
+	public static final String TYPE_TEXT = "text/plain; charset=utf-8";
+
+	/**
+	 * Creates a response with the given plain text as body.
+	 * 
+	 * @param statusCode
+	 *            The status code of the response
+	 * @param text
+	 *            The text of the body
+	 * @return The created response
+	 */
+	public static HttpResponse ofText(final int statusCode, final String text) {
+		return new HttpResponse(statusCode, TYPE_TEXT, text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the reason phrase of the given status code.
+	 * 
+	 * @param statusCode
+	 *            The status code
+	 * @return The reason phrase of the status code
+	 */
+	private static String getReasonPhrase(final int statusCode) {
+		switch (statusCode) {
+		case STATUS_OK:
+			return "OK";
+		case STATUS_BAD_REQUEST:
+			return "Bad Request";
+		case STATUS_NOT_FOUND:
+			return "Not Found";
+		case STATUS_METHOD_NOT_ALLOWED:
+			return "Method Not Allowed";
+		case STATUS_INTERNAL_SERVER_ERROR:
+			return "Internal Server Error";
+		case STATUS_SERVICE_UNAVAILABLE:
+			return "Service Unavailable";
+		default:
+			return "Unknown";
+		}
+	}
+
+	/**
+	 * The body of the response, <tt>null</tt> if the body is streamed.
+	 */
+	private final byte[] mBody;
+	/**
+	 * The writer of the body if it is streamed, <tt>null</tt> otherwise.
+	 */
+	private final IResponseBodyWriter mBodyWriter;
+	/**
+	 * The content type of the body.
+	 */
+	private final String mContentType;
+	/**
+	 * The status code of the response.
+	 */
+	private final int mStatusCode;
+
+	/**
+	 * Creates a new response.
+	 * 
+	 * @param statusCode
+	 *            The status code of the response
+	 * @param contentType
+	 *            The content type of the body
+	 * @param body
+	 *            The body of the response
+	 */
+	public HttpResponse(final int statusCode, final String contentType, final byte[] body) {
+		this.mStatusCode = statusCode;
+		this.mContentType = contentType;
+		this.mBody = body;
+		this.mBodyWriter = null;
+	}
+
+	/**
+	 * Creates a new response whose body is streamed by the given writer when
+	 * the response is written.
+	 * 
+	 * @param statusCode
+	 *            The status code of the response
+	 * @param contentType
+	 *            The content type of the body
+	 * @param bodyWriter
+	 *            The writer of the body
+	 */
+	public HttpResponse(final int statusCode, final String contentType, final IResponseBodyWriter bodyWriter) {
+		this.mStatusCode = statusCode;
+		this.mContentType = contentType;
+		this.mBody = null;
+		this.mBodyWriter = bodyWriter;
+	}
+
+	/**
+	 * Gets the body of the response. Streamed bodies are written into memory
+	 * for every call.
+	 * 
+	 * @return The body of the response
+	 */
+	public byte[] getBody() {
+		if (this.mBodyWriter == null) {
+			return this.mBody;
+		}
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try {
+			this.mBodyWriter.writeTo(body);
+		} catch (final IOException e) {
+			// Can not happen since byte array streams do not throw
+			throw new UncheckedIOException(e);
+		}
+		return body.toByteArray();
+	}
+
+	/**
+	 * Gets the content type of the body.
+	 * 
+	 * @return The content type of the body
+	 */
+	public String getContentType() {
+		return this.mContentType;
+	}
+
+	/**
+	 * Gets the status code of the response.
+	 * 
+	 * @return The status code of the response
+	 */
+	public int getStatusCode() {
+		return this.mStatusCode;
+	}
+
+	/**
+	 * Whether the body is streamed with the chunked transfer coding instead of
+	 * being held in memory.
+	 * 
+	 * @return <tt>True</tt> if the body is streamed, <tt>false</tt> otherwise
+	 */
+	public boolean isStreamed() {
+		return this.mBodyWriter != null;
+	}
+
+	/**
+	 * Writes the response to the given stream and flushes it. If writing a
+	 * streamed body fails, the body is left unterminated such that the client
+	 * detects the failure once the connection is closed.
+	 * 
+	 * @param output
+	 *            The stream to write to
+	 * @param keepAlive
+	 *            Whether the connection is kept open after the response
+	 * @param includeBody
+	 *            Whether the body is written, which is not the case for
+	 *            responses to <tt>HEAD</tt> requests
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("resource")
+	public void writeTo(final OutputStream output, final boolean keepAlive, final boolean includeBody)
+			throws IOException {
+		final StringBuilder header = new StringBuilder();
+		header.append("HTTP/1.1 ").append(this.mStatusCode).append(' ').append(getReasonPhrase(this.mStatusCode))
+				.append("\r\n");
+		header.append("Content-Type: ").append(this.mContentType).append("\r\n");
+		if (this.mBodyWriter == null) {
+			header.append("Content-Length: ").append(this.mBody.length).append("\r\n");
+		} else {
+			header.append("Transfer-Encoding: chunked\r\n");
+		}
+		header.append("Access-Control-Allow-Origin: *\r\n");
+		if (keepAlive) {
+			header.append("Connection: keep-alive\r\n");
+		} else {
+			header.append("Connection: close\r\n");
+		}
+		header.append("\r\n");
+		output.write(header.toString().getBytes(StandardCharsets.ISO_8859_1));
+		if (!includeBody) {
+			output.flush();
+			return;
+		}
+		if (this.mBodyWriter == null) {
+			output.write(this.mBody);
+			output.flush();
+			return;
+		}
+		// Closing writes the last chunk, which must only happen on success
+		final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output);
+		this.mBodyWriter.writeTo(chunkedOutput);
+		chunkedOutput.close();
+	}
+}
@@ -0,0 +1,25 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writer of the body of a {@link HttpResponse} whose body is streamed
+ * instead of being held in memory.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@FunctionalInterface
+public interface IResponseBodyWriter {
+	/**
+	 * Writes the body to the given stream. The stream must not be closed.
+	 * Might be called more than once, every call must write the same body.
+	 * 
+	 * @param output
+	 *            The stream to write to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while writing
+	 */
+	public void writeTo(final OutputStream output) throws IOException;
+}
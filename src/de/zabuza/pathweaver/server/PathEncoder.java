@@ -0,0 +1,251 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+
+/**
+ * Utility class which encodes the geometry of paths in a road network. The
+ * encoders write directly to the given output, such that long paths do not
+ * need to be held in memory as text, see {@link EPathFormat}. The geometry
+ * includes the shape points of contracted roads, see
+ * {@link RoadNetwork#getCoordinates(CompactPath)}.<br>
+ * <br>
+ * The binary format starts with the cost of the path as big-endian 32-bit
+ * float, followed by the amount of points as unsigned variable-length integer.
+ * Then, for every point, its latitude and longitude in millionths of a degree
+ * follow, each as the difference to the previous point, zigzag-encoded and
+ * written as variable-length integer. Variable-length integers use seven bits
+ * per byte, least significant first, the highest bit marks that further
+ * bytes follow.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PathEncoder {
+	/**
+	 * The factor by which coordinates are scaled in the binary format.
+	 */
+	private static final double PRECISION_BINARY = 1e6;
+	/**
+	 * The factor by which coordinates are scaled in the encoded polyline
+	 * format.
+	 */
+	private static final double PRECISION_POLYLINE = 1e5;
+
+	/**
+	 * Appends the given path in the encoded polyline format of Google with a
+	 * precision of five decimal places. The text may contain backslashes,
+	 * which need to be escaped when embedded into JSON.
+	 * 
+	 * @param path
+	 *            The path to encode
+	 * @param network
+	 *            The road network the path belongs to
+	 * @param out
+	 *            The object to append to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	public static void appendPolyline(final CompactPath path, final RoadNetwork network, final Appendable out)
+			throws IOException {
+		appendPolyline(path, network, out, false);
+	}
+
+	/**
+	 * Writes the given path in the binary format, see {@link PathEncoder}.
+	 * 
+	 * @param path
+	 *            The path to encode
+	 * @param network
+	 *            The road network the path belongs to
+	 * @param output
+	 *            The stream to write to, it is not closed
+	 * @throws IOException
+	 *             If an I/O-exception occurred while writing
+	 */
+	public static void writeBinary(final CompactPath path, final RoadNetwork network, final OutputStream output)
+			throws IOException {
+		final DataOutputStream data = new DataOutputStream(output);
+		final float[] coordinates = network.getCoordinates(path);
+		data.writeFloat(path.getCost());
+		writeVarint(coordinates.length / 2, data);
+		long previousLatitude = 0L;
+		long previousLongitude = 0L;
+		for (int i = 0; i < coordinates.length; i += 2) {
+			final long latitude = Math.round(coordinates[i] * PRECISION_BINARY);
+			final long longitude = Math.round(coordinates[i + 1] * PRECISION_BINARY);
+			writeVarint(toZigzag(latitude - previousLatitude), data);
+			writeVarint(toZigzag(longitude - previousLongitude), data);
+			previousLatitude = latitude;
+			previousLongitude = longitude;
+		}
+		data.flush();
+	}
+
+	/**
+	 * Appends the given path as JSON object with its cost and the path as
+	 * array of <tt>[latitude, longitude]</tt> arrays.
+	 * 
+	 * @param path
+	 *            The path to encode
+	 * @param network
+	 *            The road network the path belongs to
+	 * @param out
+	 *            The object to append to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	public static void writeJson(final CompactPath path, final RoadNetwork network, final Appendable out)
+			throws IOException {
+		final float[] coordinates = network.getCoordinates(path);
+		out.append("{\"cost\":").append(Float.toString(path.getCost())).append(",\"path\":[");
+		for (int i = 0; i < coordinates.length; i += 2) {
+			if (i > 0) {
+				out.append(',');
+			}
+			out.append('[').append(Float.toString(coordinates[i])).append(',')
+					.append(Float.toString(coordinates[i + 1])).append(']');
+		}
+		out.append("]}");
+	}
+
+	/**
+	 * Appends the given path as JSON object with its cost and the path in the
+	 * encoded polyline format, see
+	 * {@link #appendPolyline(CompactPath, RoadNetwork, Appendable)}.
+	 * 
+	 * @param path
+	 *            The path to encode
+	 * @param network
+	 *            The road network the path belongs to
+	 * @param out
+	 *            The object to append to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	public static void writePolylineJson(final CompactPath path, final RoadNetwork network, final Appendable out)
+			throws IOException {
+		out.append("{\"cost\":").append(Float.toString(path.getCost())).append(",\"polyline\":\"");
+		appendPolyline(path, network, out, true);
+		out.append("\"}");
+	}
+
+	/**
+	 * Appends the given path in the encoded polyline format of Google with a
+	 * precision of five decimal places.
+	 * 
+	 * @param path
+	 *            The path to encode
+	 * @param network
+	 *            The road network the path belongs to
+	 * @param out
+	 *            The object to append to
+	 * @param escapeBackslashes
+	 *            Whether backslashes are escaped for embedding the text into
+	 *            a JSON string, it is the only character of the format which
+	 *            needs escaping
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	private static void appendPolyline(final CompactPath path, final RoadNetwork network, final Appendable out,
+			final boolean escapeBackslashes) throws IOException {
+		final float[] coordinates = network.getCoordinates(path);
+		long previousLatitude = 0L;
+		long previousLongitude = 0L;
+		for (int i = 0; i < coordinates.length; i += 2) {
+			final long latitude = Math.round(coordinates[i] * PRECISION_POLYLINE);
+			final long longitude = Math.round(coordinates[i + 1] * PRECISION_POLYLINE);
+			appendPolylineValue(latitude - previousLatitude, out, escapeBackslashes);
+			appendPolylineValue(longitude - previousLongitude, out, escapeBackslashes);
+			previousLatitude = latitude;
+			previousLongitude = longitude;
+		}
+	}
+
+	/**
+	 * Appends the given character of the encoded polyline format.
+	 * 
+	 * @param character
+	 *            The character to append
+	 * @param out
+	 *            The object to append to
+	 * @param escapeBackslashes
+	 *            Whether backslashes are escaped for embedding the text into
+	 *            a JSON string
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	private static void appendPolylineCharacter(final char character, final Appendable out,
+			final boolean escapeBackslashes) throws IOException {
+		if (escapeBackslashes && character == '\\') {
+			out.append('\\');
+		}
+		out.append(character);
+	}
+
+	/**
+	 * Appends the given value in the encoded polyline format.
+	 * 
+	 * @param value
+	 *            The value to append, the difference to the previous value
+	 * @param out
+	 *            The object to append to
+	 * @param escapeBackslashes
+	 *            Whether backslashes are escaped for embedding the text into
+	 *            a JSON string
+	 * @throws IOException
+	 *             If an I/O-exception occurred while appending
+	 */
+	private static void appendPolylineValue(final long value, final Appendable out, final boolean escapeBackslashes)
+			throws IOException {
+		long remaining = toZigzag(value);
+		while (remaining >= 0x20) {
+			appendPolylineCharacter((char) ((0x20 | (remaining & 0x1F)) + 63), out, escapeBackslashes);
+			remaining >>>= 5;
+		}
+		appendPolylineCharacter((char) (remaining + 63), out, escapeBackslashes);
+	}
+
+	/**
+	 * Maps the given signed value to an unsigned value such that values of
+	 * small magnitude are mapped to small values.
+	 * 
+	 * @param value
+	 *            The value to map
+	 * @return The mapped value
+	 */
+	private static long toZigzag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Writes the given unsigned value as variable-length integer, see
+	 * {@link PathEncoder}.
+	 * 
+	 * @param value
+	 *            The value to write
+	 * @param output
+	 *            The stream to write to
+	 * @throws IOException
+	 *             If an I/O-exception occurred while writing
+	 */
+	private static void writeVarint(final long value, final OutputStream output) throws IOException {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0L) {
+			output.write((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		output.write((int) remaining);
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private PathEncoder() {
+
+	}
+}
@@ -0,0 +1,208 @@
+package de.zabuza.pathweaver.server;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+
+/**
+ * A batch of routing requests which share the same source and are answered
+ * by one search. Requests join the batch while it is open, the request which
+ * opened the batch closes it, runs the search and completes the batch. The
+ * other requests wait for the completion, see {@link #awaitPath(Node)}.<br>
+ * <br>
+ * All methods are thread-safe.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class RouteBatch {
+	/**
+	 * Message of the exception thrown when waiting for a path of an aborted
+	 * batch.
+	 */
+	private static final String EXCEPTION_ABORTED = "The search of the batch was aborted.";
+	/**
+	 * Message of the exception thrown when a destination is added to a closed
+	 * batch.
+	 */
+	private static final String EXCEPTION_CLOSED = "The batch is already closed.";
+
+	/**
+	 * The amount of requests which joined the batch.
+	 */
+	private int mAmountOfRequests;
+	/**
+	 * The destinations of the requests, without duplicates.
+	 */
+	private final Set<Node> mDestinations;
+	/**
+	 * The computed paths, accessible by their destination. <tt>null</tt>
+	 * until the batch is completed.
+	 */
+	private Map<Node, Path> mDestinationToPath;
+	/**
+	 * Whether the search of the batch was aborted.
+	 */
+	private boolean mIsAborted;
+	/**
+	 * Whether the batch is closed, i.e. no further requests can join.
+	 */
+	private boolean mIsClosed;
+	/**
+	 * The amount of requests after which the batch is full.
+	 */
+	private final int mMaxAmountOfRequests;
+	/**
+	 * The source shared by all requests of the batch.
+	 */
+	private final Node mSource;
+
+	/**
+	 * Creates a new open batch without requests.
+	 * 
+	 * @param source
+	 *            The source shared by all requests of the batch
+	 * @param maxAmountOfRequests
+	 *            The amount of requests after which the batch is full
+	 */
+	RouteBatch(final Node source, final int maxAmountOfRequests) {
+		this.mSource = source;
+		this.mMaxAmountOfRequests = maxAmountOfRequests;
+		this.mDestinations = new LinkedHashSet<>();
+		this.mAmountOfRequests = 0;
+		this.mIsClosed = false;
+		this.mIsAborted = false;
+	}
+
+	/**
+	 * Aborts the batch unless it is already completed. All requests waiting
+	 * for their path fail.
+	 */
+	synchronized void abort() {
+		if (this.mDestinationToPath != null) {
+			return;
+		}
+		this.mIsClosed = true;
+		this.mIsAborted = true;
+		notifyAll();
+	}
+
+	/**
+	 * Adds the request with the given destination to the batch.
+	 * 
+	 * @param destination
+	 *            The destination of the request
+	 * @throws IllegalStateException
+	 *             If the batch is already closed
+	 */
+	synchronized void addDestination(final Node destination) throws IllegalStateException {
+		if (this.mIsClosed) {
+			throw new IllegalStateException(EXCEPTION_CLOSED);
+		}
+		this.mDestinations.add(destination);
+		this.mAmountOfRequests++;
+	}
+
+	/**
+	 * Waits until the batch is closed or the given time elapsed.
+	 * 
+	 * @param timeout
+	 *            The maximal time to wait, in nanoseconds
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting
+	 */
+	synchronized void awaitClosing(final long timeout) throws InterruptedException {
+		final long deadline = System.nanoTime() + timeout;
+		long remainingTime = timeout;
+		while (!this.mIsClosed && remainingTime > 0) {
+			wait(remainingTime / 1_000_000, (int) (remainingTime % 1_000_000));
+			remainingTime = deadline - System.nanoTime();
+		}
+	}
+
+	/**
+	 * Waits until the batch is completed and gets the path to the given
+	 * destination.
+	 * 
+	 * @param destination
+	 *            The destination of a request of the batch
+	 * @return The shortest path from the source of the batch to the given
+	 *         destination if present, if not present there is no such path
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting
+	 * @throws IllegalStateException
+	 *             If the batch was aborted
+	 */
+	synchronized Optional<Path> awaitPath(final Node destination)
+			throws InterruptedException, IllegalStateException {
+		while (this.mDestinationToPath == null && !this.mIsAborted) {
+			wait();
+		}
+		if (this.mIsAborted) {
+			throw new IllegalStateException(EXCEPTION_ABORTED);
+		}
+		return Optional.ofNullable(this.mDestinationToPath.get(destination));
+	}
+
+	/**
+	 * Closes the batch, no further requests can join it. Closing a closed
+	 * batch has no effect.
+	 */
+	synchronized void close() {
+		this.mIsClosed = true;
+		notifyAll();
+	}
+
+	/**
+	 * Completes the batch with the given paths and wakes up all requests
+	 * waiting for their path.
+	 * 
+	 * @param destinationToPath
+	 *            The computed paths, accessible by their destination
+	 */
+	synchronized void complete(final Map<Node, Path> destinationToPath) {
+		this.mDestinationToPath = destinationToPath;
+		notifyAll();
+	}
+
+	/**
+	 * Gets the amount of requests which joined the batch.
+	 * 
+	 * @return The amount of requests which joined the batch
+	 */
+	synchronized int getAmountOfRequests() {
+		return this.mAmountOfRequests;
+	}
+
+	/**
+	 * Gets the destinations of the requests of the batch.
+	 * 
+	 * @return An unmodifiable copy of the destinations, without duplicates
+	 */
+	synchronized Set<Node> getDestinations() {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(this.mDestinations));
+	}
+
+	/**
+	 * Gets the source shared by all requests of the batch.
+	 * 
+	 * @return The source shared by all requests of the batch
+	 */
+	Node getSource() {
+		return this.mSource;
+	}
+
+	/**
+	 * Whether the batch reached its maximal amount of requests.
+	 * 
+	 * @return <tt>True</tt> if the batch is full, <tt>false</tt> otherwise
+	 */
+	synchronized boolean isFull() {
+		return this.mAmountOfRequests >= this.mMaxAmountOfRequests;
+	}
+}
@@ -0,0 +1,1070 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import de.zabuza.pathweaver.monitoring.LatencyHistogram;
+import de.zabuza.pathweaver.monitoring.MetricsRegistry;
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+import de.zabuza.pathweaver.network.road.RoadNode;
+
+/**
+ * Server which answers shortest path requests on a road network over
+ * HTTP/1.1. The server offers the following targets:
+ * <ul>
+ * <li><tt>GET /route?srcLat=..&amp;srcLng=..&amp;dstLat=..&amp;dstLng=..</tt>
+ * snaps the coordinates to the nearest nodes and answers with the cost and
+ * the coordinates of the shortest path between them as JSON, like
+ * <tt>{"cost":12.5,"path":[[49.2,7.0],...]}</tt>. With an additional
+ * <tt>callback</tt> parameter the JSON is wrapped into a call of the given
+ * function (JSONP). The optional <tt>format</tt> parameter selects the
+ * encoding of the path, see {@link EPathFormat}. Route responses are
+ * streamed to the connection with the chunked transfer coding instead of
+ * being built in memory.</li>
+ * <li><tt>GET /metrics</tt> exports the metrics of the server in the
+ * Prometheus text format, see {@link MetricsRegistry}.</li>
+ * </ul>
+ * Connections are either served by a pool of worker threads or each on its
+ * own, preferably virtual, thread, see {@link EThreadingMode}. Either way,
+ * at most as many searches as given by the parallelism of the server run at
+ * the same time. Connections are persistent unless the client requests
+ * otherwise, idle connections are closed after {@link #KEEP_ALIVE_TIMEOUT}.
+ * A pool closes idle connections earlier, as soon as other connections wait
+ * for a worker, such that idle clients do not block the pool.
+ * Connections exceeding the capacity of the server are answered with
+ * <tt>503</tt> immediately.<br>
+ * <br>
+ * Optionally, concurrent routing requests which share the same source are
+ * coalesced into batches which are answered by a single one-to-many search,
+ * see {@link #setMaxBatchDelay(long, TimeUnit)}. This trades a few
+ * milliseconds of latency for throughput under bursts of such requests.<br>
+ * <br>
+ * The computation is shared by all workers and thus must support concurrent
+ * queries. The computations of the API support them, also while edge costs
+ * change: Dijkstra, A* with the metrics of the API, arc flags, CRP and the
+ * cache, if the computation it decorates supports them. Arc flags, CRP and
+ * the landmark metric block queries while repairing after cost changes. Own
+ * implementations must give the same guarantee. The structure of the network
+ * must not be changed while the server runs.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoutingServer implements Closeable {
+	/**
+	 * Pattern of valid names of JSONP callback functions.
+	 */
+	private static final Pattern CALLBACK_PATTERN = Pattern.compile("[a-zA-Z_$][a-zA-Z0-9_$.]*");
+	/**
+	 * The maximal amount of accepted connections which wait for a worker.
+	 */
+	private static final int CONNECTION_QUEUE_CAPACITY = 1024;
+	/**
+	 * Message of the error response to malformed callback names.
+	 */
+	private static final String ERROR_CALLBACK_ILLEGAL = "The callback is not a valid function name.";
+	/**
+	 * Message of the error response to JSONP requests for the binary format.
+	 */
+	private static final String ERROR_FORMAT_BINARY_JSONP = "JSONP is not supported for the binary format.";
+	/**
+	 * Message of the error response to unknown formats.
+	 */
+	private static final String ERROR_FORMAT_UNKNOWN = "Unknown format: ";
+	/**
+	 * Message of the error response to requests with unsupported methods.
+	 */
+	private static final String ERROR_METHOD_NOT_ALLOWED = "Only GET and HEAD requests are supported.";
+	/**
+	 * Message of the error response to requests with unknown targets.
+	 */
+	private static final String ERROR_NOT_FOUND = "Unknown target: ";
+	/**
+	 * Message of the error response to routing requests without path.
+	 */
+	private static final String ERROR_NO_PATH = "There is no path between the given coordinates.";
+	/**
+	 * Message of the error response to missing parameters.
+	 */
+	private static final String ERROR_PARAMETER_MISSING = "Missing parameter: ";
+	/**
+	 * Message of the error response to parameters which are no numbers.
+	 */
+	private static final String ERROR_PARAMETER_NOT_A_NUMBER = "The parameter is not a number: ";
+	/**
+	 * Message of the error response to rejected connections.
+	 */
+	private static final String ERROR_SERVICE_UNAVAILABLE = "The server is overloaded.";
+	/**
+	 * Message of the exception thrown when the maximal batch delay is
+	 * negative.
+	 */
+	private static final String EXCEPTION_BATCH_DELAY_ILLEGAL = "The maximal batch delay must not be negative: ";
+	/**
+	 * Message of the exception thrown when the parallelism is not positive.
+	 */
+	private static final String EXCEPTION_PARALLELISM_ILLEGAL = "The parallelism must be positive: ";
+	/**
+	 * The interval in which workers of a pool check whether other connections
+	 * wait for them while their connection is idle, in milliseconds.
+	 */
+	private static final int IDLE_CHECK_INTERVAL = 50;
+	/**
+	 * The time after which idle persistent connections are closed, in
+	 * milliseconds.
+	 */
+	private static final int KEEP_ALIVE_TIMEOUT = 5_000;
+	/**
+	 * The name of the label which distinguishes the outcomes of requests.
+	 */
+	private static final String LABEL_OUTCOME = "outcome";
+	/**
+	 * The name of the label which distinguishes the stages of requests.
+	 */
+	private static final String LABEL_STAGE = "stage";
+	/**
+	 * The maximal amount of requests of a batch, a full batch is searched
+	 * without waiting for the maximal batch delay.
+	 */
+	private static final int MAX_BATCH_SIZE = 64;
+	/**
+	 * The maximal amount of connections which are served at the same time if
+	 * every connection is served on its own thread.
+	 */
+	private static final int MAX_CONNECTIONS = 10_000;
+	/**
+	 * The method of requests which get a target.
+	 */
+	private static final String METHOD_GET = "GET";
+	/**
+	 * The method of requests whose responses have no body.
+	 */
+	private static final String METHOD_HEAD = "HEAD";
+	/**
+	 * The name of the metric counting requests which were answered by a
+	 * batch.
+	 */
+	private static final String METRIC_BATCHED_REQUESTS = "pathweaver_batched_requests_total";
+	/**
+	 * The name of the metric counting batches.
+	 */
+	private static final String METRIC_BATCHES = "pathweaver_batches_total";
+	/**
+	 * The name of the metric measuring the amount of open connections.
+	 */
+	private static final String METRIC_CONNECTIONS_OPEN = "pathweaver_connections_open";
+	/**
+	 * The name of the metric measuring the amount of connections waiting for a
+	 * worker.
+	 */
+	private static final String METRIC_CONNECTIONS_QUEUED = "pathweaver_connections_queued";
+	/**
+	 * The name of the metric counting rejected connections.
+	 */
+	private static final String METRIC_CONNECTIONS_REJECTED = "pathweaver_connections_rejected_total";
+	/**
+	 * The name of the metric counting requests.
+	 */
+	private static final String METRIC_REQUESTS = "pathweaver_requests_total";
+	/**
+	 * The name of the metric measuring the amount of requests in progress.
+	 */
+	private static final String METRIC_REQUESTS_IN_FLIGHT = "pathweaver_requests_in_flight";
+	/**
+	 * The name of the metric measuring the amount of searches waiting for a
+	 * free slot.
+	 */
+	private static final String METRIC_SEARCHES_WAITING = "pathweaver_searches_waiting";
+	/**
+	 * The name of the metric measuring the latency of request stages.
+	 */
+	private static final String METRIC_STAGE_DURATION = "pathweaver_request_stage_duration_seconds";
+	/**
+	 * The name of the parameter which contains the name of the JSONP callback.
+	 */
+	private static final String PARAMETER_CALLBACK = "callback";
+	/**
+	 * The name of the parameter which contains the destination latitude.
+	 */
+	private static final String PARAMETER_DESTINATION_LATITUDE = "dstLat";
+	/**
+	 * The name of the parameter which contains the destination longitude.
+	 */
+	private static final String PARAMETER_DESTINATION_LONGITUDE = "dstLng";
+	/**
+	 * The name of the parameter which contains the format of the path.
+	 */
+	private static final String PARAMETER_FORMAT = "format";
+	/**
+	 * The name of the parameter which contains the source latitude.
+	 */
+	private static final String PARAMETER_SOURCE_LATITUDE = "srcLat";
+	/**
+	 * The name of the parameter which contains the source longitude.
+	 */
+	private static final String PARAMETER_SOURCE_LONGITUDE = "srcLng";
+	/**
+	 * The path of the target which exports the metrics.
+	 */
+	private static final String PATH_METRICS = "/metrics";
+	/**
+	 * The path of the target which answers routing requests.
+	 */
+	private static final String PATH_ROUTE = "/route";
+	/**
+	 * The content type of binary data.
+	 */
+	private static final String TYPE_BINARY = "application/octet-stream";
+	/**
+	 * The content type of JavaScript, used for JSONP.
+	 */
+	private static final String TYPE_JAVASCRIPT = "application/javascript; charset=utf-8";
+	/**
+	 * The content type of JSON.
+	 */
+	private static final String TYPE_JSON = "application/json; charset=utf-8";
+
+	/**
+	 * Appends the given text as JSON string.
+	 * 
+	 * @param json
+	 *            The builder to append to
+	 * @param text
+	 *            The text to append
+	 */
+	private static void appendJsonString(final StringBuilder json, final String text) {
+		json.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			final char character = text.charAt(i);
+			if (character == '"' || character == '\\') {
+				json.append('\\').append(character);
+			} else if (character < 0x20) {
+				json.append(String.format("\\u%04x", Integer.valueOf(character)));
+			} else {
+				json.append(character);
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * Creates a JSON response with the given error message.
+	 * 
+	 * @param statusCode
+	 *            The status code of the response
+	 * @param message
+	 *            The error message
+	 * @param callback
+	 *            The name of the JSONP callback, may be <tt>null</tt>
+	 * @return The created response
+	 */
+	private static HttpResponse createErrorResponse(final int statusCode, final String message,
+			final String callback) {
+		final StringBuilder json = new StringBuilder();
+		json.append("{\"error\":");
+		appendJsonString(json, message);
+		json.append('}');
+		return createJsonResponse(statusCode, json, callback);
+	}
+
+	/**
+	 * Creates a response with the given JSON as body.
+	 * 
+	 * @param statusCode
+	 *            The status code of the response
+	 * @param json
+	 *            The JSON of the body
+	 * @param callback
+	 *            The name of the JSONP callback, may be <tt>null</tt>. If
+	 *            given, the JSON is wrapped into a call of it.
+	 * @return The created response
+	 */
+	private static HttpResponse createJsonResponse(final int statusCode, final CharSequence json,
+			final String callback) {
+		if (callback == null) {
+			return new HttpResponse(statusCode, TYPE_JSON, json.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		final String script = callback + "(" + json + ");";
+		return new HttpResponse(statusCode, TYPE_JAVASCRIPT, script.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses the coordinate given by the query parameter with the given name.
+	 * 
+	 * @param request
+	 *            The request which contains the parameter
+	 * @param name
+	 *            The name of the parameter
+	 * @return The coordinate, in degrees
+	 * @throws IllegalArgumentException
+	 *             If the parameter is missing or not a finite number
+	 */
+	private static float parseCoordinate(final HttpRequest request, final String name)
+			throws IllegalArgumentException {
+		final Optional<String> value = request.getQueryParameter(name);
+		if (!value.isPresent()) {
+			throw new IllegalArgumentException(ERROR_PARAMETER_MISSING + name);
+		}
+		final float coordinate;
+		try {
+			coordinate = Float.parseFloat(value.get());
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(ERROR_PARAMETER_NOT_A_NUMBER + name, e);
+		}
+		if (Float.isNaN(coordinate) || Float.isInfinite(coordinate)) {
+			throw new IllegalArgumentException(ERROR_PARAMETER_NOT_A_NUMBER + name);
+		}
+		return coordinate;
+	}
+
+	/**
+	 * Thread which accepts connections, set while the server is running.
+	 */
+	private Thread mAcceptor;
+	/**
+	 * The latency of answering requests by a batch, including the time the
+	 * batch waits for further requests, in nanoseconds.
+	 */
+	private final LatencyHistogram mBatchLatency;
+	/**
+	 * The amount of requests which were answered by a batch.
+	 */
+	private final LongAdder mBatchedRequests;
+	/**
+	 * The amount of searched batches.
+	 */
+	private final LongAdder mBatches;
+	/**
+	 * The computation object to use for solving shortest path tasks.
+	 */
+	private final IShortestPathComputation mComputation;
+	/**
+	 * The connections which are currently open.
+	 */
+	private final Set<Socket> mConnections;
+	/**
+	 * The amount of connections rejected since the server was overloaded.
+	 */
+	private final LongAdder mConnectionsRejected;
+	/**
+	 * The maximal time a batch waits for further requests, in nanoseconds.
+	 * <tt>0</tt> if requests are not batched.
+	 */
+	private volatile long mMaxBatchDelay;
+	/**
+	 * The metrics of the server.
+	 */
+	private final MetricsRegistry mMetrics;
+	/**
+	 * The road network to compute the tasks on.
+	 */
+	private final RoadNetwork mNetwork;
+	/**
+	 * The latency of parsing requests, in nanoseconds.
+	 */
+	private final LatencyHistogram mParseLatency;
+	/**
+	 * The amount of requests which failed due to an internal error, either
+	 * while handling them or while streaming their response.
+	 */
+	private final LongAdder mRequestsFailed;
+	/**
+	 * The amount of requests in progress.
+	 */
+	private final AtomicInteger mRequestsInFlight;
+	/**
+	 * The amount of routing requests without path between the coordinates.
+	 */
+	private final LongAdder mRequestsNoPath;
+	/**
+	 * The amount of requests which were rejected since they were malformed or
+	 * had an unknown target.
+	 */
+	private final LongAdder mRequestsRejected;
+	/**
+	 * The amount of routing requests which were answered with a path.
+	 */
+	private final LongAdder mRequestsRouted;
+	/**
+	 * The latency of searching shortest paths, in nanoseconds.
+	 */
+	private final LatencyHistogram mSearchLatency;
+	/**
+	 * Permits for searching, bounds the amount of searches which run at the
+	 * same time.
+	 */
+	private final Semaphore mSearchPermits;
+	/**
+	 * The latency of serializing answers and streaming them to the
+	 * connection, in nanoseconds.
+	 */
+	private final LatencyHistogram mSerializeLatency;
+	/**
+	 * The server socket used to listen for connections.
+	 */
+	private final ServerSocket mServerSocket;
+	/**
+	 * The latency of snapping coordinates to nodes, in nanoseconds.
+	 */
+	private final LatencyHistogram mSnapLatency;
+	/**
+	 * The batches which are open for further requests, accessible by their
+	 * source. Also used as lock for joining and closing batches.
+	 */
+	private final Map<Node, RouteBatch> mSourceToOpenBatch;
+	/**
+	 * The way threads are assigned to connections.
+	 */
+	private final EThreadingMode mThreadingMode;
+	/**
+	 * Whether connections are served on virtual threads.
+	 */
+	private final boolean mUsesVirtualThreads;
+	/**
+	 * The latency of waiting for a free search slot, in nanoseconds.
+	 */
+	private final LatencyHistogram mWaitLatency;
+	/**
+	 * The workers serving connections.
+	 */
+	private final ThreadPoolExecutor mWorkers;
+
+	/**
+	 * Creates a new server which listens at the given port and serves
+	 * connections on a fixed pool of workers, see
+	 * {@link EThreadingMode#POOLED}. The server does not accept connections
+	 * until it is started, see {@link #start()}.
+	 * 
+	 * @param network
+	 *            The road network to compute the tasks on
+	 * @param computation
+	 *            The computation object to use for solving shortest path
+	 *            tasks, it must support concurrent queries
+	 * @param port
+	 *            The port to listen at, <tt>0</tt> chooses a free port, see
+	 *            {@link #getPort()}
+	 * @param amountOfWorkers
+	 *            The amount of threads serving connections
+	 * @throws IOException
+	 *             If an I/O-exception occurred while binding the port
+	 * @throws IllegalArgumentException
+	 *             If the amount of workers is not positive
+	 */
+	public RoutingServer(final RoadNetwork network, final IShortestPathComputation computation, final int port,
+			final int amountOfWorkers) throws IOException, IllegalArgumentException {
+		this(network, computation, port, EThreadingMode.POOLED, amountOfWorkers);
+	}
+
+	/**
+	 * Creates a new server which listens at the given port. The server does
+	 * not accept connections until it is started, see {@link #start()}.
+	 * 
+	 * @param network
+	 *            The road network to compute the tasks on
+	 * @param computation
+	 *            The computation object to use for solving shortest path
+	 *            tasks, it must support concurrent queries
+	 * @param port
+	 *            The port to listen at, <tt>0</tt> chooses a free port, see
+	 *            {@link #getPort()}
+	 * @param threadingMode
+	 *            The way threads are assigned to connections
+	 * @param parallelism
+	 *            The amount of searches which run at the same time, if the
+	 *            connections are served by a pool this is its size. A good
+	 *            choice is the amount of available processors.
+	 * @throws IOException
+	 *             If an I/O-exception occurred while binding the port
+	 * @throws IllegalArgumentException
+	 *             If the parallelism is not positive
+	 */
+	public RoutingServer(final RoadNetwork network, final IShortestPathComputation computation, final int port,
+			final EThreadingMode threadingMode, final int parallelism) throws IOException, IllegalArgumentException {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException(EXCEPTION_PARALLELISM_ILLEGAL + parallelism);
+		}
+		this.mNetwork = network;
+		this.mComputation = computation;
+		this.mConnections = ConcurrentHashMap.newKeySet();
+		this.mRequestsInFlight = new AtomicInteger();
+		this.mSearchPermits = new Semaphore(parallelism, true);
+		this.mSourceToOpenBatch = new HashMap<>();
+		this.mMaxBatchDelay = 0L;
+		this.mThreadingMode = threadingMode;
+
+		final AtomicInteger amountOfCreatedThreads = new AtomicInteger();
+		if (threadingMode == EThreadingMode.POOLED) {
+			this.mUsesVirtualThreads = false;
+			this.mWorkers = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(CONNECTION_QUEUE_CAPACITY),
+					runnable -> new Thread(runnable, "pathweaver-worker-" + amountOfCreatedThreads.incrementAndGet()));
+		} else {
+			final Optional<ThreadFactory> virtualThreadFactory = VirtualThreads
+					.createFactory("pathweaver-connection-");
+			this.mUsesVirtualThreads = virtualThreadFactory.isPresent();
+			final ThreadFactory threadFactory = virtualThreadFactory.orElse(runnable -> new Thread(runnable,
+					"pathweaver-connection-" + amountOfCreatedThreads.incrementAndGet()));
+			// Threads end with their connection, nothing is queued
+			this.mWorkers = new ThreadPoolExecutor(0, MAX_CONNECTIONS, 0L, TimeUnit.MILLISECONDS,
+					new SynchronousQueue<>(), threadFactory);
+		}
+
+		this.mMetrics = new MetricsRegistry();
+		final String stageHelp = "Latency of the stages of routing requests.";
+		this.mParseLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE, "parse");
+		this.mWaitLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE, "wait");
+		this.mSnapLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE, "snap");
+		this.mSearchLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE,
+				"search");
+		this.mSerializeLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE,
+				"serialize");
+		this.mBatchLatency = this.mMetrics.registerHistogram(METRIC_STAGE_DURATION, stageHelp, LABEL_STAGE, "batch");
+		final String requestsHelp = "Amount of requests by outcome.";
+		this.mRequestsRouted = this.mMetrics.registerCounter(METRIC_REQUESTS, requestsHelp, LABEL_OUTCOME, "routed");
+		this.mRequestsNoPath = this.mMetrics.registerCounter(METRIC_REQUESTS, requestsHelp, LABEL_OUTCOME,
+				"no_path");
+		this.mRequestsRejected = this.mMetrics.registerCounter(METRIC_REQUESTS, requestsHelp, LABEL_OUTCOME,
+				"rejected");
+		this.mRequestsFailed = this.mMetrics.registerCounter(METRIC_REQUESTS, requestsHelp, LABEL_OUTCOME, "failed");
+		this.mMetrics.registerGauge(METRIC_REQUESTS_IN_FLIGHT, "Amount of requests in progress.",
+				this.mRequestsInFlight::get);
+		this.mMetrics.registerGauge(METRIC_CONNECTIONS_OPEN, "Amount of open connections.", this.mConnections::size);
+		this.mMetrics.registerGauge(METRIC_CONNECTIONS_QUEUED, "Amount of connections waiting for a worker.",
+				() -> this.mWorkers.getQueue().size());
+		this.mMetrics.registerGauge(METRIC_SEARCHES_WAITING, "Amount of searches waiting for a free slot.",
+				this.mSearchPermits::getQueueLength);
+		this.mConnectionsRejected = this.mMetrics.registerCounter(METRIC_CONNECTIONS_REJECTED,
+				"Amount of connections rejected since the server was overloaded.");
+		this.mBatches = this.mMetrics.registerCounter(METRIC_BATCHES, "Amount of searched batches.");
+		this.mBatchedRequests = this.mMetrics.registerCounter(METRIC_BATCHED_REQUESTS,
+				"Amount of requests answered by a batch.");
+
+		this.mServerSocket = new ServerSocket(port);
+	}
+
+	/**
+	 * Stops the server. Stops accepting connections and closes all open
+	 * connections, requests in progress are aborted.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred while closing the server socket
+	 */
+	@Override
+	public void close() throws IOException {
+		this.mServerSocket.close();
+		this.mWorkers.shutdown();
+		for (final Socket connection : this.mConnections) {
+			try {
+				connection.close();
+			} catch (final IOException e) {
+				// Ignore, the connection is discarded anyway
+			}
+		}
+		if (this.mAcceptor != null) {
+			try {
+				this.mAcceptor.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Gets the metrics of the server. Further metrics may be registered.
+	 * 
+	 * @return The metrics of the server
+	 */
+	public MetricsRegistry getMetricsRegistry() {
+		return this.mMetrics;
+	}
+
+	/**
+	 * Gets the port the server listens at.
+	 * 
+	 * @return The port the server listens at
+	 */
+	public int getPort() {
+		return this.mServerSocket.getLocalPort();
+	}
+
+	/**
+	 * Handles the given request and creates the response to it.
+	 * 
+	 * @param request
+	 *            The request to handle
+	 * @return The response to the request
+	 */
+	public HttpResponse handle(final HttpRequest request) {
+		if (!METHOD_GET.equals(request.getMethod()) && !METHOD_HEAD.equals(request.getMethod())) {
+			this.mRequestsRejected.increment();
+			return HttpResponse.ofText(HttpResponse.STATUS_METHOD_NOT_ALLOWED, ERROR_METHOD_NOT_ALLOWED);
+		}
+		switch (request.getPath()) {
+		case PATH_ROUTE:
+			this.mRequestsInFlight.incrementAndGet();
+			try {
+				return route(request);
+			} finally {
+				this.mRequestsInFlight.decrementAndGet();
+			}
+		case PATH_METRICS:
+			return new HttpResponse(HttpResponse.STATUS_OK, MetricsRegistry.CONTENT_TYPE,
+					this.mMetrics.toPrometheusText().getBytes(StandardCharsets.UTF_8));
+		default:
+			this.mRequestsRejected.increment();
+			return HttpResponse.ofText(HttpResponse.STATUS_NOT_FOUND, ERROR_NOT_FOUND + request.getPath());
+		}
+	}
+
+	/**
+	 * Whether connections are served on virtual threads, which is the case if
+	 * every connection is served on its own thread and the runtime supports
+	 * virtual threads.
+	 * 
+	 * @return <tt>True</tt> if connections are served on virtual threads,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean isUsingVirtualThreads() {
+		return this.mUsesVirtualThreads;
+	}
+
+	/**
+	 * Sets the maximal time a batch waits for further requests with the same
+	 * source. The request which opens a batch waits up to this time, or until
+	 * the batch is full, before all requests of the batch are answered by one
+	 * search, see
+	 * {@link IShortestPathComputation#computeShortestPaths(Node, java.util.Set)}.
+	 * Requests are not batched by default.
+	 * 
+	 * @param maxBatchDelay
+	 *            The maximal time, <tt>0</tt> disables batching
+	 * @param unit
+	 *            The unit of the time
+	 * @throws IllegalArgumentException
+	 *             If the time is negative
+	 */
+	public void setMaxBatchDelay(final long maxBatchDelay, final TimeUnit unit) throws IllegalArgumentException {
+		if (maxBatchDelay < 0) {
+			throw new IllegalArgumentException(EXCEPTION_BATCH_DELAY_ILLEGAL + maxBatchDelay);
+		}
+		this.mMaxBatchDelay = unit.toNanos(maxBatchDelay);
+	}
+
+	/**
+	 * Starts the server in the background. The server runs until it is
+	 * closed, see {@link #close()}.
+	 */
+	public synchronized void start() {
+		if (this.mAcceptor != null) {
+			return;
+		}
+		this.mAcceptor = new Thread(this::acceptConnections, "pathweaver-acceptor");
+		this.mAcceptor.start();
+	}
+
+	/**
+	 * Accepts connections and hands them to the workers until the server
+	 * socket is closed.
+	 */
+	private void acceptConnections() {
+		while (!this.mServerSocket.isClosed()) {
+			final Socket connection;
+			try {
+				connection = this.mServerSocket.accept();
+			} catch (final IOException e) {
+				// Either the server was closed or the connection failed
+				continue;
+			}
+			this.mConnections.add(connection);
+			try {
+				this.mWorkers.execute(() -> serveConnection(connection));
+			} catch (final RejectedExecutionException e) {
+				this.mConnectionsRejected.increment();
+				rejectConnection(connection);
+			}
+		}
+	}
+
+	/**
+	 * Waits until the next request of the given connection starts to arrive.
+	 * Gives up if the connection is idle for longer than
+	 * {@link #KEEP_ALIVE_TIMEOUT}. Between requests, workers of a pool also
+	 * give up as soon as other connections wait for a worker, which releases
+	 * the worker.
+	 * 
+	 * @param socket
+	 *            The connection to wait for
+	 * @param input
+	 *            The buffered stream of the connection, no bytes are consumed
+	 * @param isFirstRequest
+	 *            Whether no request of the connection was served yet
+	 * @return <tt>True</tt> if a request arrives, <tt>false</tt> if the
+	 *         connection should be closed
+	 * @throws IOException
+	 *             If an I/O-exception occurred while waiting
+	 */
+	private boolean awaitRequest(final Socket socket, final InputStream input, final boolean isFirstRequest)
+			throws IOException {
+		// Threads of idle connections are cheap if not pooled, no need to
+		// check for waiting connections
+		final boolean mayYield = this.mThreadingMode == EThreadingMode.POOLED && !isFirstRequest;
+		final int checkInterval = mayYield ? IDLE_CHECK_INTERVAL : KEEP_ALIVE_TIMEOUT;
+		final long idleStart = System.nanoTime();
+		socket.setSoTimeout(checkInterval);
+		try {
+			while (true) {
+				try {
+					input.mark(1);
+					final boolean hasRequest = input.read() != -1;
+					input.reset();
+					return hasRequest;
+				} catch (final SocketTimeoutException e) {
+					final long idleTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleStart);
+					if (!this.mWorkers.getQueue().isEmpty() || idleTime >= KEEP_ALIVE_TIMEOUT) {
+						return false;
+					}
+				}
+			}
+		} finally {
+			socket.setSoTimeout(KEEP_ALIVE_TIMEOUT);
+		}
+	}
+
+	/**
+	 * Answers the given connection with <tt>503</tt> and closes it.
+	 * 
+	 * @param connection
+	 *            The connection to reject
+	 */
+	private void rejectConnection(final Socket connection) {
+		try (final Socket socket = connection) {
+			HttpResponse.ofText(HttpResponse.STATUS_SERVICE_UNAVAILABLE, ERROR_SERVICE_UNAVAILABLE)
+					.writeTo(socket.getOutputStream(), false, true);
+		} catch (final IOException e) {
+			// Ignore, the client is gone
+		} finally {
+			this.mConnections.remove(connection);
+		}
+	}
+
+	/**
+	 * Answers the given routing request.
+	 * 
+	 * @param request
+	 *            The routing request
+	 * @return The response to the request
+	 */
+	private HttpResponse route(final HttpRequest request) {
+		final long parseStart = System.nanoTime();
+		final String callback = request.getQueryParameter(PARAMETER_CALLBACK).orElse(null);
+		if (callback != null && !CALLBACK_PATTERN.matcher(callback).matches()) {
+			this.mRequestsRejected.increment();
+			return createErrorResponse(HttpResponse.STATUS_BAD_REQUEST, ERROR_CALLBACK_ILLEGAL, null);
+		}
+		final String formatName = request.getQueryParameter(PARAMETER_FORMAT).orElse(EPathFormat.JSON.name());
+		final EPathFormat format;
+		try {
+			format = EPathFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+		} catch (final IllegalArgumentException e) {
+			this.mRequestsRejected.increment();
+			return createErrorResponse(HttpResponse.STATUS_BAD_REQUEST, ERROR_FORMAT_UNKNOWN + formatName, callback);
+		}
+		if (format == EPathFormat.BINARY && callback != null) {
+			this.mRequestsRejected.increment();
+			return createErrorResponse(HttpResponse.STATUS_BAD_REQUEST, ERROR_FORMAT_BINARY_JSONP, callback);
+		}
+		final float sourceLatitude;
+		final float sourceLongitude;
+		final float destinationLatitude;
+		final float destinationLongitude;
+		try {
+			sourceLatitude = parseCoordinate(request, PARAMETER_SOURCE_LATITUDE);
+			sourceLongitude = parseCoordinate(request, PARAMETER_SOURCE_LONGITUDE);
+			destinationLatitude = parseCoordinate(request, PARAMETER_DESTINATION_LATITUDE);
+			destinationLongitude = parseCoordinate(request, PARAMETER_DESTINATION_LONGITUDE);
+		} catch (final IllegalArgumentException e) {
+			this.mRequestsRejected.increment();
+			return createErrorResponse(HttpResponse.STATUS_BAD_REQUEST, e.getMessage(), callback);
+		}
+		this.mParseLatency.recordValue(System.nanoTime() - parseStart);
+
+		final Optional<CompactPath> path;
+		try {
+			path = searchPath(sourceLatitude, sourceLongitude, destinationLatitude, destinationLongitude);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.mRequestsRejected.increment();
+			return createErrorResponse(HttpResponse.STATUS_SERVICE_UNAVAILABLE, ERROR_SERVICE_UNAVAILABLE, callback);
+		}
+		if (!path.isPresent()) {
+			this.mRequestsNoPath.increment();
+			return createErrorResponse(HttpResponse.STATUS_NOT_FOUND, ERROR_NO_PATH, callback);
+		}
+
+		final CompactPath routedPath = path.get();
+		final String contentType;
+		if (format == EPathFormat.BINARY) {
+			contentType = TYPE_BINARY;
+		} else if (callback == null) {
+			contentType = TYPE_JSON;
+		} else {
+			contentType = TYPE_JAVASCRIPT;
+		}
+		// The body is encoded while it is written to the connection
+		final HttpResponse response = new HttpResponse(HttpResponse.STATUS_OK, contentType,
+				output -> writeRoute(routedPath, format, callback, output));
+
+		this.mRequestsRouted.increment();
+		return response;
+	}
+
+	/**
+	 * Closes the given batch once it is full or its maximal delay elapsed,
+	 * searches the paths of all its requests and completes it. If the search
+	 * fails, the batch is aborted.
+	 * 
+	 * @param batch
+	 *            The batch to run, opened by the current thread
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting
+	 */
+	private void runBatch(final RouteBatch batch) throws InterruptedException {
+		try {
+			batch.awaitClosing(this.mMaxBatchDelay);
+			synchronized (this.mSourceToOpenBatch) {
+				this.mSourceToOpenBatch.remove(batch.getSource(), batch);
+				batch.close();
+			}
+
+			this.mSearchPermits.acquire();
+			try {
+				final long searchStart = System.nanoTime();
+				final Map<Node, Path> destinationToPath = this.mComputation.computeShortestPaths(batch.getSource(),
+						batch.getDestinations());
+				this.mSearchLatency.recordValue(System.nanoTime() - searchStart);
+				batch.complete(destinationToPath);
+			} finally {
+				this.mSearchPermits.release();
+			}
+			this.mBatches.increment();
+			this.mBatchedRequests.add(batch.getAmountOfRequests());
+		} finally {
+			// Does not affect completed batches, prevents others from waiting
+			// forever
+			batch.abort();
+		}
+	}
+
+	/**
+	 * Searches the shortest path between the given nodes by joining the open
+	 * batch of the source or opening a new one.
+	 * 
+	 * @param source
+	 *            The source of the path
+	 * @param destination
+	 *            The destination of the path
+	 * @return The shortest path between the nodes if present, if not present
+	 *         there is no such path
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting
+	 */
+	private Optional<CompactPath> searchBatched(final Node source, final Node destination)
+			throws InterruptedException {
+		RouteBatch batch;
+		boolean isOpener = false;
+		synchronized (this.mSourceToOpenBatch) {
+			batch = this.mSourceToOpenBatch.get(source);
+			if (batch == null) {
+				batch = new RouteBatch(source, MAX_BATCH_SIZE);
+				this.mSourceToOpenBatch.put(source, batch);
+				isOpener = true;
+			}
+			batch.addDestination(destination);
+			if (batch.isFull()) {
+				this.mSourceToOpenBatch.remove(source);
+				batch.close();
+			}
+		}
+
+		if (isOpener) {
+			runBatch(batch);
+		}
+		return batch.awaitPath(destination).map(CompactPath::ofPath);
+	}
+
+	/**
+	 * Snaps the given coordinates to the nearest nodes and searches the
+	 * shortest path between them, possibly as part of a batch.
+	 * 
+	 * @param sourceLatitude
+	 *            The latitude of the source, in degrees
+	 * @param sourceLongitude
+	 *            The longitude of the source, in degrees
+	 * @param destinationLatitude
+	 *            The latitude of the destination, in degrees
+	 * @param destinationLongitude
+	 *            The longitude of the destination, in degrees
+	 * @return The shortest path between the nodes nearest to the coordinates
+	 *         if present, if not present there is no such path
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting
+	 */
+	private Optional<CompactPath> searchPath(final float sourceLatitude, final float sourceLongitude,
+			final float destinationLatitude, final float destinationLongitude) throws InterruptedException {
+		// Snapping and searching are CPU-bound, bound them to not
+		// oversubscribe the processors
+		final long waitStart = System.nanoTime();
+		this.mSearchPermits.acquire();
+		final RoadNode source;
+		final RoadNode destination;
+		try {
+			final long snapStart = System.nanoTime();
+			this.mWaitLatency.recordValue(snapStart - waitStart);
+
+			source = this.mNetwork.getNearestRoadNode(sourceLatitude, sourceLongitude);
+			destination = this.mNetwork.getNearestRoadNode(destinationLatitude, destinationLongitude);
+			final long searchStart = System.nanoTime();
+			this.mSnapLatency.recordValue(searchStart - snapStart);
+
+			if (this.mMaxBatchDelay == 0L) {
+				final Optional<CompactPath> path = this.mComputation.computeShortestCompactPath(source, destination);
+				this.mSearchLatency.recordValue(System.nanoTime() - searchStart);
+				return path;
+			}
+		} finally {
+			this.mSearchPermits.release();
+		}
+
+		final long batchStart = System.nanoTime();
+		final Optional<CompactPath> path = searchBatched(source, destination);
+		this.mBatchLatency.recordValue(System.nanoTime() - batchStart);
+		return path;
+	}
+
+	/**
+	 * Serves all requests of the given connection until the client closes it,
+	 * it is idle for too long, see
+	 * {@link #awaitRequest(Socket, InputStream, boolean)}, or a response
+	 * requires to close it.
+	 * 
+	 * @param connection
+	 *            The connection to serve
+	 */
+	private void serveConnection(final Socket connection) {
+		try (final Socket socket = connection;
+				final InputStream input = new BufferedInputStream(socket.getInputStream());
+				final OutputStream output = new BufferedOutputStream(socket.getOutputStream())) {
+			socket.setTcpNoDelay(true);
+			boolean isFirstRequest = true;
+			while (!this.mWorkers.isShutdown() && awaitRequest(socket, input, isFirstRequest)) {
+				isFirstRequest = false;
+				final Optional<HttpRequest> request;
+				try {
+					request = HttpRequest.readFrom(input);
+				} catch (final IllegalArgumentException e) {
+					this.mRequestsRejected.increment();
+					HttpResponse.ofText(HttpResponse.STATUS_BAD_REQUEST, e.getMessage()).writeTo(output, false, true);
+					break;
+				}
+				if (!request.isPresent()) {
+					break;
+				}
+
+				HttpResponse response;
+				try {
+					response = handle(request.get());
+				} catch (final RuntimeException e) {
+					this.mRequestsFailed.increment();
+					response = HttpResponse.ofText(HttpResponse.STATUS_INTERNAL_SERVER_ERROR, e.toString());
+				}
+				final boolean keepAlive = request.get().isKeepAlive();
+				try {
+					response.writeTo(output, keepAlive, !METHOD_HEAD.equals(request.get().getMethod()));
+				} catch (final RuntimeException e) {
+					// The head is already sent, the client can only detect the
+					// truncated body by the connection being closed
+					this.mRequestsFailed.increment();
+					break;
+				}
+				if (!keepAlive) {
+					break;
+				}
+			}
+		} catch (final SocketTimeoutException e) {
+			// The connection was idle for too long
+		} catch (final IOException e) {
+			// The client is gone or the server was closed
+		} finally {
+			this.mConnections.remove(connection);
+		}
+	}
+
+	/**
+	 * Writes the body of the response to a routing request to the given
+	 * stream.
+	 * 
+	 * @param path
+	 *            The shortest path to write
+	 * @param format
+	 *            The format to encode the path in
+	 * @param callback
+	 *            The name of the JSONP callback, may be <tt>null</tt>. If
+	 *            given, the JSON is wrapped into a call of it.
+	 * @param output
+	 *            The stream to write to, it is not closed
+	 * @throws IOException
+	 *             If an I/O-exception occurred while writing
+	 */
+	private void writeRoute(final CompactPath path, final EPathFormat format, final String callback,
+			final OutputStream output) throws IOException {
+		final long serializeStart = System.nanoTime();
+		if (format == EPathFormat.BINARY) {
+			PathEncoder.writeBinary(path, this.mNetwork, output);
+		} else {
+			final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+			if (callback != null) {
+				writer.append(callback).append('(');
+			}
+			if (format == EPathFormat.POLYLINE) {
+				PathEncoder.writePolylineJson(path, this.mNetwork, writer);
+			} else {
+				PathEncoder.writeJson(path, this.mNetwork, writer);
+			}
+			if (callback != null) {
+				writer.append(");");
+			}
+			writer.flush();
+		}
+		this.mSerializeLatency.recordValue(System.nanoTime() - serializeStart);
+	}
+}
@@ -0,0 +1,43 @@
+package de.zabuza.pathweaver.server;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Utility class which provides virtual threads if the runtime supports them.
+ * The API targets Java 8, the methods of Java 21 are thus accessed by
+ * reflection.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class VirtualThreads {
+	/**
+	 * Creates a factory which creates virtual threads.
+	 * 
+	 * @param namePrefix
+	 *            The prefix of the names of created threads, they are numbered
+	 *            starting with <tt>1</tt>
+	 * @return The factory if present, if not present the runtime does not
+	 *         support virtual threads
+	 */
+	static Optional<ThreadFactory> createFactory(final String namePrefix) {
+		try {
+			final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			final Object namedBuilder = builderClass.getMethod("name", String.class, long.class).invoke(builder,
+					namePrefix, Long.valueOf(1));
+			return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder));
+		} catch (final ReflectiveOperationException e) {
+			// The runtime is older than Java 21 or has virtual threads disabled
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private VirtualThreads() {
+
+	}
+}
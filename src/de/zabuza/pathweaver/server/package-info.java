@@ -0,0 +1,5 @@
+/**
+ * This is the core package for the routing server of the API, which answers
+ * shortest path requests over HTTP.
+ */
+package de.zabuza.pathweaver.server;
\ No newline at end of file
@@ -0,0 +1,233 @@
+package de.zabuza.pathweaver.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap over the integer elements <tt>0</tt> to
+ * <tt>capacity - 1</tt> with float keys. In contrast to a
+ * {@link java.util.PriorityQueue} every element can be contained at most once
+ * and its key can be decreased in place, thus no abandoned entries stay in the
+ * heap. The heap does not allocate any objects after its creation.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IndexedMinHeap {
+	/**
+	 * Message of the exception thrown when polling from an empty heap.
+	 */
+	private static final String EXCEPTION_EMPTY = "The heap is empty.";
+	/**
+	 * The position of elements which are not contained in the heap.
+	 */
+	private static final int NOT_CONTAINED = -1;
+
+	/**
+	 * The elements of the heap in heap order.
+	 */
+	private final int[] mElements;
+	/**
+	 * The keys of the elements, accessible by the position in the heap.
+	 */
+	private final float[] mKeys;
+	/**
+	 * Maps elements to their position in the heap or {@link #NOT_CONTAINED}.
+	 */
+	private final int[] mPositions;
+	/**
+	 * The current amount of elements in the heap.
+	 */
+	private int mSize;
+
+	/**
+	 * Creates a new empty heap which accepts the elements <tt>0</tt> to
+	 * <tt>capacity - 1</tt>.
+	 * 
+	 * @param capacity
+	 *            The amount of different elements the heap accepts
+	 */
+	public IndexedMinHeap(final int capacity) {
+		this.mElements = new int[capacity];
+		this.mKeys = new float[capacity];
+		this.mPositions = new int[capacity];
+		Arrays.fill(this.mPositions, NOT_CONTAINED);
+		this.mSize = 0;
+	}
+
+	/**
+	 * Adds the given element with the given key if it is not contained, else
+	 * decreases its key if the given key is smaller.
+	 * 
+	 * @param element
+	 *            The element to add or update
+	 * @param key
+	 *            The key of the element
+	 * @return <tt>True</tt> if the element was added or its key decreased,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean addOrDecreaseKey(final int element, final float key) {
+		final int position = this.mPositions[element];
+		if (position == NOT_CONTAINED) {
+			final int newPosition = this.mSize;
+			this.mSize++;
+			this.mElements[newPosition] = element;
+			this.mKeys[newPosition] = key;
+			this.mPositions[element] = newPosition;
+			siftUp(newPosition);
+			return true;
+		}
+		if (key < this.mKeys[position]) {
+			this.mKeys[position] = key;
+			siftUp(position);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all elements from the heap. Runs in time linear to the current
+	 * size of the heap.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.mSize; i++) {
+			this.mPositions[this.mElements[i]] = NOT_CONTAINED;
+		}
+		this.mSize = 0;
+	}
+
+	/**
+	 * Returns whether the given element is contained in the heap.
+	 * 
+	 * @param element
+	 *            The element in question
+	 * @return <tt>True</tt> if the element is contained, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean contains(final int element) {
+		return this.mPositions[element] != NOT_CONTAINED;
+	}
+
+	/**
+	 * Gets the capacity of this heap, i.e. the amount of different elements it
+	 * accepts.
+	 * 
+	 * @return The capacity of this heap
+	 */
+	public int getCapacity() {
+		return this.mPositions.length;
+	}
+
+	/**
+	 * Returns whether the heap is empty.
+	 * 
+	 * @return <tt>True</tt> if the heap is empty, <tt>false</tt> otherwise
+	 */
+	public boolean isEmpty() {
+		return this.mSize == 0;
+	}
+
+	/**
+	 * Gets the smallest key of the heap without removing its element.
+	 * 
+	 * @return The smallest key of the heap
+	 * @throws NoSuchElementException
+	 *             If the heap is empty
+	 */
+	public float peekKey() throws NoSuchElementException {
+		if (this.mSize == 0) {
+			throw new NoSuchElementException(EXCEPTION_EMPTY);
+		}
+		return this.mKeys[0];
+	}
+
+	/**
+	 * Removes and returns the element with the smallest key.
+	 * 
+	 * @return The element with the smallest key
+	 * @throws NoSuchElementException
+	 *             If the heap is empty
+	 */
+	public int poll() throws NoSuchElementException {
+		if (this.mSize == 0) {
+			throw new NoSuchElementException(EXCEPTION_EMPTY);
+		}
+		final int minElement = this.mElements[0];
+		this.mPositions[minElement] = NOT_CONTAINED;
+		this.mSize--;
+		if (this.mSize > 0) {
+			this.mElements[0] = this.mElements[this.mSize];
+			this.mKeys[0] = this.mKeys[this.mSize];
+			this.mPositions[this.mElements[0]] = 0;
+			siftDown(0);
+		}
+		return minElement;
+	}
+
+	/**
+	 * Gets the amount of elements currently contained in the heap.
+	 * 
+	 * @return The amount of elements currently contained in the heap
+	 */
+	public int size() {
+		return this.mSize;
+	}
+
+	/**
+	 * Moves the element at the given position down until the heap property is
+	 * restored.
+	 * 
+	 * @param startPosition
+	 *            The position of the element to move
+	 */
+	private void siftDown(final int startPosition) {
+		final int element = this.mElements[startPosition];
+		final float key = this.mKeys[startPosition];
+		int position = startPosition;
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= this.mSize) {
+				break;
+			}
+			if (child + 1 < this.mSize && this.mKeys[child + 1] < this.mKeys[child]) {
+				child++;
+			}
+			if (this.mKeys[child] >= key) {
+				break;
+			}
+			this.mElements[position] = this.mElements[child];
+			this.mKeys[position] = this.mKeys[child];
+			this.mPositions[this.mElements[position]] = position;
+			position = child;
+		}
+		this.mElements[position] = element;
+		this.mKeys[position] = key;
+		this.mPositions[element] = position;
+	}
+
+	/**
+	 * Moves the element at the given position up until the heap property is
+	 * restored.
+	 * 
+	 * @param startPosition
+	 *            The position of the element to move
+	 */
+	private void siftUp(final int startPosition) {
+		final int element = this.mElements[startPosition];
+		final float key = this.mKeys[startPosition];
+		int position = startPosition;
+		while (position > 0) {
+			final int parent = (position - 1) / 2;
+			if (this.mKeys[parent] <= key) {
+				break;
+			}
+			this.mElements[position] = this.mElements[parent];
+			this.mKeys[position] = this.mKeys[parent];
+			this.mPositions[this.mElements[position]] = position;
+			position = parent;
+		}
+		this.mElements[position] = element;
+		this.mKeys[position] = key;
+		this.mPositions[element] = position;
+	}
+}
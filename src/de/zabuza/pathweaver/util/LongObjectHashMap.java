@@ -0,0 +1,153 @@
+package de.zabuza.pathweaver.util;
+
+/**
+ * Hash map with primitive <tt>long</tt> keys which uses open addressing with
+ * linear probing. In contrast to a {@link java.util.HashMap} keys are not
+ * boxed and no entry objects are created, thus looking up values does not
+ * allocate any objects. Entries can not be removed.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ * @param <V>
+ *            Type of the values
+ */
+public final class LongObjectHashMap<V> {
+	/**
+	 * The initial amount of slots, a power of two.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Spreads the bits of the given key such that keys differing only in
+	 * their high bits are distributed over the slots.
+	 * 
+	 * @param key
+	 *            The key to hash
+	 * @return The hash of the key
+	 */
+	private static int hash(final long key) {
+		final long mixed = key * 0x9E3779B97F4A7C15L;
+		return (int) (mixed ^ (mixed >>> 32));
+	}
+
+	/**
+	 * The keys of the entries, accessible by their slot.
+	 */
+	private long[] mKeys;
+	/**
+	 * The current amount of entries.
+	 */
+	private int mSize;
+	/**
+	 * The values of the entries, accessible by their slot. Slots without a
+	 * value are free.
+	 */
+	private Object[] mValues;
+
+	/**
+	 * Creates a new empty map.
+	 */
+	public LongObjectHashMap() {
+		this.mKeys = new long[INITIAL_CAPACITY];
+		this.mValues = new Object[INITIAL_CAPACITY];
+		this.mSize = 0;
+	}
+
+	/**
+	 * Gets the value of the given key.
+	 * 
+	 * @param key
+	 *            The key to get the value of
+	 * @return The value of the key or <tt>null</tt> if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+		final int mask = this.mKeys.length - 1;
+		int slot = hash(key) & mask;
+		while (this.mValues[slot] != null) {
+			if (this.mKeys[slot] == key) {
+				return (V) this.mValues[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Whether the map contains no entries.
+	 * 
+	 * @return <tt>True</tt> if the map contains no entries, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isEmpty() {
+		return this.mSize == 0;
+	}
+
+	/**
+	 * Puts the given value for the given key, replacing a previous value.
+	 * 
+	 * @param key
+	 *            The key to put the value for
+	 * @param value
+	 *            The value to put, not <tt>null</tt>
+	 * @return The previous value of the key or <tt>null</tt> if there was
+	 *         none
+	 * @throws NullPointerException
+	 *             If the value is <tt>null</tt>
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value) throws NullPointerException {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+		final int mask = this.mKeys.length - 1;
+		int slot = hash(key) & mask;
+		while (this.mValues[slot] != null) {
+			if (this.mKeys[slot] == key) {
+				final V previousValue = (V) this.mValues[slot];
+				this.mValues[slot] = value;
+				return previousValue;
+			}
+			slot = (slot + 1) & mask;
+		}
+		this.mKeys[slot] = key;
+		this.mValues[slot] = value;
+		this.mSize++;
+		// Keep at least half of the slots free for short probe sequences
+		if (this.mSize * 2 > this.mKeys.length) {
+			grow();
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the amount of entries of the map.
+	 * 
+	 * @return The amount of entries of the map
+	 */
+	public int size() {
+		return this.mSize;
+	}
+
+	/**
+	 * Doubles the amount of slots and reinserts all entries.
+	 */
+	private void grow() {
+		final long[] previousKeys = this.mKeys;
+		final Object[] previousValues = this.mValues;
+		this.mKeys = new long[previousKeys.length * 2];
+		this.mValues = new Object[previousValues.length * 2];
+		final int mask = this.mKeys.length - 1;
+		for (int i = 0; i < previousKeys.length; i++) {
+			if (previousValues[i] == null) {
+				continue;
+			}
+			int slot = hash(previousKeys[i]) & mask;
+			while (this.mValues[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			this.mKeys[slot] = previousKeys[i];
+			this.mValues[slot] = previousValues[i];
+		}
+	}
+}
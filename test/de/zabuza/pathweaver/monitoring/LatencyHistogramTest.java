@@ -0,0 +1,108 @@
+package de.zabuza.pathweaver.monitoring;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link LatencyHistogram}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class LatencyHistogramTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link LatencyHistogram#getCountBelow(long)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetCountBelow() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordValue(10);
+		histogram.recordValue(1_023);
+		histogram.recordValue(1_024);
+		histogram.recordValue(5_000_000);
+
+		Assert.assertEquals(0, histogram.getCountBelow(0));
+		Assert.assertEquals(0, histogram.getCountBelow(10));
+		Assert.assertEquals(1, histogram.getCountBelow(11));
+		Assert.assertEquals(2, histogram.getCountBelow(1_024));
+		Assert.assertEquals(3, histogram.getCountBelow(2_048));
+		Assert.assertEquals(3, histogram.getCountBelow(1L << 22));
+		Assert.assertEquals(4, histogram.getCountBelow(1L << 23));
+		Assert.assertEquals(4, histogram.getCountBelow(Long.MAX_VALUE));
+	}
+
+	/**
+	 * Test method for {@link LatencyHistogram#getValueAtQuantile(double)}.
+	 */
+	@Test
+	public void testGetValueAtQuantile() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.getValueAtQuantile(0.5));
+
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.recordValue(value * 1_000);
+		}
+		final long[] expectedValues = { 1_000, 50_000_000, 90_000_000, 99_000_000, 100_000_000 };
+		final double[] quantiles = { 0.0, 0.5, 0.9, 0.99, 1.0 };
+		for (int i = 0; i < quantiles.length; i++) {
+			final long value = histogram.getValueAtQuantile(quantiles[i]);
+			// The value is the upper end of the bucket of the expected value
+			Assert.assertTrue(value >= expectedValues[i]);
+			Assert.assertTrue(value <= expectedValues[i] * 1.04);
+		}
+
+		// Small values are exact
+		final LatencyHistogram smallHistogram = new LatencyHistogram();
+		smallHistogram.recordValue(3);
+		smallHistogram.recordValue(7);
+		Assert.assertEquals(3, smallHistogram.getValueAtQuantile(0.5));
+		Assert.assertEquals(7, smallHistogram.getValueAtQuantile(0.51));
+		smallHistogram.recordValue(Long.MAX_VALUE);
+		Assert.assertEquals(Long.MAX_VALUE, smallHistogram.getValueAtQuantile(1.0));
+
+		this.exception.expect(IllegalArgumentException.class);
+		histogram.getValueAtQuantile(1.5);
+	}
+
+	/**
+	 * Test method for {@link LatencyHistogram#recordValue(long)}.
+	 * 
+	 * @throws InterruptedException
+	 *             If the test was interrupted while waiting for the recording
+	 *             threads
+	 */
+	@Test
+	public void testRecordValue() throws InterruptedException {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int thread = 0; thread < 4; thread++) {
+			executor.execute(() -> {
+				for (int value = 0; value < 10_000; value++) {
+					histogram.recordValue(value);
+				}
+			});
+		}
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+		Assert.assertEquals(40_000, histogram.getTotalCount());
+		Assert.assertEquals(4L * 9_999 * 10_000 / 2, histogram.getTotalSum());
+		Assert.assertEquals(40_000, histogram.getCountBelow(1L << 14));
+
+		this.exception.expect(IllegalArgumentException.class);
+		histogram.recordValue(-1);
+	}
+}
@@ -0,0 +1,109 @@
+package de.zabuza.pathweaver.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link MetricsRegistry}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MetricsRegistryTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for
+	 * {@link MetricsRegistry#registerCounter(String, String, String, String)}.
+	 */
+	@Test
+	public void testRegisterCounter() {
+		final MetricsRegistry registry = new MetricsRegistry();
+		final LongAdder routed = registry.registerCounter("requests_total", "Requests.", "outcome", "routed");
+		final LongAdder rejected = registry.registerCounter("requests_total", "Requests.", "outcome", "rejected");
+		routed.add(3);
+		rejected.increment();
+
+		final String text = registry.toPrometheusText();
+		Assert.assertEquals("# HELP requests_total Requests.\n# TYPE requests_total counter\n"
+				+ "requests_total{outcome=\"routed\"} 3\nrequests_total{outcome=\"rejected\"} 1\n", text);
+
+		this.exception.expect(IllegalArgumentException.class);
+		registry.registerCounter("requests_total", "Requests.", "outcome", "routed");
+	}
+
+	/**
+	 * Test method for
+	 * {@link MetricsRegistry#registerGauge(String, String, java.util.function.DoubleSupplier)}.
+	 */
+	@Test
+	public void testRegisterGauge() {
+		final MetricsRegistry registry = new MetricsRegistry();
+		final double[] depth = { 2.0 };
+		registry.registerGauge("queue_depth", "Depth\\of\nthe queue.", () -> depth[0]);
+		Assert.assertTrue(registry.toPrometheusText().contains("# HELP queue_depth Depth\\\\of\\nthe queue.\n"));
+		Assert.assertTrue(registry.toPrometheusText().endsWith("queue_depth 2.0\n"));
+
+		// Gauges are read on every export
+		depth[0] = Double.POSITIVE_INFINITY;
+		Assert.assertTrue(registry.toPrometheusText().endsWith("queue_depth +Inf\n"));
+
+		this.exception.expect(IllegalArgumentException.class);
+		registry.registerCounter("queue_depth", "Depth of the queue.");
+	}
+
+	/**
+	 * Test method for
+	 * {@link MetricsRegistry#registerHistogram(String, String, String, String)}.
+	 */
+	@Test
+	public void testRegisterHistogram() {
+		final MetricsRegistry registry = new MetricsRegistry();
+		final LatencyHistogram histogram = registry.registerHistogram("stage_duration_seconds", "Stages.", "stage",
+				"search \"fast\"");
+		histogram.recordValue(500);
+		histogram.recordValue(2_000_000);
+
+		final String text = registry.toPrometheusText();
+		Assert.assertTrue(text.contains("# TYPE stage_duration_seconds histogram\n"));
+		Assert.assertTrue(
+				text.contains("stage_duration_seconds_bucket{stage=\"search \\\"fast\\\"\",le=\"1.024E-6\"} 1\n"));
+		Assert.assertTrue(
+				text.contains("stage_duration_seconds_bucket{stage=\"search \\\"fast\\\"\",le=\"0.001048576\"} 1\n"));
+		Assert.assertTrue(
+				text.contains("stage_duration_seconds_bucket{stage=\"search \\\"fast\\\"\",le=\"0.004194304\"} 2\n"));
+		Assert.assertTrue(text.contains("stage_duration_seconds_bucket{stage=\"search \\\"fast\\\"\",le=\"+Inf\"} 2\n"));
+		Assert.assertTrue(text.contains("stage_duration_seconds_sum{stage=\"search \\\"fast\\\"\"} 0.0020005\n"));
+		Assert.assertTrue(text.contains("stage_duration_seconds_count{stage=\"search \\\"fast\\\"\"} 2\n"));
+
+		this.exception.expect(IllegalArgumentException.class);
+		registry.registerHistogram("stage_duration_seconds", "Stages.", "le", "0.5");
+	}
+
+	/**
+	 * Test method for {@link MetricsRegistry#toPrometheusText()}.
+	 */
+	@Test
+	public void testToPrometheusText() {
+		final MetricsRegistry registry = new MetricsRegistry();
+		Assert.assertEquals("", registry.toPrometheusText());
+
+		registry.registerCounter("first_total", "First.").increment();
+		registry.registerHistogram("second_seconds", "Second.");
+		final String text = registry.toPrometheusText();
+		Assert.assertTrue(text.startsWith("# HELP first_total First.\n# TYPE first_total counter\nfirst_total 1\n"
+				+ "# HELP second_seconds Second.\n# TYPE second_seconds histogram\n"));
+		Assert.assertTrue(text.endsWith("second_seconds_sum 0.0\nsecond_seconds_count 0\n"));
+
+		this.exception.expect(IllegalArgumentException.class);
+		registry.registerCounter("not-valid", "Not valid.");
+	}
+}
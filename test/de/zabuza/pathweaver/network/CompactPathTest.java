@@ -0,0 +1,92 @@
+package de.zabuza.pathweaver.network;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link CompactPath}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompactPathTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link CompactPath#CompactPath(int[], float)}.
+	 */
+	@Test
+	public void testCompactPath() {
+		final CompactPath path = new CompactPath(new int[] { 2 }, 0);
+		Assert.assertEquals(1, path.getLength());
+		Assert.assertEquals(2, path.getSourceId());
+		Assert.assertEquals(2, path.getDestinationId());
+		Assert.assertEquals(new CompactPath(new int[] { 2 }, 0), path);
+		Assert.assertNotEquals(new CompactPath(new int[] { 2 }, 1), path);
+
+		this.exception.expect(IllegalArgumentException.class);
+		new CompactPath(new int[0], 0);
+	}
+
+	/**
+	 * Test method for {@link CompactPath#ofPath(Path)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testOfPath() {
+		final PathNetwork network = new PathNetwork();
+		final Node first = new Node(3);
+		final Node second = new Node(1);
+		final Node third = new Node(2);
+		network.addNode(first);
+		network.addNode(second);
+		network.addNode(third);
+
+		final Path path = new Path(first);
+		path.addEdge(network.addEdge(first, second, 2));
+		path.addEdge(network.addEdge(second, third, 1.5f));
+
+		final CompactPath compactPath = CompactPath.ofPath(path);
+		Assert.assertEquals(3.5f, compactPath.getCost(), 0);
+		Assert.assertEquals(3, compactPath.getLength());
+		Assert.assertEquals(3, compactPath.getSourceId());
+		Assert.assertEquals(1, compactPath.getNodeId(1));
+		Assert.assertEquals(2, compactPath.getDestinationId());
+	}
+
+	/**
+	 * Test method for {@link CompactPath#toPath(IPathNetwork)}.
+	 */
+	@Test
+	public void testToPath() {
+		final PathNetwork network = new PathNetwork();
+		final Node first = new Node(0);
+		final Node second = new Node(1);
+		final Node third = new Node(2);
+		network.addNode(first);
+		network.addNode(second);
+		network.addNode(third);
+		final DirectedWeightedEdge firstEdge = network.addEdge(first, second, 2);
+		network.addEdge(second, third, 4);
+		final DirectedWeightedEdge secondEdge = network.addEdge(second, third, 1);
+
+		final Path path = new CompactPath(new int[] { 0, 1, 2 }, 3).toPath(network);
+		Assert.assertEquals(first, path.getSource());
+		Assert.assertEquals(third, path.getDestination());
+		Assert.assertEquals(3, path.getCost(), 0);
+		Assert.assertEquals(3, path.getLength());
+		Assert.assertEquals(firstEdge, path.getEdges().get(0));
+		Assert.assertEquals(secondEdge, path.getEdges().get(1));
+
+		Assert.assertEquals(1, new CompactPath(new int[] { 1 }, 0).toPath(network).getLength());
+
+		this.exception.expect(IllegalArgumentException.class);
+		new CompactPath(new int[] { 2, 0 }, 0).toPath(network);
+	}
+}
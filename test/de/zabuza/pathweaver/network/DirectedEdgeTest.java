@@ -108,6 +108,26 @@ public final class DirectedEdgeTest {
 		Assert.assertEquals(differentDest, anotherEdge.getDestination());
 	}
 
+	/**
+	 * Test method for {@link DirectedWeightedEdge#getId()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetId() {
+		final PathNetwork network = new PathNetwork();
+		final Node src = new Node(0);
+		final Node dest = new Node(1);
+		network.addNode(src);
+		network.addNode(dest);
+		Assert.assertEquals(DirectedWeightedEdge.NO_ID, new DirectedWeightedEdge(src, dest, 1).getId());
+
+		final DirectedWeightedEdge edge = network.addEdge(src, dest, 1);
+		Assert.assertEquals(0, edge.getId());
+		network.removeEdge(edge);
+		// Ids of removed edges are not reused
+		Assert.assertEquals(1, network.addEdge(dest, src, 1).getId());
+	}
+
 	/**
 	 * Test method for {@link DirectedWeightedEdge#getSource()}.
 	 */
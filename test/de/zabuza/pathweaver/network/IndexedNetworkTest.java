@@ -0,0 +1,95 @@
+package de.zabuza.pathweaver.network;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link IndexedNetwork}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IndexedNetworkTest {
+	/**
+	 * Creates a small network for testing.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		final Node first = new Node(0);
+		final Node second = new Node(1);
+		final Node third = new Node(2);
+		network.addNode(first);
+		network.addNode(second);
+		network.addNode(third);
+		network.addEdge(first, second, 1);
+		network.addEdge(first, third, 4);
+		network.addEdge(second, third, 2);
+		network.addEdge(third, first, 3);
+		return network;
+	}
+
+	/**
+	 * Test method for {@link IndexedNetwork#getIncomingEdge(int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetIncomingEdge() {
+		final PathNetwork network = createNetwork();
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		for (final Node node : network.getNodes()) {
+			final int nodeIndex = indexedNetwork.getIndex(node);
+			final Set<DirectedWeightedEdge> incomingEdges = new HashSet<>();
+			for (int position = indexedNetwork.getIncomingBegin(nodeIndex); position < indexedNetwork
+					.getIncomingEnd(nodeIndex); position++) {
+				final int edge = indexedNetwork.getIncomingEdge(position);
+				Assert.assertEquals(nodeIndex, indexedNetwork.getDestination(edge));
+				incomingEdges.add(indexedNetwork.getEdge(edge));
+			}
+			Assert.assertEquals(network.getIncomingEdges(node), incomingEdges);
+		}
+	}
+
+	/**
+	 * Test method for {@link IndexedNetwork#getIndex(Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetIndex() {
+		final PathNetwork network = createNetwork();
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		Assert.assertEquals(3, indexedNetwork.getAmountOfNodes());
+		for (final Node node : network.getNodes()) {
+			final int nodeIndex = indexedNetwork.getIndex(node);
+			Assert.assertNotEquals(IndexedNetwork.NO_INDEX, nodeIndex);
+			Assert.assertEquals(node, indexedNetwork.getNode(nodeIndex));
+		}
+		Assert.assertEquals(IndexedNetwork.NO_INDEX, indexedNetwork.getIndex(new Node(5)));
+	}
+
+	/**
+	 * Test method for {@link IndexedNetwork#getOutgoingBegin(int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetOutgoingBegin() {
+		final PathNetwork network = createNetwork();
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		Assert.assertEquals(4, indexedNetwork.getAmountOfEdges());
+		for (final Node node : network.getNodes()) {
+			final int nodeIndex = indexedNetwork.getIndex(node);
+			final Set<DirectedWeightedEdge> outgoingEdges = new HashSet<>();
+			for (int edge = indexedNetwork.getOutgoingBegin(nodeIndex); edge < indexedNetwork
+					.getOutgoingEnd(nodeIndex); edge++) {
+				Assert.assertEquals(nodeIndex, indexedNetwork.getSource(edge));
+				Assert.assertEquals(indexedNetwork.getEdge(edge).getCost(), indexedNetwork.getCost(edge), 0.0f);
+				outgoingEdges.add(indexedNetwork.getEdge(edge));
+			}
+			Assert.assertEquals(network.getOutgoingEdges(node), outgoingEdges);
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package de.zabuza.pathweaver.network;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -46,6 +48,49 @@ public final class PathNetworkTest {
 		Assert.assertEquals(4, network.getAmountOfEdges());
 	}
 
+	/**
+	 * Test method for {@link PathNetwork#addNetworkListener(INetworkListener)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testAddNetworkListener() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		final DirectedWeightedEdge edge = network.addEdge(firstNode, secondNode, 1);
+		final INetworkListener listener = (changedEdge, previousCost) -> {
+			// Only attached to prevent structural changes
+		};
+		network.addNetworkListener(listener);
+
+		// The structure can not be changed while listeners are attached
+		final List<Runnable> structuralChanges = new ArrayList<>();
+		structuralChanges.add(() -> network.addNode(new Node(2)));
+		structuralChanges.add(() -> network.addEdge(secondNode, firstNode, 1));
+		structuralChanges.add(() -> network.removeEdge(edge));
+		structuralChanges.add(() -> network.removeNode(firstNode));
+		structuralChanges.add(() -> network.retainNodes(node -> false));
+		structuralChanges.add(() -> network.reduceToLargestScc());
+		structuralChanges.add(() -> network.reverse());
+		for (final Runnable structuralChange : structuralChanges) {
+			try {
+				structuralChange.run();
+				Assert.fail();
+			} catch (final IllegalStateException e) {
+				// Expected since a listener is attached
+			}
+		}
+		Assert.assertEquals(2, network.getSize());
+		Assert.assertEquals(1, network.getAmountOfEdges());
+		Assert.assertEquals(firstNode, edge.getSource());
+
+		network.removeNetworkListener(listener);
+		network.removeEdge(edge);
+		Assert.assertEquals(0, network.getAmountOfEdges());
+	}
+
 	/**
 	 * Test method for {@link PathNetwork#addNode(Node)}.
 	 */
@@ -314,6 +359,39 @@ public final class PathNetworkTest {
 		Assert.assertFalse(network.hasOutgoingEdge(anotherSrc, firstEdge));
 	}
 
+	/**
+	 * Test method for
+	 * {@link PathNetwork#induceSubnetwork(java.util.function.Predicate)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testInduceSubnetwork() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addEdge(firstNode, secondNode, 1);
+		network.addEdge(secondNode, firstNode, 2);
+		network.addEdge(secondNode, thirdNode, 3);
+		network.addEdge(thirdNode, firstNode, 4);
+
+		final IPathNetwork subnetwork = network.induceSubnetwork(node -> node.getId() != thirdNode.getId());
+		Assert.assertEquals(2, subnetwork.getSize());
+		Assert.assertEquals(2, subnetwork.getAmountOfEdges());
+		Assert.assertFalse(subnetwork.containsNodeId(thirdNode.getId()));
+		final DirectedWeightedEdge edge = subnetwork.getOutgoingEdges(secondNode).iterator().next();
+		Assert.assertEquals(firstNode, edge.getDestination());
+		Assert.assertEquals(2, edge.getCost(), 0.0f);
+		Assert.assertEquals(1, subnetwork.getIncomingEdges(secondNode).size());
+
+		// The original network stays unchanged
+		Assert.assertEquals(3, network.getSize());
+		Assert.assertEquals(4, network.getAmountOfEdges());
+	}
+
 	/**
 	 * Test method for {@link PathNetwork#PathNetwork()}.
 	 */
@@ -471,6 +549,45 @@ public final class PathNetworkTest {
 		network.removeNode(fifthNode);
 	}
 
+	/**
+	 * Test method for
+	 * {@link PathNetwork#retainNodes(java.util.function.Predicate)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testRetainNodes() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addNode(fourthNode);
+		final DirectedWeightedEdge firstEdge = network.addEdge(firstNode, secondNode, 1);
+		final DirectedWeightedEdge secondEdge = network.addEdge(secondNode, firstNode, 2);
+		network.addEdge(secondNode, thirdNode, 3);
+		network.addEdge(thirdNode, firstNode, 4);
+		network.addEdge(fourthNode, thirdNode, 5);
+
+		network.retainNodes(node -> node.getId() < thirdNode.getId());
+		Assert.assertEquals(2, network.getSize());
+		Assert.assertEquals(2, network.getAmountOfEdges());
+		Assert.assertFalse(network.containsNodeId(thirdNode.getId()));
+		Assert.assertFalse(network.containsNodeId(fourthNode.getId()));
+		Assert.assertEquals(Collections.singleton(firstEdge), network.getOutgoingEdges(firstNode));
+		Assert.assertEquals(Collections.singleton(secondEdge), network.getOutgoingEdges(secondNode));
+		Assert.assertEquals(Collections.singleton(secondEdge), network.getIncomingEdges(firstNode));
+		Assert.assertEquals(Collections.singleton(firstEdge), network.getIncomingEdges(secondNode));
+		Assert.assertTrue(network.getOutgoingEdges(thirdNode).isEmpty());
+		Assert.assertTrue(network.getIncomingEdges(thirdNode).isEmpty());
+
+		network.retainNodes(node -> false);
+		Assert.assertEquals(0, network.getSize());
+		Assert.assertEquals(0, network.getAmountOfEdges());
+	}
+
 	/**
 	 * Test method for {@link PathNetwork#reverse()}.
 	 */
@@ -498,6 +615,82 @@ public final class PathNetworkTest {
 		Assert.assertEquals(firstNode, secondEdge.getDestination());
 	}
 
+	/**
+	 * Test method for
+	 * {@link PathNetwork#setEdgeCost(DirectedWeightedEdge, float)}.
+	 */
+	@Test
+	public void testSetEdgeCost() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		final DirectedWeightedEdge edge = network.addEdge(firstNode, secondNode, 2);
+
+		final List<Float> previousCosts = new ArrayList<>();
+		final INetworkListener listener = (changedEdge, previousCost) -> {
+			Assert.assertEquals(edge, changedEdge);
+			previousCosts.add(Float.valueOf(previousCost));
+		};
+		network.addNetworkListener(listener);
+
+		network.setEdgeCost(edge, 5);
+		Assert.assertEquals(5, edge.getCost(), 0);
+		Assert.assertEquals(1, previousCosts.size());
+		Assert.assertEquals(2, previousCosts.get(0).floatValue(), 0);
+
+		// Setting the same cost does not notify
+		network.setEdgeCost(edge, 5);
+		Assert.assertEquals(1, previousCosts.size());
+
+		network.removeNetworkListener(listener);
+		network.setEdgeCost(edge, 1);
+		Assert.assertEquals(1, edge.getCost(), 0);
+		Assert.assertEquals(1, previousCosts.size());
+
+		// A rejected change is still concluded for listeners which were
+		// already notified
+		final List<Float> announcedCosts = new ArrayList<>();
+		network.addNetworkListener(new INetworkListener() {
+			@Override
+			public void edgeCostChanged(final DirectedWeightedEdge changedEdge, final float previousCost) {
+				previousCosts.add(Float.valueOf(changedEdge.getCost()));
+			}
+
+			@Override
+			public void edgeCostChanging(final DirectedWeightedEdge changedEdge, final float cost) {
+				announcedCosts.add(Float.valueOf(cost));
+			}
+		});
+		network.addNetworkListener(new INetworkListener() {
+			@Override
+			public void edgeCostChanged(final DirectedWeightedEdge changedEdge, final float previousCost) {
+				Assert.fail();
+			}
+
+			@Override
+			public void edgeCostChanging(final DirectedWeightedEdge changedEdge, final float cost) {
+				throw new IllegalArgumentException();
+			}
+		});
+		try {
+			network.setEdgeCost(edge, 3);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			// Expected since the last listener rejects every change
+		}
+		Assert.assertEquals(1, edge.getCost(), 0);
+		Assert.assertEquals(1, announcedCosts.size());
+		Assert.assertEquals(3, announcedCosts.get(0).floatValue(), 0);
+		Assert.assertEquals(2, previousCosts.size());
+		Assert.assertEquals(1, previousCosts.get(1).floatValue(), 0);
+
+		final DirectedWeightedEdge foreignEdge = new DirectedWeightedEdge(secondNode, firstNode, 1);
+		this.exception.expect(NoSuchElementException.class);
+		network.setEdgeCost(foreignEdge, 2);
+	}
+
 	/**
 	 * Test method for {@link PathNetwork#toString()}.
 	 */
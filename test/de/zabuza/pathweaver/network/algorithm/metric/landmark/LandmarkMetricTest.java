@@ -1,12 +1,21 @@
 package de.zabuza.pathweaver.network.algorithm.metric.landmark;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
 import de.zabuza.pathweaver.network.PathNetwork;
 import de.zabuza.pathweaver.network.algorithm.metric.landmark.LandmarkMetric;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
 
 /**
  * Test for {@link LandmarkMetric}.
@@ -15,6 +24,59 @@ import de.zabuza.pathweaver.network.algorithm.metric.landmark.LandmarkMetric;
  *
  */
 public final class LandmarkMetricTest {
+	/**
+	 * The amount of nodes of the test network.
+	 */
+	private static final int AMOUNT_OF_NODES = 20;
+
+	/**
+	 * Creates a random, but reproducible and strongly connected, network for
+	 * testing. The nodes form a cycle with additional random edges.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		final Random rnd = new Random(42);
+		for (int i = 0; i < AMOUNT_OF_NODES; i++) {
+			network.addNode(new Node(i));
+		}
+		for (int i = 0; i < AMOUNT_OF_NODES; i++) {
+			network.addEdge(network.getNodeById(i), network.getNodeById((i + 1) % AMOUNT_OF_NODES),
+					1 + rnd.nextInt(10));
+		}
+		for (int i = 0; i < AMOUNT_OF_NODES * 2; i++) {
+			final Node source = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			final Node destination = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			if (source.equals(destination)) {
+				continue;
+			}
+			network.addEdge(source, destination, 1 + rnd.nextInt(10));
+		}
+		return network;
+	}
+
+	/**
+	 * Test method for {@link LandmarkMetric#detach()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDetach() {
+		final PathNetwork network = createNetwork();
+		final LandmarkMetric metric = new LandmarkMetric(2, network);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(AMOUNT_OF_NODES - 1);
+		final float distance = metric.distance(source, destination);
+
+		metric.detach();
+		// Decreased costs are not repaired anymore
+		for (final Node node : network.getNodes()) {
+			for (final DirectedWeightedEdge edge : network.getOutgoingEdges(node)) {
+				network.setEdgeCost(edge, edge.getCost() / 100);
+			}
+		}
+		Assert.assertEquals(distance, metric.distance(source, destination), 0);
+	}
 
 	/**
 	 * Test method for {@link LandmarkMetric#distance(Node, Node)}.
@@ -45,6 +107,49 @@ public final class LandmarkMetricTest {
 		Assert.assertTrue(secondDistance == 0 || secondDistance == 1 || secondDistance == 3);
 	}
 
+	/**
+	 * Test method for
+	 * {@link LandmarkMetric#edgeCostChanged(DirectedWeightedEdge, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEdgeCostChanged() {
+		final PathNetwork network = createNetwork();
+		final Set<Node> landmarks = new HashSet<>(
+				Arrays.asList(network.getNodeById(0), network.getNodeById(AMOUNT_OF_NODES / 2)));
+		final ILandmarkProvider<Node> landmarkProvider = amount -> landmarks;
+		final LandmarkMetric metric = new LandmarkMetric(landmarks.size(), network, landmarkProvider);
+
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		for (final Node node : network.getNodes()) {
+			edges.addAll(network.getOutgoingEdges(node));
+		}
+
+		// After decreasing costs the metric must equal a rebuilt one
+		for (int i = 0; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() / 4);
+		}
+		final LandmarkMetric rebuiltMetric = new LandmarkMetric(landmarks.size(), network, landmarkProvider);
+		for (final Node source : network.getNodes()) {
+			for (final Node destination : network.getNodes()) {
+				Assert.assertEquals(rebuiltMetric.distance(source, destination), metric.distance(source, destination),
+						0.0001f);
+			}
+		}
+
+		// After increasing costs the metric must still be a lower bound
+		for (int i = 1; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() * 5);
+		}
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(network);
+		for (final Node source : network.getNodes()) {
+			for (final Node destination : network.getNodes()) {
+				final float cost = computation.computeShortestPathCost(source, destination).get().floatValue();
+				Assert.assertTrue(metric.distance(source, destination) <= cost + 0.0001f);
+			}
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link LandmarkMetric#LandmarkMetric(int, IPathNetwork, ILandmarkProvider)}
@@ -0,0 +1,254 @@
+package de.zabuza.pathweaver.network.algorithm.scc;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link ForwardBackwardSccComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ForwardBackwardSccComputationTest {
+	/**
+	 * Adds edges forming a cycle over the nodes with the given consecutive
+	 * ids.
+	 * 
+	 * @param network
+	 *            The network to add the edges to
+	 * @param firstId
+	 *            The id of the first node of the cycle
+	 * @param amountOfNodes
+	 *            The amount of nodes of the cycle
+	 */
+	private static void addCycle(final PathNetwork network, final int firstId, final int amountOfNodes) {
+		for (int i = 0; i < amountOfNodes; i++) {
+			network.addEdge(network.getNodeById(firstId + i), network.getNodeById(firstId + (i + 1) % amountOfNodes),
+					1);
+		}
+	}
+
+	/**
+	 * Creates a network with the nodes <tt>0</tt> to
+	 * <tt>amountOfNodes - 1</tt> and no edges.
+	 * 
+	 * @param amountOfNodes
+	 *            The amount of nodes of the network
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork(final int amountOfNodes) {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < amountOfNodes; i++) {
+			network.addNode(new Node(i));
+		}
+		return network;
+	}
+
+	/**
+	 * Creates a random network which consists of small cycles connected by
+	 * random edges.
+	 * 
+	 * @param amountOfNodes
+	 *            The amount of nodes of the network
+	 * @param seed
+	 *            The seed of the random generator
+	 * @return The created network
+	 */
+	private static PathNetwork createRandomNetwork(final int amountOfNodes, final long seed) {
+		final Random rnd = new Random(seed);
+		final PathNetwork network = new PathNetwork();
+		final Node[] nodes = new Node[amountOfNodes];
+		for (int i = 0; i < amountOfNodes; i++) {
+			nodes[i] = new Node(i);
+			network.addNode(nodes[i]);
+		}
+		for (int i = 0; i < amountOfNodes; i++) {
+			final int cycleStart = i - i % 7;
+			if (i % 7 == 6 || i + 1 == amountOfNodes) {
+				network.addEdge(nodes[i], nodes[cycleStart], 1);
+			} else {
+				network.addEdge(nodes[i], nodes[i + 1], 1);
+			}
+			network.addEdge(nodes[i], nodes[rnd.nextInt(amountOfNodes)], 1);
+		}
+		return network;
+	}
+
+	/**
+	 * Gets the SCCs of the given computation as sets of nodes.
+	 * 
+	 * @param computation
+	 *            The computation to get SCCs of
+	 * @return The set of all SCCs, each given as set of its nodes
+	 */
+	private static Set<Set<Node>> toNodeSets(final ISccComputation computation) {
+		final Set<Set<Node>> nodeSets = new HashSet<>();
+		for (final StronglyConnectedComponent scc : computation.getSccs()) {
+			Assert.assertTrue(scc.getNodes().contains(scc.getRootNode()));
+			nodeSets.add(scc.getNodes());
+		}
+		return nodeSets;
+	}
+
+	/**
+	 * Test method for
+	 * {@link ForwardBackwardSccComputation#ForwardBackwardSccComputation(de.zabuza.pathweaver.network.IPathNetwork, ForkJoinPool)}
+	 * .
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testForwardBackwardSccComputation() {
+		// Large ring which exceeds the recursion depth of naive algorithms
+		final int amountOfNodes = 200_000;
+		final PathNetwork network = new PathNetwork();
+		final Node[] nodes = new Node[amountOfNodes];
+		for (int i = 0; i < amountOfNodes; i++) {
+			nodes[i] = new Node(i);
+			network.addNode(nodes[i]);
+		}
+		for (int i = 0; i < amountOfNodes; i++) {
+			network.addEdge(nodes[i], nodes[(i + 1) % amountOfNodes], 1);
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network, pool);
+			Assert.assertEquals(1, computation.getSccs().size());
+			Assert.assertEquals(amountOfNodes, computation.getLargestScc().getSize());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link ForwardBackwardSccComputation#getLargestScc()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLargestScc() {
+		// A cycle of three nodes leads to a cycle of four nodes
+		final PathNetwork network = createNetwork(7);
+		addCycle(network, 0, 3);
+		addCycle(network, 3, 4);
+		network.addEdge(network.getNodeById(2), network.getNodeById(3), 1);
+
+		final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network);
+		Assert.assertEquals(2, computation.getSccs().size());
+		final StronglyConnectedComponent scc = computation.getLargestScc();
+		Assert.assertEquals(4, scc.getSize());
+		for (int i = 3; i < 7; i++) {
+			Assert.assertTrue(scc.getNodes().contains(network.getNodeById(i)));
+		}
+
+		final ForwardBackwardSccComputation emptyComputation = new ForwardBackwardSccComputation(new PathNetwork());
+		Assert.assertNull(emptyComputation.getLargestScc());
+	}
+
+	/**
+	 * Test method for {@link ForwardBackwardSccComputation#getPathNetwork()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetPathNetwork() {
+		final PathNetwork network = createRandomNetwork(20, 1);
+		final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network);
+		Assert.assertEquals(network, computation.getPathNetwork());
+	}
+
+	/**
+	 * Test method for {@link ForwardBackwardSccComputation#getSccs()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSccs() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (final int amountOfNodes : new int[] { 1, 50, 500, 30_000 }) {
+				final PathNetwork network = createRandomNetwork(amountOfNodes, amountOfNodes);
+				final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network, pool);
+				final Set<Set<Node>> expectedSccs = toNodeSets(new TarjanNonRecursiveSccComputation(network));
+				Assert.assertEquals(expectedSccs.size(), computation.getSccs().size());
+				Assert.assertEquals(expectedSccs, toNodeSets(computation));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link ForwardBackwardSccComputation#getSccs()}. The
+	 * pivot SCC splits the network into a forward, a backward and a remaining
+	 * subproblem which are all large enough to be processed as separate tasks.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSccsParallelSplit() {
+		// Groups of cycles of three nodes, each cycle leads to the next one
+		final int amountOfCycles = ForwardBackwardSccComputation.PARALLEL_THRESHOLD / 3 + 1;
+		final int groupSize = 3 * amountOfCycles;
+		final int forwardStart = 2;
+		final int backwardStart = forwardStart + groupSize;
+		final int remainingStart = backwardStart + groupSize;
+		final PathNetwork network = createNetwork(remainingStart + groupSize);
+		addCycle(network, 0, 2);
+		for (final int groupStart : new int[] { forwardStart, backwardStart, remainingStart }) {
+			for (int cycle = 0; cycle < amountOfCycles; cycle++) {
+				final int cycleStart = groupStart + 3 * cycle;
+				addCycle(network, cycleStart, 3);
+				if (cycle + 1 < amountOfCycles) {
+					network.addEdge(network.getNodeById(cycleStart), network.getNodeById(cycleStart + 3), 1);
+				}
+			}
+		}
+		// The pivot cycle reaches the forward group and is reached by the
+		// backward group, the remaining group is not connected to it
+		network.addEdge(network.getNodeById(1), network.getNodeById(forwardStart), 1);
+		network.addEdge(network.getNodeById(remainingStart - 1), network.getNodeById(0), 1);
+
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network, pool);
+			Assert.assertEquals(1 + 3 * amountOfCycles, computation.getSccs().size());
+			Assert.assertEquals(3, computation.getLargestScc().getSize());
+			Assert.assertEquals(toNodeSets(new TarjanNonRecursiveSccComputation(network)), toNodeSets(computation));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link ForwardBackwardSccComputation#getSccs()}. Nodes
+	 * without predecessors or successors are trimmed, which can make their
+	 * neighbors trimmable as well.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSccsTrimming() {
+		// A path leads over a node with a loop to a cycle of two nodes
+		final PathNetwork network = createNetwork(13);
+		for (int i = 0; i < 10; i++) {
+			network.addEdge(network.getNodeById(i), network.getNodeById(i + 1), 1);
+		}
+		network.addEdge(network.getNodeById(10), network.getNodeById(10), 1);
+		network.addEdge(network.getNodeById(10), network.getNodeById(11), 1);
+		addCycle(network, 11, 2);
+
+		final ForwardBackwardSccComputation computation = new ForwardBackwardSccComputation(network);
+		Assert.assertEquals(12, computation.getSccs().size());
+		Assert.assertEquals(2, computation.getLargestScc().getSize());
+		for (final StronglyConnectedComponent scc : computation.getSccs()) {
+			if (scc.getSize() == 1) {
+				Assert.assertTrue(scc.getRootNode().getId() <= 10);
+			}
+		}
+		Assert.assertEquals(toNodeSets(new TarjanNonRecursiveSccComputation(network)), toNodeSets(computation));
+	}
+}
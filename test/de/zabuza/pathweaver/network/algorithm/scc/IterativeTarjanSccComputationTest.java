@@ -0,0 +1,155 @@
+package de.zabuza.pathweaver.network.algorithm.scc;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link IterativeTarjanSccComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IterativeTarjanSccComputationTest {
+	/**
+	 * Creates a random network which consists of small cycles connected by
+	 * random edges.
+	 * 
+	 * @param amountOfNodes
+	 *            The amount of nodes of the network
+	 * @param seed
+	 *            The seed of the random generator
+	 * @return The created network
+	 */
+	private static PathNetwork createRandomNetwork(final int amountOfNodes, final long seed) {
+		final Random rnd = new Random(seed);
+		final PathNetwork network = new PathNetwork();
+		final Node[] nodes = new Node[amountOfNodes];
+		for (int i = 0; i < amountOfNodes; i++) {
+			nodes[i] = new Node(i);
+			network.addNode(nodes[i]);
+		}
+		for (int i = 0; i < amountOfNodes; i++) {
+			final int cycleStart = i - i % 7;
+			if (i % 7 == 6 || i + 1 == amountOfNodes) {
+				network.addEdge(nodes[i], nodes[cycleStart], 1);
+			} else {
+				network.addEdge(nodes[i], nodes[i + 1], 1);
+			}
+			network.addEdge(nodes[i], nodes[rnd.nextInt(amountOfNodes)], 1);
+		}
+		return network;
+	}
+
+	/**
+	 * Gets the SCCs of the given computation as sets of nodes.
+	 * 
+	 * @param computation
+	 *            The computation to get SCCs of
+	 * @return The set of all SCCs, each given as set of its nodes
+	 */
+	private static Set<Set<Node>> toNodeSets(final ISccComputation computation) {
+		final Set<Set<Node>> nodeSets = new HashSet<>();
+		for (final StronglyConnectedComponent scc : computation.getSccs()) {
+			Assert.assertTrue(scc.getNodes().contains(scc.getRootNode()));
+			nodeSets.add(scc.getNodes());
+		}
+		return nodeSets;
+	}
+
+	/**
+	 * Test method for {@link IterativeTarjanSccComputation#getLargestScc()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLargestScc() {
+		final PathNetwork network = new PathNetwork();
+
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+		final Node fifthNode = new Node(4);
+
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addNode(fourthNode);
+		network.addNode(fifthNode);
+
+		network.addEdge(firstNode, secondNode, 1);
+		network.addEdge(secondNode, firstNode, 1);
+		network.addEdge(secondNode, thirdNode, 1);
+		network.addEdge(thirdNode, fourthNode, 1);
+		network.addEdge(fourthNode, fifthNode, 1);
+		network.addEdge(fifthNode, thirdNode, 1);
+
+		final IterativeTarjanSccComputation computation = new IterativeTarjanSccComputation(network);
+		final StronglyConnectedComponent scc = computation.getLargestScc();
+		Assert.assertEquals(3, scc.getSize());
+		Assert.assertTrue(scc.getNodes().contains(thirdNode));
+		Assert.assertTrue(scc.getNodes().contains(fourthNode));
+		Assert.assertTrue(scc.getNodes().contains(fifthNode));
+
+		final IterativeTarjanSccComputation emptyComputation = new IterativeTarjanSccComputation(new PathNetwork());
+		Assert.assertNull(emptyComputation.getLargestScc());
+	}
+
+	/**
+	 * Test method for {@link IterativeTarjanSccComputation#getPathNetwork()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetPathNetwork() {
+		final PathNetwork network = createRandomNetwork(20, 1);
+		final IterativeTarjanSccComputation computation = new IterativeTarjanSccComputation(network);
+		Assert.assertEquals(network, computation.getPathNetwork());
+	}
+
+	/**
+	 * Test method for {@link IterativeTarjanSccComputation#getSccs()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSccs() {
+		for (final int amountOfNodes : new int[] { 1, 50, 500, 30_000 }) {
+			final PathNetwork network = createRandomNetwork(amountOfNodes, amountOfNodes);
+			final IterativeTarjanSccComputation computation = new IterativeTarjanSccComputation(network);
+			final Set<Set<Node>> expectedSccs = toNodeSets(new TarjanNonRecursiveSccComputation(network));
+			Assert.assertEquals(expectedSccs.size(), computation.getSccs().size());
+			Assert.assertEquals(expectedSccs, toNodeSets(computation));
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link IterativeTarjanSccComputation#IterativeTarjanSccComputation(de.zabuza.pathweaver.network.IPathNetwork)}
+	 * .
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIterativeTarjanSccComputation() {
+		// Long path which exceeds the call stack of the recursive version
+		final int amountOfNodes = 200_000;
+		final PathNetwork network = new PathNetwork();
+		final Node[] nodes = new Node[amountOfNodes];
+		for (int i = 0; i < amountOfNodes; i++) {
+			nodes[i] = new Node(i);
+			network.addNode(nodes[i]);
+		}
+		for (int i = 0; i < amountOfNodes - 1; i++) {
+			network.addEdge(nodes[i], nodes[i + 1], 1);
+		}
+		network.addEdge(nodes[amountOfNodes / 2], nodes[0], 1);
+
+		final IterativeTarjanSccComputation computation = new IterativeTarjanSccComputation(network);
+		Assert.assertEquals(amountOfNodes / 2 + 1, computation.getLargestScc().getSize());
+		Assert.assertEquals(amountOfNodes / 2, computation.getSccs().size());
+	}
+}
@@ -9,6 +9,7 @@ import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
 
+import de.zabuza.pathweaver.network.CompactPath;
 import de.zabuza.pathweaver.network.DirectedWeightedEdge;
 import de.zabuza.pathweaver.network.IPathNetwork;
 import de.zabuza.pathweaver.network.Node;
@@ -24,6 +25,44 @@ import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathC
  */
 public final class DijkstraShortestPathComputationTest {
 
+	/**
+	 * Test method for
+	 * {@link DijkstraShortestPathComputation#computeShortestCompactPath(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestCompactPath() {
+		final PathNetwork network = new PathNetwork();
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(network);
+
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+		final Node fifthNode = new Node(4);
+
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addNode(fourthNode);
+		network.addNode(fifthNode);
+
+		network.addEdge(firstNode, secondNode, 1);
+		network.addEdge(secondNode, thirdNode, 1);
+		network.addEdge(firstNode, thirdNode, 3);
+		network.addEdge(thirdNode, fourthNode, 1);
+		network.addEdge(firstNode, fourthNode, 10);
+
+		final CompactPath path = computation.computeShortestCompactPath(firstNode, fourthNode).get();
+		Assert.assertEquals(new CompactPath(new int[] { 0, 1, 2, 3 }, 3), path);
+		Assert.assertEquals(computation.computeShortestPath(firstNode, fourthNode).get().getEdges(),
+				path.toPath(network).getEdges());
+
+		Assert.assertEquals(new CompactPath(new int[] { 2 }, 0),
+				computation.computeShortestCompactPath(thirdNode, thirdNode).get());
+		Assert.assertFalse(computation.computeShortestCompactPath(firstNode, fifthNode).isPresent());
+	}
+
 	/**
 	 * Test method for
 	 * {@link DijkstraShortestPathComputation#computeShortestPath(Node, Node)} .
@@ -233,6 +272,65 @@ public final class DijkstraShortestPathComputationTest {
 		Assert.assertEquals(4, costMapping.get(sixthNode).floatValue(), 0);
 	}
 
+	/**
+	 * Test method for
+	 * {@link DijkstraShortestPathComputation#computeShortestPaths(Node, Set)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPaths() {
+		final PathNetwork network = new PathNetwork();
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(network);
+
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+		final Node fifthNode = new Node(4);
+		final Node sixthNode = new Node(5);
+		final Node unreachableNode = new Node(6);
+
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addNode(fourthNode);
+		network.addNode(fifthNode);
+		network.addNode(sixthNode);
+		network.addNode(unreachableNode);
+
+		network.addEdge(firstNode, secondNode, 1);
+		network.addEdge(secondNode, thirdNode, 1);
+		network.addEdge(firstNode, thirdNode, 3);
+		network.addEdge(thirdNode, fourthNode, 1);
+		network.addEdge(firstNode, fourthNode, 10);
+		network.addEdge(firstNode, fifthNode, 4);
+		network.addEdge(fifthNode, secondNode, 5);
+		network.addEdge(fifthNode, sixthNode, 3);
+		network.addEdge(sixthNode, fourthNode, 1);
+
+		final Set<Node> destinations = new HashSet<>();
+		destinations.add(fourthNode);
+		destinations.add(sixthNode);
+		destinations.add(unreachableNode);
+		final Map<Node, Path> destinationToPath = computation.computeShortestPaths(firstNode, destinations);
+		Assert.assertEquals(2, destinationToPath.size());
+		Assert.assertEquals(3, destinationToPath.get(fourthNode).getCost(), 0);
+		Assert.assertEquals(4, destinationToPath.get(fourthNode).getLength());
+		Assert.assertEquals(firstNode, destinationToPath.get(sixthNode).getSource());
+		Assert.assertEquals(sixthNode, destinationToPath.get(sixthNode).getDestination());
+		Assert.assertEquals(7, destinationToPath.get(sixthNode).getCost(), 0);
+
+		// The search stops once all destinations are settled
+		computation.setSearchStatisticsEnabled(true);
+		destinations.clear();
+		destinations.add(secondNode);
+		destinations.add(thirdNode);
+		Assert.assertEquals(2, computation.computeShortestPaths(firstNode, destinations).size());
+		Assert.assertEquals(3, computation.getLastSearchStatistics().get().getAmountOfSettledNodes());
+
+		Assert.assertTrue(computation.computeShortestPaths(firstNode, new HashSet<>()).isEmpty());
+	}
+
 	/**
 	 * Test method for
 	 * {@link DijkstraShortestPathComputation#DijkstraShortestPathComputation(IPathNetwork)}
@@ -250,6 +348,57 @@ public final class DijkstraShortestPathComputationTest {
 		Assert.assertEquals(anotherNetwork, anotherComputation.getPathNetwork());
 	}
 
+	/**
+	 * Test method for
+	 * {@link DijkstraShortestPathComputation#getLastSearchStatistics()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLastSearchStatistics() {
+		final PathNetwork network = new PathNetwork();
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(network);
+
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+
+		network.addEdge(firstNode, secondNode, 1);
+		network.addEdge(secondNode, thirdNode, 1);
+		network.addEdge(firstNode, thirdNode, 5);
+
+		// Disabled by default
+		Assert.assertFalse(computation.isSearchStatisticsEnabled());
+		computation.computeShortestPathCost(firstNode, thirdNode);
+		Assert.assertFalse(computation.getLastSearchStatistics().isPresent());
+
+		computation.setSearchStatisticsEnabled(true);
+		Assert.assertTrue(computation.isSearchStatisticsEnabled());
+		Assert.assertFalse(computation.getLastSearchStatistics().isPresent());
+
+		computation.computeShortestPathCost(firstNode, thirdNode);
+		SearchStatistics statistics = computation.getLastSearchStatistics().get();
+		Assert.assertEquals(3, statistics.getAmountOfSettledNodes());
+		Assert.assertEquals(3, statistics.getAmountOfRelaxedEdges());
+		Assert.assertEquals(4, statistics.getAmountOfQueuePushes());
+		Assert.assertEquals(0, statistics.getAmountOfStalePops());
+		Assert.assertEquals(4, statistics.getAmountOfHeuristicEvaluations());
+		Assert.assertTrue(statistics.getWallTime() >= 0);
+
+		// The abandoned entry of the third node is polled after it was settled
+		computation.computeShortestPathCostsReachable(firstNode);
+		statistics = computation.getLastSearchStatistics().get();
+		Assert.assertEquals(3, statistics.getAmountOfSettledNodes());
+		Assert.assertEquals(1, statistics.getAmountOfStalePops());
+		Assert.assertEquals(0, statistics.getAmountOfHeuristicEvaluations());
+
+		computation.setSearchStatisticsEnabled(false);
+		Assert.assertFalse(computation.getLastSearchStatistics().isPresent());
+	}
+
 	/**
 	 * Test method for {@link DijkstraShortestPathComputation#getPathNetwork()}.
 	 */
@@ -265,4 +414,34 @@ public final class DijkstraShortestPathComputationTest {
 		Assert.assertEquals(anotherNetwork, anotherComputation.getPathNetwork());
 	}
 
+	/**
+	 * Test method for
+	 * {@link DijkstraShortestPathComputation#setSearchStatisticsEnabled(boolean)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testSetSearchStatisticsEnabled() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addEdge(firstNode, secondNode, 1);
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(network);
+
+		computation.setSearchStatisticsEnabled(true);
+		computation.computeShortestPathCost(firstNode, secondNode);
+		Assert.assertTrue(computation.getLastSearchStatistics().isPresent());
+
+		// Statistics of searches before switching are discarded
+		computation.setSearchStatisticsEnabled(false);
+		computation.computeShortestPathCost(firstNode, secondNode);
+		computation.setSearchStatisticsEnabled(true);
+		Assert.assertFalse(computation.getLastSearchStatistics().isPresent());
+
+		computation.computeShortestPathCost(firstNode, secondNode);
+		computation.setSearchStatisticsEnabled(true);
+		Assert.assertTrue(computation.getLastSearchStatistics().isPresent());
+	}
+
 }
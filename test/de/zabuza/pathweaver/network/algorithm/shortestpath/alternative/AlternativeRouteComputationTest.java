@@ -0,0 +1,131 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.alternative;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link AlternativeRouteComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class AlternativeRouteComputationTest {
+	/**
+	 * Adds an edge between the nodes with the given ids.
+	 * 
+	 * @param network
+	 *            The network to add the edge to
+	 * @param sourceId
+	 *            The id of the source of the edge
+	 * @param destinationId
+	 *            The id of the destination of the edge
+	 * @param cost
+	 *            The cost of the edge
+	 */
+	private static void addEdge(final PathNetwork network, final int sourceId, final int destinationId,
+			final float cost) {
+		network.addEdge(network.getNodeById(sourceId), network.getNodeById(destinationId), cost);
+	}
+
+	/**
+	 * Creates a network with routes from node <tt>0</tt> to node <tt>1</tt>.
+	 * The shortest route via <tt>2</tt> and <tt>3</tt> costs <tt>10</tt>. The
+	 * disjoint route via <tt>4</tt>, <tt>5</tt> and <tt>6</tt> costs
+	 * <tt>11</tt>. The route via <tt>2</tt>, <tt>3</tt> and <tt>7</tt> costs
+	 * <tt>11.5</tt> and shares <tt>7</tt> with the shortest route. The route
+	 * via <tt>8</tt> costs <tt>20</tt>. Node <tt>9</tt> is isolated.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 10; i++) {
+			network.addNode(new Node(i));
+		}
+		addEdge(network, 0, 2, 3);
+		addEdge(network, 2, 3, 4);
+		addEdge(network, 3, 1, 3);
+
+		addEdge(network, 0, 4, 2.5f);
+		addEdge(network, 4, 5, 2.5f);
+		addEdge(network, 5, 6, 3);
+		addEdge(network, 6, 1, 3);
+
+		addEdge(network, 3, 7, 2);
+		addEdge(network, 7, 1, 2.5f);
+
+		addEdge(network, 0, 8, 10);
+		addEdge(network, 8, 1, 10);
+		return network;
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for
+	 * {@link AlternativeRouteComputation#computeAlternativeRoutes(Node, Node, int)}.
+	 */
+	@Test
+	public void testComputeAlternativeRoutes() {
+		final PathNetwork network = createNetwork();
+		final AlternativeRouteComputation computation = new AlternativeRouteComputation(network);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(1);
+
+		// The detour via 7 has no plateau and thus is not locally optimal
+		List<Path> routes = computation.computeAlternativeRoutes(source, destination, 3);
+		Assert.assertEquals(2, routes.size());
+		Assert.assertEquals(new CompactPath(new int[] { 0, 2, 3, 1 }, 10), CompactPath.ofPath(routes.get(0)));
+		Assert.assertEquals(new CompactPath(new int[] { 0, 4, 5, 6, 1 }, 11), CompactPath.ofPath(routes.get(1)));
+
+		computation.setMinLocalOptimality(0.0f);
+		routes = computation.computeAlternativeRoutes(source, destination, 3);
+		Assert.assertEquals(3, routes.size());
+		Assert.assertEquals(new CompactPath(new int[] { 0, 2, 3, 7, 1 }, 11.5f), CompactPath.ofPath(routes.get(2)));
+		Assert.assertEquals(2, computation.computeAlternativeRoutes(source, destination, 1).size());
+		Assert.assertEquals(1, computation.computeAlternativeRoutes(source, destination, 0).size());
+
+		// The detour via 7 shares too much with the shortest route
+		computation.setMaxSharing(0.5f);
+		Assert.assertEquals(2, computation.computeAlternativeRoutes(source, destination, 3).size());
+
+		// All alternatives are too long
+		computation.setMaxStretch(0.05f);
+		Assert.assertEquals(1, computation.computeAlternativeRoutes(source, destination, 3).size());
+
+		computation.setMaxStretch(1.0f);
+		computation.setMaxSharing(1.0f);
+		Assert.assertEquals(4, computation.computeAlternativeRoutes(source, destination, 3).size());
+
+		Assert.assertTrue(computation.computeAlternativeRoutes(source, network.getNodeById(9), 3).isEmpty());
+
+		this.exception.expect(IllegalArgumentException.class);
+		computation.computeAlternativeRoutes(source, destination, -1);
+	}
+
+	/**
+	 * Test method for
+	 * {@link AlternativeRouteComputation#setMaxStretch(float)}.
+	 */
+	@Test
+	public void testSetMaxStretch() {
+		final AlternativeRouteComputation computation = new AlternativeRouteComputation(createNetwork());
+		computation.setMaxStretch(0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		computation.setMaxStretch(-0.1f);
+	}
+}
@@ -0,0 +1,163 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+
+/**
+ * Test for {@link ArcFlagShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ArcFlagShortestPathComputationTest {
+	/**
+	 * The amount of nodes of the test network.
+	 */
+	private static final int AMOUNT_OF_NODES = 40;
+	/**
+	 * The amount of regions of the test network.
+	 */
+	private static final int AMOUNT_OF_REGIONS = 3;
+
+	/**
+	 * Creates a random, but reproducible, network for testing.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		final Random rnd = new Random(42);
+		for (int i = 0; i < AMOUNT_OF_NODES; i++) {
+			network.addNode(new Node(i));
+		}
+		for (int i = 0; i < AMOUNT_OF_NODES * 3; i++) {
+			final Node source = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			final Node destination = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			if (source.equals(destination)) {
+				continue;
+			}
+			network.addEdge(source, destination, 1 + rnd.nextInt(10));
+		}
+		return network;
+	}
+
+	/**
+	 * Creates a partitioning of the given network, nodes are assigned to
+	 * regions by their ID.
+	 * 
+	 * @param network
+	 *            The network to partition
+	 * @return The partitioning provider
+	 */
+	private static INetworkPartitioningProvider createPartitioning(final PathNetwork network) {
+		final List<Set<Node>> regions = new ArrayList<>();
+		for (int i = 0; i < AMOUNT_OF_REGIONS; i++) {
+			regions.add(new HashSet<>());
+		}
+		for (final Node node : network.getNodes()) {
+			regions.get(node.getId() % AMOUNT_OF_REGIONS).add(node);
+		}
+		return () -> regions;
+	}
+
+	/**
+	 * Asserts that the given computation computes the same shortest path costs
+	 * as Dijkstras algorithm for every pair of nodes.
+	 * 
+	 * @param network
+	 *            The network to compute on
+	 * @param computation
+	 *            The computation to test
+	 */
+	private static void assertSameCostsAsDijkstra(final PathNetwork network,
+			final ArcFlagShortestPathComputation computation) {
+		final DijkstraShortestPathComputation dijkstra = new DijkstraShortestPathComputation(network);
+		for (final Node source : network.getNodes()) {
+			for (final Node destination : network.getNodes()) {
+				final Optional<Float> expectedCost = dijkstra.computeShortestPathCost(source, destination);
+				final Optional<Path> path = computation.computeShortestPath(source, destination);
+				Assert.assertEquals(Boolean.valueOf(expectedCost.isPresent()), Boolean.valueOf(path.isPresent()));
+				if (expectedCost.isPresent()) {
+					Assert.assertEquals(expectedCost.get().floatValue(), path.get().getCost(), 0.0001f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link ArcFlagShortestPathComputation#ArcFlagShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, INetworkPartitioningProvider, EArcFlagPreprocessing)}
+	 * using {@link EArcFlagPreprocessing#CENTRALIZED}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCentralizedPreprocessing() {
+		final PathNetwork network = createNetwork();
+		final ArcFlagShortestPathComputation computation = new ArcFlagShortestPathComputation(network,
+				createPartitioning(network), EArcFlagPreprocessing.CENTRALIZED);
+		assertSameCostsAsDijkstra(network, computation);
+	}
+
+	/**
+	 * Test method for
+	 * {@link ArcFlagShortestPathComputation#edgeCostChanged(DirectedWeightedEdge, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEdgeCostChanged() {
+		final PathNetwork network = createNetwork();
+		final ArcFlagShortestPathComputation centralized = new ArcFlagShortestPathComputation(network,
+				createPartitioning(network), EArcFlagPreprocessing.CENTRALIZED);
+		final ArcFlagShortestPathComputation perBoundaryNode = new ArcFlagShortestPathComputation(network,
+				createPartitioning(network), EArcFlagPreprocessing.DIJKSTRA_PER_BOUNDARY_NODE);
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		for (final Node node : network.getNodes()) {
+			edges.addAll(network.getOutgoingEdges(node));
+		}
+		for (int i = 0; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() / 4);
+		}
+		for (int i = 1; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() * 5);
+		}
+		assertSameCostsAsDijkstra(network, centralized);
+		assertSameCostsAsDijkstra(network, perBoundaryNode);
+
+		// Restore the original costs
+		for (int i = 0; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() * 4);
+		}
+		for (int i = 1; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() / 5);
+		}
+		assertSameCostsAsDijkstra(network, centralized);
+		assertSameCostsAsDijkstra(network, perBoundaryNode);
+	}
+
+	/**
+	 * Test method for
+	 * {@link ArcFlagShortestPathComputation#ArcFlagShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, INetworkPartitioningProvider, EArcFlagPreprocessing)}
+	 * using {@link EArcFlagPreprocessing#DIJKSTRA_PER_BOUNDARY_NODE}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDijkstraPerBoundaryNodePreprocessing() {
+		final PathNetwork network = createNetwork();
+		final ArcFlagShortestPathComputation computation = new ArcFlagShortestPathComputation(network,
+				createPartitioning(network), EArcFlagPreprocessing.DIJKSTRA_PER_BOUNDARY_NODE);
+		assertSameCostsAsDijkstra(network, computation);
+	}
+}
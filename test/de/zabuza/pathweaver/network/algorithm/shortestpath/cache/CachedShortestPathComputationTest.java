@@ -0,0 +1,348 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+
+/**
+ * Test for {@link CachedShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CachedShortestPathComputationTest {
+	/**
+	 * Creates a network forming a line of four nodes with edges of cost
+	 * <tt>1</tt> in both directions and an isolated fifth node.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 5; i++) {
+			network.addNode(new Node(i));
+		}
+		for (int i = 0; i < 3; i++) {
+			network.addEdge(network.getNodeById(i), network.getNodeById(i + 1), 1);
+			network.addEdge(network.getNodeById(i + 1), network.getNodeById(i), 1);
+		}
+		return network;
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#CachedShortestPathComputation(de.zabuza.pathweaver.network.algorithm.shortestpath.IShortestPathComputation, long, long, TimeUnit)}.
+	 */
+	@Test
+	public void testCachedShortestPathComputation() {
+		final DijkstraShortestPathComputation computation = new DijkstraShortestPathComputation(createNetwork());
+		new CachedShortestPathComputation(computation, 1, 1, TimeUnit.SECONDS);
+
+		this.exception.expect(IllegalArgumentException.class);
+		new CachedShortestPathComputation(computation, 0);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#computeShortestCompactPath(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestCompactPath() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		final CompactPath path = cache.computeShortestCompactPath(source, destination).get();
+		Assert.assertSame(path, cache.computeShortestCompactPath(source, destination).get());
+		Assert.assertEquals(path, CompactPath.ofPath(cache.computeShortestPath(source, destination).get()));
+		Assert.assertEquals(2, cache.getCacheStatistics().getAmountOfHits());
+
+		// Paths computed by other queries are shared too
+		cache.computeShortestPath(source, network.getNodeById(2));
+		Assert.assertEquals(new CompactPath(new int[] { 0, 1, 2 }, 2),
+				cache.computeShortestCompactPath(source, network.getNodeById(2)).get());
+		Assert.assertEquals(3, cache.getCacheStatistics().getAmountOfHits());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#computeShortestPath(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPath() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		final Path firstPath = cache.computeShortestPath(source, destination).get();
+		final Path secondPath = cache.computeShortestPath(source, destination).get();
+		Assert.assertNotSame(firstPath, secondPath);
+		Assert.assertEquals(firstPath.getEdges(), secondPath.getEdges());
+		Assert.assertEquals(3, secondPath.getCost(), 0);
+		Assert.assertEquals(source, secondPath.getSource());
+
+		Assert.assertFalse(cache.computeShortestPath(source, network.getNodeById(4)).isPresent());
+		Assert.assertFalse(cache.computeShortestPath(source, network.getNodeById(4)).isPresent());
+
+		// Entries only knowing the cost can not answer path queries
+		Assert.assertEquals(2, cache.computeShortestPathCost(source, network.getNodeById(2)).get().floatValue(), 0);
+		Assert.assertEquals(2, cache.computeShortestPath(source, network.getNodeById(2)).get().getCost(), 0);
+
+		final CacheStatistics statistics = cache.getCacheStatistics();
+		Assert.assertEquals(2, statistics.getAmountOfHits());
+		Assert.assertEquals(4, statistics.getAmountOfMisses());
+		Assert.assertEquals(3, statistics.getAmountOfEntries());
+		Assert.assertEquals(4 + 1 + 3, statistics.getTotalWeight());
+		Assert.assertEquals(1.0 / 3, statistics.getHitRate(), 0.0001);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#computeShortestPathCost(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPathCost() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+
+		cache.computeShortestPath(source, network.getNodeById(3));
+		Assert.assertEquals(3, cache.computeShortestPathCost(source, network.getNodeById(3)).get().floatValue(), 0);
+		Assert.assertFalse(cache.computeShortestPathCost(source, network.getNodeById(4)).isPresent());
+		Assert.assertFalse(cache.computeShortestPathCost(source, network.getNodeById(4)).isPresent());
+
+		final CacheStatistics statistics = cache.getCacheStatistics();
+		Assert.assertEquals(2, statistics.getAmountOfHits());
+		Assert.assertEquals(2, statistics.getAmountOfMisses());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#computeShortestPaths(Node, java.util.Set)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPaths() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+
+		cache.computeShortestPath(source, network.getNodeById(1));
+		final Map<Node, Path> destinationToPath = cache.computeShortestPaths(source, new HashSet<>(
+				Arrays.asList(network.getNodeById(1), network.getNodeById(2), network.getNodeById(4))));
+		Assert.assertEquals(2, destinationToPath.size());
+		Assert.assertEquals(1, destinationToPath.get(network.getNodeById(1)).getCost(), 0);
+		Assert.assertEquals(2, destinationToPath.get(network.getNodeById(2)).getCost(), 0);
+		Assert.assertEquals(1, cache.getCacheStatistics().getAmountOfHits());
+		Assert.assertEquals(3, cache.getCacheStatistics().getAmountOfEntries());
+
+		// Unreachable destinations are cached too
+		Assert.assertFalse(cache.computeShortestPath(source, network.getNodeById(4)).isPresent());
+		Assert.assertEquals(2, cache.getCacheStatistics().getAmountOfHits());
+	}
+
+	/**
+	 * Test method for {@link CachedShortestPathComputation#detach()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDetach() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		Assert.assertEquals(3, cache.computeShortestPathCost(source, destination).get().floatValue(), 0);
+		cache.detach();
+		// The cache does not notice the change anymore
+		network.setEdgeCost(network.getOutgoingEdges(source).iterator().next(), 5);
+		Assert.assertEquals(3, cache.computeShortestPathCost(source, destination).get().floatValue(), 0);
+		Assert.assertEquals(1, cache.getCacheStatistics().getAmountOfHits());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#edgeCostChanged(DirectedWeightedEdge, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEdgeCostChanged() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		Assert.assertEquals(3, cache.computeShortestPathCost(source, destination).get().floatValue(), 0);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(source).iterator().next();
+		network.setEdgeCost(edge, 5);
+		Assert.assertEquals(7, cache.computeShortestPathCost(source, destination).get().floatValue(), 0);
+		Assert.assertEquals(0, cache.getCacheStatistics().getAmountOfHits());
+	}
+
+	/**
+	 * Test method for {@link CachedShortestPathComputation#getCacheStatistics()}
+	 * regarding the eviction of entries.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetCacheStatisticsEviction() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 6);
+		final Node source = network.getNodeById(0);
+
+		// Weights 2 and 3
+		cache.computeShortestPath(source, network.getNodeById(1));
+		cache.computeShortestPath(source, network.getNodeById(2));
+		// Access the first entry such that the second is least recently used
+		cache.computeShortestPath(source, network.getNodeById(1));
+		// Weight 4, evicts the second entry
+		cache.computeShortestPath(source, network.getNodeById(3));
+
+		CacheStatistics statistics = cache.getCacheStatistics();
+		Assert.assertEquals(1, statistics.getAmountOfEvictions());
+		Assert.assertEquals(2, statistics.getAmountOfEntries());
+		Assert.assertEquals(6, statistics.getTotalWeight());
+
+		cache.computeShortestPath(source, network.getNodeById(1));
+		cache.computeShortestPath(source, network.getNodeById(2));
+		statistics = cache.getCacheStatistics();
+		Assert.assertEquals(2, statistics.getAmountOfHits());
+		Assert.assertEquals(4, statistics.getAmountOfMisses());
+
+		// Entries heavier than the maximal weight are not cached
+		final CachedShortestPathComputation smallCache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 3);
+		smallCache.computeShortestPath(source, network.getNodeById(3));
+		Assert.assertEquals(0, smallCache.getCacheStatistics().getAmountOfEntries());
+	}
+
+	/**
+	 * Test method for {@link CachedShortestPathComputation#getCacheStatistics()}
+	 * regarding the expiration of entries.
+	 * 
+	 * @throws InterruptedException
+	 *             If the current thread was interrupted while waiting for the
+	 *             entries to expire
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetCacheStatisticsExpiration() throws InterruptedException {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100, 20, TimeUnit.MILLISECONDS);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		cache.computeShortestPathCost(source, destination);
+		Thread.sleep(50);
+		cache.computeShortestPathCost(source, destination);
+
+		final CacheStatistics statistics = cache.getCacheStatistics();
+		Assert.assertEquals(0, statistics.getAmountOfHits());
+		Assert.assertEquals(2, statistics.getAmountOfMisses());
+		Assert.assertEquals(1, statistics.getAmountOfExpirations());
+		Assert.assertEquals(1, statistics.getAmountOfEntries());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#getLastSearchStatistics()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLastSearchStatistics() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		cache.setSearchStatisticsEnabled(true);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		cache.computeShortestPathCost(source, destination);
+		Assert.assertTrue(cache.getLastSearchStatistics().get().getAmountOfSettledNodes() > 0);
+
+		// A hit does not report the effort of the previous search
+		cache.computeShortestPathCost(source, destination);
+		Assert.assertEquals(0, cache.getLastSearchStatistics().get().getAmountOfSettledNodes());
+		Assert.assertEquals(0, cache.getLastSearchStatistics().get().getAmountOfRelaxedEdges());
+
+		cache.computeShortestPathCostsReachable(source);
+		Assert.assertTrue(cache.getLastSearchStatistics().get().getAmountOfSettledNodes() > 0);
+	}
+
+	/**
+	 * Test method for {@link CachedShortestPathComputation#invalidate()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testInvalidate() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+
+		cache.computeShortestPath(source, network.getNodeById(3));
+		Assert.assertEquals(4, cache.getCacheStatistics().getTotalWeight());
+		cache.invalidate();
+		Assert.assertEquals(0, cache.getCacheStatistics().getAmountOfEntries());
+		Assert.assertEquals(0, cache.getCacheStatistics().getTotalWeight());
+		cache.computeShortestPath(source, network.getNodeById(3));
+		Assert.assertEquals(0, cache.getCacheStatistics().getAmountOfHits());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedShortestPathComputation#setSearchStatisticsEnabled(boolean)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testSetSearchStatisticsEnabled() {
+		final PathNetwork network = createNetwork();
+		final CachedShortestPathComputation cache = new CachedShortestPathComputation(
+				new DijkstraShortestPathComputation(network), 100);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(3);
+
+		cache.setSearchStatisticsEnabled(true);
+		cache.computeShortestPathCost(source, destination);
+		cache.computeShortestPathCost(source, destination);
+		Assert.assertEquals(1, cache.getCacheStatistics().getAmountOfHits());
+		Assert.assertTrue(cache.getLastSearchStatistics().isPresent());
+
+		// Statistics of queries before switching are discarded
+		cache.setSearchStatisticsEnabled(false);
+		cache.setSearchStatisticsEnabled(true);
+		Assert.assertFalse(cache.getLastSearchStatistics().isPresent());
+	}
+}
@@ -0,0 +1,284 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.crp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.SearchStatistics;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.arcflag.INetworkPartitioningProvider;
+
+/**
+ * Test for {@link CrpShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CrpShortestPathComputationTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * The amount of nodes of the test network.
+	 */
+	private static final int AMOUNT_OF_NODES = 40;
+
+	/**
+	 * Asserts that the given computation computes the same shortest path costs
+	 * as Dijkstras algorithm for every pair of nodes and that the computed
+	 * paths are valid.
+	 * 
+	 * @param network
+	 *            The network to compute on
+	 * @param computation
+	 *            The computation to test
+	 */
+	private static void assertSameCostsAsDijkstra(final PathNetwork network,
+			final CrpShortestPathComputation computation) {
+		final DijkstraShortestPathComputation dijkstra = new DijkstraShortestPathComputation(network);
+		for (final Node source : network.getNodes()) {
+			for (final Node destination : network.getNodes()) {
+				final Optional<Float> expectedCost = dijkstra.computeShortestPathCost(source, destination);
+				final Optional<Float> cost = computation.computeShortestPathCost(source, destination);
+				final Optional<Path> path = computation.computeShortestPath(source, destination);
+				Assert.assertEquals(Boolean.valueOf(expectedCost.isPresent()), Boolean.valueOf(cost.isPresent()));
+				Assert.assertEquals(Boolean.valueOf(expectedCost.isPresent()), Boolean.valueOf(path.isPresent()));
+				if (!expectedCost.isPresent()) {
+					continue;
+				}
+				Assert.assertEquals(expectedCost.get().floatValue(), cost.get().floatValue(), 0.0001f);
+				Assert.assertEquals(expectedCost.get().floatValue(), path.get().getCost(), 0.0001f);
+				Assert.assertEquals(source, path.get().getSource());
+				Assert.assertEquals(destination, path.get().getDestination());
+
+				Node currentNode = source;
+				for (final DirectedWeightedEdge edge : path.get().getEdges()) {
+					Assert.assertEquals(currentNode, edge.getSource());
+					currentNode = edge.getDestination();
+				}
+				Assert.assertEquals(CompactPath.ofPath(path.get()),
+						computation.computeShortestCompactPath(source, destination).get());
+			}
+
+			final Map<Node, Path> destinationToPath = computation.computeShortestPaths(source,
+					new HashSet<>(network.getNodes()));
+			Assert.assertEquals(dijkstra.computeShortestPathCostsReachable(source).keySet(),
+					destinationToPath.keySet());
+		}
+	}
+
+	/**
+	 * Creates a random, but reproducible, network for testing.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		final Random rnd = new Random(42);
+		for (int i = 0; i < AMOUNT_OF_NODES; i++) {
+			network.addNode(new Node(i));
+		}
+		for (int i = 0; i < AMOUNT_OF_NODES * 3; i++) {
+			final Node source = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			final Node destination = network.getNodeById(rnd.nextInt(AMOUNT_OF_NODES));
+			if (source.equals(destination)) {
+				continue;
+			}
+			network.addEdge(source, destination, 1 + rnd.nextInt(10));
+		}
+		return network;
+	}
+
+	/**
+	 * Creates a partitioning of the given network, nodes are assigned to
+	 * regions by their ID modulo the given amount of regions.
+	 * 
+	 * @param network
+	 *            The network to partition
+	 * @param amountOfRegions
+	 *            The amount of regions to create
+	 * @return The partitioning provider
+	 */
+	private static INetworkPartitioningProvider createPartitioning(final PathNetwork network,
+			final int amountOfRegions) {
+		final List<Set<Node>> regions = new ArrayList<>();
+		for (int i = 0; i < amountOfRegions; i++) {
+			regions.add(new HashSet<>());
+		}
+		for (final Node node : network.getNodes()) {
+			regions.get(node.getId() % amountOfRegions).add(node);
+		}
+		return () -> regions;
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#CrpShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, INetworkPartitioningProvider)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCrpShortestPathComputationSingleLevel() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				createPartitioning(network, 4));
+		assertSameCostsAsDijkstra(network, computation);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#CrpShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, List)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCrpShortestPathComputationMultiLevel() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				Arrays.asList(createPartitioning(network, 12), createPartitioning(network, 6),
+						createPartitioning(network, 2)));
+		assertSameCostsAsDijkstra(network, computation);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#CrpShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, List)}
+	 * using partitionings which are not nested.
+	 */
+	@Test
+	public void testCrpShortestPathComputationNotNested() {
+		final PathNetwork network = createNetwork();
+		this.exception.expect(IllegalArgumentException.class);
+		new CrpShortestPathComputation(network,
+				Arrays.asList(createPartitioning(network, 4), createPartitioning(network, 3)));
+	}
+
+	/**
+	 * Test method for {@link CrpShortestPathComputation#detach()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDetach() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				createPartitioning(network, 6));
+		computation.detach();
+		for (final Node node : network.getNodes()) {
+			for (final DirectedWeightedEdge edge : network.getOutgoingEdges(node)) {
+				network.setEdgeCost(edge, edge.getCost() * 2);
+			}
+		}
+		// Changes are only applied by an explicit customization
+		Assert.assertFalse(computation.getOverlayMetric().hasInvalidCells());
+		computation.customize();
+		assertSameCostsAsDijkstra(network, computation);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#edgeCostChanged(DirectedWeightedEdge, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEdgeCostChanged() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				Arrays.asList(createPartitioning(network, 12), createPartitioning(network, 6),
+						createPartitioning(network, 2)));
+		final List<DirectedWeightedEdge> edges = new ArrayList<>();
+		for (final Node node : network.getNodes()) {
+			edges.addAll(network.getOutgoingEdges(node));
+		}
+		for (int i = 0; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() / 4);
+		}
+		for (int i = 1; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() * 5);
+		}
+		// Changes are customized immediately instead of during the next query
+		Assert.assertFalse(computation.getOverlayMetric().hasInvalidCells());
+		assertSameCostsAsDijkstra(network, computation);
+
+		// Restore the original costs
+		for (int i = 0; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() * 4);
+		}
+		for (int i = 1; i < edges.size(); i += 3) {
+			network.setEdgeCost(edges.get(i), edges.get(i).getCost() / 5);
+		}
+		assertSameCostsAsDijkstra(network, computation);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#getLastSearchStatistics()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLastSearchStatistics() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				Arrays.asList(createPartitioning(network, 12), createPartitioning(network, 6)));
+		final DijkstraShortestPathComputation dijkstra = new DijkstraShortestPathComputation(network);
+		computation.setSearchStatisticsEnabled(true);
+		dijkstra.setSearchStatisticsEnabled(true);
+
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(AMOUNT_OF_NODES - 1);
+		computation.computeShortestPath(source, destination);
+		final SearchStatistics statistics = computation.getLastSearchStatistics().get();
+		Assert.assertTrue(statistics.getAmountOfSettledNodes() > 0);
+		Assert.assertTrue(statistics.getAmountOfQueuePushes() <= statistics.getAmountOfRelaxedEdges() + 1);
+		Assert.assertEquals(0, statistics.getAmountOfStalePops());
+
+		// The overlay search settles at most as many nodes as Dijkstra
+		dijkstra.computeShortestPathCost(source, destination);
+		Assert.assertTrue(statistics.getAmountOfSettledNodes() <= dijkstra.getLastSearchStatistics().get()
+				.getAmountOfSettledNodes());
+
+		// Queries without destination are recorded as well
+		computation.computeShortestPathCostsReachable(source);
+		Assert.assertNotEquals(statistics, computation.getLastSearchStatistics().get());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CrpShortestPathComputation#setSearchStatisticsEnabled(boolean)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testSetSearchStatisticsEnabled() {
+		final PathNetwork network = createNetwork();
+		final CrpShortestPathComputation computation = new CrpShortestPathComputation(network,
+				createPartitioning(network, 6));
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(AMOUNT_OF_NODES - 1);
+
+		computation.setSearchStatisticsEnabled(true);
+		computation.computeShortestPath(source, destination);
+		computation.computeShortestPathCostsReachable(source);
+		Assert.assertTrue(computation.getLastSearchStatistics().isPresent());
+
+		// Statistics of searches before switching are discarded
+		computation.setSearchStatisticsEnabled(false);
+		computation.computeShortestPath(source, destination);
+		computation.setSearchStatisticsEnabled(true);
+		Assert.assertFalse(computation.getLastSearchStatistics().isPresent());
+	}
+}
@@ -0,0 +1,104 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.kshortest;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link KShortestPathsComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class KShortestPathsComputationTest {
+	/**
+	 * Adds an edge between the nodes with the given ids.
+	 * 
+	 * @param network
+	 *            The network to add the edge to
+	 * @param sourceId
+	 *            The id of the source of the edge
+	 * @param destinationId
+	 *            The id of the destination of the edge
+	 * @param cost
+	 *            The cost of the edge
+	 */
+	private static void addEdge(final PathNetwork network, final int sourceId, final int destinationId,
+			final float cost) {
+		network.addEdge(network.getNodeById(sourceId), network.getNodeById(destinationId), cost);
+	}
+
+	/**
+	 * Creates the network of the common example of the algorithm of Yen with
+	 * the nodes <tt>C</tt> to <tt>H</tt> as <tt>0</tt> to <tt>5</tt> and an
+	 * isolated node <tt>6</tt>.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 7; i++) {
+			network.addNode(new Node(i));
+		}
+		addEdge(network, 0, 1, 3);
+		addEdge(network, 0, 2, 2);
+		addEdge(network, 1, 3, 4);
+		addEdge(network, 2, 1, 1);
+		addEdge(network, 2, 3, 2);
+		addEdge(network, 2, 4, 3);
+		addEdge(network, 3, 4, 2);
+		addEdge(network, 3, 5, 1);
+		addEdge(network, 4, 5, 2);
+		return network;
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for
+	 * {@link KShortestPathsComputation#computeKShortestPaths(Node, Node, int)}.
+	 */
+	@Test
+	public void testComputeKShortestPaths() {
+		final PathNetwork network = createNetwork();
+		final KShortestPathsComputation computation = new KShortestPathsComputation(network);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(5);
+
+		final List<Path> paths = computation.computeKShortestPaths(source, destination, 2);
+		Assert.assertEquals(2, paths.size());
+		Assert.assertEquals(new CompactPath(new int[] { 0, 2, 3, 5 }, 5), CompactPath.ofPath(paths.get(0)));
+		Assert.assertEquals(new CompactPath(new int[] { 0, 2, 4, 5 }, 7), CompactPath.ofPath(paths.get(1)));
+
+		// All seven loopless paths
+		final List<Path> allPaths = computation.computeKShortestPaths(source, destination, 10);
+		final float[] expectedCosts = { 5, 7, 8, 8, 8, 11, 11 };
+		Assert.assertEquals(expectedCosts.length, allPaths.size());
+		for (int i = 0; i < expectedCosts.length; i++) {
+			Assert.assertEquals(expectedCosts[i], allPaths.get(i).getCost(), 0);
+			Assert.assertEquals(source, allPaths.get(i).getSource());
+			Assert.assertEquals(destination, allPaths.get(i).getDestination());
+		}
+		Assert.assertEquals(7, allPaths.stream().map(CompactPath::ofPath).distinct().count());
+		// The network is not modified
+		Assert.assertEquals(9, network.getAmountOfEdges());
+
+		Assert.assertEquals(1, computation.computeKShortestPaths(destination, destination, 3).size());
+		Assert.assertTrue(computation.computeKShortestPaths(source, network.getNodeById(6), 3).isEmpty());
+
+		this.exception.expect(IllegalArgumentException.class);
+		computation.computeKShortestPaths(source, destination, 0);
+	}
+}
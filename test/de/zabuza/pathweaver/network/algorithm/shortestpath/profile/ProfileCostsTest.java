@@ -0,0 +1,52 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.profile;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link ProfileCosts}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ProfileCostsTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link ProfileCosts#isAccessible(int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsAccessible() {
+		final BitSet accessibleEdges = new BitSet();
+		accessibleEdges.set(1);
+		final ProfileCosts costs = new ProfileCosts("bicycle", new float[] { -1.0f, 2.0f }, accessibleEdges);
+		Assert.assertFalse(costs.isAccessible(0));
+		Assert.assertTrue(costs.isAccessible(1));
+		Assert.assertEquals(2.0f, costs.getCost(1), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link ProfileCosts#ProfileCosts(String, float[], BitSet)}.
+	 */
+	@Test
+	public void testProfileCosts() {
+		final BitSet accessibleEdges = new BitSet();
+		accessibleEdges.set(0, 2);
+		final ProfileCosts costs = new ProfileCosts("car", new float[] { 1.0f, 2.0f }, accessibleEdges);
+		Assert.assertEquals("car", costs.getName());
+		Assert.assertEquals(2, costs.getAmountOfEdges());
+		Assert.assertEquals(1.0f, costs.getCost(0), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		new ProfileCosts("car", new float[] { 1.0f, Float.NaN }, accessibleEdges);
+	}
+}
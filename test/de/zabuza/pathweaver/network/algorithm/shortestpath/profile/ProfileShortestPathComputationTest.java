@@ -0,0 +1,130 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.profile;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link ProfileShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ProfileShortestPathComputationTest {
+	/**
+	 * Creates a computation on a network with the nodes <tt>0</tt> to
+	 * <tt>3</tt>. The edge from <tt>0</tt> to <tt>1</tt> is accessible by the
+	 * profiles <tt>car</tt> and <tt>bicycle</tt>, the detour over <tt>2</tt>
+	 * only by <tt>bicycle</tt>, for which it is shorter. The node <tt>3</tt> is
+	 * isolated.
+	 * 
+	 * @return The created computation
+	 */
+	private static ProfileShortestPathComputation createComputation() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 4; i++) {
+			network.addNode(new Node(i));
+		}
+		final DirectedWeightedEdge directEdge = network.addEdge(network.getNodeById(0), network.getNodeById(1),
+				10.0f);
+		final DirectedWeightedEdge firstDetourEdge = network.addEdge(network.getNodeById(0),
+				network.getNodeById(2), 3.0f);
+		final DirectedWeightedEdge secondDetourEdge = network.addEdge(network.getNodeById(2),
+				network.getNodeById(1), 3.0f);
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+
+		final float[] carCosts = new float[3];
+		final BitSet carAccess = new BitSet();
+		carCosts[indexedNetwork.getIndex(directEdge)] = 10.0f;
+		carAccess.set(indexedNetwork.getIndex(directEdge));
+
+		final float[] bicycleCosts = new float[3];
+		final BitSet bicycleAccess = new BitSet();
+		bicycleCosts[indexedNetwork.getIndex(directEdge)] = 40.0f;
+		bicycleCosts[indexedNetwork.getIndex(firstDetourEdge)] = 12.0f;
+		bicycleCosts[indexedNetwork.getIndex(secondDetourEdge)] = 12.0f;
+		bicycleAccess.set(0, 3);
+
+		final ProfileShortestPathComputation computation = new ProfileShortestPathComputation(indexedNetwork);
+		computation.addProfile(new ProfileCosts("car", carCosts, carAccess));
+		computation.addProfile(new ProfileCosts("bicycle", bicycleCosts, bicycleAccess));
+		return computation;
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for
+	 * {@link ProfileShortestPathComputation#addProfile(ProfileCosts)}.
+	 */
+	@Test
+	public void testAddProfile() {
+		final ProfileShortestPathComputation computation = createComputation();
+		Assert.assertEquals(2, computation.getProfileNames().size());
+		Assert.assertTrue(computation.getProfileNames().contains("bicycle"));
+
+		this.exception.expect(IllegalArgumentException.class);
+		computation.addProfile(new ProfileCosts("truck", new float[2], new BitSet()));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProfileShortestPathComputation#computeShortestCompactPath(String, Node, Node)}.
+	 */
+	@Test
+	public void testComputeShortestCompactPath() {
+		final ProfileShortestPathComputation computation = createComputation();
+		final Node source = computation.getIndexedNetwork().getPathNetwork().getNodeById(0);
+		final Node destination = computation.getIndexedNetwork().getPathNetwork().getNodeById(1);
+
+		CompactPath path = computation.computeShortestCompactPath("car", source, destination).get();
+		Assert.assertEquals(2, path.getLength());
+		Assert.assertEquals(10.0f, path.getCost(), 0.0f);
+		path = computation.computeShortestCompactPath("bicycle", source, destination).get();
+		Assert.assertEquals(3, path.getLength());
+		Assert.assertEquals(2, path.getNodeId(1));
+		// The cost is the cost for the profile, not the cost of the edges
+		Assert.assertEquals(24.0f, path.getCost(), 0.0f);
+		Assert.assertEquals(computation.computeShortestPathCost("bicycle", source, destination).get().floatValue(),
+				path.getCost(), 0.0f);
+
+		Assert.assertEquals(1, computation.computeShortestCompactPath("car", source, source).get().getLength());
+		Assert.assertFalse(computation.computeShortestCompactPath("car", destination, source).isPresent());
+		Assert.assertFalse(computation.computeShortestCompactPath("car", source,
+				computation.getIndexedNetwork().getPathNetwork().getNodeById(3)).isPresent());
+
+		this.exception.expect(IllegalArgumentException.class);
+		computation.computeShortestCompactPath("truck", source, destination);
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProfileShortestPathComputation#computeShortestPathCost(String, Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPathCost() {
+		final ProfileShortestPathComputation computation = createComputation();
+		final Node source = computation.getIndexedNetwork().getPathNetwork().getNodeById(0);
+		final Node destination = computation.getIndexedNetwork().getPathNetwork().getNodeById(1);
+
+		Assert.assertEquals(10.0f, computation.computeShortestPathCost("car", source, destination).get().floatValue(),
+				0.0f);
+		Assert.assertEquals(24.0f,
+				computation.computeShortestPathCost("bicycle", source, destination).get().floatValue(), 0.0f);
+		Assert.assertFalse(computation.computeShortestPathCost("car", destination, source).isPresent());
+	}
+}
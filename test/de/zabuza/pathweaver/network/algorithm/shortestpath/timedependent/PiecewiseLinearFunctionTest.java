@@ -0,0 +1,110 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link PiecewiseLinearFunction}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PiecewiseLinearFunctionTest {
+	/**
+	 * Creates a function with a period of <tt>100</tt>, the value <tt>1</tt>
+	 * at <tt>10</tt> and the value <tt>3</tt> at <tt>50</tt>.
+	 * 
+	 * @return The created function
+	 */
+	private static PiecewiseLinearFunction createFunction() {
+		return new PiecewiseLinearFunction(100.0f, new float[] { 10.0f, 50.0f }, new float[] { 1.0f, 3.0f });
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link PiecewiseLinearFunction#equals(Object)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEquals() {
+		final PiecewiseLinearFunction function = createFunction();
+		Assert.assertEquals(function, createFunction());
+		Assert.assertEquals(function.hashCode(), createFunction().hashCode());
+		Assert.assertNotEquals(function,
+				new PiecewiseLinearFunction(200.0f, new float[] { 10.0f, 50.0f }, new float[] { 1.0f, 3.0f }));
+		Assert.assertNotEquals(function,
+				new PiecewiseLinearFunction(100.0f, new float[] { 10.0f, 50.0f }, new float[] { 1.0f, 2.0f }));
+	}
+
+	/**
+	 * Test method for {@link PiecewiseLinearFunction#evaluate(float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEvaluate() {
+		final PiecewiseLinearFunction function = createFunction();
+		Assert.assertEquals(1.0f, function.evaluate(10.0f), 0.0f);
+		Assert.assertEquals(2.0f, function.evaluate(30.0f), 0.0001f);
+		Assert.assertEquals(3.0f, function.evaluate(50.0f), 0.0f);
+
+		// Wrapping around the period
+		Assert.assertEquals(3.0f - 2.0f * 25.0f / 60.0f, function.evaluate(75.0f), 0.0001f);
+		Assert.assertEquals(3.0f - 2.0f * 50.0f / 60.0f, function.evaluate(0.0f), 0.0001f);
+		Assert.assertEquals(2.0f, function.evaluate(130.0f), 0.0001f);
+		Assert.assertEquals(2.0f, function.evaluate(-70.0f), 0.0001f);
+	}
+
+	/**
+	 * Test method for {@link PiecewiseLinearFunction#getMinimumSlope()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetMinimumSlope() {
+		Assert.assertEquals(-2.0f / 60.0f, createFunction().getMinimumSlope(), 0.0001f);
+		Assert.assertEquals(0.0f, PiecewiseLinearFunction.ofConstant(100.0f, 2.0f).getMinimumSlope(), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link PiecewiseLinearFunction#ofConstant(float, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testOfConstant() {
+		final PiecewiseLinearFunction function = PiecewiseLinearFunction.ofConstant(100.0f, 2.0f);
+		Assert.assertEquals(1, function.getAmountOfBreakpoints());
+		Assert.assertEquals(2.0f, function.evaluate(-5.0f), 0.0f);
+		Assert.assertEquals(2.0f, function.evaluate(345.0f), 0.0f);
+		Assert.assertEquals(2.0f, function.getMinimum(), 0.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link PiecewiseLinearFunction#PiecewiseLinearFunction(float, float[], float[])}.
+	 */
+	@Test
+	public void testPiecewiseLinearFunction() {
+		final PiecewiseLinearFunction function = createFunction();
+		Assert.assertEquals(2, function.getAmountOfBreakpoints());
+		Assert.assertEquals(1.0f, function.getMinimum(), 0.0f);
+		Assert.assertEquals(100.0f, function.getPeriod(), 0.0f);
+
+		// The breakpoints are copied
+		final float[] times = new float[] { 10.0f, 50.0f };
+		final float[] values = new float[] { 1.0f, 3.0f };
+		final PiecewiseLinearFunction copyingFunction = new PiecewiseLinearFunction(100.0f, times, values);
+		final int hashCode = copyingFunction.hashCode();
+		values[0] = 7.0f;
+		Assert.assertEquals(1.0f, copyingFunction.evaluate(10.0f), 0.0f);
+		Assert.assertEquals(hashCode, copyingFunction.hashCode());
+
+		this.exception.expect(IllegalArgumentException.class);
+		new PiecewiseLinearFunction(100.0f, new float[] { 50.0f, 10.0f }, new float[] { 1.0f, 3.0f });
+	}
+}
@@ -0,0 +1,128 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+import de.zabuza.pathweaver.network.algorithm.metric.IMetric;
+
+/**
+ * Test for {@link TimeDependentShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TimeDependentShortestPathComputationTest {
+	/**
+	 * Creates a network with the nodes <tt>0</tt> to <tt>3</tt>. The direct
+	 * edge from <tt>0</tt> to <tt>1</tt> has a cost of <tt>10</tt> and is
+	 * congested around the time <tt>50</tt> of a period of <tt>100</tt>, the
+	 * detour over <tt>2</tt> has a constant cost of <tt>12</tt>. The node
+	 * <tt>3</tt> is isolated.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 4; i++) {
+			network.addNode(new Node(i));
+		}
+		network.addEdge(network.getNodeById(0), network.getNodeById(1), 10.0f);
+		network.addEdge(network.getNodeById(0), network.getNodeById(2), 6.0f);
+		network.addEdge(network.getNodeById(2), network.getNodeById(1), 6.0f);
+		return network;
+	}
+
+	/**
+	 * Creates a table for the network created by {@link #createNetwork()}
+	 * which holds the profile of the direct edge.
+	 * 
+	 * @param network
+	 *            The network to create the table for
+	 * @return The created table
+	 */
+	private static TravelTimeProfileTable createTable(final PathNetwork network) {
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge directEdge = network.getOutgoingEdges(network.getNodeById(0)).stream()
+				.filter(edge -> edge.getDestination().equals(network.getNodeById(1))).findAny().get();
+		table.setProfile(directEdge, new PiecewiseLinearFunction(100.0f, new float[] { 0.0f, 40.0f, 50.0f, 70.0f },
+				new float[] { 1.0f, 1.0f, 2.0f, 1.0f }));
+		return table;
+	}
+
+	/**
+	 * Test method for
+	 * {@link TimeDependentShortestPathComputation#computeShortestPath(Node, Node, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPath() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = createTable(network);
+		final TimeDependentShortestPathComputation computation = new TimeDependentShortestPathComputation(network,
+				table);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(1);
+
+		Path path = computation.computeShortestPath(source, destination, 0.0f).get();
+		Assert.assertEquals(1, path.getEdges().size());
+		Assert.assertEquals(10.0f, path.getCost(), 0.0f);
+
+		// The detour is quicker during congestion
+		path = computation.computeShortestPath(source, destination, 50.0f).get();
+		Assert.assertEquals(2, path.getEdges().size());
+		Assert.assertEquals(network.getNodeById(2), path.getEdges().get(0).getDestination());
+		Assert.assertEquals(2, computation.computeShortestPath(source, destination, 245.0f).get().getEdges().size());
+
+		Assert.assertEquals(1, computation.computeShortestPath(source, source, 50.0f).get().getLength());
+		Assert.assertFalse(computation.computeShortestPath(source, network.getNodeById(3), 0.0f).isPresent());
+	}
+
+	/**
+	 * Test method for
+	 * {@link TimeDependentShortestPathComputation#computeTravelTime(Node, Node, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeTravelTime() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = createTable(network);
+		final TimeDependentShortestPathComputation computation = new TimeDependentShortestPathComputation(network,
+				table);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(1);
+
+		Assert.assertEquals(10.0f, computation.computeTravelTime(source, destination, 0.0f).get().floatValue(), 0.0f);
+		Assert.assertEquals(12.0f, computation.computeTravelTime(source, destination, 50.0f).get().floatValue(),
+				0.0f);
+		Assert.assertEquals(11.0f, computation.computeTravelTime(source, destination, 68.0f).get().floatValue(),
+				0.0001f);
+		Assert.assertEquals(0.0f, computation.computeTravelTime(source, source, 50.0f).get().floatValue(), 0.0f);
+		Assert.assertFalse(computation.computeTravelTime(source, network.getNodeById(3), 0.0f).isPresent());
+	}
+
+	/**
+	 * Test method for
+	 * {@link TimeDependentShortestPathComputation#TimeDependentShortestPathComputation(de.zabuza.pathweaver.network.IPathNetwork, ITravelTimeProvider, IMetric)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testTimeDependentShortestPathComputationIPathNetworkITravelTimeProviderIMetric() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = createTable(network);
+		final IMetric<Node> metric = (first, second) -> first.equals(second) ? 0.0f : 6.0f;
+		final TimeDependentShortestPathComputation computation = new TimeDependentShortestPathComputation(network,
+				table, metric);
+		Assert.assertEquals(network, computation.getPathNetwork());
+		Assert.assertEquals(table, computation.getTravelTimeProvider());
+
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(1);
+		Assert.assertEquals(10.0f, computation.computeTravelTime(source, destination, 0.0f).get().floatValue(), 0.0f);
+		Assert.assertEquals(12.0f, computation.computeTravelTime(source, destination, 50.0f).get().floatValue(),
+				0.0f);
+	}
+}
@@ -0,0 +1,171 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.timedependent;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link TravelTimeProfileTable}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TravelTimeProfileTableTest {
+	/**
+	 * Creates a network with the nodes <tt>0</tt> to <tt>2</tt> and an edge
+	 * with a cost of <tt>10</tt> from <tt>0</tt> to <tt>1</tt> and one with a
+	 * cost of <tt>20</tt> from <tt>1</tt> to <tt>2</tt>.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 3; i++) {
+			network.addNode(new Node(i));
+		}
+		network.addEdge(network.getNodeById(0), network.getNodeById(1), 10.0f);
+		network.addEdge(network.getNodeById(1), network.getNodeById(2), 20.0f);
+		return network;
+	}
+
+	/**
+	 * Creates a profile with a period of <tt>100</tt> which doubles travel
+	 * times at <tt>50</tt>.
+	 * 
+	 * @return The created profile
+	 */
+	private static PiecewiseLinearFunction createProfile() {
+		return new PiecewiseLinearFunction(100.0f, new float[] { 0.0f, 50.0f }, new float[] { 1.0f, 2.0f });
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link TravelTimeProfileTable#detach()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDetach() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(network.getNodeById(0)).iterator().next();
+		table.setProfile(edge, createProfile());
+		table.detach();
+
+		// Costs are not checked anymore
+		network.setEdgeCost(edge, 1000.0f);
+		Assert.assertEquals(1000.0f, edge.getCost(), 0.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link TravelTimeProfileTable#edgeCostChanging(DirectedWeightedEdge, float)}.
+	 */
+	@Test
+	public void testEdgeCostChanging() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(network.getNodeById(0)).iterator().next();
+		table.setProfile(edge, createProfile());
+
+		// The profile has a slope of -0.02, thus costs up to 50 are FIFO
+		network.setEdgeCost(edge, 50.0f);
+		Assert.assertEquals(50.0f, edge.getCost(), 0.0f);
+		Assert.assertEquals(100.0f, table.getTravelTime(edge, 50.0f), 0.0f);
+
+		// Edges without profile accept any cost
+		final DirectedWeightedEdge otherEdge = network.getOutgoingEdges(network.getNodeById(1)).iterator().next();
+		network.setEdgeCost(otherEdge, 1000.0f);
+		Assert.assertEquals(1000.0f, otherEdge.getCost(), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		network.setEdgeCost(edge, 60.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link TravelTimeProfileTable#getTravelTime(DirectedWeightedEdge, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetTravelTime() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(network.getNodeById(0)).iterator().next();
+		Assert.assertEquals(10.0f, table.getTravelTime(edge, 50.0f), 0.0f);
+
+		table.setProfile(edge, createProfile());
+		Assert.assertEquals(10.0f, table.getTravelTime(edge, 0.0f), 0.0f);
+		Assert.assertEquals(15.0f, table.getTravelTime(edge, 25.0f), 0.0001f);
+		Assert.assertEquals(20.0f, table.getTravelTime(edge, 150.0f), 0.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link TravelTimeProfileTable#removeProfile(DirectedWeightedEdge)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testRemoveProfile() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(network.getNodeById(0)).iterator().next();
+		table.setProfile(edge, createProfile());
+		table.removeProfile(edge);
+		Assert.assertFalse(table.getProfile(edge).isPresent());
+		Assert.assertEquals(10.0f, table.getTravelTime(edge, 50.0f), 0.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link TravelTimeProfileTable#setProfile(DirectedWeightedEdge, PiecewiseLinearFunction)}.
+	 */
+	@Test
+	public void testSetProfile() {
+		final PathNetwork network = createNetwork();
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(network);
+		final DirectedWeightedEdge firstEdge = network.getOutgoingEdges(network.getNodeById(0)).iterator().next();
+		final DirectedWeightedEdge secondEdge = network.getOutgoingEdges(network.getNodeById(1)).iterator().next();
+		table.setProfile(firstEdge, createProfile());
+		table.setProfile(secondEdge, createProfile());
+
+		// Equal profiles are shared
+		Assert.assertEquals(1, table.getAmountOfProfiles());
+		Assert.assertSame(table.getProfile(firstEdge).get(), table.getProfile(secondEdge).get());
+
+		// Would arrive earlier when departing later
+		final PiecewiseLinearFunction steepProfile = new PiecewiseLinearFunction(100.0f,
+				new float[] { 0.0f, 90.0f }, new float[] { 1.0f, 2.0f });
+		try {
+			table.setProfile(secondEdge, steepProfile);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertSame(table.getProfile(firstEdge).get(), table.getProfile(secondEdge).get());
+		}
+
+		// Edges which were not created by a network have no id
+		this.exception.expect(IllegalArgumentException.class);
+		table.setProfile(new DirectedWeightedEdge(new Node(0), new Node(2), 1.0f), createProfile());
+	}
+
+	/**
+	 * Test method for
+	 * {@link TravelTimeProfileTable#TravelTimeProfileTable(de.zabuza.pathweaver.network.IPathNetwork)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testTravelTimeProfileTable() {
+		final TravelTimeProfileTable table = new TravelTimeProfileTable(createNetwork());
+		Assert.assertEquals(0, table.getAmountOfProfiles());
+		Assert.assertFalse(table.getProfile(new DirectedWeightedEdge(new Node(0), new Node(1), 1.0f)).isPresent());
+	}
+}
@@ -0,0 +1,158 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.IndexedNetwork;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.Path;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link EdgeBasedShortestPathComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class EdgeBasedShortestPathComputationTest {
+	/**
+	 * Adds edges in both directions between the nodes with the given ids.
+	 * 
+	 * @param network
+	 *            The network to add the edges to
+	 * @param firstId
+	 *            The id of the first node
+	 * @param secondId
+	 *            The id of the second node
+	 * @param cost
+	 *            The cost of the edges
+	 */
+	private static void addRoad(final PathNetwork network, final int firstId, final int secondId,
+			final float cost) {
+		network.addEdge(network.getNodeById(firstId), network.getNodeById(secondId), cost);
+		network.addEdge(network.getNodeById(secondId), network.getNodeById(firstId), cost);
+	}
+
+	/**
+	 * Creates a network with the nodes <tt>0</tt> to <tt>4</tt>. The node
+	 * <tt>1</tt> is a crossing of the roads to <tt>0</tt>, <tt>2</tt> and
+	 * <tt>3</tt>, a longer road connects <tt>3</tt> with <tt>2</tt> and
+	 * <tt>4</tt> is isolated.
+	 * 
+	 * @return The created network
+	 */
+	private static PathNetwork createNetwork() {
+		final PathNetwork network = new PathNetwork();
+		for (int i = 0; i < 5; i++) {
+			network.addNode(new Node(i));
+		}
+		addRoad(network, 0, 1, 1);
+		addRoad(network, 1, 2, 1);
+		addRoad(network, 1, 3, 1);
+		addRoad(network, 3, 2, 3);
+		return network;
+	}
+
+	/**
+	 * Gets the ids of the nodes of the given path.
+	 * 
+	 * @param path
+	 *            The path to get node ids of
+	 * @return The ids of the nodes of the path in order
+	 */
+	private static String toNodeIds(final Path path) {
+		final StringBuilder nodeIds = new StringBuilder().append(path.getSource().getId());
+		path.getEdges().forEach(edge -> nodeIds.append(' ').append(edge.getDestination().getId()));
+		return nodeIds.toString();
+	}
+
+	/**
+	 * Test method for
+	 * {@link EdgeBasedShortestPathComputation#computeShortestPath(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPath() {
+		final PathNetwork network = createNetwork();
+		final TurnCostTable table = new TurnCostTable();
+		final EdgeBasedShortestPathComputation computation = new EdgeBasedShortestPathComputation(
+				new IndexedNetwork(network), table);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(2);
+
+		Assert.assertEquals("0 1 2", toNodeIds(computation.computeShortestPath(source, destination).get()));
+
+		// Detour around the forbidden turn, U-turns are forbidden as well
+		table.forbidTurn(0, 1, 2);
+		Path path = computation.computeShortestPath(source, destination).get();
+		Assert.assertEquals("0 1 3 2", toNodeIds(path));
+		Assert.assertEquals(5.0f, path.getCost(), 0.0f);
+
+		// Turning at the dead end is cheaper once U-turns are allowed
+		table.setUTurnCost(0.0f);
+		Assert.assertEquals("0 1 3 1 2", toNodeIds(computation.computeShortestPath(source, destination).get()));
+
+		// Mandatory turns forbid all other turns
+		table.setUTurnCost(Float.POSITIVE_INFINITY);
+		table.addMandatoryTurn(1, 3, 4);
+		Assert.assertFalse(computation.computeShortestPath(source, destination).isPresent());
+
+		path = computation.computeShortestPath(source, source).get();
+		Assert.assertEquals(1, path.getLength());
+		Assert.assertFalse(computation.computeShortestPath(source, network.getNodeById(4)).isPresent());
+		Assert.assertFalse(computation.computeShortestPath(network.getNodeById(4), source).isPresent());
+	}
+
+	/**
+	 * Test method for
+	 * {@link EdgeBasedShortestPathComputation#computeShortestPathCost(Node, Node)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testComputeShortestPathCost() {
+		final PathNetwork network = createNetwork();
+		final TurnCostTable table = new TurnCostTable();
+		final EdgeBasedShortestPathComputation computation = new EdgeBasedShortestPathComputation(
+				new IndexedNetwork(network), table);
+		final Node source = network.getNodeById(0);
+		final Node destination = network.getNodeById(2);
+
+		Assert.assertEquals(2.0f, computation.computeShortestPathCost(source, destination).get().floatValue(), 0.0f);
+
+		// Turn costs are included
+		table.setTurnCost(0, 1, 2, 2.0f);
+		Assert.assertEquals(4.0f, computation.computeShortestPathCost(source, destination).get().floatValue(), 0.0f);
+		Assert.assertEquals(2.0f, computation.computeShortestPath(source, destination).get().getCost(), 0.0f);
+		table.setTurnCost(0, 1, 2, 10.0f);
+		Assert.assertEquals(5.0f, computation.computeShortestPathCost(source, destination).get().floatValue(), 0.0f);
+
+		// Turn costs only apply to the direction of the turn
+		final Optional<Float> costFromDestination = computation.computeShortestPathCost(destination, source);
+		Assert.assertEquals(2.0f, costFromDestination.get().floatValue(), 0.0f);
+
+		Assert.assertEquals(0.0f, computation.computeShortestPathCost(source, source).get().floatValue(), 0.0f);
+		Assert.assertFalse(computation.computeShortestPathCost(source, network.getNodeById(4)).isPresent());
+	}
+
+	/**
+	 * Test method for
+	 * {@link EdgeBasedShortestPathComputation#EdgeBasedShortestPathComputation(IndexedNetwork, ITurnCostProvider)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testEdgeBasedShortestPathComputation() {
+		final PathNetwork network = createNetwork();
+		final ITurnCostProvider provider = (incomingEdge, outgoingEdge) -> 1.0f;
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		final EdgeBasedShortestPathComputation computation = new EdgeBasedShortestPathComputation(indexedNetwork,
+				provider);
+		Assert.assertEquals(indexedNetwork, computation.getIndexedNetwork());
+		Assert.assertEquals(network, computation.getPathNetwork());
+		Assert.assertEquals(provider, computation.getTurnCostProvider());
+		final Optional<Float> cost = computation.computeShortestPathCost(network.getNodeById(0),
+				network.getNodeById(2));
+		Assert.assertEquals(3.0f, cost.get().floatValue(), 0.0f);
+	}
+}
@@ -0,0 +1,140 @@
+package de.zabuza.pathweaver.network.algorithm.shortestpath.turn;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+
+/**
+ * Test for {@link TurnCostTable}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TurnCostTableTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link TurnCostTable#addMandatoryTurn(int, int, int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testAddMandatoryTurn() {
+		final TurnCostTable table = new TurnCostTable();
+		table.addMandatoryTurn(0, 1, 2);
+		Assert.assertEquals(0.0f, table.getTurnCost(0, 1, 2), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 3), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(3, 1, 2), 0.0f);
+
+		table.addMandatoryTurn(0, 1, 3);
+		table.setTurnCost(0, 1, 3, 2.0f);
+		Assert.assertEquals(2.0f, table.getTurnCost(0, 1, 3), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 4), 0.0f);
+
+		// Mandatory U-turns are allowed
+		table.addMandatoryTurn(5, 1, 5);
+		Assert.assertEquals(0.0f, table.getTurnCost(5, 1, 5), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link TurnCostTable#forbidTurn(int, int, int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testForbidTurn() {
+		final TurnCostTable table = new TurnCostTable();
+		table.forbidTurn(0, 1, 2);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 2), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(2, 1, 0), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(0, 1, 3), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link TurnCostTable#getRestrictedNodeIds()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetRestrictedNodeIds() {
+		final TurnCostTable table = new TurnCostTable();
+		Assert.assertTrue(table.getRestrictedNodeIds().isEmpty());
+		table.forbidTurn(0, 1, 2);
+		table.addMandatoryTurn(3, 1, 4);
+		Assert.assertEquals(5, table.getRestrictedNodeIds().size());
+		Assert.assertTrue(table.getRestrictedNodeIds().contains(Integer.valueOf(4)));
+		Assert.assertFalse(table.getRestrictedNodeIds().contains(Integer.valueOf(5)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link TurnCostTable#getTurnCost(DirectedWeightedEdge, DirectedWeightedEdge)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetTurnCostDirectedWeightedEdgeDirectedWeightedEdge() {
+		final TurnCostTable table = new TurnCostTable();
+		final Node first = new Node(0);
+		final Node second = new Node(1);
+		final Node third = new Node(2);
+		final DirectedWeightedEdge incomingEdge = new DirectedWeightedEdge(first, second, 1.0f);
+		final DirectedWeightedEdge outgoingEdge = new DirectedWeightedEdge(second, third, 1.0f);
+		final DirectedWeightedEdge backEdge = new DirectedWeightedEdge(second, first, 1.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(incomingEdge, outgoingEdge), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(incomingEdge, backEdge), 0.0f);
+
+		table.setTurnCost(0, 1, 2, 3.0f);
+		Assert.assertEquals(3.0f, table.getTurnCost(incomingEdge, outgoingEdge), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link TurnCostTable#setTurnCost(int, int, int, float)}.
+	 */
+	@Test
+	public void testSetTurnCost() {
+		final TurnCostTable table = new TurnCostTable();
+		table.setTurnCost(0, 1, 2, 3.0f);
+		Assert.assertEquals(3.0f, table.getTurnCost(0, 1, 2), 0.0f);
+		table.setTurnCost(0, 1, 2, 1.0f);
+		Assert.assertEquals(1.0f, table.getTurnCost(0, 1, 2), 0.0f);
+
+		// Explicit costs of U-turns take precedence
+		table.setTurnCost(0, 1, 0, 5.0f);
+		Assert.assertEquals(5.0f, table.getTurnCost(0, 1, 0), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		table.setTurnCost(0, 1, 2, Float.NaN);
+	}
+
+	/**
+	 * Test method for {@link TurnCostTable#setUTurnCost(float)}.
+	 */
+	@Test
+	public void testSetUTurnCost() {
+		final TurnCostTable table = new TurnCostTable();
+		table.setUTurnCost(4.0f);
+		Assert.assertEquals(4.0f, table.getUTurnCost(), 0.0f);
+		Assert.assertEquals(4.0f, table.getTurnCost(0, 1, 0), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(0, 1, 2), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		table.setUTurnCost(-1.0f);
+	}
+
+	/**
+	 * Test method for {@link TurnCostTable#TurnCostTable()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testTurnCostTable() {
+		final TurnCostTable table = new TurnCostTable();
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getUTurnCost(), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 0), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(0, 1, 2), 0.0f);
+	}
+}
@@ -0,0 +1,155 @@
+package de.zabuza.pathweaver.network.algorithm.wcc;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.PathNetwork;
+
+/**
+ * Test for {@link UnionFindWccComputation}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class UnionFindWccComputationTest {
+	/**
+	 * Computes the WCCs of the given network by breadth first searches which
+	 * ignore the direction of edges.
+	 * 
+	 * @param network
+	 *            The network to compute WCCs of
+	 * @return The set of all WCCs, each given as set of its nodes
+	 */
+	private static Set<Set<Node>> computeExpectedWccs(final PathNetwork network) {
+		final Set<Set<Node>> wccs = new HashSet<>();
+		final Set<Node> visitedNodes = new HashSet<>();
+		for (final Node start : network.getNodes()) {
+			if (!visitedNodes.add(start)) {
+				continue;
+			}
+			final Set<Node> wcc = new HashSet<>();
+			final LinkedList<Node> queue = new LinkedList<>();
+			queue.add(start);
+			while (!queue.isEmpty()) {
+				final Node node = queue.poll();
+				wcc.add(node);
+				for (final DirectedWeightedEdge edge : network.getOutgoingEdges(node)) {
+					if (visitedNodes.add(edge.getDestination())) {
+						queue.add(edge.getDestination());
+					}
+				}
+				for (final DirectedWeightedEdge edge : network.getIncomingEdges(node)) {
+					if (visitedNodes.add(edge.getSource())) {
+						queue.add(edge.getSource());
+					}
+				}
+			}
+			wccs.add(wcc);
+		}
+		return wccs;
+	}
+
+	/**
+	 * Creates a random network with the given amount of nodes and edges.
+	 * 
+	 * @param amountOfNodes
+	 *            The amount of nodes of the network
+	 * @param amountOfEdges
+	 *            The amount of edges of the network
+	 * @param seed
+	 *            The seed of the random generator
+	 * @return The created network
+	 */
+	private static PathNetwork createRandomNetwork(final int amountOfNodes, final int amountOfEdges,
+			final long seed) {
+		final Random rnd = new Random(seed);
+		final PathNetwork network = new PathNetwork();
+		final Node[] nodes = new Node[amountOfNodes];
+		for (int i = 0; i < amountOfNodes; i++) {
+			nodes[i] = new Node(i);
+			network.addNode(nodes[i]);
+		}
+		for (int i = 0; i < amountOfEdges; i++) {
+			network.addEdge(nodes[rnd.nextInt(amountOfNodes)], nodes[rnd.nextInt(amountOfNodes)], 1);
+		}
+		return network;
+	}
+
+	/**
+	 * Test method for {@link UnionFindWccComputation#getLargestWcc()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetLargestWcc() {
+		final PathNetwork network = new PathNetwork();
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+		final Node fifthNode = new Node(4);
+		network.addNode(firstNode);
+		network.addNode(secondNode);
+		network.addNode(thirdNode);
+		network.addNode(fourthNode);
+		network.addNode(fifthNode);
+
+		// Not strongly but weakly connected
+		network.addEdge(secondNode, thirdNode, 1);
+		network.addEdge(fourthNode, thirdNode, 1);
+		network.addEdge(fourthNode, fifthNode, 1);
+
+		final UnionFindWccComputation computation = new UnionFindWccComputation(network);
+		final WeaklyConnectedComponent wcc = computation.getLargestWcc();
+		Assert.assertEquals(4, wcc.getSize());
+		Assert.assertFalse(wcc.getNodes().contains(firstNode));
+		Assert.assertTrue(wcc.getNodes().contains(wcc.getRootNode()));
+		Assert.assertEquals(2, computation.getWccs().size());
+
+		final UnionFindWccComputation emptyComputation = new UnionFindWccComputation(new PathNetwork());
+		Assert.assertNull(emptyComputation.getLargestWcc());
+	}
+
+	/**
+	 * Test method for {@link UnionFindWccComputation#getPathNetwork()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetPathNetwork() {
+		final PathNetwork network = createRandomNetwork(20, 10, 1);
+		final UnionFindWccComputation computation = new UnionFindWccComputation(network);
+		Assert.assertEquals(network, computation.getPathNetwork());
+	}
+
+	/**
+	 * Test method for {@link UnionFindWccComputation#getWccs()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetWccs() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (final int amountOfNodes : new int[] { 1, 50, 500, 50_000 }) {
+				final PathNetwork network = createRandomNetwork(amountOfNodes, amountOfNodes / 2 + amountOfNodes / 4,
+						amountOfNodes);
+				final UnionFindWccComputation computation = new UnionFindWccComputation(network, pool);
+				final Set<Set<Node>> wccs = new HashSet<>();
+				for (final WeaklyConnectedComponent wcc : computation.getWccs()) {
+					Assert.assertTrue(wcc.getNodes().contains(wcc.getRootNode()));
+					wccs.add(wcc.getNodes());
+				}
+				Assert.assertEquals(computation.getWccs().size(), wccs.size());
+				Assert.assertEquals(computeExpectedWccs(network), wccs);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
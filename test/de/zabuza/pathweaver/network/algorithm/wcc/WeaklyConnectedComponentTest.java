@@ -0,0 +1,186 @@
+package de.zabuza.pathweaver.network.algorithm.wcc;
+
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.Node;
+
+/**
+ * Test for {@link WeaklyConnectedComponent}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class WeaklyConnectedComponentTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link WeaklyConnectedComponent#addNode(Node)}.
+	 */
+	@Test
+	public void testAddNode() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+
+		wcc.addNode(firstNode);
+		Set<Node> nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertFalse(nodes.contains(secondNode));
+
+		wcc.addNode(secondNode);
+		nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertTrue(nodes.contains(secondNode));
+		Assert.assertEquals(2, wcc.getSize());
+
+		wcc.addNode(thirdNode);
+		wcc.addNode(fourthNode);
+		Assert.assertEquals(4, wcc.getSize());
+
+		nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertTrue(nodes.contains(secondNode));
+		Assert.assertTrue(nodes.contains(thirdNode));
+		Assert.assertTrue(nodes.contains(fourthNode));
+
+		wcc.setRootNode(firstNode);
+		final Node fifthNode = new Node(4);
+		this.exception.expect(UnsupportedOperationException.class);
+		wcc.addNode(fifthNode);
+
+	}
+
+	/**
+	 * Test method for {@link WeaklyConnectedComponent#getNodes()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetNodes() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+
+		wcc.addNode(firstNode);
+		Set<Node> nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertFalse(nodes.contains(secondNode));
+
+		wcc.addNode(secondNode);
+		nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertTrue(nodes.contains(secondNode));
+
+		wcc.addNode(thirdNode);
+		wcc.addNode(fourthNode);
+
+		nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertTrue(nodes.contains(secondNode));
+		Assert.assertTrue(nodes.contains(thirdNode));
+		Assert.assertTrue(nodes.contains(fourthNode));
+	}
+
+	/**
+	 * Test method for {@link WeaklyConnectedComponent#getRootNode()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetRootNode() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+		wcc.addNode(firstNode);
+		wcc.addNode(secondNode);
+
+		wcc.setRootNode(firstNode);
+		Assert.assertEquals(firstNode, wcc.getRootNode());
+	}
+
+	/**
+	 * Test method for {@link WeaklyConnectedComponent#getSize()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSize() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+
+		wcc.addNode(firstNode);
+		Assert.assertEquals(1, wcc.getSize());
+
+		wcc.addNode(secondNode);
+		Assert.assertEquals(2, wcc.getSize());
+
+		wcc.addNode(thirdNode);
+		wcc.addNode(fourthNode);
+		Assert.assertEquals(4, wcc.getSize());
+	}
+
+	/**
+	 * Test method for {@link WeaklyConnectedComponent#setRootNode(Node)}.
+	 */
+	@Test
+	public void testSetRootNode() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+
+		wcc.addNode(firstNode);
+		wcc.addNode(secondNode);
+
+		wcc.setRootNode(firstNode);
+		this.exception.expect(UnsupportedOperationException.class);
+		wcc.setRootNode(secondNode);
+	}
+
+	/**
+	 * Test method for
+	 * {@link WeaklyConnectedComponent#WeaklyConnectedComponent()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWeaklyConnectedComponent() {
+		final Node firstNode = new Node(0);
+		final Node secondNode = new Node(1);
+		final Node thirdNode = new Node(2);
+		final Node fourthNode = new Node(3);
+
+		final WeaklyConnectedComponent wcc = new WeaklyConnectedComponent();
+		wcc.addNode(firstNode);
+		wcc.addNode(secondNode);
+		wcc.addNode(thirdNode);
+		wcc.addNode(fourthNode);
+		Assert.assertEquals(4, wcc.getSize());
+
+		wcc.setRootNode(firstNode);
+		Assert.assertEquals(firstNode, wcc.getRootNode());
+
+		final Set<Node> nodes = wcc.getNodes();
+		Assert.assertTrue(nodes.contains(firstNode));
+		Assert.assertTrue(nodes.contains(secondNode));
+		Assert.assertTrue(nodes.contains(thirdNode));
+		Assert.assertTrue(nodes.contains(fourthNode));
+	}
+
+}
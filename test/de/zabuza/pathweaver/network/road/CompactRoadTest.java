@@ -0,0 +1,56 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link CompactRoad}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompactRoadTest {
+	/**
+	 * Test method for {@link CompactRoad#collectAdjacentRoadNodes(int, boolean)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCollectAdjacentRoadNodes() {
+		final Road road = new Road(0);
+		road.addRoadNode(0);
+		road.addRoadNode(1);
+		road.addRoadNode(2);
+		final CompactRoad compactRoad = new CompactRoad(road);
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(0), Integer.valueOf(2))),
+				compactRoad.collectAdjacentRoadNodes(1, true));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(1))),
+				compactRoad.collectAdjacentRoadNodes(0, false));
+		Assert.assertTrue(compactRoad.collectAdjacentRoadNodes(3, true).isEmpty());
+
+		// One-way roads only lead along the direction they can be travelled
+		road.setIsOneway(true);
+		final CompactRoad onewayRoad = new CompactRoad(road);
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(0))),
+				onewayRoad.collectAdjacentRoadNodes(1, true));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(2))),
+				onewayRoad.collectAdjacentRoadNodes(1, false));
+		road.setIsReversed(true);
+		final CompactRoad reversedRoad = new CompactRoad(road);
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(2))),
+				reversedRoad.collectAdjacentRoadNodes(1, true));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Integer.valueOf(0))),
+				reversedRoad.collectAdjacentRoadNodes(1, false));
+	}
+
+	/**
+	 * Test method for {@link CompactRoad#getId()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetId() {
+		Assert.assertEquals(5, new CompactRoad(new Road(5)).getId());
+	}
+}
@@ -0,0 +1,61 @@
+package de.zabuza.pathweaver.network.road;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link CompressedGeometry}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompressedGeometryTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link CompressedGeometry#CompressedGeometry(float[])}.
+	 */
+	@Test
+	public void testCompressedGeometry() {
+		final CompressedGeometry geometry = new CompressedGeometry(new float[] { 49.0f, 7.0f, 49.0001f, 7.0002f });
+		Assert.assertEquals(2, geometry.getAmountOfPoints());
+		Assert.assertEquals(0, new CompressedGeometry(new float[0]).getAmountOfPoints());
+
+		this.exception.expect(IllegalArgumentException.class);
+		new CompressedGeometry(new float[] { 49.0f, 7.0f, 49.0001f });
+	}
+
+	/**
+	 * Test method for {@link CompressedGeometry#decode()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testDecode() {
+		final float[] coordinates = new float[] { 49.3413853f, 7.3014897f, 49.3407084f, 7.3006280f, -33.86882f,
+				151.20929f };
+		final float[] decodedCoordinates = new CompressedGeometry(coordinates).decode();
+		Assert.assertArrayEquals(coordinates, decodedCoordinates, 0.000001f);
+	}
+
+	/**
+	 * Test method for {@link CompressedGeometry#getSizeInBytes()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSizeInBytes() {
+		final float[] coordinates = new float[20];
+		for (int i = 0; i < coordinates.length; i += 2) {
+			coordinates[i] = 49.0f + i * 0.0001f;
+			coordinates[i + 1] = 7.0f + i * 0.0001f;
+		}
+		final CompressedGeometry geometry = new CompressedGeometry(coordinates);
+		// Close points need less than a float per coordinate
+		Assert.assertTrue(geometry.getSizeInBytes() < coordinates.length * Float.BYTES);
+	}
+}
@@ -0,0 +1,38 @@
+package de.zabuza.pathweaver.network.road;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link OsmTagSpeedModel}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class OsmTagSpeedModelTest {
+
+	/**
+	 * Test method for {@link OsmTagSpeedModel#getSpeed(Road)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetSpeed() {
+		final OsmTagSpeedModel model = new OsmTagSpeedModel();
+		final Road road = new Road(0);
+		road.setRoadType(ERoadType.PRIMARY);
+		Assert.assertEquals(70.0f, model.getSpeed(road), 0.0f);
+
+		road.setMaxSpeed(100.0f);
+		Assert.assertEquals(100.0f, model.getSpeed(road), 0.0f);
+		// The speed never exceeds the speed of the fastest road type
+		road.setMaxSpeed(130.0f);
+		Assert.assertEquals(110.0f, model.getSpeed(road), 0.0f);
+
+		road.setIsUnpaved(true);
+		Assert.assertEquals(30.0f, model.getSpeed(road), 0.0f);
+
+		road.setIsAccessible(false);
+		Assert.assertFalse(model.getSpeed(road) > 0.0f);
+	}
+
+}
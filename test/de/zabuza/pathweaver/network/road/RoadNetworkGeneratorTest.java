@@ -0,0 +1,174 @@
+package de.zabuza.pathweaver.network.road;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.Node;
+
+/**
+ * Test for {@link RoadNetworkGenerator}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoadNetworkGeneratorTest {
+	/**
+	 * Counts the edges of the given network whose reverse edge is not
+	 * contained in the network.
+	 * 
+	 * @param network
+	 *            The network to count edges of
+	 * @return The amount of edges without reverse edge
+	 */
+	private static int countOneWayEdges(final RoadNetwork network) {
+		int amountOfOneWayEdges = 0;
+		for (final Node node : network.getNodes()) {
+			for (final DirectedWeightedEdge edge : network.getOutgoingEdges(node)) {
+				boolean hasReverseEdge = false;
+				for (final DirectedWeightedEdge reverseEdge : network.getOutgoingEdges(edge.getDestination())) {
+					if (reverseEdge.getDestination().equals(node)) {
+						hasReverseEdge = true;
+					}
+				}
+				if (!hasReverseEdge) {
+					amountOfOneWayEdges++;
+				}
+			}
+		}
+		return amountOfOneWayEdges;
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#createGridNetwork(int, int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateGridNetwork() {
+		final RoadNetwork network = new RoadNetworkGenerator(1).createGridNetwork(20, 30);
+		Assert.assertEquals(600, network.getSize());
+		Assert.assertTrue(network.getAmountOfEdges() > 0);
+
+		// The same seed generates the same network
+		final RoadNetwork sameNetwork = new RoadNetworkGenerator(1).createGridNetwork(20, 30);
+		Assert.assertEquals(network.getAmountOfEdges(), sameNetwork.getAmountOfEdges());
+		for (final Node node : network.getNodes()) {
+			final RoadNode roadNode = (RoadNode) node;
+			final RoadNode sameRoadNode = (RoadNode) sameNetwork.getNodeById(node.getId());
+			Assert.assertEquals(roadNode.getLatitude(), sameRoadNode.getLatitude(), 0.0f);
+			Assert.assertEquals(roadNode.getLongitude(), sameRoadNode.getLongitude(), 0.0f);
+			Assert.assertEquals(network.getOutgoingEdges(node).size(),
+					sameNetwork.getOutgoingEdges(sameRoadNode).size());
+		}
+
+		// The first row is a motorway in both directions
+		final RoadNode first = (RoadNode) network.getNodeById(0);
+		final RoadNode second = (RoadNode) network.getNodeById(1);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(first).stream()
+				.filter(outgoingEdge -> outgoingEdge.getDestination().equals(second)).findAny().get();
+		final float expectedCost = RoadUtil.getTravelTime(RoadUtil.distanceEquiRect(first, second),
+				RoadUtil.getAverageSpeedOfRoadType(ERoadType.MOTORWAY));
+		Assert.assertEquals(expectedCost, edge.getCost(), 0.0f);
+		Assert.assertTrue(network.getOutgoingEdges(second).stream()
+				.anyMatch(outgoingEdge -> outgoingEdge.getDestination().equals(first)));
+	}
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#createGridNetwork(int, int)}
+	 * with a grid exceeding the range of coordinates.
+	 */
+	@Test
+	public void testCreateGridNetworkExceedingRange() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(1);
+		generator.setOrigin(89.0f, 0.0f);
+		generator.setSpacing(0.5f);
+		this.exception.expect(IllegalArgumentException.class);
+		generator.createGridNetwork(5, 5);
+	}
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#createGridNetwork(int, int)}
+	 * with a grid having more nodes than an array can hold.
+	 */
+	@Test
+	public void testCreateGridNetworkTooLarge() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(1);
+		generator.setSpacing(Float.MIN_VALUE);
+		this.exception.expect(IllegalArgumentException.class);
+		this.exception.expectMessage("more nodes");
+		generator.createGridNetwork(65536, 65536);
+	}
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#setOneWayProbability(double)}.
+	 */
+	@Test
+	public void testSetOneWayProbability() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(2);
+		generator.setResidentialProbability(1.0);
+		generator.setOneWayProbability(0.0);
+		Assert.assertEquals(0, countOneWayEdges(generator.createGridNetwork(10, 10)));
+
+		// Rows and columns 1, 2, 3, 5, 6 and 7 are residential
+		generator.setOneWayProbability(1.0);
+		final RoadNetwork network = generator.createGridNetwork(8, 8);
+		Assert.assertEquals(2 * 6 * 7, countOneWayEdges(network));
+		Assert.assertEquals(2 * 6 * 7 + 2 * 2 * 2 * 7, network.getAmountOfEdges());
+
+		this.exception.expect(IllegalArgumentException.class);
+		generator.setOneWayProbability(1.5);
+	}
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#setOrigin(float, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testSetOrigin() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(3);
+		generator.setOrigin(-30.0f, 100.0f);
+		generator.setSpacing(0.01f);
+		final RoadNode first = (RoadNode) generator.createGridNetwork(2, 2).getNodeById(0);
+		Assert.assertEquals(-30.0f, first.getLatitude(), 0.01f);
+		Assert.assertEquals(100.0f, first.getLongitude(), 0.01f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link RoadNetworkGenerator#setResidentialProbability(double)}.
+	 */
+	@Test
+	public void testSetResidentialProbability() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(4);
+		generator.setResidentialProbability(0.0);
+		// Only rows and columns 0 and 4 remain
+		Assert.assertEquals(2 * 2 * 2 * 7, generator.createGridNetwork(8, 8).getAmountOfEdges());
+
+		this.exception.expect(IllegalArgumentException.class);
+		generator.setResidentialProbability(-0.5);
+	}
+
+	/**
+	 * Test method for {@link RoadNetworkGenerator#setSpacing(float)}.
+	 */
+	@Test
+	public void testSetSpacing() {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(5);
+		generator.setSpacing(0.1f);
+		final RoadNetwork network = generator.createGridNetwork(3, 1);
+		final RoadNode first = (RoadNode) network.getNodeById(0);
+		final RoadNode last = (RoadNode) network.getNodeById(2);
+		Assert.assertEquals(0.2f, last.getLatitude() - first.getLatitude(), 0.05f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		generator.setSpacing(0.0f);
+	}
+}
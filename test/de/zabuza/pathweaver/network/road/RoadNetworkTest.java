@@ -9,8 +9,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import de.zabuza.pathweaver.network.CompactPath;
 import de.zabuza.pathweaver.network.DirectedWeightedEdge;
+import de.zabuza.pathweaver.network.IndexedNetwork;
 import de.zabuza.pathweaver.network.Node;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.profile.ProfileCosts;
+import de.zabuza.pathweaver.network.algorithm.shortestpath.turn.TurnCostTable;
 
 /**
  * Test for {@link RoadNetwork}.
@@ -19,6 +23,46 @@ import de.zabuza.pathweaver.network.Node;
  *
  */
 public final class RoadNetworkTest {
+	/**
+	 * Creates a road network with a residential road over the nodes <tt>0</tt>
+	 * to <tt>3</tt>, a primary road from <tt>3</tt> to <tt>5</tt> and a
+	 * one-way residential road from <tt>3</tt> over <tt>4</tt> to <tt>6</tt>.
+	 * 
+	 * @return The created network
+	 */
+	private static RoadNetwork createChainNetwork() {
+		final RoadNetwork network = new RoadNetwork();
+		network.addRoadNode(new RoadNode(0, 49.0f, 7.000f));
+		network.addRoadNode(new RoadNode(1, 49.0f, 7.001f));
+		network.addRoadNode(new RoadNode(2, 49.0f, 7.002f));
+		network.addRoadNode(new RoadNode(3, 49.0f, 7.003f));
+		network.addRoadNode(new RoadNode(4, 49.0f, 7.004f));
+		network.addRoadNode(new RoadNode(5, 49.001f, 7.003f));
+		network.addRoadNode(new RoadNode(6, 49.0f, 7.005f));
+
+		final Road residentialRoad = new Road(10);
+		for (int i = 0; i <= 3; i++) {
+			residentialRoad.addRoadNode(i);
+		}
+		residentialRoad.setRoadType(ERoadType.RESIDENTIAL);
+		network.addRoad(residentialRoad);
+
+		final Road primaryRoad = new Road(11);
+		primaryRoad.addRoadNode(3);
+		primaryRoad.addRoadNode(5);
+		primaryRoad.setRoadType(ERoadType.PRIMARY);
+		network.addRoad(primaryRoad);
+
+		final Road onewayRoad = new Road(12);
+		onewayRoad.addRoadNode(3);
+		onewayRoad.addRoadNode(4);
+		onewayRoad.addRoadNode(6);
+		onewayRoad.setRoadType(ERoadType.RESIDENTIAL);
+		onewayRoad.setIsOneway(true);
+		network.addRoad(onewayRoad);
+		return network;
+	}
+
 	/**
 	 * Rule for expecting exceptions.
 	 */
@@ -138,6 +182,91 @@ public final class RoadNetworkTest {
 		Assert.assertEquals(266, secondEdge.getCost(), 2);
 	}
 
+	/**
+	 * Test method for
+	 * {@link RoadNetwork#addTurnRestriction(Road, int, Road, boolean)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testAddTurnRestriction() {
+		final RoadNetwork network = new RoadNetwork();
+		final Road throughRoad = new Road(0);
+		throughRoad.addRoadNode(0);
+		throughRoad.addRoadNode(1);
+		throughRoad.addRoadNode(2);
+		final Road sideRoad = new Road(1);
+		sideRoad.addRoadNode(1);
+		sideRoad.addRoadNode(3);
+		sideRoad.setIsOneway(true);
+
+		// Turning into the side road is forbidden from both directions
+		network.addTurnRestriction(throughRoad, 1, sideRoad, false);
+		final TurnCostTable table = network.getTurnCostTable();
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 3), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(2, 1, 3), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(0, 1, 2), 0.0f);
+
+		// One-way roads can only be left in their direction
+		network.addTurnRestriction(sideRoad, 1, throughRoad, true);
+		Assert.assertEquals(0.0f, table.getTurnCost(3, 1, 0), 0.0f);
+
+		// Restrictions on the same road only affect its U-turns
+		table.setUTurnCost(1.0f);
+		network.addTurnRestriction(throughRoad, 1, throughRoad, false);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(0, 1, 0), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(2, 1, 0), 0.0f);
+		Assert.assertEquals(1.0f, table.getTurnCost(1, 3, 1), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link RoadNetwork#contractChains()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testContractChains() {
+		RoadNetwork network = createChainNetwork();
+		final RoadNode first = (RoadNode) network.getNodeById(0);
+		final RoadNode fourth = (RoadNode) network.getNodeById(3);
+		float expectedCost = 0.0f;
+		for (int i = 1; i <= 3; i++) {
+			final float distance = RoadUtil.distanceEquiRect((RoadNode) network.getNodeById(i - 1),
+					(RoadNode) network.getNodeById(i));
+			expectedCost += RoadUtil.getTravelTime(distance, RoadUtil.getAverageSpeedOfRoadType(ERoadType.RESIDENTIAL));
+		}
+		Assert.assertEquals(7, network.getSize());
+		Assert.assertEquals(10, network.getAmountOfEdges());
+
+		Assert.assertEquals(3, network.contractChains());
+		Assert.assertEquals(4, network.getSize());
+		Assert.assertEquals(5, network.getAmountOfEdges());
+		Assert.assertFalse(network.containsNodeId(1));
+		Assert.assertFalse(network.containsNodeId(4));
+
+		final DirectedWeightedEdge chainEdge = network.getOutgoingEdges(first).iterator().next();
+		Assert.assertEquals(fourth, chainEdge.getDestination());
+		Assert.assertEquals(expectedCost, chainEdge.getCost(), 0.01f);
+		Assert.assertEquals(ERoadType.RESIDENTIAL, network.getRoadType(chainEdge).get());
+		Assert.assertArrayEquals(new float[] { 49.0f, 7.001f, 49.0f, 7.002f },
+				network.getGeometry(chainEdge).get().decode(), 0.000001f);
+		for (final DirectedWeightedEdge edge : network.getIncomingEdges(first)) {
+			Assert.assertArrayEquals(new float[] { 49.0f, 7.002f, 49.0f, 7.001f },
+					network.getGeometry(edge).get().decode(), 0.000001f);
+		}
+
+		// Costs of profiles follow the shape of contracted roads
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+		final ProfileCosts carCosts = network.createProfileCosts(indexedNetwork, RoadProfile.createCarProfile());
+		Assert.assertEquals(expectedCost, carCosts.getCost(indexedNetwork.getIndex(chainEdge)), 0.01f);
+
+		// Nodes of turn restrictions are kept
+		network = createChainNetwork();
+		network.getTurnCostTable().forbidTurn(0, 1, 2);
+		Assert.assertEquals(1, network.contractChains());
+		Assert.assertTrue(network.containsNodeId(1));
+		Assert.assertTrue(network.containsNodeId(2));
+		Assert.assertFalse(network.containsNodeId(4));
+	}
+
 	/**
 	 * Test method for {@link RoadNetwork#createFromOsmReader(java.io.Reader)}.
 	 * 
@@ -171,6 +300,173 @@ public final class RoadNetworkTest {
 		Assert.assertEquals(secondNode, edge.getDestination());
 	}
 
+	/**
+	 * Test method for
+	 * {@link RoadNetwork#createFromOsmReader(java.io.Reader, IRoadSpeedModel)}
+	 * with tags influencing the speeds and directions of roads.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-Exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateFromOsmFileTags() throws IOException {
+		final String osmContent = "<?xml version='1.0' encoding='UTF-8'?>\n<osm version=\"0.6\">\n"
+				+ "	<node id=\"1\" lat=\"49.0000\" lon=\"7.0000\"/>\n"
+				+ "	<node id=\"2\" lat=\"49.0000\" lon=\"7.0010\"/>\n"
+				+ "	<node id=\"3\" lat=\"49.0000\" lon=\"7.0020\"/>\n"
+				+ "	<node id=\"4\" lat=\"49.0000\" lon=\"7.0030\"/>\n"
+				+ "	<node id=\"5\" lat=\"49.0000\" lon=\"7.0040\"/>\n" + "	<way id=\"10\">\n"
+				+ "		<nd ref=\"1\"/>\n" + "		<nd ref=\"2\"/>\n" + "		<tag k=\"highway\" v=\"primary\"/>\n"
+				+ "		<tag k=\"maxspeed\" v=\"30\"/>\n" + "		<tag k=\"oneway\" v=\"-1\"/>\n" + "	</way>\n"
+				+ "	<way id=\"11\">\n" + "		<nd ref=\"2\"/>\n" + "		<nd ref=\"3\"/>\n"
+				+ "		<tag k=\"access\" v=\"private\"/>\n" + "		<tag k=\"highway\" v=\"residential\"/>\n"
+				+ "	</way>\n" + "	<way id=\"12\">\n" + "		<nd ref=\"3\"/>\n" + "		<nd ref=\"4\"/>\n"
+				+ "		<tag k=\"highway\" v=\"primary\"/>\n" + "		<tag k=\"junction\" v=\"roundabout\"/>\n"
+				+ "	</way>\n" + "	<way id=\"13\">\n" + "		<nd ref=\"4\"/>\n" + "		<nd ref=\"5\"/>\n"
+				+ "		<tag k=\"highway\" v=\"primary\"/>\n" + "		<tag k=\"maxspeed\" v=\"50 mph\"/>\n"
+				+ "		<tag k=\"surface\" v=\"gravel\"/>\n" + "	</way>\n" + "</osm>";
+		RoadNetwork network = RoadNetwork.createFromOsmReader(new StringReader(osmContent));
+		Assert.assertEquals(5, network.getSize());
+		Assert.assertEquals(4, network.getAmountOfEdges());
+
+		final RoadNode firstNode = (RoadNode) network.getNodeById(1);
+		final RoadNode secondNode = (RoadNode) network.getNodeById(2);
+		Assert.assertTrue(network.getOutgoingEdges(firstNode).isEmpty());
+		final DirectedWeightedEdge reversedEdge = network.getOutgoingEdges(secondNode).iterator().next();
+		Assert.assertEquals(firstNode, reversedEdge.getDestination());
+		Assert.assertEquals(RoadUtil.getTravelTime(RoadUtil.distanceEquiRect(secondNode, firstNode), 30),
+				reversedEdge.getCost(), 0.01f);
+
+		Assert.assertEquals(1, network.getOutgoingEdges(network.getNodeById(3)).size());
+		final RoadNode fourthNode = (RoadNode) network.getNodeById(4);
+		final RoadNode fifthNode = (RoadNode) network.getNodeById(5);
+		final DirectedWeightedEdge unpavedEdge = network.getOutgoingEdges(fifthNode).iterator().next();
+		Assert.assertEquals(fourthNode, unpavedEdge.getDestination());
+		Assert.assertEquals(RoadUtil.getTravelTime(RoadUtil.distanceEquiRect(fifthNode, fourthNode), 30),
+				unpavedEdge.getCost(), 0.01f);
+
+		// Custom speed models decide on the speeds and accessibility alone
+		network = RoadNetwork.createFromOsmReader(new StringReader(osmContent),
+				road -> road.getRoadType() == ERoadType.RESIDENTIAL ? 10.0f : 0.0f);
+		Assert.assertEquals(2, network.getAmountOfEdges());
+		final DirectedWeightedEdge residentialEdge = network.getOutgoingEdges(network.getNodeById(2)).iterator()
+				.next();
+		final float residentialDistance = RoadUtil.distanceEquiRect((RoadNode) residentialEdge.getSource(),
+				(RoadNode) residentialEdge.getDestination());
+		Assert.assertEquals(RoadUtil.getTravelTime(residentialDistance, 10), residentialEdge.getCost(), 0.01f);
+	}
+
+	/**
+	 * Test method for {@link RoadNetwork#createFromOsmReader(java.io.Reader)}
+	 * with turn restriction relations.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-Exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateFromOsmFileTurnRestrictions() throws IOException {
+		final StringReader reader = new StringReader("<?xml version='1.0' encoding='UTF-8'?>\n<osm version=\"0.6\">\n"
+				+ "	<node id=\"1\" lat=\"49.0000\" lon=\"7.0000\"/>\n"
+				+ "	<node id=\"2\" lat=\"49.0000\" lon=\"7.0010\"/>\n"
+				+ "	<node id=\"3\" lat=\"49.0000\" lon=\"7.0020\"/>\n"
+				+ "	<node id=\"4\" lat=\"49.0010\" lon=\"7.0010\"/>\n" + "	<way id=\"10\">\n"
+				+ "		<nd ref=\"1\"/>\n" + "		<nd ref=\"2\"/>\n" + "		<tag k=\"highway\" v=\"primary\"/>\n"
+				+ "	</way>\n" + "	<way id=\"11\">\n" + "		<nd ref=\"2\"/>\n" + "		<nd ref=\"4\"/>\n"
+				+ "		<tag k=\"highway\" v=\"primary\"/>\n" + "	</way>\n" + "	<way id=\"12\">\n"
+				+ "		<nd ref=\"2\"/>\n" + "		<nd ref=\"3\"/>\n" + "		<tag k=\"highway\" v=\"primary\"/>\n"
+				+ "	</way>\n" + "	<relation id=\"20\">\n" + "		<member type=\"way\" ref=\"10\" role=\"from\"/>\n"
+				+ "		<member type=\"node\" ref=\"2\" role=\"via\"/>\n"
+				+ "		<member type=\"way\" ref=\"11\" role=\"to\"/>\n"
+				+ "		<tag k=\"restriction\" v=\"no_left_turn\"/>\n" + "		<tag k=\"type\" v=\"restriction\"/>\n"
+				+ "	</relation>\n" + "	<relation id=\"21\">\n"
+				+ "		<member type=\"way\" ref=\"11\" role=\"from\"/>\n"
+				+ "		<member type=\"node\" ref=\"2\" role=\"via\"/>\n"
+				+ "		<member type=\"way\" ref=\"12\" role=\"to\"/>\n"
+				+ "		<tag k=\"restriction\" v=\"only_straight_on\"/>\n" + "	</relation>\n"
+				+ "	<relation id=\"22\">\n" + "		<member type=\"way\" ref=\"12\" role=\"from\"/>\n"
+				+ "		<member type=\"way\" ref=\"10\" role=\"via\"/>\n"
+				+ "		<member type=\"way\" ref=\"11\" role=\"to\"/>\n"
+				+ "		<tag k=\"restriction\" v=\"no_right_turn\"/>\n" + "	</relation>\n" + "</osm>");
+		final RoadNetwork network = RoadNetwork.createFromOsmReader(reader);
+		Assert.assertEquals(4, network.getSize());
+		Assert.assertEquals(6, network.getAmountOfEdges());
+
+		final TurnCostTable table = network.getTurnCostTable();
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(1, 2, 4), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(1, 2, 3), 0.0f);
+		Assert.assertEquals(0.0f, table.getTurnCost(4, 2, 3), 0.0f);
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getTurnCost(4, 2, 1), 0.0f);
+		// Restrictions via roads are not supported
+		Assert.assertEquals(0.0f, table.getTurnCost(3, 2, 4), 0.0f);
+	}
+
+	/**
+	 * Test method for
+	 * {@link RoadNetwork#createProfileCosts(IndexedNetwork, RoadProfile)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateProfileCosts() {
+		final RoadNetwork network = new RoadNetwork();
+		final RoadNode source = new RoadNode(0, 49.3413853f, 7.3014897f);
+		final RoadNode destination = new RoadNode(1, 49.3080623f, 7.2517281f);
+		network.addRoadNode(source);
+		network.addRoadNode(destination);
+		network.addRoad(source, destination, ERoadType.MOTORWAY);
+		network.addRoad(destination, source, ERoadType.PRIMARY);
+		final DirectedWeightedEdge motorwayEdge = network.getOutgoingEdges(source).iterator().next();
+		final DirectedWeightedEdge primaryEdge = network.getOutgoingEdges(destination).iterator().next();
+		final IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+
+		final ProfileCosts carCosts = network.createProfileCosts(indexedNetwork, RoadProfile.createCarProfile());
+		Assert.assertEquals(RoadProfile.PROFILE_CAR, carCosts.getName());
+		Assert.assertEquals(2, carCosts.getAmountOfEdges());
+		Assert.assertEquals(motorwayEdge.getCost(), carCosts.getCost(indexedNetwork.getIndex(motorwayEdge)), 0.1f);
+		Assert.assertEquals(primaryEdge.getCost(), carCosts.getCost(indexedNetwork.getIndex(primaryEdge)), 0.1f);
+
+		final ProfileCosts bicycleCosts = network.createProfileCosts(indexedNetwork,
+				RoadProfile.createBicycleProfile());
+		Assert.assertFalse(bicycleCosts.isAccessible(indexedNetwork.getIndex(motorwayEdge)));
+		Assert.assertTrue(bicycleCosts.isAccessible(indexedNetwork.getIndex(primaryEdge)));
+		Assert.assertEquals(1034, bicycleCosts.getCost(indexedNetwork.getIndex(primaryEdge)), 10);
+	}
+
+	/**
+	 * Test method for {@link RoadNetwork#getCoordinates(CompactPath)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetCoordinates() {
+		final RoadNetwork network = createChainNetwork();
+		final CompactPath path = new CompactPath(new int[] { 0, 1, 2, 3, 4, 6 }, 1.0f);
+		final float[] expectedCoordinates = new float[] { 49.0f, 7.000f, 49.0f, 7.001f, 49.0f, 7.002f, 49.0f, 7.003f,
+				49.0f, 7.004f, 49.0f, 7.005f };
+		Assert.assertArrayEquals(expectedCoordinates, network.getCoordinates(path), 0.0f);
+
+		network.contractChains();
+		final CompactPath contractedPath = new CompactPath(new int[] { 0, 3, 6 }, 1.0f);
+		Assert.assertArrayEquals(expectedCoordinates, network.getCoordinates(contractedPath), 0.000001f);
+	}
+
+	/**
+	 * Test method for {@link RoadNetwork#getGeometry(DirectedWeightedEdge)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetGeometry() {
+		final RoadNetwork network = createChainNetwork();
+		final Node sixth = network.getNodeById(5);
+		final DirectedWeightedEdge primaryEdge = network.getOutgoingEdges(sixth).iterator().next();
+		Assert.assertFalse(network.getGeometry(primaryEdge).isPresent());
+
+		network.contractChains();
+		Assert.assertFalse(network.getGeometry(primaryEdge).isPresent());
+		final DirectedWeightedEdge onewayEdge = network.getIncomingEdges(network.getNodeById(6)).iterator().next();
+		Assert.assertEquals(1, network.getGeometry(onewayEdge).get().getAmountOfPoints());
+	}
+
 	/**
 	 * Test method for {@link RoadNetwork#getNearestRoadNode(float, float)}.
 	 */
@@ -187,6 +483,36 @@ public final class RoadNetworkTest {
 		Assert.assertEquals(firstNode, network.getNearestRoadNode(49.336991f, 7.290105f));
 	}
 
+	/**
+	 * Test method for {@link RoadNetwork#getRoadType(DirectedWeightedEdge)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetRoadType() {
+		final RoadNetwork network = new RoadNetwork();
+		final RoadNode source = new RoadNode(0, 49.3413853f, 7.3014897f);
+		final RoadNode destination = new RoadNode(1, 49.3080623f, 7.2517281f);
+		network.addRoadNode(source);
+		network.addRoadNode(destination);
+		network.addRoad(source, destination, ERoadType.RESIDENTIAL);
+		final DirectedWeightedEdge edge = network.getOutgoingEdges(source).iterator().next();
+
+		Assert.assertEquals(ERoadType.RESIDENTIAL, network.getRoadType(edge).get());
+		Assert.assertFalse(network.getRoadType(new DirectedWeightedEdge(destination, source, 1.0f)).isPresent());
+	}
+
+	/**
+	 * Test method for {@link RoadNetwork#getTurnCostTable()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGetTurnCostTable() {
+		final RoadNetwork network = new RoadNetwork();
+		final TurnCostTable table = network.getTurnCostTable();
+		Assert.assertEquals(table, network.getTurnCostTable());
+		Assert.assertEquals(Float.POSITIVE_INFINITY, table.getUTurnCost(), 0.0f);
+	}
+
 	/**
 	 * Test method for {@link RoadNetwork#RoadNetwork()}.
 	 */
@@ -0,0 +1,96 @@
+package de.zabuza.pathweaver.network.road;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link RoadProfile}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoadProfileTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link RoadProfile#createBicycleProfile()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateBicycleProfile() {
+		final RoadProfile profile = RoadProfile.createBicycleProfile();
+		Assert.assertEquals(RoadProfile.PROFILE_BICYCLE, profile.getName());
+		Assert.assertFalse(profile.isAccessible(ERoadType.MOTORWAY));
+		Assert.assertEquals(18.0f, profile.getSpeed(ERoadType.PRIMARY), 0.0f);
+		Assert.assertEquals(12.0f, profile.getSpeed(ERoadType.UNSURFACED), 0.0f);
+		Assert.assertEquals(10.0f, profile.getSpeed(ERoadType.LIVING_STREET), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link RoadProfile#createCarProfile()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateCarProfile() {
+		final RoadProfile profile = RoadProfile.createCarProfile();
+		Assert.assertEquals(RoadProfile.PROFILE_CAR, profile.getName());
+		for (final ERoadType type : ERoadType.values()) {
+			Assert.assertEquals(RoadUtil.getAverageSpeedOfRoadType(type), profile.getSpeed(type), 0.0f);
+		}
+	}
+
+	/**
+	 * Test method for {@link RoadProfile#createTruckProfile()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testCreateTruckProfile() {
+		final RoadProfile profile = RoadProfile.createTruckProfile();
+		Assert.assertEquals(RoadProfile.PROFILE_TRUCK, profile.getName());
+		Assert.assertFalse(profile.isAccessible(ERoadType.LIVING_STREET));
+		Assert.assertEquals(80.0f, profile.getSpeed(ERoadType.MOTORWAY), 0.0f);
+		Assert.assertEquals(30.0f, profile.getSpeed(ERoadType.RESIDENTIAL), 0.0f);
+	}
+
+	/**
+	 * Test method for {@link RoadProfile#getSpeed(ERoadType)}.
+	 */
+	@Test
+	public void testGetSpeed() {
+		final RoadProfile profile = RoadProfile.createTruckProfile();
+		Assert.assertEquals(50.0f, profile.getSpeed(ERoadType.TERTIARY), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		profile.getSpeed(ERoadType.LIVING_STREET);
+	}
+
+	/**
+	 * Test method for {@link RoadProfile#RoadProfile(String, Map)}.
+	 */
+	@Test
+	public void testRoadProfile() {
+		final Map<ERoadType, Float> typeToSpeed = new EnumMap<>(ERoadType.class);
+		typeToSpeed.put(ERoadType.SERVICE, Float.valueOf(5.0f));
+		final RoadProfile profile = new RoadProfile("delivery", typeToSpeed);
+		Assert.assertEquals("delivery", profile.getName());
+		Assert.assertTrue(profile.isAccessible(ERoadType.SERVICE));
+		Assert.assertFalse(profile.isAccessible(ERoadType.MOTORWAY));
+
+		// The speeds are copied
+		typeToSpeed.put(ERoadType.MOTORWAY, Float.valueOf(100.0f));
+		Assert.assertFalse(profile.isAccessible(ERoadType.MOTORWAY));
+
+		typeToSpeed.put(ERoadType.ROAD, Float.valueOf(0.0f));
+		this.exception.expect(IllegalArgumentException.class);
+		new RoadProfile("delivery", typeToSpeed);
+	}
+}
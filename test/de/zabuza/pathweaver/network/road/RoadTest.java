@@ -3,7 +3,9 @@ package de.zabuza.pathweaver.network.road;
 import java.util.Iterator;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 /**
  * Test for {@link Road}.
@@ -12,6 +14,12 @@ import org.junit.Test;
  *
  */
 public final class RoadTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
 
 	/**
 	 * Test method for {@link Road#addRoadNode(int)}.
@@ -58,6 +66,20 @@ public final class RoadTest {
 		Assert.assertEquals(1, anotherRoad.getId());
 	}
 
+	/**
+	 * Test method for {@link Road#getMaxSpeed()}.
+	 */
+	@Test
+	public void testGetMaxSpeed() {
+		final Road road = new Road(0);
+		Assert.assertFalse(road.getMaxSpeed().isPresent());
+		road.setMaxSpeed(50.0f);
+		Assert.assertEquals(50.0f, road.getMaxSpeed().get().floatValue(), 0.0f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		road.setMaxSpeed(0.0f);
+	}
+
 	/**
 	 * Test method for {@link Road#getRoadNodes()}.
 	 */
@@ -155,6 +177,18 @@ public final class RoadTest {
 		Assert.assertNotEquals(road.hashCode(), differentRoad.hashCode());
 	}
 
+	/**
+	 * Test method for {@link Road#isAccessible()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsAccessible() {
+		final Road road = new Road(0);
+		Assert.assertTrue(road.isAccessible());
+		road.setIsAccessible(false);
+		Assert.assertFalse(road.isAccessible());
+	}
+
 	/**
 	 * Test method for {@link Road#isOneway()}.
 	 */
@@ -170,6 +204,30 @@ public final class RoadTest {
 		Assert.assertEquals(Boolean.FALSE, Boolean.valueOf(anotherRoad.isOneway()));
 	}
 
+	/**
+	 * Test method for {@link Road#isReversed()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsReversed() {
+		final Road road = new Road(0);
+		Assert.assertFalse(road.isReversed());
+		road.setIsReversed(true);
+		Assert.assertTrue(road.isReversed());
+	}
+
+	/**
+	 * Test method for {@link Road#isUnpaved()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsUnpaved() {
+		final Road road = new Road(0);
+		Assert.assertFalse(road.isUnpaved());
+		road.setIsUnpaved(true);
+		Assert.assertTrue(road.isUnpaved());
+	}
+
 	/**
 	 * Test method for {@link Road#Road(int)}.
 	 */
@@ -3,7 +3,9 @@ package de.zabuza.pathweaver.network.road;
 import java.util.LinkedList;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 /**
  * Test for {@link RoadUtil}.
@@ -12,6 +14,12 @@ import org.junit.Test;
  *
  */
 public final class RoadUtilTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
 
 	/**
 	 * Test method for {@link RoadUtil#degToRad(double)}.
@@ -51,6 +59,18 @@ public final class RoadUtilTest {
 		Assert.assertEquals(fastestKnownSpeed, speedAccordingToMethod, 0);
 	}
 
+	/**
+	 * Test method for {@link RoadUtil#getMaxSpeedFromOsm(String)}.
+	 */
+	@Test
+	public void testGetMaxSpeedFromOsm() {
+		Assert.assertEquals(50.0f, RoadUtil.getMaxSpeedFromOsm("50"), 0.0f);
+		Assert.assertEquals(48.28f, RoadUtil.getMaxSpeedFromOsm("30 mph"), 0.01f);
+
+		this.exception.expect(IllegalArgumentException.class);
+		RoadUtil.getMaxSpeedFromOsm("none");
+	}
+
 	/**
 	 * Test method for {@link RoadUtil#getPositionsTsv(Iterable)}.
 	 */
@@ -98,6 +118,28 @@ public final class RoadUtilTest {
 		Assert.assertEquals(1800, RoadUtil.getTravelTime(5000, 10), 2);
 	}
 
+	/**
+	 * Test method for {@link RoadUtil#isAccessibleFromOsm(String)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsAccessibleFromOsm() {
+		Assert.assertTrue(RoadUtil.isAccessibleFromOsm("yes"));
+		Assert.assertTrue(RoadUtil.isAccessibleFromOsm("destination"));
+		Assert.assertFalse(RoadUtil.isAccessibleFromOsm("private"));
+		Assert.assertFalse(RoadUtil.isAccessibleFromOsm("no"));
+	}
+
+	/**
+	 * Test method for {@link RoadUtil#isUnpavedSurfaceFromOsm(String)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsUnpavedSurfaceFromOsm() {
+		Assert.assertTrue(RoadUtil.isUnpavedSurfaceFromOsm("gravel"));
+		Assert.assertFalse(RoadUtil.isUnpavedSurfaceFromOsm("asphalt"));
+	}
+
 	/**
 	 * Test method for {@link RoadUtil#kmhToMs(float)}.
 	 */
@@ -0,0 +1,80 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link ChunkedOutputStream}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ChunkedOutputStreamTest {
+
+	/**
+	 * Test method for {@link ChunkedOutputStream#close()}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testClose() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output);
+		chunkedOutput.close();
+		chunkedOutput.close();
+		Assert.assertEquals("0\r\n\r\n", new String(output.toByteArray(), StandardCharsets.ISO_8859_1));
+	}
+
+	/**
+	 * Test method for {@link ChunkedOutputStream#flush()}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testFlush() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output)) {
+			chunkedOutput.write("abc".getBytes(StandardCharsets.ISO_8859_1));
+			chunkedOutput.flush();
+			Assert.assertEquals("3\r\nabc\r\n", new String(output.toByteArray(), StandardCharsets.ISO_8859_1));
+			// Empty chunks would terminate the body
+			chunkedOutput.flush();
+			Assert.assertEquals("3\r\nabc\r\n", new String(output.toByteArray(), StandardCharsets.ISO_8859_1));
+		}
+	}
+
+	/**
+	 * Test method for {@link ChunkedOutputStream#write(byte[], int, int)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWriteByteArrayIntInt() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final byte[] data = new byte[10_000];
+		Arrays.fill(data, (byte) 'a');
+		try (final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output)) {
+			chunkedOutput.write('b');
+			chunkedOutput.write(data, 0, data.length);
+		}
+
+		final String text = new String(output.toByteArray(), StandardCharsets.ISO_8859_1);
+		final char[] firstChunk = new char[8_191];
+		Arrays.fill(firstChunk, 'a');
+		final char[] secondChunk = new char[10_000 - 8_191];
+		Arrays.fill(secondChunk, 'a');
+		Assert.assertEquals("2000\r\nb" + new String(firstChunk) + "\r\n" + "711\r\n" + new String(secondChunk)
+				+ "\r\n0\r\n\r\n", text);
+	}
+}
@@ -0,0 +1,104 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link HttpRequest}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class HttpRequestTest {
+	/**
+	 * Creates a stream which contains the given text.
+	 * 
+	 * @param text
+	 *            The text of the stream
+	 * @return The created stream
+	 */
+	private static InputStream createStream(final String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link HttpRequest#isKeepAlive()}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsKeepAlive() throws IOException {
+		Assert.assertTrue(HttpRequest.readFrom(createStream("GET / HTTP/1.1\r\n\r\n")).get().isKeepAlive());
+		Assert.assertFalse(HttpRequest.readFrom(createStream("GET / HTTP/1.1\r\nConnection: Close\r\n\r\n")).get()
+				.isKeepAlive());
+		Assert.assertFalse(HttpRequest.readFrom(createStream("GET / HTTP/1.0\r\n\r\n")).get().isKeepAlive());
+		Assert.assertTrue(HttpRequest.readFrom(createStream("GET / HTTP/1.0\r\nConnection: keep-alive\r\n\r\n"))
+				.get().isKeepAlive());
+	}
+
+	/**
+	 * Test method for {@link HttpRequest#parseQuery(String)}.
+	 */
+	@Test
+	public void testParseQuery() {
+		final Map<String, String> parameters = HttpRequest.parseQuery("a=1&b=x%20y+z&&c&a=2");
+		Assert.assertEquals(3, parameters.size());
+		Assert.assertEquals("1", parameters.get("a"));
+		Assert.assertEquals("x y z", parameters.get("b"));
+		Assert.assertEquals("", parameters.get("c"));
+		Assert.assertTrue(HttpRequest.parseQuery("").isEmpty());
+
+		this.exception.expect(IllegalArgumentException.class);
+		HttpRequest.parseQuery("a=%zz");
+	}
+
+	/**
+	 * Test method for {@link HttpRequest#readFrom(InputStream)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@Test
+	public void testReadFrom() throws IOException {
+		final InputStream input = createStream("\r\nGET /route?srcLat=49.2&srcLng=7.0 HTTP/1.1\r\n"
+				+ "Host: localhost\r\nAccept: text/plain\r\nAccept: application/json\r\n\r\n"
+				+ "POST /echo HTTP/1.1\nContent-Length: 5\n\nhello");
+
+		final HttpRequest first = HttpRequest.readFrom(input).get();
+		Assert.assertEquals("GET", first.getMethod());
+		Assert.assertEquals("/route", first.getPath());
+		Assert.assertEquals("HTTP/1.1", first.getVersion());
+		Assert.assertEquals(Optional.of("localhost"), first.getHeader("Host"));
+		Assert.assertEquals(Optional.of("text/plain,application/json"), first.getHeader("accept"));
+		Assert.assertEquals(Optional.of("49.2"), first.getQueryParameter("srcLat"));
+		Assert.assertFalse(first.getQueryParameter("dstLat").isPresent());
+		Assert.assertEquals(0, first.getBody().length);
+
+		final HttpRequest second = HttpRequest.readFrom(input).get();
+		Assert.assertEquals("POST", second.getMethod());
+		Assert.assertEquals("/echo", second.getPath());
+		Assert.assertEquals("hello", new String(second.getBody(), StandardCharsets.UTF_8));
+
+		Assert.assertFalse(HttpRequest.readFrom(input).isPresent());
+
+		this.exception.expect(IllegalArgumentException.class);
+		HttpRequest.readFrom(createStream("GET /route\r\n\r\n"));
+	}
+}
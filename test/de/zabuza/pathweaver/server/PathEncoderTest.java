@@ -0,0 +1,129 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.zabuza.pathweaver.network.CompactPath;
+import de.zabuza.pathweaver.network.road.ERoadType;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+import de.zabuza.pathweaver.network.road.RoadNode;
+
+/**
+ * Test for {@link PathEncoder}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PathEncoderTest {
+	/**
+	 * Creates a road network with the nodes of the example of the encoded
+	 * polyline format of Google, with the ids <tt>0</tt> to <tt>2</tt>.
+	 * 
+	 * @return The created network
+	 */
+	private static RoadNetwork createNetwork() {
+		final RoadNetwork network = new RoadNetwork();
+		network.addRoadNode(new RoadNode(0, 38.5f, -120.2f));
+		network.addRoadNode(new RoadNode(1, 40.7f, -120.95f));
+		network.addRoadNode(new RoadNode(2, 43.252f, -126.453f));
+		return network;
+	}
+
+	/**
+	 * Test method for
+	 * {@link PathEncoder#appendPolyline(CompactPath, RoadNetwork, Appendable)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testAppendPolyline() throws IOException {
+		final StringBuilder polyline = new StringBuilder();
+		PathEncoder.appendPolyline(new CompactPath(new int[] { 0, 1, 2 }, 1), createNetwork(), polyline);
+		Assert.assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", polyline.toString());
+	}
+
+	/**
+	 * Test method for
+	 * {@link PathEncoder#writeBinary(CompactPath, RoadNetwork, java.io.OutputStream)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWriteBinary() throws IOException {
+		final RoadNetwork network = new RoadNetwork();
+		network.addRoadNode(new RoadNode(0, 0.000001f, -0.000064f));
+		network.addRoadNode(new RoadNode(1, 0.000001f, 0.0f));
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PathEncoder.writeBinary(new CompactPath(new int[] { 0, 1 }, 2.0f), network, output);
+		// Cost, amount of nodes and zigzag-encoded differences
+		Assert.assertArrayEquals(new byte[] { 0x40, 0x00, 0x00, 0x00, 2, 2, 127, 0, (byte) 0x80, 0x01 },
+				output.toByteArray());
+	}
+
+	/**
+	 * Test method for
+	 * {@link PathEncoder#writeBinary(CompactPath, RoadNetwork, java.io.OutputStream)}
+	 * with contracted roads.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWriteBinaryContractedRoads() throws IOException {
+		final RoadNetwork network = createNetwork();
+		final RoadNode first = (RoadNode) network.getNodeById(0);
+		final RoadNode second = (RoadNode) network.getNodeById(1);
+		final RoadNode third = (RoadNode) network.getNodeById(2);
+		network.addRoad(first, second, ERoadType.RESIDENTIAL);
+		network.addRoad(second, third, ERoadType.RESIDENTIAL);
+		Assert.assertEquals(1, network.contractChains());
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PathEncoder.writeBinary(new CompactPath(new int[] { 0, 2 }, 2.0f), network, output);
+		// The contracted node is contained as shape point
+		Assert.assertEquals(3, output.toByteArray()[4]);
+	}
+
+	/**
+	 * Test method for
+	 * {@link PathEncoder#writeJson(CompactPath, RoadNetwork, Appendable)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWriteJson() throws IOException {
+		final StringBuilder json = new StringBuilder();
+		PathEncoder.writeJson(new CompactPath(new int[] { 0, 1 }, 2.5f), createNetwork(), json);
+		Assert.assertEquals("{\"cost\":2.5,\"path\":[[38.5,-120.2],[40.7,-120.95]]}", json.toString());
+	}
+
+	/**
+	 * Test method for
+	 * {@link PathEncoder#writePolylineJson(CompactPath, RoadNetwork, Appendable)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testWritePolylineJson() throws IOException {
+		final RoadNetwork network = new RoadNetwork();
+		network.addRoadNode(new RoadNode(0, -0.00015f, 0.0f));
+
+		final StringBuilder json = new StringBuilder();
+		PathEncoder.writePolylineJson(new CompactPath(new int[] { 0 }, 0.0f), network, json);
+		// Backslashes of the polyline are escaped
+		Assert.assertEquals("{\"cost\":0.0,\"polyline\":\"\\\\?\"}", json.toString());
+	}
+}
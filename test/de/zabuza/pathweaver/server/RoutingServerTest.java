@@ -0,0 +1,374 @@
+package de.zabuza.pathweaver.server;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.zabuza.pathweaver.network.algorithm.shortestpath.DijkstraShortestPathComputation;
+import de.zabuza.pathweaver.network.road.RoadNetwork;
+import de.zabuza.pathweaver.network.road.RoadNetworkGenerator;
+
+/**
+ * Test for {@link RoutingServer}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RoutingServerTest {
+	/**
+	 * Creates a server on a small strongly connected grid network which
+	 * listens at a free port.
+	 * 
+	 * @param threadingMode
+	 *            The way threads are assigned to connections
+	 * @return The created server, not started
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	private static RoutingServer createServer(final EThreadingMode threadingMode) throws IOException {
+		final RoadNetworkGenerator generator = new RoadNetworkGenerator(1);
+		generator.setOneWayProbability(0.0);
+		final RoadNetwork network = generator.createGridNetwork(10, 10);
+		return new RoutingServer(network, new DijkstraShortestPathComputation(network), 0, threadingMode, 2);
+	}
+
+	/**
+	 * Creates a <tt>GET</tt> request with the given query.
+	 * 
+	 * @param path
+	 *            The path of the target
+	 * @param query
+	 *            The query parameters
+	 * @return The created request
+	 */
+	private static HttpRequest createRequest(final String path, final String query) {
+		return new HttpRequest("GET", path, "HTTP/1.1", Collections.emptyMap(), HttpRequest.parseQuery(query),
+				new byte[0]);
+	}
+
+	/**
+	 * Reads the next response from the given stream.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 * @return The status line of the response followed by its body, separated
+	 *         by a line break
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	private static String readResponse(final InputStream input) throws IOException {
+		final String statusLine = readLine(input);
+		final Map<String, String> headers = new HashMap<>();
+		String header = readLine(input);
+		while (!header.isEmpty()) {
+			final int separatorIndex = header.indexOf(':');
+			headers.put(header.substring(0, separatorIndex).toLowerCase(), header.substring(separatorIndex + 1).trim());
+			header = readLine(input);
+		}
+		if (!"chunked".equals(headers.get("transfer-encoding"))) {
+			final byte[] body = readFully(input, Integer.parseInt(headers.get("content-length")));
+			return statusLine + "\n" + new String(body, StandardCharsets.UTF_8);
+		}
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		int chunkSize = Integer.parseInt(readLine(input), 16);
+		while (chunkSize > 0) {
+			body.write(readFully(input, chunkSize));
+			readLine(input);
+			chunkSize = Integer.parseInt(readLine(input), 16);
+		}
+		// Empty trailer
+		readLine(input);
+		return statusLine + "\n" + new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the given amount of bytes from the given stream.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 * @param amount
+	 *            The amount of bytes to read
+	 * @return The bytes read
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	private static byte[] readFully(final InputStream input, final int amount) throws IOException {
+		final byte[] bytes = new byte[amount];
+		int offset = 0;
+		while (offset < bytes.length) {
+			final int read = input.read(bytes, offset, bytes.length - offset);
+			if (read < 0) {
+				throw new IOException();
+			}
+			offset += read;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Reads a line terminated by <tt>CRLF</tt> from the given stream.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 * @return The line without terminator
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	private static String readLine(final InputStream input) throws IOException {
+		final ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int value = input.read();
+		while (value != '\n') {
+			if (value < 0) {
+				throw new IOException();
+			}
+			if (value != '\r') {
+				line.write(value);
+			}
+			value = input.read();
+		}
+		return new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link RoutingServer#handle(HttpRequest)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testHandle() throws IOException {
+		try (final RoutingServer server = createServer(EThreadingMode.POOLED)) {
+			final HttpResponse route = server.handle(
+					createRequest("/route", "srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009"));
+			Assert.assertEquals(HttpResponse.STATUS_OK, route.getStatusCode());
+			final String json = new String(route.getBody(), StandardCharsets.UTF_8);
+			Assert.assertTrue(json.startsWith("{\"cost\":"));
+			Assert.assertTrue(json.contains(",\"path\":[["));
+			Assert.assertTrue(json.endsWith("]]}"));
+
+			final HttpResponse jsonp = server.handle(createRequest("/route",
+					"srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009&callback=redrawLineServerCallback"));
+			Assert.assertEquals("redrawLineServerCallback(" + json + ");",
+					new String(jsonp.getBody(), StandardCharsets.UTF_8));
+
+			final HttpResponse polyline = server.handle(
+					createRequest("/route", "srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009&format=polyline"));
+			Assert.assertEquals(HttpResponse.STATUS_OK, polyline.getStatusCode());
+			Assert.assertTrue(new String(polyline.getBody(), StandardCharsets.UTF_8).contains(",\"polyline\":\""));
+			final HttpResponse binary = server.handle(
+					createRequest("/route", "srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009&format=binary"));
+			Assert.assertEquals(HttpResponse.STATUS_OK, binary.getStatusCode());
+			Assert.assertTrue(binary.isStreamed());
+			Assert.assertEquals(HttpResponse.STATUS_BAD_REQUEST, server.handle(createRequest("/route",
+					"srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009&format=binary&callback=a")).getStatusCode());
+			Assert.assertEquals(HttpResponse.STATUS_BAD_REQUEST, server
+					.handle(createRequest("/route", "srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009&format=xml"))
+					.getStatusCode());
+
+			final HttpResponse missing = server.handle(createRequest("/route", "srcLat=45.0&srcLng=5.0"));
+			Assert.assertEquals(HttpResponse.STATUS_BAD_REQUEST, missing.getStatusCode());
+			Assert.assertEquals("{\"error\":\"Missing parameter: dstLat\"}",
+					new String(missing.getBody(), StandardCharsets.UTF_8));
+			Assert.assertEquals(HttpResponse.STATUS_BAD_REQUEST,
+					server.handle(createRequest("/route", "srcLat=a&srcLng=5.0&dstLat=45.0&dstLng=5.0"))
+							.getStatusCode());
+			Assert.assertEquals(HttpResponse.STATUS_BAD_REQUEST,
+					server.handle(createRequest("/route", "srcLat=45.0&srcLng=5.0&dstLat=45.0&dstLng=5.0&callback=a()"))
+							.getStatusCode());
+
+			Assert.assertEquals(HttpResponse.STATUS_NOT_FOUND,
+					server.handle(createRequest("/unknown", "")).getStatusCode());
+			Assert.assertEquals(HttpResponse.STATUS_METHOD_NOT_ALLOWED,
+					server.handle(new HttpRequest("POST", "/route", "HTTP/1.1", Collections.emptyMap(),
+							Collections.emptyMap(), new byte[0])).getStatusCode());
+
+			final String metrics = new String(server.handle(createRequest("/metrics", "")).getBody(),
+					StandardCharsets.UTF_8);
+			Assert.assertTrue(metrics.contains("pathweaver_requests_total{outcome=\"routed\"} 4\n"));
+			Assert.assertTrue(metrics.contains("pathweaver_requests_total{outcome=\"rejected\"} 7\n"));
+		}
+	}
+
+	/**
+	 * Test method for {@link RoutingServer#isUsingVirtualThreads()}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testIsUsingVirtualThreads() throws IOException {
+		try (final RoutingServer server = createServer(EThreadingMode.POOLED)) {
+			Assert.assertFalse(server.isUsingVirtualThreads());
+		}
+		final boolean isSupported = VirtualThreads.createFactory("test-").isPresent();
+		try (final RoutingServer server = createServer(EThreadingMode.THREAD_PER_CONNECTION)) {
+			Assert.assertEquals(Boolean.valueOf(isSupported), Boolean.valueOf(server.isUsingVirtualThreads()));
+		}
+	}
+
+	/**
+	 * Test method for {@link RoutingServer#setMaxBatchDelay(long, TimeUnit)}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 * @throws InterruptedException
+	 *             If the test was interrupted while waiting for the requests
+	 */
+	@Test
+	public void testSetMaxBatchDelay() throws IOException, InterruptedException {
+		try (final RoutingServer server = createServer(EThreadingMode.THREAD_PER_CONNECTION)) {
+			final String[] queries = { "srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009",
+					"srcLat=45.0&srcLng=5.0&dstLat=45.005&dstLng=5.001",
+					"srcLat=45.0&srcLng=5.0&dstLat=45.002&dstLng=5.008",
+					"srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009" };
+			final List<String> expectedBodies = new ArrayList<>();
+			for (final String query : queries) {
+				expectedBodies.add(new String(server.handle(createRequest("/route", query)).getBody(),
+						StandardCharsets.UTF_8));
+			}
+
+			// Concurrent requests with the same source are answered by one
+			// batch
+			server.setMaxBatchDelay(1, TimeUnit.SECONDS);
+			final String[] bodies = new String[queries.length];
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<Thread> requests = new ArrayList<>();
+			for (int i = 0; i < queries.length; i++) {
+				final int index = i;
+				final Thread request = new Thread(() -> {
+					try {
+						start.await();
+					} catch (final InterruptedException e) {
+						return;
+					}
+					bodies[index] = new String(server.handle(createRequest("/route", queries[index])).getBody(),
+							StandardCharsets.UTF_8);
+				});
+				request.start();
+				requests.add(request);
+			}
+			start.countDown();
+			for (final Thread request : requests) {
+				request.join();
+			}
+			for (int i = 0; i < queries.length; i++) {
+				Assert.assertEquals(expectedBodies.get(i), bodies[i]);
+			}
+
+			final String metrics = server.getMetricsRegistry().toPrometheusText();
+			Assert.assertTrue(metrics.contains("pathweaver_batches_total 1\n"));
+			Assert.assertTrue(metrics.contains("pathweaver_batched_requests_total 4\n"));
+			Assert.assertTrue(metrics.contains("pathweaver_requests_total{outcome=\"routed\"} 8\n"));
+
+			this.exception.expect(IllegalArgumentException.class);
+			server.setMaxBatchDelay(-1, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Test method for {@link RoutingServer#start()}.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testStart() throws IOException {
+		for (final EThreadingMode threadingMode : EThreadingMode.values()) {
+			try (final RoutingServer server = createServer(threadingMode)) {
+				server.start();
+				try (final Socket socket = new Socket("localhost", server.getPort());
+						final InputStream input = new BufferedInputStream(socket.getInputStream());
+						final OutputStream output = socket.getOutputStream()) {
+					// Several requests are served over the same persistent
+					// connection
+					output.write(("GET /route?srcLat=45.0&srcLng=5.0&dstLat=45.009&dstLng=5.009 HTTP/1.1\r\n"
+							+ "Host: localhost\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+					output.flush();
+					final String route = readResponse(input);
+					Assert.assertTrue(route.startsWith("HTTP/1.1 200 OK\n{\"cost\":"));
+
+					output.write("GET /unknown HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+					output.flush();
+					Assert.assertTrue(readResponse(input).startsWith("HTTP/1.1 404 Not Found\n"));
+
+					output.write(
+							"GET /metrics HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+					output.flush();
+					final String metrics = readResponse(input);
+					Assert.assertTrue(metrics.startsWith("HTTP/1.1 200 OK\n"));
+					Assert.assertTrue(metrics.contains("pathweaver_requests_total{outcome=\"routed\"} 1\n"));
+
+					// The server closes the connection as requested
+					Assert.assertEquals(-1, input.read());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link RoutingServer#start()} regarding idle persistent
+	 * connections of a pool.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-exception occurred
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testStartIdleConnections() throws IOException {
+		final byte[] request = "GET /unknown HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+		try (final RoutingServer server = createServer(EThreadingMode.POOLED)) {
+			server.start();
+			// Occupy both workers of the pool with idle persistent connections
+			final List<Socket> idleSockets = new ArrayList<>();
+			try {
+				for (int i = 0; i < 2; i++) {
+					final Socket socket = new Socket("localhost", server.getPort());
+					idleSockets.add(socket);
+					socket.getOutputStream().write(request);
+					socket.getOutputStream().flush();
+					Assert.assertTrue(readResponse(new BufferedInputStream(socket.getInputStream()))
+							.startsWith("HTTP/1.1 404 Not Found\n"));
+				}
+
+				// A waiting connection is served long before the idle
+				// connections time out
+				try (final Socket socket = new Socket("localhost", server.getPort())) {
+					socket.setSoTimeout(2_000);
+					socket.getOutputStream().write(request);
+					socket.getOutputStream().flush();
+					Assert.assertTrue(readResponse(new BufferedInputStream(socket.getInputStream()))
+							.startsWith("HTTP/1.1 404 Not Found\n"));
+				}
+			} finally {
+				for (final Socket socket : idleSockets) {
+					socket.close();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package de.zabuza.pathweaver.util;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link IndexedMinHeap}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IndexedMinHeapTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link IndexedMinHeap#addOrDecreaseKey(int, float)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testAddOrDecreaseKey() {
+		final IndexedMinHeap heap = new IndexedMinHeap(5);
+		Assert.assertTrue(heap.addOrDecreaseKey(3, 5.0f));
+		Assert.assertTrue(heap.addOrDecreaseKey(1, 4.0f));
+		Assert.assertEquals(2, heap.size());
+		Assert.assertEquals(4.0f, heap.peekKey(), 0.0f);
+
+		Assert.assertFalse(heap.addOrDecreaseKey(3, 6.0f));
+		Assert.assertTrue(heap.addOrDecreaseKey(3, 2.0f));
+		Assert.assertEquals(2, heap.size());
+		Assert.assertEquals(2.0f, heap.peekKey(), 0.0f);
+		Assert.assertEquals(3, heap.poll());
+		Assert.assertEquals(1, heap.poll());
+	}
+
+	/**
+	 * Test method for {@link IndexedMinHeap#clear()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testClear() {
+		final IndexedMinHeap heap = new IndexedMinHeap(5);
+		heap.addOrDecreaseKey(0, 1.0f);
+		heap.addOrDecreaseKey(4, 2.0f);
+		heap.clear();
+		Assert.assertTrue(heap.isEmpty());
+		Assert.assertFalse(heap.contains(0));
+		Assert.assertFalse(heap.contains(4));
+		Assert.assertTrue(heap.addOrDecreaseKey(4, 3.0f));
+		Assert.assertEquals(1, heap.size());
+	}
+
+	/**
+	 * Test method for {@link IndexedMinHeap#contains(int)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testContains() {
+		final IndexedMinHeap heap = new IndexedMinHeap(5);
+		heap.addOrDecreaseKey(2, 1.0f);
+		Assert.assertTrue(heap.contains(2));
+		Assert.assertFalse(heap.contains(1));
+		heap.poll();
+		Assert.assertFalse(heap.contains(2));
+	}
+
+	/**
+	 * Test method for {@link IndexedMinHeap#poll()}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testPoll() {
+		final int capacity = 200;
+		final IndexedMinHeap heap = new IndexedMinHeap(capacity);
+		final float[] keys = new float[capacity];
+		final Random rnd = new Random(42);
+		for (int i = 0; i < capacity; i++) {
+			keys[i] = rnd.nextFloat() * 100;
+			heap.addOrDecreaseKey(i, keys[i]);
+		}
+		for (int i = 0; i < capacity; i += 3) {
+			keys[i] /= 2;
+			heap.addOrDecreaseKey(i, keys[i]);
+		}
+
+		float lastKey = Float.NEGATIVE_INFINITY;
+		while (!heap.isEmpty()) {
+			final float key = heap.peekKey();
+			final int element = heap.poll();
+			Assert.assertEquals(keys[element], key, 0.0f);
+			Assert.assertTrue(key >= lastKey);
+			lastKey = key;
+		}
+	}
+
+	/**
+	 * Test method for {@link IndexedMinHeap#poll()} on an empty heap.
+	 */
+	@Test
+	public void testPollEmpty() {
+		final IndexedMinHeap heap = new IndexedMinHeap(5);
+		this.exception.expect(NoSuchElementException.class);
+		heap.poll();
+	}
+}
@@ -0,0 +1,62 @@
+package de.zabuza.pathweaver.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test for {@link LongObjectHashMap}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class LongObjectHashMapTest {
+	/**
+	 * Rule for expecting exceptions.
+	 */
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * Test method for {@link LongObjectHashMap#get(long)}.
+	 */
+	@SuppressWarnings("static-method")
+	@Test
+	public void testGet() {
+		final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+		Assert.assertNull(map.get(0L));
+		map.put(0L, "zero");
+		map.put(Long.MIN_VALUE, "min");
+		map.put(1L << 32, "high");
+		Assert.assertEquals("zero", map.get(0L));
+		Assert.assertEquals("min", map.get(Long.MIN_VALUE));
+		Assert.assertEquals("high", map.get(1L << 32));
+		Assert.assertNull(map.get(1L));
+	}
+
+	/**
+	 * Test method for {@link LongObjectHashMap#put(long, Object)}.
+	 */
+	@Test
+	public void testPut() {
+		final LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+		Assert.assertTrue(map.isEmpty());
+		// Grows beyond its initial capacity
+		for (int i = 0; i < 1_000; i++) {
+			Assert.assertNull(map.put((long) i << 32 | i, Integer.valueOf(i)));
+		}
+		Assert.assertEquals(1_000, map.size());
+		Assert.assertFalse(map.isEmpty());
+		for (int i = 0; i < 1_000; i++) {
+			Assert.assertEquals(i, map.get((long) i << 32 | i).intValue());
+		}
+
+		Assert.assertEquals(5, map.put(5L << 32 | 5, Integer.valueOf(-5)).intValue());
+		Assert.assertEquals(-5, map.get(5L << 32 | 5).intValue());
+		Assert.assertEquals(1_000, map.size());
+
+		this.exception.expect(NullPointerException.class);
+		map.put(1L, null);
+	}
+}